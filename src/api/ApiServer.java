@@ -0,0 +1,175 @@
+package api;
+
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import dao.InMemoryDataStore;
+import dao.RepositoryFactory;
+import dao.SchemaMigrator;
+import util.DBConnection;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+/**
+ * Embedded HTTP API for clock-in kiosks and mobile self-service, built on the JDK's
+ * com.sun.net.httpserver. Every request runs on its own virtual thread, so blocking
+ * JDBC calls don't tie up platform threads; database access goes through a bounded
+ * connection pool.
+ *
+ * Passwords and session tokens travel in request headers, so the API only speaks
+ * plain HTTP on the loopback interface, for a TLS-terminating reverse proxy on the
+ * same host. To listen on the network it serves HTTPS itself, given a keystore
+ * (PKCS12 or JKS) whose password is read from MOTORPH_API_KEYSTORE_PASSWORD.
+ *
+ * <pre>
+ * java -cp "MotorPH.jar:lib/*" api.ApiServer --port 8080 --pool-size 20
+ * java -cp "MotorPH.jar:lib/*" api.ApiServer --port 8443 --bind 0.0.0.0 --keystore api.p12
+ * </pre>
+ */
+public class ApiServer {
+    private static final Logger LOGGER = Logger.getLogger(ApiServer.class.getName());
+
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_POOL_SIZE = 20;
+    private static final long POOL_BORROW_TIMEOUT_MILLIS = 5_000;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Plain HTTP on the loopback interface
+     */
+    public ApiServer(int port) throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), null);
+    }
+
+    /**
+     * HTTPS when an SSL context is given; plain HTTP is only allowed on a loopback address
+     */
+    public ApiServer(InetSocketAddress address, SSLContext sslContext) throws IOException {
+        if (sslContext != null) {
+            HttpsServer https = HttpsServer.create(address, 0);
+            https.setHttpsConfigurator(new HttpsConfigurator(sslContext));
+            server = https;
+        } else if (address.getAddress() != null && address.getAddress().isLoopbackAddress()) {
+            server = HttpServer.create(address, 0);
+        } else {
+            throw new IllegalArgumentException("Plain HTTP is only served on loopback; configure a keystore to listen on "
+                    + address);
+        }
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/health", exchange -> {
+            try {
+                Map<String, Object> body = new LinkedHashMap<>();
+                body.put("status", "UP");
+                body.put("backend", RepositoryFactory.getBackend().name().toLowerCase());
+                if (DBConnection.getPool() != null) {
+                    body.put("activeConnections", DBConnection.getPool().getActiveCount());
+                    body.put("idleConnections", DBConnection.getPool().getIdleCount());
+                }
+                EmployeeApiHandler.sendJson(exchange, 200, body);
+            } finally {
+                exchange.close();
+            }
+        });
+        server.createContext(EmployeeApiHandler.PREFIX, new EmployeeApiHandler());
+    }
+
+    public void start() {
+        server.start();
+        LOGGER.info("MotorPH API listening on " + (isHttps() ? "https://" : "http://")
+                + server.getAddress().getHostString() + ":" + getPort());
+    }
+
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        LOGGER.info("MotorPH API stopped");
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public boolean isHttps() {
+        return server instanceof HttpsServer;
+    }
+
+    /**
+     * Server context for a keystore file, type detected from its contents
+     */
+    static SSLContext sslContext(File keystore, char[] password) throws IOException, GeneralSecurityException {
+        KeyStore keys = KeyStore.getInstance(keystore, password);
+        KeyManagerFactory factory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        factory.init(keys, password);
+        SSLContext context = SSLContext.getInstance("TLS");
+        context.init(factory.getKeyManagers(), null, null);
+        return context;
+    }
+
+    public static void main(String[] args) throws IOException, GeneralSecurityException {
+        System.setProperty("java.awt.headless", "true");
+        int port = DEFAULT_PORT;
+        int poolSize = DEFAULT_POOL_SIZE;
+        String bind = null;
+        String keystore = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port":
+                    port = Integer.parseInt(args[++i]);
+                    break;
+                case "--pool-size":
+                    poolSize = Integer.parseInt(args[++i]);
+                    break;
+                case "--bind":
+                    bind = args[++i];
+                    break;
+                case "--keystore":
+                    keystore = args[++i];
+                    break;
+                default:
+                    System.err.println("Usage: ApiServer [--port N] [--pool-size N] [--bind ADDRESS] [--keystore FILE]");
+                    System.exit(2);
+            }
+        }
+
+        SSLContext sslContext = null;
+        if (keystore != null) {
+            String password = System.getenv("MOTORPH_API_KEYSTORE_PASSWORD");
+            sslContext = sslContext(new File(keystore), password != null ? password.toCharArray() : new char[0]);
+        }
+        InetSocketAddress address = bind != null ? new InetSocketAddress(bind, port)
+                : sslContext != null ? new InetSocketAddress(port)
+                : new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+
+        if (RepositoryFactory.isInMemory()) {
+            int employees = Integer.getInteger("motorph.memory.employees", 200);
+            LocalDate today = LocalDate.now();
+            InMemoryDataStore.getInstance().loadSampleData(employees, today.minusMonths(3).withDayOfMonth(1), today);
+        } else {
+            DBConnection.enablePooling(poolSize, POOL_BORROW_TIMEOUT_MILLIS);
+            SchemaMigrator.migrate();
+        }
+
+        ApiServer api = new ApiServer(address, sslContext);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            api.stop(1);
+            DBConnection.disablePooling();
+        }));
+        api.start();
+    }
+}
@@ -0,0 +1,422 @@
+package api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import model.Attendance;
+import model.LeaveRequest;
+import service.AttendanceService;
+import service.AuthenticationService;
+import service.JasperPayslipService;
+import service.LeaveRequestService;
+import service.PayrollCalculator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Self-service endpoints under /api/employees/{id}/. Callers authenticate with HTTP Basic
+ * (employee ID and password) and may only act on their own record. Basic requests are
+ * checked one by one and start no session; to avoid the password check on every call,
+ * POST to /session once for a token (body and X-Session-Token header) and send it back
+ * as {@code Authorization: Bearer} until the session idles out or the password changes.
+ *
+ * <pre>
+ * POST /api/employees/{id}/clock-in
+ * POST /api/employees/{id}/clock-out
+ * GET  /api/employees/{id}/attendance?from=YYYY-MM-DD&amp;to=YYYY-MM-DD
+ * GET  /api/employees/{id}/leave-requests
+ * POST /api/employees/{id}/leave-requests   {"leaveType":"Vacation","startDate":"...","endDate":"..."}
+ * GET  /api/employees/{id}/payslips/{YYYY-MM}[?format=pdf]
+ * POST /api/employees/{id}/session            (login; a Bearer caller gets its own token back)
+ * DELETE /api/employees/{id}/session          (logout)
+ * </pre>
+ */
+class EmployeeApiHandler implements HttpHandler {
+    private static final Logger LOGGER = Logger.getLogger(EmployeeApiHandler.class.getName());
+
+    static final String PREFIX = "/api/employees/";
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final AuthenticationService authenticationService = new AuthenticationService();
+    private final AttendanceService attendanceService = new AttendanceService();
+    private final LeaveRequestService leaveRequestService = new LeaveRequestService();
+    private final PayrollCalculator payrollCalculator = new PayrollCalculator();
+    private volatile JasperPayslipService payslipService;
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            route(exchange);
+        } catch (ApiException e) {
+            sendError(exchange, e.status, e.getMessage());
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Unhandled API error for " + exchange.getRequestURI(), e);
+            sendError(exchange, 500, "Internal server error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange) throws Exception {
+        String[] parts = exchange.getRequestURI().getPath().substring(PREFIX.length()).split("/");
+        if (parts.length < 2) {
+            throw new ApiException(404, "Not found");
+        }
+        int employeeId = parseEmployeeId(parts[0]);
+        String method = exchange.getRequestMethod();
+        String resource = parts[1];
+        boolean login = "session".equals(resource) && "POST".equals(method);
+        String token = authorize(exchange, employeeId, login);
+
+        switch (resource) {
+            case "session":
+                if (login) {
+                    Map<String, Object> session = new LinkedHashMap<>();
+                    session.put("employeeId", employeeId);
+                    session.put("token", token);
+                    exchange.getResponseHeaders().set("X-Session-Token", token);
+                    sendJson(exchange, 201, session);
+                    break;
+                }
+                requireMethod(method, "DELETE");
+                if (token != null) {
+                    authenticationService.logout(token);
+                }
+                exchange.sendResponseHeaders(204, -1);
+                break;
+            case "clock-in":
+                requireMethod(method, "POST");
+                clockIn(exchange, employeeId);
+                break;
+            case "clock-out":
+                requireMethod(method, "POST");
+                clockOut(exchange, employeeId);
+                break;
+            case "attendance":
+                requireMethod(method, "GET");
+                attendanceHistory(exchange, employeeId);
+                break;
+            case "leave-requests":
+                if ("POST".equals(method)) {
+                    submitLeave(exchange, employeeId);
+                } else {
+                    requireMethod(method, "GET");
+                    sendJson(exchange, 200, toLeaveList(leaveRequestService.getLeaveRequestsByEmployee(employeeId)));
+                }
+                break;
+            case "payslips":
+                requireMethod(method, "GET");
+                if (parts.length < 3) {
+                    throw new ApiException(404, "Payslip period required, e.g. /payslips/2024-06");
+                }
+                payslip(exchange, employeeId, parts[2]);
+                break;
+            default:
+                throw new ApiException(404, "Not found");
+        }
+    }
+
+    private void clockIn(HttpExchange exchange, int employeeId) throws IOException {
+        LocalDate today = LocalDate.now();
+        if (!attendanceService.recordLogIn(employeeId, today, Time.valueOf(LocalTime.now().withNano(0)))) {
+            throw new ApiException(409, "Already clocked in today or employee not found");
+        }
+        sendJson(exchange, 201, toJson(attendanceService.getAttendanceByDate(employeeId, today)));
+    }
+
+    private void clockOut(HttpExchange exchange, int employeeId) throws IOException {
+        LocalDate today = LocalDate.now();
+        if (!attendanceService.recordLogOut(employeeId, today, Time.valueOf(LocalTime.now().withNano(0)))) {
+            throw new ApiException(409, "No clock-in recorded today");
+        }
+        sendJson(exchange, 200, toJson(attendanceService.getAttendanceByDate(employeeId, today)));
+    }
+
+    private void attendanceHistory(HttpExchange exchange, int employeeId) throws IOException {
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        LocalDate to = query.containsKey("to") ? parseDate(query.get("to"), "to") : LocalDate.now();
+        LocalDate from = query.containsKey("from") ? parseDate(query.get("from"), "from") : to.minusDays(30);
+        if (from.isAfter(to)) {
+            throw new ApiException(400, "'from' cannot be after 'to'");
+        }
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Attendance a : attendanceService.getAttendanceByEmployeeAndDateRange(employeeId, from, to)) {
+            rows.add(toJson(a));
+        }
+        sendJson(exchange, 200, rows);
+    }
+
+    private void submitLeave(HttpExchange exchange, int employeeId) throws IOException {
+        Map<String, Object> body;
+        try {
+            body = Json.parseObject(readBody(exchange));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, "Invalid JSON: " + e.getMessage());
+        }
+        Object leaveType = body.get("leaveType");
+        if (!(leaveType instanceof String) || ((String) leaveType).isBlank()) {
+            throw new ApiException(400, "leaveType is required");
+        }
+        LocalDate start = parseDate(String.valueOf(body.get("startDate")), "startDate");
+        LocalDate end = parseDate(String.valueOf(body.get("endDate")), "endDate");
+        if (end.isBefore(start)) {
+            throw new ApiException(400, "endDate cannot be before startDate");
+        }
+        if (!leaveRequestService.submitLeaveRequest(employeeId, (String) leaveType, start, end)) {
+            throw new ApiException(409, "Leave request rejected (overlapping leave or invalid request)");
+        }
+        Map<String, Object> created = new LinkedHashMap<>();
+        created.put("employeeId", employeeId);
+        created.put("leaveType", leaveType);
+        created.put("startDate", start.toString());
+        created.put("endDate", end.toString());
+        created.put("status", LeaveRequest.STATUS_PENDING);
+        sendJson(exchange, 201, created);
+    }
+
+    private void payslip(HttpExchange exchange, int employeeId, String period) throws Exception {
+        YearMonth month;
+        try {
+            month = YearMonth.parse(period);
+        } catch (DateTimeParseException e) {
+            throw new ApiException(400, "Invalid period (expected YYYY-MM): " + period);
+        }
+        String format = parseQuery(exchange.getRequestURI().getRawQuery()).getOrDefault("format", "json");
+
+        if ("pdf".equalsIgnoreCase(format)) {
+            byte[] pdf;
+            try {
+                pdf = payslipService().generatePayslipReport(employeeId, month.atDay(1), month.atEndOfMonth(),
+                        JasperPayslipService.ExportFormat.PDF);
+            } catch (JasperPayslipService.JasperReportException e) {
+                throw new ApiException(503, "Payslip PDF unavailable: " + e.getMessage());
+            }
+            exchange.getResponseHeaders().set("Content-Type", JasperPayslipService.ExportFormat.PDF.getMimeType());
+            exchange.getResponseHeaders().set("Content-Disposition",
+                    "inline; filename=\"payslip_" + employeeId + "_" + period + ".pdf\"");
+            send(exchange, 200, pdf);
+            return;
+        }
+        if (!"json".equalsIgnoreCase(format)) {
+            throw new ApiException(400, "Unsupported format: " + format);
+        }
+
+        PayrollCalculator.PayrollData d;
+        try {
+            d = payrollCalculator.calculatePayroll(employeeId, month.atDay(1), month.atEndOfMonth());
+        } catch (PayrollCalculator.PayrollCalculationException e) {
+            throw new ApiException(404, e.getMessage());
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("employeeId", d.getEmployeeId());
+        json.put("periodStart", d.getPeriodStart().toString());
+        json.put("periodEnd", d.getPeriodEnd().toString());
+        json.put("daysWorked", d.getDaysWorked());
+        json.put("totalHours", round(d.getTotalHours()));
+        json.put("basicPay", round(d.getBasicPay()));
+        json.put("totalAllowances", round(d.getTotalAllowances()));
+        json.put("grossPay", round(d.getGrossPay()));
+        json.put("sss", round(d.getSss()));
+        json.put("philhealth", round(d.getPhilhealth()));
+        json.put("pagibig", round(d.getPagibig()));
+        json.put("tax", round(d.getTax()));
+        json.put("totalDeductions", round(d.getTotalDeductions()));
+        json.put("netPay", round(d.getNetPay()));
+        sendJson(exchange, 200, json);
+    }
+
+    private JasperPayslipService payslipService() throws JasperPayslipService.JasperReportException {
+        JasperPayslipService service = payslipService;
+        if (service == null) {
+            synchronized (this) {
+                if (payslipService == null) {
+                    payslipService = new JasperPayslipService();
+                }
+                service = payslipService;
+            }
+        }
+        return service;
+    }
+
+    /**
+     * Check the caller and return their session token: the Bearer token they sent, a new
+     * one for a Basic login, or null for any other Basic request
+     */
+    private String authorize(HttpExchange exchange, int employeeId, boolean login) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header != null && header.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            String token = header.substring(7).trim();
+            AuthenticationService.AuthenticationResult session = authenticationService.authenticateSession(token);
+            if (!session.isSuccessful()) {
+                throw new ApiException(401, session.getMessage());
+            }
+            if (session.getEmployee().getId() != employeeId) {
+                throw new ApiException(403, "Employees may only access their own records");
+            }
+            return token;
+        }
+        if (header == null || !header.regionMatches(true, 0, "Basic ", 0, 6)) {
+            exchange.getResponseHeaders().set("WWW-Authenticate", "Basic realm=\"MotorPH\"");
+            throw new ApiException(401, "Authentication required");
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getDecoder().decode(header.substring(6).trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(401, "Malformed credentials");
+        }
+        int colon = decoded.indexOf(':');
+        if (colon <= 0) {
+            throw new ApiException(401, "Malformed credentials");
+        }
+        int callerId;
+        try {
+            callerId = Integer.parseInt(decoded.substring(0, colon));
+        } catch (NumberFormatException e) {
+            throw new ApiException(401, "Malformed credentials");
+        }
+        String password = decoded.substring(colon + 1);
+        AuthenticationService.AuthenticationResult result = login && callerId == employeeId
+                ? authenticationService.authenticate(callerId, password)
+                : authenticationService.verifyCredentials(callerId, password);
+        if (!result.isSuccessful()) {
+            throw new ApiException(401, "Invalid employee ID or password");
+        }
+        if (callerId != employeeId) {
+            throw new ApiException(403, "Employees may only access their own records");
+        }
+        return result.getSessionToken();
+    }
+
+    private static Map<String, Object> toJson(Attendance a) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        if (a == null) {
+            return json;
+        }
+        json.put("id", a.getId());
+        json.put("employeeId", a.getEmployeeId());
+        json.put("date", String.valueOf(a.getDate()));
+        json.put("logIn", a.getLogIn() != null ? a.getLogIn().toString() : null);
+        json.put("logOut", a.getLogOut() != null ? a.getLogOut().toString() : null);
+        json.put("workHours", round(a.getWorkHours()));
+        return json;
+    }
+
+    private static List<Map<String, Object>> toLeaveList(List<LeaveRequest> leaves) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (LeaveRequest l : leaves) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("id", l.getLeaveId());
+            json.put("leaveType", l.getLeaveType());
+            json.put("startDate", String.valueOf(l.getStartDate()));
+            json.put("endDate", String.valueOf(l.getEndDate()));
+            json.put("days", l.getLeaveDays());
+            json.put("status", l.getStatus());
+            rows.add(json);
+        }
+        return rows;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static int parseEmployeeId(String text) {
+        try {
+            int id = Integer.parseInt(text);
+            if (id > 0) {
+                return id;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw new ApiException(404, "Unknown employee: " + text);
+    }
+
+    private static LocalDate parseDate(String text, String field) {
+        try {
+            return LocalDate.parse(text);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new ApiException(400, "Invalid " + field + " (expected YYYY-MM-DD): " + text);
+        }
+    }
+
+    private static void requireMethod(String actual, String expected) {
+        if (!expected.equals(actual)) {
+            throw new ApiException(405, "Method " + actual + " not allowed");
+        }
+    }
+
+    static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq >= 0 ? pair.substring(0, eq) : pair, StandardCharsets.UTF_8);
+            String value = eq >= 0 ? URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8) : "";
+            params.put(key, value);
+        }
+        return params;
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                throw new ApiException(413, "Request body too large");
+            }
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    static void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        send(exchange, status, Json.write(body).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status);
+        body.put("error", message);
+        sendJson(exchange, status, body);
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Error with the HTTP status to answer with
+     */
+    static class ApiException extends RuntimeException {
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package api;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Just enough JSON for the HTTP API: writes maps, lists and scalars, and reads
+ * flat objects whose values are strings, numbers, booleans or null.
+ */
+final class Json {
+
+    private Json() {}
+
+    static String write(Object value) {
+        StringBuilder out = new StringBuilder();
+        write(value, out);
+        return out.toString();
+    }
+
+    private static void write(Object value, StringBuilder out) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.append(value);
+        } else if (value instanceof Map) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                writeString(String.valueOf(e.getKey()), out);
+                out.append(':');
+                write(e.getValue(), out);
+            }
+            out.append('}');
+        } else if (value instanceof Iterable) {
+            out.append('[');
+            boolean first = true;
+            for (Object item : (Iterable<?>) value) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                write(item, out);
+            }
+            out.append(']');
+        } else {
+            writeString(value.toString(), out);
+        }
+    }
+
+    private static void writeString(String s, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': out.append("\\\""); break;
+                case '\\': out.append("\\\\"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                case '\t': out.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Parse a flat JSON object; nested objects and arrays are rejected
+     */
+    static Map<String, Object> parseObject(String text) {
+        Parser p = new Parser(text);
+        Map<String, Object> result = new LinkedHashMap<>();
+        p.skipWhitespace();
+        p.expect('{');
+        p.skipWhitespace();
+        if (p.peek() == '}') {
+            p.pos++;
+            return result;
+        }
+        while (true) {
+            p.skipWhitespace();
+            String key = p.readString();
+            p.skipWhitespace();
+            p.expect(':');
+            p.skipWhitespace();
+            result.put(key, p.readScalar());
+            p.skipWhitespace();
+            char c = p.next();
+            if (c == '}') {
+                return result;
+            }
+            if (c != ',') {
+                throw new IllegalArgumentException("Expected ',' or '}' at position " + (p.pos - 1));
+            }
+        }
+    }
+
+    private static final class Parser {
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text != null ? text : "";
+        }
+
+        char peek() {
+            if (pos >= text.length()) {
+                throw new IllegalArgumentException("Unexpected end of JSON");
+            }
+            return text.charAt(pos);
+        }
+
+        char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        void expect(char c) {
+            if (next() != c) {
+                throw new IllegalArgumentException("Expected '" + c + "' at position " + (pos - 1));
+            }
+        }
+
+        void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        String readString() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c == '\\') {
+                    char e = next();
+                    switch (e) {
+                        case 'n': sb.append('\n'); break;
+                        case 'r': sb.append('\r'); break;
+                        case 't': sb.append('\t'); break;
+                        case 'b': sb.append('\b'); break;
+                        case 'f': sb.append('\f'); break;
+                        case 'u':
+                            if (pos + 4 > text.length()) {
+                                throw new IllegalArgumentException("Bad unicode escape");
+                            }
+                            sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                            pos += 4;
+                            break;
+                        default: sb.append(e);
+                    }
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+
+        Object readScalar() {
+            char c = peek();
+            if (c == '"') {
+                return readString();
+            }
+            if (c == '{' || c == '[') {
+                throw new IllegalArgumentException("Nested values are not supported");
+            }
+            int start = pos;
+            while (pos < text.length() && ",} \t\r\n".indexOf(text.charAt(pos)) < 0) {
+                pos++;
+            }
+            String token = text.substring(start, pos);
+            switch (token) {
+                case "null": return null;
+                case "true": return Boolean.TRUE;
+                case "false": return Boolean.FALSE;
+                default:
+                    try {
+                        return token.contains(".") ? (Object) Double.parseDouble(token) : (Object) Long.parseLong(token);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid JSON value: " + token);
+                    }
+            }
+        }
+    }
+}
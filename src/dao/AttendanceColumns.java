@@ -0,0 +1,331 @@
+package dao;
+
+import model.Attendance;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared columnar copy of the attendance table for analytics over long ranges.
+ * Each employee's rows are kept per month as three parallel sorted int arrays
+ * (epoch day, log in and log out as seconds after midnight), so a scan over
+ * years of history is a tight loop over primitives with no objects per row.
+ *
+ * Months are loaded on first use, in one narrow query per call for every
+ * employee and month still missing, and stay until a write touches them:
+ * the repositories call {@link #invalidate(int, LocalDate)} for the month of
+ * every row they insert, update or delete, and {@link #invalidate()} when the
+ * backend changes. Writes from other processes (the API server's kiosks,
+ * other desktops) aren't seen by those calls, so a month is also reloaded
+ * once it is older than {@link #MAX_AGE_NANOS}.
+ */
+public final class AttendanceColumns {
+
+    // Bound on how long a month may miss another process's writes
+    static final long MAX_AGE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final int[] NO_ROWS = new int[0];
+
+    // employee id -> month index (year * 12 + month - 1) -> that month's rows
+    private static final Map<Integer, Map<Integer, Chunk>> CHUNKS = new ConcurrentHashMap<>();
+
+    // Bumped by every invalidation; a load that raced a write is used once but not kept
+    private static long generation;
+
+    private AttendanceColumns() {}
+
+    /**
+     * Scan of one employee over a date range; see the batch variant
+     */
+    public static Scan scan(int employeeId, LocalDate from, LocalDate to) {
+        return scan(Collections.singletonList(employeeId), from, to).get(employeeId);
+    }
+
+    /**
+     * Late, undertime, hour and weekday counts per employee over a date range.
+     * Every requested ID has an entry; only days with a log in are counted,
+     * matching {@link model.AttendanceTotals}.
+     */
+    public static Map<Integer, Scan> scan(List<Integer> employeeIds, LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Invalid date range: " + from + " to " + to);
+        }
+        int firstMonth = monthIndex(from);
+        int lastMonth = monthIndex(to);
+        Map<Integer, Map<Integer, Chunk>> loaded = load(employeeIds, firstMonth, lastMonth);
+
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        Map<Integer, Scan> scans = new LinkedHashMap<>();
+        for (Integer employeeId : employeeIds) {
+            Scan scan = new Scan();
+            for (Chunk chunk : loaded.get(employeeId).values()) {
+                if (chunk.size > 0) {
+                    chunk.scan(fromDay, toDay, scan);
+                }
+            }
+            scans.put(employeeId, scan);
+        }
+        return scans;
+    }
+
+    /**
+     * Forget the employee's month containing the date; after any write to one of its rows
+     */
+    public static void invalidate(int employeeId, LocalDate date) {
+        synchronized (AttendanceColumns.class) {
+            generation++;
+            Map<Integer, Chunk> months = CHUNKS.get(employeeId);
+            if (months != null) {
+                months.remove(monthIndex(date));
+            }
+        }
+    }
+
+    /**
+     * Forget everything loaded; when the backend changes or the store is reset
+     */
+    public static void invalidate() {
+        synchronized (AttendanceColumns.class) {
+            generation++;
+            CHUNKS.clear();
+        }
+    }
+
+    /**
+     * Every employee-month in range: cached ones still within the max age, plus the
+     * rest fetched in one query over the span of missing months and cached unless a
+     * write came in meanwhile. Scans use only the returned chunks, so an invalidation
+     * racing the scan can't drop a month out from under it.
+     */
+    private static Map<Integer, Map<Integer, Chunk>> load(List<Integer> employeeIds, int firstMonth, int lastMonth) {
+        long now = System.nanoTime();
+        Map<Integer, Map<Integer, Chunk>> result = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        int from = Integer.MAX_VALUE;
+        int to = Integer.MIN_VALUE;
+        for (Integer employeeId : employeeIds) {
+            Map<Integer, Chunk> cached = CHUNKS.get(employeeId);
+            Map<Integer, Chunk> months = new HashMap<>();
+            boolean any = false;
+            for (int month = firstMonth; month <= lastMonth; month++) {
+                Chunk chunk = cached != null ? cached.get(month) : null;
+                if (chunk != null && now - chunk.loadedAt < MAX_AGE_NANOS) {
+                    months.put(month, chunk);
+                } else {
+                    from = Math.min(from, month);
+                    to = Math.max(to, month);
+                    any = true;
+                }
+            }
+            result.put(employeeId, months);
+            if (any) {
+                missing.add(employeeId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        long seen;
+        synchronized (AttendanceColumns.class) {
+            seen = generation;
+        }
+        long loadedAt = System.nanoTime();
+        Builder builder = new Builder(loadedAt);
+        RepositoryFactory.attendance().scanAttendance(missing, firstDay(from), lastDay(to), builder);
+        Map<Integer, Map<Integer, Chunk>> fetched = builder.finish();
+
+        Chunk empty = new Chunk(NO_ROWS, NO_ROWS, NO_ROWS, 0, loadedAt);
+        for (Integer employeeId : missing) {
+            Map<Integer, Chunk> months = fetched.computeIfAbsent(employeeId, k -> new HashMap<>());
+            for (int month = from; month <= to; month++) {
+                months.putIfAbsent(month, empty);
+            }
+            result.get(employeeId).putAll(months);
+        }
+        synchronized (AttendanceColumns.class) {
+            if (seen == generation) {
+                for (Map.Entry<Integer, Map<Integer, Chunk>> entry : fetched.entrySet()) {
+                    CHUNKS.computeIfAbsent(entry.getKey(), k -> new ConcurrentHashMap<>()).putAll(entry.getValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int monthIndex(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    private static LocalDate firstDay(int monthIndex) {
+        return LocalDate.of(monthIndex / 12, monthIndex % 12 + 1, 1);
+    }
+
+    private static LocalDate lastDay(int monthIndex) {
+        return YearMonth.of(monthIndex / 12, monthIndex % 12 + 1).atEndOfMonth();
+    }
+
+    /**
+     * One employee's rows in one month, sorted by day
+     */
+    private static final class Chunk {
+        final int[] day;
+        final int[] logIn;
+        final int[] logOut;
+        final int size;
+        final long loadedAt;
+
+        Chunk(int[] day, int[] logIn, int[] logOut, int size, long loadedAt) {
+            this.day = day;
+            this.logIn = logIn;
+            this.logOut = logOut;
+            this.size = size;
+            this.loadedAt = loadedAt;
+        }
+
+        void scan(int fromDay, int toDay, Scan into) {
+            int start = day[0] >= fromDay ? 0 : firstAtOrAfter(fromDay);
+            int end = day[size - 1] <= toDay ? size : firstAtOrAfter(toDay + 1);
+            for (int i = start; i < end; i++) {
+                int in = logIn[i];
+                if (in == Attendance.NONE) {
+                    continue;
+                }
+                int out = logOut[i];
+                // Epoch day 0 was a Thursday; weekday 0 is Monday
+                int weekday = Math.floorMod(day[i] + 3, 7);
+                into.daysPresent++;
+                into.presentByWeekday[weekday]++;
+                if (out != Attendance.NONE) {
+                    into.workMinutes += (out - in) / 60;
+                }
+                if (in > Attendance.STANDARD_LOG_IN) {
+                    into.lateDays++;
+                    into.lateMinutes += (in - Attendance.STANDARD_LOG_IN) / 60;
+                    into.lateByWeekday[weekday]++;
+                }
+                if (out != Attendance.NONE && out < Attendance.STANDARD_LOG_OUT) {
+                    into.undertimeDays++;
+                    into.undertimeMinutes += (Attendance.STANDARD_LOG_OUT - out) / 60;
+                }
+            }
+        }
+
+        private int firstAtOrAfter(int target) {
+            int index = Arrays.binarySearch(day, 0, size, target);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+
+    /**
+     * Collects rows arriving in employee and date order into one chunk per employee-month
+     */
+    private static final class Builder implements AttendanceRepository.RowSink {
+        private final Map<Integer, Map<Integer, Chunk>> chunks = new HashMap<>();
+        private final long loadedAt;
+        private int employeeId;
+        private int month = -1;
+        private long monthStart = 1;
+        private long monthEnd = 0;
+        private int[] day = new int[32];
+        private int[] logIn = new int[32];
+        private int[] logOut = new int[32];
+        private int size;
+
+        Builder(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        @Override
+        public void accept(int employeeId, long epochDay, int logInSecond, int logOutSecond) {
+            if (employeeId != this.employeeId || epochDay < monthStart || epochDay > monthEnd) {
+                flush();
+                LocalDate date = LocalDate.ofEpochDay(epochDay);
+                this.employeeId = employeeId;
+                this.month = monthIndex(date);
+                this.monthStart = date.withDayOfMonth(1).toEpochDay();
+                this.monthEnd = date.withDayOfMonth(date.lengthOfMonth()).toEpochDay();
+            }
+            if (size == day.length) {
+                day = Arrays.copyOf(day, size * 2);
+                logIn = Arrays.copyOf(logIn, size * 2);
+                logOut = Arrays.copyOf(logOut, size * 2);
+            }
+            day[size] = (int) epochDay;
+            logIn[size] = logInSecond;
+            logOut[size] = logOutSecond;
+            size++;
+        }
+
+        private void flush() {
+            if (size > 0) {
+                chunks.computeIfAbsent(employeeId, k -> new HashMap<>()).put(month, new Chunk(
+                        Arrays.copyOf(day, size), Arrays.copyOf(logIn, size), Arrays.copyOf(logOut, size), size, loadedAt));
+                size = 0;
+            }
+        }
+
+        Map<Integer, Map<Integer, Chunk>> finish() {
+            flush();
+            return chunks;
+        }
+    }
+
+    /**
+     * Counts from a scan. Minutes are whole minutes per day as in
+     * {@link Attendance}; weekday arrays are indexed Monday = 0 to Sunday = 6.
+     */
+    public static final class Scan {
+        private int daysPresent;
+        private long workMinutes;
+        private int lateDays;
+        private long lateMinutes;
+        private int undertimeDays;
+        private long undertimeMinutes;
+        private final int[] presentByWeekday = new int[7];
+        private final int[] lateByWeekday = new int[7];
+
+        public int getDaysPresent() { return daysPresent; }
+        public long getWorkMinutes() { return workMinutes; }
+        public double getTotalHours() { return workMinutes / 60.0; }
+        public int getLateDays() { return lateDays; }
+        public long getLateMinutes() { return lateMinutes; }
+        public int getUndertimeDays() { return undertimeDays; }
+        public long getUndertimeMinutes() { return undertimeMinutes; }
+        public int[] getPresentByWeekday() { return presentByWeekday.clone(); }
+        public int[] getLateByWeekday() { return lateByWeekday.clone(); }
+
+        /**
+         * Add another scan's counts into this one, e.g. to total a team
+         */
+        public Scan add(Scan other) {
+            daysPresent += other.daysPresent;
+            workMinutes += other.workMinutes;
+            lateDays += other.lateDays;
+            lateMinutes += other.lateMinutes;
+            undertimeDays += other.undertimeDays;
+            undertimeMinutes += other.undertimeMinutes;
+            for (int i = 0; i < 7; i++) {
+                presentByWeekday[i] += other.presentByWeekday[i];
+                lateByWeekday[i] += other.lateByWeekday[i];
+            }
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return "Scan{days=" + daysPresent + ", minutes=" + workMinutes + ", late=" + lateDays
+                    + ", undertime=" + undertimeDays + "}";
+        }
+    }
+}
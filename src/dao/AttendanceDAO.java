@@ -1,17 +1,68 @@
 package dao;
 
 import util.DBConnection;
+import util.UnitOfWork;
 import model.Attendance;
+import model.AttendanceTotals;
+import model.Employee;
+import model.LeaveRequest;
+import model.TeamMemberStatus;
 import java.sql.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.util.*;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
-public class AttendanceDAO {
+public class AttendanceDAO implements AttendanceRepository {
     private static final Logger logger = Logger.getLogger(AttendanceDAO.class.getName());
 
+    static final String SELECT_BY_EMPLOYEE_AND_DATE_RANGE = "SELECT * FROM attendance WHERE employee_id = ? " +
+            "AND attendance_date >= ? AND attendance_date <= ? ORDER BY attendance_date DESC";
+
+    static final String SELECT_BY_EMPLOYEE_AND_DATE = "SELECT * FROM attendance WHERE employee_id = ? AND attendance_date = ?";
+
+    // Direct reports with their attendance row and covering approved leave for one date
+    static final String TEAM_STATUS_QUERY = """
+        SELECT e.employee_id, e.last_name, e.first_name, e.status, e.phone_number, e.position_id,
+               p.position_title,
+               a.id, a.attendance_date, a.log_in, a.log_out,
+               (SELECT MAX(l.leave_type) FROM leave_requests l
+                 WHERE l.employee_id = e.employee_id AND l.status = ?
+                   AND l.start_date <= ? AND l.end_date >= ?) AS leave_type
+        FROM employees e
+        LEFT JOIN positions p ON e.position_id = p.position_id
+        LEFT JOIN attendance a ON a.employee_id = e.employee_id AND a.attendance_date = ?
+        WHERE e.supervisor_id = ?
+        ORDER BY e.last_name, e.first_name
+        """;
+
+    // Recount one employee-month of attendance_monthly_summary from its raw rows, on every write.
+    // Minutes are whole minutes truncated like Duration.toMinutes; late is after 08:00, undertime before 17:00.
+    static final String DELETE_MONTHLY_SUMMARY =
+            "DELETE FROM attendance_monthly_summary WHERE employee_id = ? AND month_key = ?";
+
+    static final String REFRESH_MONTHLY_SUMMARY = """
+        INSERT INTO attendance_monthly_summary (employee_id, month_key, days_present, work_minutes,
+                                                late_days, late_minutes, undertime_days, undertime_minutes)
+        SELECT employee_id, ?, COUNT(*),
+               SUM(CASE WHEN log_out IS NULL THEN 0 ELSE FLOOR(((HOUR(log_out) * 3600 + MINUTE(log_out) * 60 + SECOND(log_out))
+                   - (HOUR(log_in) * 3600 + MINUTE(log_in) * 60 + SECOND(log_in))) / 60) END),
+               SUM(CASE WHEN log_in > TIME '08:00:00' THEN 1 ELSE 0 END),
+               SUM(CASE WHEN log_in > TIME '08:00:00'
+                   THEN FLOOR((HOUR(log_in) * 3600 + MINUTE(log_in) * 60 + SECOND(log_in) - 28800) / 60) ELSE 0 END),
+               SUM(CASE WHEN log_out < TIME '17:00:00' THEN 1 ELSE 0 END),
+               SUM(CASE WHEN log_out < TIME '17:00:00'
+                   THEN FLOOR((61200 - (HOUR(log_out) * 3600 + MINUTE(log_out) * 60 + SECOND(log_out))) / 60) ELSE 0 END)
+        FROM attendance
+        WHERE employee_id = ? AND attendance_date >= ? AND attendance_date <= ? AND log_in IS NOT NULL
+        GROUP BY employee_id
+        """;
+
+    private static final int SCAN_FETCH_SIZE = 1000;
+
     public List<Attendance> getAttendanceByEmployeeId(int empId) {
         if (empId <= 0) {
             throw new IllegalArgumentException("Employee ID must be positive");
@@ -51,7 +102,7 @@ public class AttendanceDAO {
         }
 
         List<Attendance> list = new ArrayList<>();
-        String query = "SELECT * FROM attendance WHERE employee_id = ? AND attendance_date >= ? AND attendance_date <= ? ORDER BY attendance_date DESC";
+        String query = SELECT_BY_EMPLOYEE_AND_DATE_RANGE;
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
@@ -75,6 +126,154 @@ public class AttendanceDAO {
 
         return list;
     }
+    /**
+     * Attendance for several employees in one query, grouped by employee (newest first)
+     */
+    public Map<Integer, List<Attendance>> getAttendanceByEmployeeIdsBetweenDates(List<Integer> employeeIds,
+                                                                               LocalDate periodStart, LocalDate periodEnd) {
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period start and end dates cannot be null");
+        }
+        if (periodStart.isAfter(periodEnd)) {
+            throw new IllegalArgumentException("Period start date cannot be after end date");
+        }
+
+        Map<Integer, List<Attendance>> byEmployee = new HashMap<>();
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            return byEmployee;
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(selectByEmployeeIdsBetweenDatesQuery(employeeIds.size()))) {
+
+            int index = 1;
+            for (Integer employeeId : employeeIds) {
+                stmt.setInt(index++, employeeId);
+            }
+            stmt.setDate(index++, java.sql.Date.valueOf(periodStart));
+            stmt.setDate(index, java.sql.Date.valueOf(periodEnd));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Attendance a = mapResultSetToAttendance(rs);
+                    byEmployee.computeIfAbsent(a.getEmployeeId(), k -> new ArrayList<>()).add(a);
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving attendance for " + employeeIds.size() +
+                    " employees between dates: " + periodStart + " and " + periodEnd, ex);
+            throw new RuntimeException("Failed to retrieve attendance records", ex);
+        }
+
+        return byEmployee;
+    }
+
+    /** Query of {@link #getAttendanceByEmployeeIdsBetweenDates} for the given number of IDs */
+    static String selectByEmployeeIdsBetweenDatesQuery(int idCount) {
+        String placeholders = String.join(", ", Collections.nCopies(idCount, "?"));
+        return "SELECT * FROM attendance WHERE employee_id IN (" + placeholders + ") " +
+                "AND attendance_date >= ? AND attendance_date <= ? ORDER BY employee_id, attendance_date DESC";
+    }
+
+    /**
+     * Only the four columns the columnar store keeps, read straight into primitives
+     */
+    public void scanAttendance(List<Integer> employeeIds, LocalDate periodStart, LocalDate periodEnd, RowSink sink) {
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period start and end dates cannot be null");
+        }
+        if (periodStart.isAfter(periodEnd)) {
+            throw new IllegalArgumentException("Period start date cannot be after end date");
+        }
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            return;
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(scanQuery(employeeIds.size()))) {
+
+            int index = 1;
+            for (Integer employeeId : employeeIds) {
+                stmt.setInt(index++, employeeId);
+            }
+            stmt.setDate(index++, java.sql.Date.valueOf(periodStart));
+            stmt.setDate(index, java.sql.Date.valueOf(periodEnd));
+            stmt.setFetchSize(SCAN_FETCH_SIZE);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    sink.accept(rs.getInt(1), epochDay(rs, "attendance_date"),
+                            secondOfDay(rs, "log_in"), secondOfDay(rs, "log_out"));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error scanning attendance for " + employeeIds.size() +
+                    " employees between dates: " + periodStart + " and " + periodEnd, ex);
+            throw new RuntimeException("Failed to scan attendance records", ex);
+        }
+    }
+
+    /** Query of {@link #scanAttendance} for the given number of IDs */
+    static String scanQuery(int idCount) {
+        String placeholders = String.join(", ", Collections.nCopies(idCount, "?"));
+        return "SELECT employee_id, attendance_date, log_in, log_out FROM attendance " +
+                "WHERE employee_id IN (" + placeholders + ") " +
+                "AND attendance_date >= ? AND attendance_date <= ? ORDER BY employee_id, attendance_date";
+    }
+
+    /**
+     * Every direct report of the supervisor with that date's attendance and leave, in one query
+     */
+    public List<TeamMemberStatus> getTeamStatusForDate(int supervisorId, LocalDate date) {
+        if (supervisorId <= 0) {
+            throw new IllegalArgumentException("Supervisor ID must be positive");
+        }
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+
+        List<TeamMemberStatus> team = new ArrayList<>();
+        java.sql.Date sqlDate = java.sql.Date.valueOf(date);
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(TEAM_STATUS_QUERY)) {
+
+            stmt.setString(1, LeaveRequest.STATUS_APPROVED);
+            stmt.setDate(2, sqlDate);
+            stmt.setDate(3, sqlDate);
+            stmt.setDate(4, sqlDate);
+            stmt.setInt(5, supervisorId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Employee employee = new Employee(rs.getInt("employee_id"),
+                            rs.getString("first_name"), rs.getString("last_name"));
+                    employee.setStatus(rs.getString("status"));
+                    employee.setPhoneNumber(rs.getString("phone_number"));
+                    employee.setPositionId(rs.getInt("position_id"));
+                    employee.setPosition(rs.getString("position_title"));
+
+                    Attendance attendance = null;
+                    int attendanceId = rs.getInt("id");
+                    if (!rs.wasNull()) {
+                        attendance = Attendance.loaded(attendanceId, employee.getId(),
+                                epochDay(rs, "attendance_date"), secondOfDay(rs, "log_in"),
+                                secondOfDay(rs, "log_out"), null, null);
+                    }
+                    team.add(new TeamMemberStatus(employee, attendance, rs.getString("leave_type")));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving team status for supervisor " + supervisorId +
+                    " on " + date, ex);
+            throw new RuntimeException("Failed to retrieve team status", ex);
+        }
+
+        return team;
+    }
 
     public int insertAttendance(Attendance attendance) {
         if (attendance == null) {
@@ -143,11 +342,33 @@ public class AttendanceDAO {
             throw new RuntimeException("Error checking duplicate attendance: " + e.getMessage(), e);
         }
 
-        // Insert attendance record
+        // Insert attendance record and recount its month, in one transaction
         String query = "INSERT INTO attendance (employee_id, attendance_date, log_in, log_out) VALUES (?, ?, ?, ?)";
 
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = DBConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                int generatedId = insertRow(conn, query, attendance);
+                refreshMonthlySummary(conn, attendance.getEmployeeId(), attendanceDate);
+                conn.commit();
+                invalidateColumns(attendance.getEmployeeId(), attendanceDate);
+                return generatedId;
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error inserting attendance record", ex);
+            throw new RuntimeException("Failed to insert attendance record: " + ex.getMessage(), ex);
+        }
+    }
+
+    private int insertRow(Connection conn, String query, Attendance attendance) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
 
             stmt.setInt(1, attendance.getEmployeeId());
             stmt.setDate(2, attendance.getDate());
@@ -176,10 +397,6 @@ public class AttendanceDAO {
                     throw new SQLException("Creating attendance failed, no ID obtained.");
                 }
             }
-
-        } catch (SQLException ex) {
-            logger.log(Level.SEVERE, "Error inserting attendance record", ex);
-            throw new RuntimeException("Failed to insert attendance record: " + ex.getMessage(), ex);
         }
     }
 
@@ -193,17 +410,39 @@ public class AttendanceDAO {
 
         String query = "UPDATE attendance SET employee_id = ?, attendance_date = ?, log_in = ?, log_out = ? WHERE id = ?";
 
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-
-            stmt.setInt(1, attendance.getEmployeeId());
-            stmt.setDate(2, attendance.getDate());
-            stmt.setTime(3, attendance.getLogIn());
-            stmt.setTime(4, attendance.getLogOut());
-            stmt.setInt(5, attendance.getId());
+        try (Connection conn = DBConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                // The row may move to another employee or month; both months are recounted
+                Attendance previous = findRow(conn, attendance.getId());
+                if (previous == null) {
+                    // Nothing written; a rollback here would doom an enclosing unit of work
+                    return false;
+                }
 
-            int affectedRows = stmt.executeUpdate();
-            return affectedRows > 0;
+                stmt.setInt(1, attendance.getEmployeeId());
+                stmt.setDate(2, attendance.getDate());
+                stmt.setTime(3, attendance.getLogIn());
+                stmt.setTime(4, attendance.getLogOut());
+                stmt.setInt(5, attendance.getId());
+                boolean updated = stmt.executeUpdate() > 0;
+
+                refreshMonthlySummary(conn, attendance.getEmployeeId(), attendance.getDate().toLocalDate());
+                if (previous.getEmployeeId() != attendance.getEmployeeId()
+                        || !YearMonth.from(previous.getDate().toLocalDate()).equals(YearMonth.from(attendance.getDate().toLocalDate()))) {
+                    refreshMonthlySummary(conn, previous.getEmployeeId(), previous.getDate().toLocalDate());
+                }
+                conn.commit();
+                invalidateColumns(attendance.getEmployeeId(), attendance.getDate().toLocalDate());
+                invalidateColumns(previous.getEmployeeId(), previous.getDate().toLocalDate());
+                return updated;
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
 
         } catch (SQLException ex) {
             logger.log(Level.SEVERE, "Error updating attendance record", ex);
@@ -218,12 +457,28 @@ public class AttendanceDAO {
 
         String query = "DELETE FROM attendance WHERE id = ?";
 
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+        try (Connection conn = DBConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                Attendance previous = findRow(conn, attendanceId);
+                if (previous == null) {
+                    // Nothing written; a rollback here would doom an enclosing unit of work
+                    return false;
+                }
 
-            stmt.setInt(1, attendanceId);
-            int affectedRows = stmt.executeUpdate();
-            return affectedRows > 0;
+                stmt.setInt(1, attendanceId);
+                boolean deleted = stmt.executeUpdate() > 0;
+                refreshMonthlySummary(conn, previous.getEmployeeId(), previous.getDate().toLocalDate());
+                conn.commit();
+                invalidateColumns(previous.getEmployeeId(), previous.getDate().toLocalDate());
+                return deleted;
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
 
         } catch (SQLException ex) {
             logger.log(Level.SEVERE, "Error deleting attendance record", ex);
@@ -231,6 +486,94 @@ public class AttendanceDAO {
         }
     }
 
+    /**
+     * Drop the month from the columnar store once the write is visible to other connections
+     */
+    private static void invalidateColumns(int employeeId, LocalDate date) {
+        UnitOfWork.afterCommit(() -> AttendanceColumns.invalidate(employeeId, date));
+    }
+
+    /**
+     * Recount the employee's month containing the date in attendance_monthly_summary
+     */
+    private static void refreshMonthlySummary(Connection conn, int employeeId, LocalDate date) throws SQLException {
+        YearMonth month = YearMonth.from(date);
+        int monthKey = monthKey(month);
+        try (PreparedStatement delete = conn.prepareStatement(DELETE_MONTHLY_SUMMARY);
+             PreparedStatement insert = conn.prepareStatement(REFRESH_MONTHLY_SUMMARY)) {
+            delete.setInt(1, employeeId);
+            delete.setInt(2, monthKey);
+            delete.executeUpdate();
+
+            insert.setInt(1, monthKey);
+            insert.setInt(2, employeeId);
+            insert.setDate(3, java.sql.Date.valueOf(month.atDay(1)));
+            insert.setDate(4, java.sql.Date.valueOf(month.atEndOfMonth()));
+            insert.executeUpdate();
+        }
+    }
+
+    private Attendance findRow(Connection conn, int attendanceId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT * FROM attendance WHERE id = ?")) {
+            stmt.setInt(1, attendanceId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? mapResultSetToAttendance(rs) : null;
+            }
+        }
+    }
+
+    /** yyyymm, the month key of attendance_monthly_summary */
+    static int monthKey(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    public Map<Integer, AttendanceTotals> getMonthlyTotals(List<Integer> employeeIds, YearMonth fromMonth, YearMonth toMonth) {
+        if (fromMonth == null || toMonth == null) {
+            throw new IllegalArgumentException("Months cannot be null");
+        }
+        if (fromMonth.isAfter(toMonth)) {
+            throw new IllegalArgumentException("From month cannot be after to month");
+        }
+
+        Map<Integer, AttendanceTotals> totals = new HashMap<>();
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            return totals;
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(monthlyTotalsQuery(employeeIds.size()))) {
+
+            int index = 1;
+            for (Integer employeeId : employeeIds) {
+                stmt.setInt(index++, employeeId);
+            }
+            stmt.setInt(index++, monthKey(fromMonth));
+            stmt.setInt(index, monthKey(toMonth));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    totals.put(rs.getInt(1), new AttendanceTotals(rs.getInt(2), rs.getLong(3), rs.getInt(4),
+                            rs.getLong(5), rs.getInt(6), rs.getLong(7)));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving monthly attendance totals for " + employeeIds.size() +
+                    " employees from " + fromMonth + " to " + toMonth, ex);
+            throw new RuntimeException("Failed to retrieve monthly attendance totals", ex);
+        }
+
+        return totals;
+    }
+
+    /** Query of {@link #getMonthlyTotals} for the given number of IDs */
+    static String monthlyTotalsQuery(int idCount) {
+        String placeholders = String.join(", ", Collections.nCopies(idCount, "?"));
+        return "SELECT employee_id, SUM(days_present), SUM(work_minutes), SUM(late_days), SUM(late_minutes), " +
+                "SUM(undertime_days), SUM(undertime_minutes) FROM attendance_monthly_summary " +
+                "WHERE employee_id IN (" + placeholders + ") AND month_key >= ? AND month_key <= ? GROUP BY employee_id";
+    }
+
     public Attendance getAttendanceById(int attendanceId) {
         if (attendanceId <= 0) {
             throw new IllegalArgumentException("Attendance ID must be positive");
@@ -329,7 +672,7 @@ public class AttendanceDAO {
             throw new IllegalArgumentException("Attendance date cannot be null");
         }
 
-        String query = "SELECT * FROM attendance WHERE employee_id = ? AND attendance_date = ?";
+        String query = SELECT_BY_EMPLOYEE_AND_DATE;
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
@@ -352,32 +695,34 @@ public class AttendanceDAO {
     }
 
     private Attendance mapResultSetToAttendance(ResultSet rs) throws SQLException {
-        Attendance attendance = new Attendance();
-        attendance.setId(rs.getInt("id"));
-        attendance.setEmployeeId(rs.getInt("employee_id"));
-        attendance.setDate(rs.getDate("attendance_date"));
-        attendance.setLogIn(rs.getTime("log_in"));
-        attendance.setLogOut(rs.getTime("log_out"));
-
-        // Handle timestamps if they exist
+        // Read the columns as java.time values straight into Attendance's primitive
+        // fields, without the intermediate java.sql objects per row
+        LocalDateTime createdAt = null;
         try {
-            Timestamp created = rs.getTimestamp("created_at");
-            if (created != null) {
-                attendance.setCreatedAt(created.toLocalDateTime());
-            }
+            createdAt = rs.getObject("created_at", LocalDateTime.class);
         } catch (SQLException e) {
             // created_at column might not exist in all queries
         }
 
+        LocalDateTime updatedAt = null;
         try {
-            Timestamp updated = rs.getTimestamp("updated_at");
-            if (updated != null) {
-                attendance.setUpdatedAt(updated.toLocalDateTime());
-            }
+            updatedAt = rs.getObject("updated_at", LocalDateTime.class);
         } catch (SQLException e) {
             // updated_at column might not exist in all queries
         }
 
-        return attendance;
+        return Attendance.loaded(rs.getInt("id"), rs.getInt("employee_id"),
+                epochDay(rs, "attendance_date"), secondOfDay(rs, "log_in"), secondOfDay(rs, "log_out"),
+                createdAt, updatedAt);
+    }
+
+    private static long epochDay(ResultSet rs, String column) throws SQLException {
+        LocalDate date = rs.getObject(column, LocalDate.class);
+        return date == null ? Attendance.NONE : date.toEpochDay();
+    }
+
+    private static int secondOfDay(ResultSet rs, String column) throws SQLException {
+        LocalTime time = rs.getObject(column, LocalTime.class);
+        return time == null ? Attendance.NONE : time.toSecondOfDay();
     }
-}
\ No newline at end of file
+}
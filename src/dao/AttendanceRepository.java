@@ -0,0 +1,67 @@
+package dao;
+
+import model.Attendance;
+import model.AttendanceTotals;
+import model.TeamMemberStatus;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage contract for attendance records.
+ * Implemented by {@link AttendanceDAO} (MySQL) and {@link InMemoryAttendanceRepository}.
+ * Every write keeps the per-employee monthly rollup in step with the raw rows.
+ */
+public interface AttendanceRepository {
+
+    List<Attendance> getAttendanceByEmployeeId(int empId);
+
+    List<Attendance> getAttendanceByEmployeeIdBetweenDates(int employeeId, LocalDate periodStart, LocalDate periodEnd);
+
+    /**
+     * Attendance for several employees in one round trip, keyed by employee ID
+     */
+    Map<Integer, List<Attendance>> getAttendanceByEmployeeIdsBetweenDates(List<Integer> employeeIds,
+                                                                        LocalDate periodStart, LocalDate periodEnd);
+
+    /**
+     * Attendance totals over whole months from the monthly rollup, keyed by employee ID;
+     * employees with nothing recorded in those months are absent
+     */
+    Map<Integer, AttendanceTotals> getMonthlyTotals(List<Integer> employeeIds, YearMonth fromMonth, YearMonth toMonth);
+
+    /**
+     * Raw rows of several employees in a date range, ordered by employee and date,
+     * handed over as primitives without building Attendance objects; feeds
+     * {@link AttendanceColumns}
+     */
+    void scanAttendance(List<Integer> employeeIds, LocalDate periodStart, LocalDate periodEnd, RowSink sink);
+
+    /**
+     * Receives one attendance row; times are seconds after midnight, {@link Attendance#NONE} when missing
+     */
+    @FunctionalInterface
+    interface RowSink {
+        void accept(int employeeId, long epochDay, int logInSecond, int logOutSecond);
+    }
+
+    /**
+     * Direct reports of a supervisor with their attendance and approved-leave status on a date, in one round trip
+     */
+    List<TeamMemberStatus> getTeamStatusForDate(int supervisorId, LocalDate date);
+
+    int insertAttendance(Attendance attendance);
+
+    boolean updateAttendance(Attendance attendance);
+
+    boolean deleteAttendance(int attendanceId);
+
+    Attendance getAttendanceById(int attendanceId);
+
+    boolean attendanceExistsForDate(int employeeId, LocalDate attendanceDate);
+
+    int countAttendanceDays(int employeeId, LocalDate periodStart, LocalDate periodEnd);
+
+    Attendance getAttendanceByEmployeeAndDate(int employeeId, LocalDate attendanceDate);
+}
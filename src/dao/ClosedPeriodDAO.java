@@ -0,0 +1,192 @@
+package dao;
+
+import model.AttendanceTotals;
+import model.MonthlySummary;
+import util.DBConnection;
+import util.UnitOfWork;
+
+import java.sql.*;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * DAO for the closed_periods and closed_period_summaries tables. Rows are only
+ * ever inserted: closing a month writes its marker and every summary in one
+ * transaction, and nothing updates or deletes them afterwards.
+ */
+public class ClosedPeriodDAO implements ClosedPeriodRepository {
+    private static final Logger LOGGER = Logger.getLogger(ClosedPeriodDAO.class.getName());
+
+    private static final String INSERT_PERIOD =
+            "INSERT INTO closed_periods (period_month, employee_count) VALUES (?, ?)";
+
+    private static final String INSERT_SUMMARY = "INSERT INTO closed_period_summaries (" +
+            "period_month, employee_id, days_present, work_minutes, late_days, late_minutes, " +
+            "undertime_days, undertime_minutes, unpaid_leave_days, working_days, monthly_rate, daily_rate, " +
+            "basic_pay, rice_subsidy, phone_allowance, clothing_allowance, late_deduction, undertime_deduction, " +
+            "unpaid_leave_deduction, sss, philhealth, pagibig, tax) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public Set<YearMonth> getClosedMonths() {
+        Set<YearMonth> months = new LinkedHashSet<>();
+        String query = "SELECT period_month FROM closed_periods ORDER BY period_month";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                months.add(YearMonth.from(rs.getDate("period_month").toLocalDate()));
+            }
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error fetching closed periods", ex);
+            throw new RuntimeException("Failed to fetch closed periods", ex);
+        }
+
+        return months;
+    }
+
+    public Map<Integer, MonthlySummary> getSummaries(YearMonth month) {
+        if (month == null) {
+            throw new IllegalArgumentException("Month cannot be null");
+        }
+        Map<Integer, MonthlySummary> summaries = new HashMap<>();
+        String query = "SELECT * FROM closed_period_summaries WHERE period_month = ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setDate(1, java.sql.Date.valueOf(month.atDay(1)));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    MonthlySummary summary = mapSummary(rs, month);
+                    summaries.put(summary.getEmployeeId(), summary);
+                }
+            }
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error fetching summaries for closed period: " + month, ex);
+            throw new RuntimeException("Failed to fetch closed period summaries", ex);
+        }
+
+        return summaries;
+    }
+
+    public boolean closeMonth(YearMonth month, Collection<MonthlySummary> summaries) {
+        if (month == null || summaries == null) {
+            throw new IllegalArgumentException("Month and summaries cannot be null");
+        }
+        java.sql.Date periodMonth = java.sql.Date.valueOf(month.atDay(1));
+
+        try (Connection conn = DBConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement periodStmt = conn.prepareStatement(INSERT_PERIOD);
+                 PreparedStatement summaryStmt = conn.prepareStatement(INSERT_SUMMARY)) {
+
+                periodStmt.setDate(1, periodMonth);
+                periodStmt.setInt(2, summaries.size());
+                try {
+                    periodStmt.executeUpdate();
+                } catch (SQLException ex) {
+                    if (isDuplicateKey(ex)) {
+                        conn.rollback();
+                        LOGGER.info("Period already closed: " + month);
+                        return false;
+                    }
+                    throw ex;
+                }
+
+                for (MonthlySummary summary : summaries) {
+                    if (!month.equals(summary.getMonth())) {
+                        throw new IllegalArgumentException("Summary for " + summary.getMonth() + " in close of " + month);
+                    }
+                    bindSummary(summaryStmt, periodMonth, summary);
+                    summaryStmt.addBatch();
+                }
+                if (!summaries.isEmpty()) {
+                    summaryStmt.executeBatch();
+                }
+                conn.commit();
+            } catch (SQLException | RuntimeException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+
+            UnitOfWork.afterCommit(ClosedPeriods::invalidate);
+            LOGGER.info("Closed period " + month + " with " + summaries.size() + " summaries");
+            return true;
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error closing period: " + month, ex);
+            throw new RuntimeException("Failed to close period", ex);
+        }
+    }
+
+    private static boolean isDuplicateKey(SQLException ex) {
+        return ex instanceof SQLIntegrityConstraintViolationException
+                || (ex.getSQLState() != null && ex.getSQLState().startsWith("23"));
+    }
+
+    private static void bindSummary(PreparedStatement stmt, java.sql.Date periodMonth, MonthlySummary s)
+            throws SQLException {
+        AttendanceTotals att = s.getAttendance();
+        stmt.setDate(1, periodMonth);
+        stmt.setInt(2, s.getEmployeeId());
+        stmt.setInt(3, att.getDaysPresent());
+        stmt.setLong(4, att.getWorkMinutes());
+        stmt.setInt(5, att.getLateDays());
+        stmt.setLong(6, att.getLateMinutes());
+        stmt.setInt(7, att.getUndertimeDays());
+        stmt.setLong(8, att.getUndertimeMinutes());
+        stmt.setInt(9, s.getUnpaidLeaveDays());
+        stmt.setInt(10, s.getWorkingDays());
+        stmt.setDouble(11, s.getMonthlyRate());
+        stmt.setDouble(12, s.getDailyRate());
+        stmt.setDouble(13, s.getBasicPay());
+        stmt.setDouble(14, s.getRiceSubsidy());
+        stmt.setDouble(15, s.getPhoneAllowance());
+        stmt.setDouble(16, s.getClothingAllowance());
+        stmt.setDouble(17, s.getLateDeduction());
+        stmt.setDouble(18, s.getUndertimeDeduction());
+        stmt.setDouble(19, s.getUnpaidLeaveDeduction());
+        stmt.setDouble(20, s.getSss());
+        stmt.setDouble(21, s.getPhilhealth());
+        stmt.setDouble(22, s.getPagibig());
+        stmt.setDouble(23, s.getTax());
+    }
+
+    private static MonthlySummary mapSummary(ResultSet rs, YearMonth month) throws SQLException {
+        AttendanceTotals attendance = new AttendanceTotals(
+                rs.getInt("days_present"),
+                rs.getLong("work_minutes"),
+                rs.getInt("late_days"),
+                rs.getLong("late_minutes"),
+                rs.getInt("undertime_days"),
+                rs.getLong("undertime_minutes"));
+        return new MonthlySummary(
+                rs.getInt("employee_id"),
+                month,
+                attendance,
+                rs.getInt("unpaid_leave_days"),
+                rs.getInt("working_days"),
+                rs.getDouble("monthly_rate"),
+                rs.getDouble("daily_rate"),
+                rs.getDouble("basic_pay"),
+                rs.getDouble("rice_subsidy"),
+                rs.getDouble("phone_allowance"),
+                rs.getDouble("clothing_allowance"),
+                rs.getDouble("late_deduction"),
+                rs.getDouble("undertime_deduction"),
+                rs.getDouble("unpaid_leave_deduction"),
+                rs.getDouble("sss"),
+                rs.getDouble("philhealth"),
+                rs.getDouble("pagibig"),
+                rs.getDouble("tax"));
+    }
+}
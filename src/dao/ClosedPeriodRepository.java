@@ -0,0 +1,30 @@
+package dao;
+
+import model.MonthlySummary;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Storage contract for closed pay periods and their frozen monthly summaries.
+ * Implemented by {@link ClosedPeriodDAO} (MySQL) and {@link InMemoryClosedPeriodRepository}.
+ * A closed month is never reopened or changed; readers go through the
+ * {@link ClosedPeriods} cache.
+ */
+public interface ClosedPeriodRepository {
+
+    Set<YearMonth> getClosedMonths();
+
+    /**
+     * Summaries of a closed month by employee id; empty for an open month
+     */
+    Map<Integer, MonthlySummary> getSummaries(YearMonth month);
+
+    /**
+     * Record the month as closed together with its summaries, all or nothing;
+     * false if the month was already closed
+     */
+    boolean closeMonth(YearMonth month, Collection<MonthlySummary> summaries);
+}
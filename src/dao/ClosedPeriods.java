@@ -0,0 +1,90 @@
+package dao;
+
+import model.MonthlySummary;
+
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Shared cache of closed months and their frozen summaries. A closed month
+ * never changes, so its summaries are loaded once on first use and kept for
+ * the life of the process; only the set of closed months is reloaded, after
+ * {@link #invalidate()}, which the repositories call when a month is closed.
+ */
+public final class ClosedPeriods {
+    private static final Logger LOGGER = Logger.getLogger(ClosedPeriods.class.getName());
+
+    private static volatile Set<YearMonth> closedMonths;
+    private static final Map<YearMonth, Map<Integer, MonthlySummary>> SUMMARIES = new ConcurrentHashMap<>();
+
+    private ClosedPeriods() {}
+
+    /**
+     * Closed months of the active backend. If they can't be loaded every month
+     * is treated as open for this call, which only costs a live calculation;
+     * the next call tries the load again.
+     */
+    public static Set<YearMonth> closedMonths() {
+        Set<YearMonth> months = closedMonths;
+        if (months == null) {
+            synchronized (ClosedPeriods.class) {
+                months = closedMonths;
+                if (months == null) {
+                    try {
+                        months = Collections.unmodifiableSet(RepositoryFactory.closedPeriods().getClosedMonths());
+                    } catch (RuntimeException e) {
+                        LOGGER.log(Level.WARNING, "Closed periods unavailable, treating every month as open", e);
+                        return Collections.emptySet();
+                    }
+                    closedMonths = months;
+                }
+            }
+        }
+        return months;
+    }
+
+    public static boolean isClosed(YearMonth month) {
+        return closedMonths().contains(month);
+    }
+
+    /**
+     * Frozen summaries of a closed month by employee id; empty for an open month
+     */
+    public static Map<Integer, MonthlySummary> summaries(YearMonth month) {
+        if (!isClosed(month)) {
+            return Collections.emptyMap();
+        }
+        Map<Integer, MonthlySummary> summaries = SUMMARIES.get(month);
+        if (summaries == null) {
+            summaries = Collections.unmodifiableMap(RepositoryFactory.closedPeriods().getSummaries(month));
+            Map<Integer, MonthlySummary> raced = SUMMARIES.putIfAbsent(month, summaries);
+            if (raced != null) {
+                summaries = raced;
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * The employee's summary for a closed month, or null if the month is open
+     * or the employee wasn't part of the close
+     */
+    public static MonthlySummary summary(int employeeId, YearMonth month) {
+        return summaries(month).get(employeeId);
+    }
+
+    /**
+     * Forget what is loaded; after a close, or when the backend changes
+     */
+    public static void invalidate() {
+        synchronized (ClosedPeriods.class) {
+            closedMonths = null;
+            SUMMARIES.clear();
+        }
+    }
+}
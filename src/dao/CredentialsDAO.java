@@ -1,14 +1,25 @@
 package dao;
 
 import util.DBConnection;
+import util.SessionStore;
+import util.UnitOfWork;
+import model.CredentialStatus;
+import model.Employee;
 import java.sql.*;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
-public class CredentialsDAO {
+public class CredentialsDAO implements CredentialsRepository {
     private static final Logger logger = Logger.getLogger(CredentialsDAO.class.getName());
 
+    static final String AUTHENTICATE_AND_LOAD_EMPLOYEE = EmployeeDAO.SELECT_EMPLOYEE_COLUMNS +
+            ", c.updated_at AS credentials_updated_at" + EmployeeDAO.FROM_EMPLOYEE +
+            " JOIN credentials c ON c.employee_id = e.employee_id" +
+            " WHERE e.employee_id = ? AND c.password_hash = ?";
+
     /**
      * Authenticate user - matches actual database schema
      */
@@ -44,6 +55,44 @@ public class CredentialsDAO {
         }
     }
 
+    /**
+     * Verify credentials and return the employee, mapped like EmployeeDAO.getEmployeeById,
+     * with the credentials' updated_at, from a single statement. Returns null when the ID
+     * and password don't match.
+     */
+    public Login authenticateAndLoadEmployee(int employeeId, String password) {
+        if (employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+        if (password == null || password.trim().isEmpty()) {
+            throw new IllegalArgumentException("Password cannot be null or empty");
+        }
+
+        String query = AUTHENTICATE_AND_LOAD_EMPLOYEE;
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setInt(1, employeeId);
+            stmt.setString(2, password); // In real app, this should be hashed
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    logger.info("Authentication successful for employee: " + employeeId);
+                    Timestamp updated = rs.getTimestamp("credentials_updated_at");
+                    return new Login(EmployeeDAO.mapResultSetToEmployee(rs),
+                            updated != null ? updated.toLocalDateTime() : null);
+                }
+                logger.warning("Authentication failed for employee: " + employeeId);
+                return null;
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error authenticating user: " + employeeId, ex);
+            throw new RuntimeException("Failed to authenticate user", ex);
+        }
+    }
+
     /**
      * Update password for an employee
      */
@@ -67,6 +116,7 @@ public class CredentialsDAO {
 
             if (result > 0) {
                 logger.info("Password updated successfully for employee: " + employeeId);
+                UnitOfWork.afterCommit(() -> SessionStore.getInstance().revokeAll(employeeId));
                 return true;
             } else {
                 logger.warning("No credentials found for employee: " + employeeId);
@@ -161,6 +211,7 @@ public class CredentialsDAO {
 
             if (result > 0) {
                 logger.info("Credentials deleted for employee: " + employeeId);
+                UnitOfWork.afterCommit(() -> SessionStore.getInstance().revokeAll(employeeId));
                 return true;
             }
 
@@ -274,4 +325,39 @@ public class CredentialsDAO {
 
         return 0;
     }
+
+    /**
+     * Credential presence and timestamps for every employee, one LEFT JOIN
+     */
+    public List<CredentialStatus> getCredentialStatusForAllEmployees() {
+        List<CredentialStatus> statuses = new ArrayList<>();
+        String query = "SELECT e.employee_id, e.last_name, e.first_name, " +
+                "c.employee_id AS credential_employee_id, c.created_at, c.updated_at " +
+                "FROM employees e LEFT JOIN credentials c ON c.employee_id = e.employee_id " +
+                "ORDER BY e.employee_id";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                rs.getInt("credential_employee_id");
+                boolean hasCredentials = !rs.wasNull();
+                Timestamp created = rs.getTimestamp("created_at");
+                Timestamp updated = rs.getTimestamp("updated_at");
+                statuses.add(new CredentialStatus(
+                        rs.getInt("employee_id"),
+                        rs.getString("first_name") + " " + rs.getString("last_name"),
+                        hasCredentials,
+                        created != null ? created.toLocalDateTime() : null,
+                        updated != null ? updated.toLocalDateTime() : null));
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving credential status for employees", ex);
+            throw new RuntimeException("Failed to retrieve credential status", ex);
+        }
+
+        return statuses;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package dao;
+
+import model.CredentialStatus;
+import model.Employee;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Storage contract for login credentials.
+ * Implemented by {@link CredentialsDAO} (MySQL) and {@link InMemoryCredentialsRepository}.
+ */
+public interface CredentialsRepository {
+
+    boolean authenticateUser(int employeeId, String password);
+
+    /**
+     * Verify credentials and load the employee profile, with when the credentials
+     * last changed, in one round trip. Returns null when the ID and password don't match.
+     */
+    Login authenticateAndLoadEmployee(int employeeId, String password);
+
+    boolean updatePassword(int employeeId, String newPassword);
+
+    boolean createCredentials(int employeeId, String password);
+
+    boolean credentialsExist(int employeeId);
+
+    boolean deleteCredentials(int employeeId);
+
+    String getPasswordHash(int employeeId);
+
+    LocalDateTime getCredentialsCreatedAt(int employeeId);
+
+    LocalDateTime getCredentialsUpdatedAt(int employeeId);
+
+    int getCredentialsCount();
+
+    /**
+     * Every employee with credential presence and timestamps in one round trip, ordered by employee ID
+     */
+    List<CredentialStatus> getCredentialStatusForAllEmployees();
+
+    /**
+     * An employee who passed the password check, and the credentials' updated_at
+     * as read by that check, for sessions to compare against later
+     */
+    final class Login {
+        private final Employee employee;
+        private final LocalDateTime credentialsUpdatedAt;
+
+        public Login(Employee employee, LocalDateTime credentialsUpdatedAt) {
+            this.employee = employee;
+            this.credentialsUpdatedAt = credentialsUpdatedAt;
+        }
+
+        public Employee getEmployee() { return employee; }
+        public LocalDateTime getCredentialsUpdatedAt() { return credentialsUpdatedAt; }
+    }
+}
@@ -10,63 +10,16 @@ import java.util.logging.Logger;
 import java.util.logging.Level;
 
 /**
- * DeductionDAO - Note: This table doesn't exist in the actual database schema
- * This DAO is included for completeness but may need to be removed or
- * the table created if deductions functionality is needed
+ * DAO for the deductions table, which {@link SchemaMigrator} creates at startup
  */
-public class DeductionDAO {
+public class DeductionDAO implements DeductionRepository {
     private static final Logger LOGGER = Logger.getLogger(DeductionDAO.class.getName());
 
-    /**
-     * Check if deductions table exists
-     */
-    private boolean deductionsTableExists() {
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT 1 FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = 'deductions'")) {
+    static final String SELECT_BY_EMPLOYEE_ID =
+            "SELECT * FROM deductions WHERE employee_id = ? ORDER BY deduction_date DESC";
 
-            ResultSet rs = stmt.executeQuery();
-            return rs.next();
-
-        } catch (SQLException e) {
-            LOGGER.log(Level.WARNING, "Error checking if deductions table exists", e);
-            return false;
-        }
-    }
-
-    /**
-     * Create deductions table if it doesn't exist
-     */
-    private void createDeductionsTableIfNotExists() {
-        if (deductionsTableExists()) {
-            return;
-        }
-
-        String createTableSQL = """
-            CREATE TABLE deductions (
-                deduction_id INT AUTO_INCREMENT PRIMARY KEY,
-                employee_id INT NOT NULL,
-                type VARCHAR(50) NOT NULL,
-                amount DECIMAL(10,2) NOT NULL,
-                description TEXT,
-                deduction_date DATE DEFAULT (CURRENT_DATE),
-                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-                FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
-            )
-            """;
-
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(createTableSQL)) {
-
-            stmt.executeUpdate();
-            LOGGER.info("Created deductions table");
-
-        } catch (SQLException e) {
-            LOGGER.log(Level.SEVERE, "Error creating deductions table", e);
-            throw new RuntimeException("Failed to create deductions table", e);
-        }
-    }
+    static final String SUM_BY_EMPLOYEE_AND_TYPE =
+            "SELECT COALESCE(SUM(amount), 0) as total FROM deductions WHERE employee_id = ? AND type = ?";
 
     /**
      * Adds a deduction record to the database
@@ -76,8 +29,6 @@ public class DeductionDAO {
             throw new IllegalArgumentException("Deduction cannot be null");
         }
 
-        createDeductionsTableIfNotExists();
-
         String sql = "INSERT INTO deductions (employee_id, type, amount, description) VALUES (?, ?, ?, ?)";
 
         try (Connection conn = DBConnection.getConnection();
@@ -112,11 +63,7 @@ public class DeductionDAO {
             throw new IllegalArgumentException("Employee ID must be positive");
         }
 
-        if (!deductionsTableExists()) {
-            return new ArrayList<>(); // Return empty list if table doesn't exist
-        }
-
-        String sql = "SELECT * FROM deductions WHERE employee_id = ? ORDER BY deduction_date DESC";
+        String sql = SELECT_BY_EMPLOYEE_ID;
         List<Deduction> deductions = new ArrayList<>();
 
         try (Connection conn = DBConnection.getConnection();
@@ -157,10 +104,6 @@ public class DeductionDAO {
             throw new IllegalArgumentException("Invalid deduction or deduction ID");
         }
 
-        if (!deductionsTableExists()) {
-            return false;
-        }
-
         String sql = "UPDATE deductions SET employee_id = ?, type = ?, amount = ?, description = ? WHERE deduction_id = ?";
 
         try (Connection conn = DBConnection.getConnection();
@@ -194,10 +137,6 @@ public class DeductionDAO {
             throw new IllegalArgumentException("Deduction ID must be positive");
         }
 
-        if (!deductionsTableExists()) {
-            return false;
-        }
-
         String sql = "DELETE FROM deductions WHERE deduction_id = ?";
 
         try (Connection conn = DBConnection.getConnection();
@@ -226,10 +165,6 @@ public class DeductionDAO {
             throw new IllegalArgumentException("Deduction ID must be positive");
         }
 
-        if (!deductionsTableExists()) {
-            return null;
-        }
-
         String sql = "SELECT * FROM deductions WHERE deduction_id = ?";
 
         try (Connection conn = DBConnection.getConnection();
@@ -270,11 +205,7 @@ public class DeductionDAO {
             throw new IllegalArgumentException("Invalid employee ID or deduction type");
         }
 
-        if (!deductionsTableExists()) {
-            return 0.0;
-        }
-
-        String sql = "SELECT COALESCE(SUM(amount), 0) as total FROM deductions WHERE employee_id = ? AND type = ?";
+        String sql = SUM_BY_EMPLOYEE_AND_TYPE;
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -298,10 +229,6 @@ public class DeductionDAO {
      * Gets all deduction types
      */
     public List<String> getAllDeductionTypes() {
-        if (!deductionsTableExists()) {
-            return new ArrayList<>();
-        }
-
         List<String> types = new ArrayList<>();
         String sql = "SELECT DISTINCT type FROM deductions ORDER BY type";
 
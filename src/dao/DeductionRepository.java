@@ -0,0 +1,26 @@
+package dao;
+
+import model.Deduction;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Storage contract for deduction records.
+ * Implemented by {@link DeductionDAO} (MySQL) and {@link InMemoryDeductionRepository}.
+ */
+public interface DeductionRepository {
+
+    void addDeduction(Deduction deduction) throws SQLException;
+
+    List<Deduction> getDeductionsByEmployeeId(int employeeId) throws SQLException;
+
+    boolean updateDeduction(Deduction deduction) throws SQLException;
+
+    boolean deleteDeduction(int deductionId) throws SQLException;
+
+    Deduction getDeductionById(int deductionId) throws SQLException;
+
+    double getTotalDeductionsByType(int employeeId, String type) throws SQLException;
+
+    List<String> getAllDeductionTypes();
+}
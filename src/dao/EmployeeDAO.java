@@ -1,6 +1,8 @@
 package dao;
 
 import util.DBConnection;
+import util.UnitOfWork;
+import util.SessionStore;
 import model.Employee;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -12,16 +14,42 @@ import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-public class EmployeeDAO {
+public class EmployeeDAO implements EmployeeRepository {
     private static final Logger LOGGER = Logger.getLogger(EmployeeDAO.class.getName());
 
+    // Position title and supervisor name are joined in so mapping a row needs no extra queries
+    static final String SELECT_EMPLOYEE_COLUMNS =
+            "SELECT e.*, p.position_title, CONCAT(s.last_name, ', ', s.first_name) AS supervisor_name";
+    static final String FROM_EMPLOYEE =
+            " FROM employees e " +
+            "LEFT JOIN positions p ON e.position_id = p.position_id " +
+            "LEFT JOIN employees s ON e.supervisor_id = s.employee_id";
+    static final String SELECT_EMPLOYEE = SELECT_EMPLOYEE_COLUMNS + FROM_EMPLOYEE;
+    private static final String ORDER_BY_NAME = " ORDER BY e.last_name, e.first_name";
+
+    static final String SELECT_ID_BY_FULL_NAME_KEY = "SELECT employee_id FROM employees WHERE full_name_key = ?";
+
+    static final String COUNT_BY_STATUS = "SELECT COUNT(*) FROM employees WHERE status = ?";
+
+    private static final String INSERT_EMPLOYEE =
+            "INSERT INTO employees (employee_id, last_name, first_name, birthday, address, " +
+            "phone_number, sss_number, philhealth_number, tin_number, pagibig_number, " +
+            "status, position_id, supervisor_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_CREDENTIALS =
+            "INSERT INTO credentials (employee_id, password_hash) VALUES (?, ?)";
+
     public List<Employee> getAllEmployees() {
         List<Employee> employees = new ArrayList<>();
-        String query = "SELECT * FROM employees ORDER BY last_name, first_name";
+        String query = SELECT_EMPLOYEE + ORDER_BY_NAME;
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query);
@@ -41,7 +69,7 @@ public class EmployeeDAO {
     }
 
     public Employee getEmployeeById(int employeeId) {
-        String query = "SELECT * FROM employees WHERE employee_id = ?";
+        String query = SELECT_EMPLOYEE + " WHERE e.employee_id = ?";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
@@ -61,6 +89,41 @@ public class EmployeeDAO {
         return null;
     }
 
+    /**
+     * Get several employees in one query, ordered by name. Unknown IDs are skipped.
+     */
+    public List<Employee> getEmployeesByIds(List<Integer> employeeIds) {
+        List<Employee> employees = new ArrayList<>();
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            return employees;
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(selectByIdsQuery(employeeIds.size()))) {
+
+            for (int i = 0; i < employeeIds.size(); i++) {
+                stmt.setInt(i + 1, employeeIds.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    employees.add(mapResultSetToEmployee(rs));
+                }
+            }
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error fetching employees by IDs", ex);
+            throw new RuntimeException("Failed to fetch employees", ex);
+        }
+
+        return employees;
+    }
+
+    /** Query of {@link #getEmployeesByIds} for the given number of IDs */
+    static String selectByIdsQuery(int idCount) {
+        String placeholders = String.join(", ", Collections.nCopies(idCount, "?"));
+        return SELECT_EMPLOYEE + " WHERE e.employee_id IN (" + placeholders + ")" + ORDER_BY_NAME;
+    }
+
     /**
      * Get employee with position details using the view
      */
@@ -127,37 +190,17 @@ public class EmployeeDAO {
             throw new RuntimeException("Error checking for duplicate employee ID: " + ex.getMessage(), ex);
         }
 
-        // SQL matching actual database schema
-        String sql = "INSERT INTO employees (employee_id, last_name, first_name, birthday, address, " +
-                "phone_number, sss_number, philhealth_number, tin_number, pagibig_number, " +
-                "status, position_id, supervisor_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(INSERT_EMPLOYEE)) {
 
-            stmt.setInt(1, e.getId());
-            stmt.setString(2, e.getLastName() != null ? e.getLastName().trim() : null);
-            stmt.setString(3, e.getFirstName() != null ? e.getFirstName().trim() : null);
-            stmt.setDate(4, e.getBirthday() != null ? java.sql.Date.valueOf(e.getBirthday()) : null);
-            stmt.setString(5, e.getAddress() != null ? e.getAddress().trim() : null);
-            stmt.setString(6, e.getPhoneNumber() != null ? e.getPhoneNumber().trim() : null);
-            stmt.setString(7, e.getSssNumber() != null ? e.getSssNumber().trim() : null);
-            stmt.setString(8, e.getPhilhealthNumber() != null ? e.getPhilhealthNumber().trim() : null);
-            stmt.setString(9, e.getTinNumber() != null ? e.getTinNumber().trim() : null);
-            stmt.setString(10, e.getPagibigNumber() != null ? e.getPagibigNumber().trim() : null);
-            stmt.setString(11, e.getStatus() != null ? e.getStatus().trim() : "Regular");
-
-            // For position_id, we need to get this from the position string or set a default
-            // This assumes you have a way to map position names to IDs
-            stmt.setInt(12, getPositionId(e.getPosition()));
-
-            // For supervisor_id, we need to convert supervisor name to ID or set null
-            stmt.setObject(13, getSupervisorId(e.getImmediateSupervisor()), java.sql.Types.INTEGER);
+            // Position and supervisor are stored as IDs, resolved from the names on the model
+            bindInsert(stmt, e, getPositionId(e.getPosition()), getSupervisorId(e.getImmediateSupervisor()));
 
             int result = stmt.executeUpdate();
 
             if (result > 0) {
                 LOGGER.info("Successfully inserted employee: " + e.getId() + " - " + e.getFullName());
+                UnitOfWork.afterCommit(OrgTree::invalidate);
                 return true;
             } else {
                 LOGGER.warning("No rows affected when inserting employee: " + e.getId());
@@ -170,6 +213,78 @@ public class EmployeeDAO {
         }
     }
 
+    /**
+     * Insert employees and their credentials as two JDBC batches in one
+     * transaction; any failure rolls the whole batch back. position_id is taken
+     * from each employee's positionId, so no per-row lookups are made.
+     */
+    public int insertEmployeesBatch(List<Employee> employees, Map<Integer, Integer> supervisorIds,
+                                    Map<Integer, String> passwords) {
+        if (employees == null || supervisorIds == null || passwords == null) {
+            throw new IllegalArgumentException("Employees, supervisor IDs and passwords cannot be null");
+        }
+        if (employees.isEmpty()) {
+            return 0;
+        }
+
+        try (Connection conn = DBConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement empStmt = conn.prepareStatement(INSERT_EMPLOYEE);
+                 PreparedStatement credStmt = conn.prepareStatement(INSERT_CREDENTIALS)) {
+
+                int credentials = 0;
+                for (Employee e : employees) {
+                    bindInsert(empStmt, e, e.getPositionId(), supervisorIds.get(e.getId()));
+                    empStmt.addBatch();
+
+                    String password = passwords.get(e.getId());
+                    if (password != null && !password.trim().isEmpty()) {
+                        credStmt.setInt(1, e.getId());
+                        credStmt.setString(2, password);
+                        credStmt.addBatch();
+                        credentials++;
+                    }
+                }
+                empStmt.executeBatch();
+                if (credentials > 0) {
+                    credStmt.executeBatch();
+                }
+                conn.commit();
+            } catch (SQLException ex) {
+                conn.rollback();
+                throw ex;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+
+            UnitOfWork.afterCommit(OrgTree::invalidate);
+            LOGGER.info("Inserted batch of " + employees.size() + " employees");
+            return employees.size();
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.WARNING, "Employee batch of " + employees.size() + " rolled back", ex);
+            throw new RuntimeException("Failed to insert employee batch: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Employee e, int positionId, Integer supervisorId)
+            throws SQLException {
+        stmt.setInt(1, e.getId());
+        stmt.setString(2, e.getLastName() != null ? e.getLastName().trim() : null);
+        stmt.setString(3, e.getFirstName() != null ? e.getFirstName().trim() : null);
+        stmt.setDate(4, e.getBirthday() != null ? java.sql.Date.valueOf(e.getBirthday()) : null);
+        stmt.setString(5, e.getAddress() != null ? e.getAddress().trim() : null);
+        stmt.setString(6, e.getPhoneNumber() != null ? e.getPhoneNumber().trim() : null);
+        stmt.setString(7, e.getSssNumber() != null ? e.getSssNumber().trim() : null);
+        stmt.setString(8, e.getPhilhealthNumber() != null ? e.getPhilhealthNumber().trim() : null);
+        stmt.setString(9, e.getTinNumber() != null ? e.getTinNumber().trim() : null);
+        stmt.setString(10, e.getPagibigNumber() != null ? e.getPagibigNumber().trim() : null);
+        stmt.setString(11, e.getStatus() != null ? e.getStatus().trim() : "Regular");
+        stmt.setInt(12, positionId);
+        stmt.setObject(13, supervisorId, java.sql.Types.INTEGER);
+    }
+
     public boolean updateEmployee(Employee e) {
         if (e == null) {
             throw new IllegalArgumentException("Employee cannot be null");
@@ -203,6 +318,7 @@ public class EmployeeDAO {
 
             if (result > 0) {
                 LOGGER.info("Successfully updated employee: " + e.getId() + " - " + e.getFullName());
+                UnitOfWork.afterCommit(OrgTree::invalidate);
                 return true;
             } else {
                 LOGGER.warning("No employee found with ID: " + e.getId() + " for update");
@@ -230,6 +346,11 @@ public class EmployeeDAO {
 
             if (result > 0) {
                 LOGGER.info("Successfully deleted employee with ID: " + employeeId);
+                // Credentials go with the employee (ON DELETE CASCADE)
+                UnitOfWork.afterCommit(() -> {
+                    OrgTree.invalidate();
+                    SessionStore.getInstance().revokeAll(employeeId);
+                });
                 return true;
             } else {
                 LOGGER.warning("No employee found with ID: " + employeeId + " for deletion");
@@ -248,7 +369,7 @@ public class EmployeeDAO {
         }
 
         List<Employee> employees = new ArrayList<>();
-        String query = "SELECT * FROM employees WHERE status = ? ORDER BY last_name, first_name";
+        String query = SELECT_EMPLOYEE + " WHERE e.status = ?" + ORDER_BY_NAME;
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
@@ -271,7 +392,7 @@ public class EmployeeDAO {
 
     public List<Employee> getEmployeesByPositionId(int positionId) {
         List<Employee> employees = new ArrayList<>();
-        String query = "SELECT * FROM employees WHERE position_id = ? ORDER BY last_name, first_name";
+        String query = SELECT_EMPLOYEE + " WHERE e.position_id = ?" + ORDER_BY_NAME;
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
@@ -294,7 +415,7 @@ public class EmployeeDAO {
 
     public List<Employee> getEmployeesBySupervisor(int supervisorId) {
         List<Employee> employees = new ArrayList<>();
-        String query = "SELECT * FROM employees WHERE supervisor_id = ? ORDER BY last_name, first_name";
+        String query = SELECT_EMPLOYEE + " WHERE e.supervisor_id = ?" + ORDER_BY_NAME;
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
@@ -315,10 +436,52 @@ public class EmployeeDAO {
         return employees;
     }
 
+    public Map<Integer, Integer> getSupervisorLinks() {
+        Map<Integer, Integer> links = new HashMap<>();
+        String query = "SELECT employee_id, supervisor_id FROM employees";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                links.put(rs.getInt("employee_id"), rs.getObject("supervisor_id", Integer.class));
+            }
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error fetching supervisor links", ex);
+            throw new RuntimeException("Failed to fetch supervisor links", ex);
+        }
+
+        return links;
+    }
+
+    public Map<String, Integer> getEmployeeIdsByFullName() {
+        Map<String, Integer> ids = new HashMap<>();
+        String query = "SELECT employee_id, last_name, first_name FROM employees ORDER BY employee_id";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                // Same rule as getSupervisorId: the first match wins for duplicate names
+                ids.putIfAbsent(normalizeFullName(rs.getString("last_name") + ", " + rs.getString("first_name")),
+                        rs.getInt("employee_id"));
+            }
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error fetching employee names", ex);
+            throw new RuntimeException("Failed to fetch employee names", ex);
+        }
+
+        return ids;
+    }
+
     /**
      * Enhanced mapResultSetToEmployee matching actual database schema
      */
-    private Employee mapResultSetToEmployee(ResultSet rs) throws SQLException {
+    static Employee mapResultSetToEmployee(ResultSet rs) throws SQLException {
         Employee e = new Employee();
         e.setId(rs.getInt("employee_id"));
         e.setLastName(rs.getString("last_name"));
@@ -337,14 +500,15 @@ public class EmployeeDAO {
         e.setPagibigNumber(rs.getString("pagibig_number"));
         e.setStatus(rs.getString("status"));
 
-        // Get position name from position_id
-        int positionId = rs.getInt("position_id");
-        e.setPosition(getPositionName(positionId));
+        // Position title and supervisor name come from the joins in SELECT_EMPLOYEE
+        e.setPositionId(rs.getInt("position_id"));
+        String positionTitle = rs.getString("position_title");
+        e.setPosition(positionTitle != null ? positionTitle : "Unknown Position");
 
-        // Get supervisor name from supervisor_id
         Integer supervisorId = rs.getObject("supervisor_id", Integer.class);
         if (supervisorId != null) {
-            e.setImmediateSupervisor(getSupervisorName(supervisorId));
+            String supervisorName = rs.getString("supervisor_name");
+            e.setImmediateSupervisor(supervisorName != null ? supervisorName : "Unknown Supervisor");
         }
 
         // Handle timestamps
@@ -412,35 +576,17 @@ public class EmployeeDAO {
         return 1; // Default position ID if not found
     }
 
-    private String getPositionName(int positionId) {
-        String query = "SELECT position_title FROM positions WHERE position_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-
-            stmt.setInt(1, positionId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return rs.getString("position_title");
-            }
-
-        } catch (SQLException ex) {
-            LOGGER.log(Level.WARNING, "Error getting position name for ID: " + positionId, ex);
-        }
-
-        return "Unknown Position";
-    }
-
     private Integer getSupervisorId(String supervisorName) {
         if (supervisorName == null || supervisorName.trim().isEmpty()) {
             return null;
         }
 
-        String query = "SELECT employee_id FROM employees WHERE CONCAT(last_name, ', ', first_name) = ?";
+        // full_name_key is the stored, indexed LOWER(CONCAT(last_name, ', ', first_name))
+        String query = SELECT_ID_BY_FULL_NAME_KEY;
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
 
-            stmt.setString(1, supervisorName.trim());
+            stmt.setString(1, normalizeFullName(supervisorName));
             ResultSet rs = stmt.executeQuery();
 
             if (rs.next()) {
@@ -454,23 +600,11 @@ public class EmployeeDAO {
         return null;
     }
 
-    private String getSupervisorName(int supervisorId) {
-        String query = "SELECT CONCAT(last_name, ', ', first_name) as full_name FROM employees WHERE employee_id = ?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-
-            stmt.setInt(1, supervisorId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return rs.getString("full_name");
-            }
-
-        } catch (SQLException ex) {
-            LOGGER.log(Level.WARNING, "Error getting supervisor name for ID: " + supervisorId, ex);
-        }
-
-        return "Unknown Supervisor";
+    /**
+     * "Last, First" in the form stored in employees.full_name_key
+     */
+    static String normalizeFullName(String fullName) {
+        return fullName.trim().toLowerCase(Locale.ROOT);
     }
 
     /**
@@ -505,7 +639,7 @@ public class EmployeeDAO {
             throw new IllegalArgumentException("Status cannot be null or empty");
         }
 
-        String query = "SELECT COUNT(*) FROM employees WHERE status = ?";
+        String query = COUNT_BY_STATUS;
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
@@ -0,0 +1,62 @@
+package dao;
+
+import model.Employee;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage contract for employee records.
+ * Implemented by {@link EmployeeDAO} (MySQL) and {@link InMemoryEmployeeRepository}.
+ */
+public interface EmployeeRepository {
+
+    List<Employee> getAllEmployees();
+
+    Employee getEmployeeById(int employeeId);
+
+    /**
+     * Get several employees in one round trip, ordered by name
+     */
+    List<Employee> getEmployeesByIds(List<Integer> employeeIds);
+
+    /**
+     * Get employee with position details (salary and allowances populated)
+     */
+    Employee getEmployeeWithPositionDetails(int employeeId);
+
+    boolean insertEmployee(Employee e);
+
+    /**
+     * Insert employees, plus credentials for those with a password, all or nothing.
+     * Positions come from {@link Employee#getPositionId()}; supervisorIds and
+     * passwords are keyed by employee ID and may omit employees.
+     *
+     * @return number of employees inserted
+     */
+    int insertEmployeesBatch(List<Employee> employees, Map<Integer, Integer> supervisorIds,
+                             Map<Integer, String> passwords);
+
+    boolean updateEmployee(Employee e);
+
+    boolean deleteEmployee(int employeeId);
+
+    List<Employee> getEmployeesByStatus(String status);
+
+    List<Employee> getEmployeesByPositionId(int positionId);
+
+    List<Employee> getEmployeesBySupervisor(int supervisorId);
+
+    /**
+     * Every employee ID mapped to its supervisor ID (null for the top of the tree), for {@link OrgTree}
+     */
+    Map<Integer, Integer> getSupervisorLinks();
+
+    /**
+     * Employee IDs keyed by "last, first" in lower case, for resolving supervisor names in bulk
+     */
+    Map<String, Integer> getEmployeeIdsByFullName();
+
+    boolean employeeExists(int employeeId);
+
+    int getEmployeeCountByStatus(String status);
+}
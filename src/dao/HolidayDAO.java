@@ -0,0 +1,103 @@
+package dao;
+
+import util.DBConnection;
+import util.UnitOfWork;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * DAO for the holidays table; every change invalidates the shared {@link WorkCalendar}
+ */
+public class HolidayDAO implements HolidayRepository {
+    private static final Logger LOGGER = Logger.getLogger(HolidayDAO.class.getName());
+
+    public List<LocalDate> getHolidayDates() {
+        List<LocalDate> dates = new ArrayList<>();
+        String query = "SELECT holiday_date FROM holidays ORDER BY holiday_date";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                dates.add(rs.getDate("holiday_date").toLocalDate());
+            }
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error fetching holidays", ex);
+            throw new RuntimeException("Failed to fetch holidays", ex);
+        }
+
+        return dates;
+    }
+
+    public Map<LocalDate, String> getHolidaysForYear(int year) {
+        Map<LocalDate, String> holidays = new LinkedHashMap<>();
+        String query = "SELECT holiday_date, holiday_name FROM holidays " +
+                "WHERE holiday_date BETWEEN ? AND ? ORDER BY holiday_date";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setDate(1, java.sql.Date.valueOf(LocalDate.of(year, 1, 1)));
+            stmt.setDate(2, java.sql.Date.valueOf(LocalDate.of(year, 12, 31)));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    holidays.put(rs.getDate("holiday_date").toLocalDate(), rs.getString("holiday_name"));
+                }
+            }
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error fetching holidays for year: " + year, ex);
+            throw new RuntimeException("Failed to fetch holidays", ex);
+        }
+
+        return holidays;
+    }
+
+    public boolean addHoliday(LocalDate date, String name) {
+        if (date == null || name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Holiday date and name are required");
+        }
+
+        String query = "INSERT INTO holidays (holiday_date, holiday_name) VALUES (?, ?)";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setDate(1, java.sql.Date.valueOf(date));
+            stmt.setString(2, name.trim());
+            boolean added = stmt.executeUpdate() > 0;
+            UnitOfWork.afterCommit(WorkCalendar::invalidate);
+            return added;
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error adding holiday: " + date, ex);
+            throw new RuntimeException("Failed to add holiday", ex);
+        }
+    }
+
+    public boolean deleteHoliday(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Holiday date cannot be null");
+        }
+
+        String query = "DELETE FROM holidays WHERE holiday_date = ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setDate(1, java.sql.Date.valueOf(date));
+            boolean deleted = stmt.executeUpdate() > 0;
+            UnitOfWork.afterCommit(WorkCalendar::invalidate);
+            return deleted;
+
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error deleting holiday: " + date, ex);
+            throw new RuntimeException("Failed to delete holiday", ex);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package dao;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage contract for company holidays.
+ * Implemented by {@link HolidayDAO} (MySQL) and {@link InMemoryHolidayRepository}.
+ */
+public interface HolidayRepository {
+
+    List<LocalDate> getHolidayDates();
+
+    /**
+     * Holiday names by date for the given year, in date order
+     */
+    Map<LocalDate, String> getHolidaysForYear(int year);
+
+    boolean addHoliday(LocalDate date, String name);
+
+    boolean deleteHoliday(LocalDate date);
+}
@@ -0,0 +1,342 @@
+package dao;
+
+import model.Attendance;
+import model.AttendanceTotals;
+import model.Employee;
+import model.LeaveRequest;
+import model.TeamMemberStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.logging.Logger;
+
+/**
+ * {@link AttendanceRepository} backed by {@link InMemoryDataStore}.
+ * Range lookups walk the employee's date-sorted index instead of scanning every row.
+ */
+public class InMemoryAttendanceRepository implements AttendanceRepository {
+    private static final Logger logger = Logger.getLogger(InMemoryAttendanceRepository.class.getName());
+
+    private final InMemoryDataStore store;
+
+    public InMemoryAttendanceRepository() {
+        this(InMemoryDataStore.getInstance());
+    }
+
+    public InMemoryAttendanceRepository(InMemoryDataStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Attendance> getAttendanceByEmployeeId(int empId) {
+        if (empId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+        return store.read(() -> copyDescending(store.attendanceByEmployee.get(empId)));
+    }
+
+    @Override
+    public List<Attendance> getAttendanceByEmployeeIdBetweenDates(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
+        if (employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period start and end dates cannot be null");
+        }
+        if (periodStart.isAfter(periodEnd)) {
+            throw new IllegalArgumentException("Period start date cannot be after end date");
+        }
+        return store.read(() -> {
+            NavigableMap<LocalDate, Attendance> days = store.attendanceByEmployee.get(employeeId);
+            return copyDescending(days != null ? days.subMap(periodStart, true, periodEnd, true) : null);
+        });
+    }
+
+    @Override
+    public Map<Integer, List<Attendance>> getAttendanceByEmployeeIdsBetweenDates(List<Integer> employeeIds,
+                                                                               LocalDate periodStart, LocalDate periodEnd) {
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period start and end dates cannot be null");
+        }
+        if (periodStart.isAfter(periodEnd)) {
+            throw new IllegalArgumentException("Period start date cannot be after end date");
+        }
+        Map<Integer, List<Attendance>> byEmployee = new HashMap<>();
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            return byEmployee;
+        }
+        return store.read(() -> {
+            for (Integer employeeId : employeeIds) {
+                NavigableMap<LocalDate, Attendance> days = store.attendanceByEmployee.get(employeeId);
+                if (days != null) {
+                    List<Attendance> rows = copyDescending(days.subMap(periodStart, true, periodEnd, true));
+                    if (!rows.isEmpty()) {
+                        byEmployee.put(employeeId, rows);
+                    }
+                }
+            }
+            return byEmployee;
+        });
+    }
+
+    @Override
+    public void scanAttendance(List<Integer> employeeIds, LocalDate periodStart, LocalDate periodEnd, RowSink sink) {
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period start and end dates cannot be null");
+        }
+        if (periodStart.isAfter(periodEnd)) {
+            throw new IllegalArgumentException("Period start date cannot be after end date");
+        }
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            return;
+        }
+        List<Integer> ordered = new ArrayList<>(employeeIds);
+        Collections.sort(ordered);
+        store.read(() -> {
+            for (Integer employeeId : ordered) {
+                NavigableMap<LocalDate, Attendance> days = store.attendanceByEmployee.get(employeeId);
+                if (days == null) {
+                    continue;
+                }
+                for (Attendance a : days.subMap(periodStart, true, periodEnd, true).values()) {
+                    sink.accept(employeeId, a.getEpochDay(), a.getLogInSecond(), a.getLogOutSecond());
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Map<Integer, AttendanceTotals> getMonthlyTotals(List<Integer> employeeIds, YearMonth fromMonth,
+                                                          YearMonth toMonth) {
+        if (fromMonth == null || toMonth == null) {
+            throw new IllegalArgumentException("Months cannot be null");
+        }
+        if (fromMonth.isAfter(toMonth)) {
+            throw new IllegalArgumentException("From month cannot be after to month");
+        }
+        Map<Integer, AttendanceTotals> totals = new HashMap<>();
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            return totals;
+        }
+        return store.read(() -> {
+            for (Integer employeeId : employeeIds) {
+                NavigableMap<YearMonth, AttendanceTotals> months = store.attendanceMonthly.get(employeeId);
+                if (months == null) {
+                    continue;
+                }
+                AttendanceTotals sum = AttendanceTotals.EMPTY;
+                for (AttendanceTotals month : months.subMap(fromMonth, true, toMonth, true).values()) {
+                    sum = sum.plus(month);
+                }
+                if (sum != AttendanceTotals.EMPTY) {
+                    totals.put(employeeId, sum);
+                }
+            }
+            return totals;
+        });
+    }
+
+    @Override
+    public List<TeamMemberStatus> getTeamStatusForDate(int supervisorId, LocalDate date) {
+        if (supervisorId <= 0) {
+            throw new IllegalArgumentException("Supervisor ID must be positive");
+        }
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        List<Employee> reports = new InMemoryEmployeeRepository(store).getEmployeesBySupervisor(supervisorId);
+        return store.read(() -> {
+            List<TeamMemberStatus> team = new ArrayList<>(reports.size());
+            for (Employee e : reports) {
+                NavigableMap<LocalDate, Attendance> days = store.attendanceByEmployee.get(e.getId());
+                Attendance attendance = days != null ? days.get(date) : null;
+                team.add(new TeamMemberStatus(e, attendance != null ? InMemoryDataStore.copyOf(attendance) : null,
+                        approvedLeaveTypeOn(e.getId(), date)));
+            }
+            return team;
+        });
+    }
+
+    /** Type of an approved leave covering the date, or null (caller holds a lock) */
+    private String approvedLeaveTypeOn(int employeeId, LocalDate date) {
+        NavigableSet<LeaveRequest> leaves = store.leavesByEmployee.get(employeeId);
+        if (leaves == null) {
+            return null;
+        }
+        for (LeaveRequest l : leaves) {
+            if (l.getStartDate().toLocalDate().isAfter(date)) {
+                break;
+            }
+            if (l.isApproved() && !l.getEndDate().toLocalDate().isBefore(date)) {
+                return l.getLeaveType();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int insertAttendance(Attendance attendance) {
+        if (attendance == null) {
+            throw new IllegalArgumentException("Attendance cannot be null");
+        }
+        if (attendance.getEmployeeId() <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive, got: " + attendance.getEmployeeId());
+        }
+        if (attendance.getDate() == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        if (attendance.getLogIn() == null) {
+            throw new IllegalArgumentException("Log in time cannot be null");
+        }
+
+        LocalDate attendanceDate = attendance.getDate().toLocalDate();
+        if (attendanceDate.isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("Attendance date cannot be in the future: " + attendanceDate);
+        }
+        if (attendance.getLogOut() != null) {
+            LocalTime logIn = attendance.getLogIn().toLocalTime();
+            LocalTime logOut = attendance.getLogOut().toLocalTime();
+            if (logOut.isBefore(logIn)) {
+                throw new IllegalArgumentException("Log out time (" + logOut +
+                        ") cannot be before log in time (" + logIn + ")");
+            }
+        }
+
+        return store.write(() -> {
+            if (!store.employees.containsKey(attendance.getEmployeeId())) {
+                throw new IllegalArgumentException("Employee ID " + attendance.getEmployeeId() +
+                        " does not exist in the system");
+            }
+            NavigableMap<LocalDate, Attendance> days = store.attendanceByEmployee.get(attendance.getEmployeeId());
+            if (days != null && days.containsKey(attendanceDate)) {
+                throw new IllegalArgumentException("Attendance record already exists for employee " +
+                        attendance.getEmployeeId() + " on date " + attendance.getDate());
+            }
+
+            Attendance stored = InMemoryDataStore.copyOf(attendance);
+            int generatedId = store.attendanceSequence.incrementAndGet();
+            stored.setId(generatedId);
+            stored.setCreatedAt(LocalDateTime.now());
+            stored.setUpdatedAt(stored.getCreatedAt());
+            store.indexAttendance(stored);
+            attendance.setId(generatedId);
+            logger.info("Successfully inserted attendance record with ID: " + generatedId);
+            return generatedId;
+        });
+    }
+
+    @Override
+    public boolean updateAttendance(Attendance attendance) {
+        if (attendance == null) {
+            throw new IllegalArgumentException("Attendance cannot be null");
+        }
+        if (attendance.getId() <= 0) {
+            throw new IllegalArgumentException("Attendance ID must be positive");
+        }
+
+        return store.write(() -> {
+            Attendance existing = store.attendanceById.get(attendance.getId());
+            if (existing == null) {
+                return false;
+            }
+            NavigableMap<LocalDate, Attendance> days = store.attendanceByEmployee.get(attendance.getEmployeeId());
+            Attendance clash = days != null ? days.get(attendance.getDate().toLocalDate()) : null;
+            if (clash != null && clash.getId() != attendance.getId()) {
+                // Same as the unique (employee_id, attendance_date) key rejecting the update
+                throw new RuntimeException("Failed to update attendance record",
+                        new IllegalStateException("Duplicate attendance for employee " + attendance.getEmployeeId()
+                                + " on " + attendance.getDate()));
+            }
+            store.unindexAttendance(existing);
+            Attendance stored = InMemoryDataStore.copyOf(attendance);
+            stored.setCreatedAt(existing.getCreatedAt());
+            stored.setUpdatedAt(LocalDateTime.now());
+            store.indexAttendance(stored);
+            return true;
+        });
+    }
+
+    @Override
+    public boolean deleteAttendance(int attendanceId) {
+        if (attendanceId <= 0) {
+            throw new IllegalArgumentException("Attendance ID must be positive");
+        }
+        return store.write(() -> {
+            Attendance existing = store.attendanceById.get(attendanceId);
+            if (existing == null) {
+                return false;
+            }
+            store.unindexAttendance(existing);
+            return true;
+        });
+    }
+
+    @Override
+    public Attendance getAttendanceById(int attendanceId) {
+        if (attendanceId <= 0) {
+            throw new IllegalArgumentException("Attendance ID must be positive");
+        }
+        return store.read(() -> {
+            Attendance stored = store.attendanceById.get(attendanceId);
+            return stored != null ? InMemoryDataStore.copyOf(stored) : null;
+        });
+    }
+
+    @Override
+    public boolean attendanceExistsForDate(int employeeId, LocalDate attendanceDate) {
+        return getAttendanceByEmployeeAndDate(employeeId, attendanceDate) != null;
+    }
+
+    @Override
+    public int countAttendanceDays(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
+        if (employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period dates cannot be null");
+        }
+        if (periodStart.isAfter(periodEnd)) {
+            throw new IllegalArgumentException("Period start date cannot be after end date");
+        }
+        return store.read(() -> {
+            NavigableMap<LocalDate, Attendance> days = store.attendanceByEmployee.get(employeeId);
+            return days != null ? days.subMap(periodStart, true, periodEnd, true).size() : 0;
+        });
+    }
+
+    @Override
+    public Attendance getAttendanceByEmployeeAndDate(int employeeId, LocalDate attendanceDate) {
+        if (employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+        if (attendanceDate == null) {
+            throw new IllegalArgumentException("Attendance date cannot be null");
+        }
+        return store.read(() -> {
+            NavigableMap<LocalDate, Attendance> days = store.attendanceByEmployee.get(employeeId);
+            Attendance stored = days != null ? days.get(attendanceDate) : null;
+            return stored != null ? InMemoryDataStore.copyOf(stored) : null;
+        });
+    }
+
+    /** Copy rows newest first, matching ORDER BY attendance_date DESC (caller holds a lock) */
+    private List<Attendance> copyDescending(NavigableMap<LocalDate, Attendance> days) {
+        List<Attendance> list = new ArrayList<>();
+        if (days != null) {
+            for (Attendance a : days.descendingMap().values()) {
+                list.add(InMemoryDataStore.copyOf(a));
+            }
+        }
+        return list;
+    }
+}
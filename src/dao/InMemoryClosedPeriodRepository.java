@@ -0,0 +1,55 @@
+package dao;
+
+import model.MonthlySummary;
+
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link ClosedPeriodRepository} backed by {@link InMemoryDataStore}.
+ */
+public class InMemoryClosedPeriodRepository implements ClosedPeriodRepository {
+
+    private final InMemoryDataStore store;
+
+    public InMemoryClosedPeriodRepository() {
+        this(InMemoryDataStore.getInstance());
+    }
+
+    public InMemoryClosedPeriodRepository(InMemoryDataStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Set<YearMonth> getClosedMonths() {
+        return store.read(() -> new LinkedHashSet<>(store.closedPeriods.keySet()));
+    }
+
+    @Override
+    public Map<Integer, MonthlySummary> getSummaries(YearMonth month) {
+        return store.read(() -> new HashMap<>(store.closedPeriods.getOrDefault(month, Collections.emptyMap())));
+    }
+
+    @Override
+    public boolean closeMonth(YearMonth month, Collection<MonthlySummary> summaries) {
+        if (month == null || summaries == null) {
+            throw new IllegalArgumentException("Month and summaries cannot be null");
+        }
+        Map<Integer, MonthlySummary> byEmployee = new HashMap<>();
+        for (MonthlySummary summary : summaries) {
+            if (!month.equals(summary.getMonth())) {
+                throw new IllegalArgumentException("Summary for " + summary.getMonth() + " in close of " + month);
+            }
+            byEmployee.put(summary.getEmployeeId(), summary);
+        }
+        boolean closed = store.write(() -> store.closedPeriods.putIfAbsent(month,
+                Collections.unmodifiableMap(byEmployee)) == null);
+        ClosedPeriods.invalidate();
+        return closed;
+    }
+}
@@ -0,0 +1,165 @@
+package dao;
+
+import model.CredentialStatus;
+import model.Employee;
+import util.SessionStore;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+/**
+ * {@link CredentialsRepository} backed by {@link InMemoryDataStore}.
+ */
+public class InMemoryCredentialsRepository implements CredentialsRepository {
+    private static final Logger logger = Logger.getLogger(InMemoryCredentialsRepository.class.getName());
+
+    private final InMemoryDataStore store;
+
+    public InMemoryCredentialsRepository() {
+        this(InMemoryDataStore.getInstance());
+    }
+
+    public InMemoryCredentialsRepository(InMemoryDataStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public boolean authenticateUser(int employeeId, String password) {
+        validateEmployeeId(employeeId);
+        if (password == null || password.trim().isEmpty()) {
+            throw new IllegalArgumentException("Password cannot be null or empty");
+        }
+        boolean authenticated = store.read(() -> {
+            InMemoryDataStore.CredentialRecord record = store.credentials.get(employeeId);
+            return record != null && record.password.equals(password);
+        });
+        if (authenticated) {
+            logger.info("Authentication successful for employee: " + employeeId);
+        } else {
+            logger.warning("Authentication failed for employee: " + employeeId);
+        }
+        return authenticated;
+    }
+
+    @Override
+    public Login authenticateAndLoadEmployee(int employeeId, String password) {
+        // Stamp first, so a change racing the check shows up as a newer stamp later
+        LocalDateTime updatedAt = getCredentialsUpdatedAt(employeeId);
+        if (!authenticateUser(employeeId, password)) {
+            return null;
+        }
+        return new Login(new InMemoryEmployeeRepository(store).getEmployeeById(employeeId), updatedAt);
+    }
+
+    @Override
+    public boolean updatePassword(int employeeId, String newPassword) {
+        validateEmployeeId(employeeId);
+        if (newPassword == null || newPassword.trim().isEmpty()) {
+            throw new IllegalArgumentException("New password cannot be null or empty");
+        }
+        return store.write(() -> {
+            InMemoryDataStore.CredentialRecord record = store.credentials.get(employeeId);
+            if (record == null) {
+                logger.warning("No credentials found for employee: " + employeeId);
+                return false;
+            }
+            record.password = newPassword;
+            record.updatedAt = LocalDateTime.now();
+            SessionStore.getInstance().revokeAll(employeeId);
+            return true;
+        });
+    }
+
+    @Override
+    public boolean createCredentials(int employeeId, String password) {
+        validateEmployeeId(employeeId);
+        if (password == null || password.trim().isEmpty()) {
+            throw new IllegalArgumentException("Password cannot be null or empty");
+        }
+        return store.write(() -> {
+            if (store.credentials.containsKey(employeeId)) {
+                throw new RuntimeException("Credentials already exist for employee: " + employeeId);
+            }
+            if (!store.employees.containsKey(employeeId)) {
+                throw new RuntimeException("Employee ID " + employeeId + " does not exist");
+            }
+            store.credentials.put(employeeId, new InMemoryDataStore.CredentialRecord(password, LocalDateTime.now()));
+            logger.info("Successfully created credentials for employee: " + employeeId);
+            return true;
+        });
+    }
+
+    @Override
+    public boolean credentialsExist(int employeeId) {
+        validateEmployeeId(employeeId);
+        return store.read(() -> store.credentials.containsKey(employeeId));
+    }
+
+    @Override
+    public boolean deleteCredentials(int employeeId) {
+        validateEmployeeId(employeeId);
+        boolean deleted = store.write(() -> store.credentials.remove(employeeId) != null);
+        if (deleted) {
+            SessionStore.getInstance().revokeAll(employeeId);
+        }
+        return deleted;
+    }
+
+    @Override
+    public String getPasswordHash(int employeeId) {
+        validateEmployeeId(employeeId);
+        return store.read(() -> {
+            InMemoryDataStore.CredentialRecord record = store.credentials.get(employeeId);
+            return record != null ? record.password : null;
+        });
+    }
+
+    @Override
+    public LocalDateTime getCredentialsCreatedAt(int employeeId) {
+        validateEmployeeId(employeeId);
+        return store.read(() -> {
+            InMemoryDataStore.CredentialRecord record = store.credentials.get(employeeId);
+            return record != null ? record.createdAt : null;
+        });
+    }
+
+    @Override
+    public LocalDateTime getCredentialsUpdatedAt(int employeeId) {
+        validateEmployeeId(employeeId);
+        return store.read(() -> {
+            InMemoryDataStore.CredentialRecord record = store.credentials.get(employeeId);
+            return record != null ? record.updatedAt : null;
+        });
+    }
+
+    @Override
+    public int getCredentialsCount() {
+        return store.read(store.credentials::size);
+    }
+
+    @Override
+    public List<CredentialStatus> getCredentialStatusForAllEmployees() {
+        return store.read(() -> {
+            List<CredentialStatus> statuses = new ArrayList<>(store.employees.size());
+            for (Map.Entry<Integer, Employee> entry : new TreeMap<>(store.employees).entrySet()) {
+                InMemoryDataStore.CredentialRecord record = store.credentials.get(entry.getKey());
+                Employee e = entry.getValue();
+                statuses.add(new CredentialStatus(entry.getKey(), e.getFirstName() + " " + e.getLastName(),
+                        record != null,
+                        record != null ? record.createdAt : null,
+                        record != null ? record.updatedAt : null));
+            }
+            return statuses;
+        });
+    }
+
+    private void validateEmployeeId(int employeeId) {
+        if (employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+    }
+}
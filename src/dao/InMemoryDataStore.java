@@ -0,0 +1,337 @@
+package dao;
+
+import model.Attendance;
+import model.AttendanceTotals;
+import model.Deduction;
+import model.Employee;
+import model.LeaveRequest;
+import model.MonthlySummary;
+import model.Position;
+import util.SingleFlight;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Shared state behind the in-memory repositories.
+ * Rows are indexed by id in hash maps; attendance and leave requests are
+ * additionally indexed per employee in date-sorted maps so range queries
+ * only touch the rows they return.
+ */
+public class InMemoryDataStore {
+    private static final Logger LOGGER = Logger.getLogger(InMemoryDataStore.class.getName());
+
+    private static final InMemoryDataStore INSTANCE = new InMemoryDataStore();
+
+    private static final Comparator<LeaveRequest> LEAVE_ORDER =
+            Comparator.comparing(LeaveRequest::getStartDate).thenComparingInt(LeaveRequest::getLeaveId);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Positions
+    final Map<Integer, Position> positions = new HashMap<>();
+    final AtomicInteger positionSequence = new AtomicInteger();
+
+    // Employees (position and supervisor are kept as ids, like the employees table)
+    final Map<Integer, Employee> employees = new HashMap<>();
+    final Map<Integer, Integer> supervisorIds = new HashMap<>();
+
+    // Credentials
+    final Map<Integer, CredentialRecord> credentials = new HashMap<>();
+
+    // Attendance: by id and per employee sorted by date
+    final Map<Integer, Attendance> attendanceById = new HashMap<>();
+    final Map<Integer, NavigableMap<LocalDate, Attendance>> attendanceByEmployee = new HashMap<>();
+    final AtomicInteger attendanceSequence = new AtomicInteger();
+    // Monthly rollup per employee, like attendance_monthly_summary; kept in step by the index helpers
+    final Map<Integer, NavigableMap<YearMonth, AttendanceTotals>> attendanceMonthly = new HashMap<>();
+
+    // Leave requests: by id and per employee sorted by start date
+    final Map<Integer, LeaveRequest> leavesById = new HashMap<>();
+    final Map<Integer, NavigableSet<LeaveRequest>> leavesByEmployee = new HashMap<>();
+    final LeaveIntervalIndex leaveIntervals = new LeaveIntervalIndex();
+    final AtomicInteger leaveSequence = new AtomicInteger();
+
+    // Deductions
+    final Map<Integer, Deduction> deductions = new LinkedHashMap<>();
+    final AtomicInteger deductionSequence = new AtomicInteger();
+
+    // Holidays by date
+    final NavigableMap<LocalDate, String> holidays = new TreeMap<>();
+
+    // Closed months and their frozen summaries by employee id
+    final NavigableMap<YearMonth, Map<Integer, MonthlySummary>> closedPeriods = new TreeMap<>();
+
+    public static InMemoryDataStore getInstance() {
+        return INSTANCE;
+    }
+
+    <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    <T> T write(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether any employees have been loaded
+     */
+    public boolean isEmpty() {
+        return read(employees::isEmpty);
+    }
+
+    /**
+     * Remove all data and reset id sequences
+     */
+    public void clear() {
+        write(() -> {
+            positions.clear();
+            employees.clear();
+            supervisorIds.clear();
+            credentials.clear();
+            attendanceById.clear();
+            attendanceByEmployee.clear();
+            attendanceMonthly.clear();
+            leavesById.clear();
+            leavesByEmployee.clear();
+            leaveIntervals.clear();
+            deductions.clear();
+            holidays.clear();
+            closedPeriods.clear();
+            positionSequence.set(0);
+            attendanceSequence.set(0);
+            leaveSequence.set(0);
+            deductionSequence.set(0);
+            return null;
+        });
+        OrgTree.invalidate();
+        WorkCalendar.invalidate();
+        ClosedPeriods.invalidate();
+        AttendanceColumns.invalidate();
+        SingleFlight.invalidateAll();
+    }
+
+    // Index maintenance helpers (callers hold the write lock)
+
+    void indexAttendance(Attendance attendance) {
+        attendanceById.put(attendance.getId(), attendance);
+        attendanceByEmployee.computeIfAbsent(attendance.getEmployeeId(), k -> new TreeMap<>())
+                .put(attendance.getLocalDate(), attendance);
+        refreshMonthly(attendance.getEmployeeId(), YearMonth.from(attendance.getLocalDate()));
+        AttendanceColumns.invalidate(attendance.getEmployeeId(), attendance.getLocalDate());
+    }
+
+    void unindexAttendance(Attendance attendance) {
+        attendanceById.remove(attendance.getId());
+        NavigableMap<LocalDate, Attendance> days = attendanceByEmployee.get(attendance.getEmployeeId());
+        if (days != null) {
+            days.remove(attendance.getLocalDate());
+            if (days.isEmpty()) {
+                attendanceByEmployee.remove(attendance.getEmployeeId());
+            }
+        }
+        refreshMonthly(attendance.getEmployeeId(), YearMonth.from(attendance.getLocalDate()));
+        AttendanceColumns.invalidate(attendance.getEmployeeId(), attendance.getLocalDate());
+    }
+
+    // Recount the one month the row belongs to from its day map
+    private void refreshMonthly(int employeeId, YearMonth month) {
+        NavigableMap<LocalDate, Attendance> days = attendanceByEmployee.get(employeeId);
+        AttendanceTotals totals = days == null ? AttendanceTotals.EMPTY
+                : AttendanceTotals.of(days.subMap(month.atDay(1), true, month.atEndOfMonth(), true).values());
+        if (totals.getDaysPresent() > 0) {
+            attendanceMonthly.computeIfAbsent(employeeId, k -> new TreeMap<>()).put(month, totals);
+            return;
+        }
+        NavigableMap<YearMonth, AttendanceTotals> months = attendanceMonthly.get(employeeId);
+        if (months != null) {
+            months.remove(month);
+            if (months.isEmpty()) {
+                attendanceMonthly.remove(employeeId);
+            }
+        }
+    }
+
+    void indexLeave(LeaveRequest leave) {
+        leavesById.put(leave.getLeaveId(), leave);
+        leaveIntervals.put(leave);
+        leavesByEmployee.computeIfAbsent(leave.getEmployeeId(), k -> new TreeSet<>(LEAVE_ORDER)).add(leave);
+    }
+
+    void unindexLeave(LeaveRequest leave) {
+        leavesById.remove(leave.getLeaveId());
+        leaveIntervals.remove(leave.getLeaveId());
+        NavigableSet<LeaveRequest> leaves = leavesByEmployee.get(leave.getEmployeeId());
+        if (leaves != null) {
+            leaves.remove(leave);
+            if (leaves.isEmpty()) {
+                leavesByEmployee.remove(leave.getEmployeeId());
+            }
+        }
+    }
+
+    // Defensive copies so callers can't mutate stored rows without going through a repository
+
+    static Attendance copyOf(Attendance source) {
+        return Attendance.loaded(source.getId(), source.getEmployeeId(), source.getEpochDay(),
+                source.getLogInSecond(), source.getLogOutSecond(), source.getCreatedAt(), source.getUpdatedAt());
+    }
+
+    static LeaveRequest copyOf(LeaveRequest source) {
+        LeaveRequest copy = new LeaveRequest();
+        copy.setLeaveId(source.getLeaveId());
+        copy.setEmployeeId(source.getEmployeeId());
+        copy.setLeaveType(source.getLeaveType());
+        copy.setStartDate(source.getStartDate());
+        copy.setEndDate(source.getEndDate());
+        if (source.getStatus() != null) {
+            copy.setStatus(source.getStatus());
+        }
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        return copy;
+    }
+
+    static Position copyOf(Position source) {
+        Position copy = new Position();
+        copy.setPositionId(source.getPositionId());
+        copy.setPositionName(source.getPositionName());
+        copy.setMonthlySalary(source.getMonthlySalary());
+        copy.setRiceSubsidy(source.getRiceSubsidy());
+        copy.setPhoneAllowance(source.getPhoneAllowance());
+        copy.setClothingAllowance(source.getClothingAllowance());
+        copy.setGrossSemiMonthlyRate(source.getGrossSemiMonthlyRate());
+        copy.setHourlyRate(source.getHourlyRate());
+        return copy;
+    }
+
+    /**
+     * Populate the store with a generated company for benchmarking and offline use.
+     * Employee 10001 is the CEO; everyone else reports up a tree with a fan-out of eight.
+     * All accounts use the default password 'password1234'.
+     */
+    public void loadSampleData(int employeeCount, LocalDate attendanceFrom, LocalDate attendanceTo) {
+        if (employeeCount <= 0) {
+            throw new IllegalArgumentException("Employee count must be positive");
+        }
+        if (attendanceFrom == null || attendanceTo == null || attendanceFrom.isAfter(attendanceTo)) {
+            throw new IllegalArgumentException("Invalid attendance range");
+        }
+
+        clear();
+        Random random = new Random(42);
+
+        write(() -> {
+            String[][] positionSeed = {
+                    {"Chief Executive Officer", "90000", "2000", "1000"},
+                    {"HR Manager", "52670", "1000", "1000"},
+                    {"Payroll Manager", "50825", "1000", "1000"},
+                    {"Account Manager", "53500", "1000", "1000"},
+                    {"Account Team Leader", "42975", "800", "800"},
+                    {"HR Rank and File", "22500", "500", "500"},
+                    {"Payroll Rank and File", "24000", "500", "500"},
+                    {"Account Rank and File", "22500", "500", "500"}
+            };
+            for (String[] row : positionSeed) {
+                Position p = new Position();
+                p.setPositionId(positionSequence.incrementAndGet());
+                p.setPositionName(row[0]);
+                p.setMonthlySalary(Double.parseDouble(row[1]));
+                p.setRiceSubsidy(1500.00);
+                p.setPhoneAllowance(Double.parseDouble(row[2]));
+                p.setClothingAllowance(Double.parseDouble(row[3]));
+                p.calculateRates();
+                positions.put(p.getPositionId(), p);
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < employeeCount; i++) {
+                int id = 10001 + i;
+                Employee e = new Employee(id, "First" + i, "Last" + i);
+                e.setBirthday(LocalDate.of(1970 + (i % 30), 1 + (i % 12), 1 + (i % 28)));
+                e.setStatus(i % 5 == 0 ? "Probationary" : "Regular");
+                e.setSssNumber(String.format("SSS-%08d", id));
+                e.setPhilhealthNumber(String.format("PH-%08d", id));
+                e.setTinNumber(String.format("TIN-%08d", id));
+                e.setPagibigNumber(String.format("PI-%08d", id));
+                e.setPositionId(i == 0 ? 1 : (i < 9 ? 2 + (i % 3) : (i < 73 ? 5 : 6 + (i % 3))));
+                e.setCreatedAt(now);
+                e.setUpdatedAt(now);
+                employees.put(id, e);
+                if (i > 0) {
+                    supervisorIds.put(id, 10001 + (i - 1) / 8);
+                }
+                credentials.put(id, new CredentialRecord("password1234", now));
+            }
+
+            for (int id : employees.keySet()) {
+                for (LocalDate d = attendanceFrom; !d.isAfter(attendanceTo); d = d.plusDays(1)) {
+                    if (d.getDayOfWeek() == DayOfWeek.SATURDAY || d.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                        continue;
+                    }
+                    if (random.nextInt(20) == 0) {
+                        continue; // absent
+                    }
+                    LocalTime logIn = LocalTime.of(7, 45).plusMinutes(random.nextInt(60));
+                    LocalTime logOut = LocalTime.of(16, 45).plusMinutes(random.nextInt(105));
+                    Attendance a = new Attendance(id, Date.valueOf(d), Time.valueOf(logIn), Time.valueOf(logOut));
+                    a.setId(attendanceSequence.incrementAndGet());
+                    indexAttendance(a);
+                }
+
+                if (random.nextInt(4) == 0) {
+                    LocalDate start = attendanceFrom.plusDays(random.nextInt(
+                            (int) Math.max(1, attendanceTo.toEpochDay() - attendanceFrom.toEpochDay())));
+                    LeaveRequest leave = new LeaveRequest(id, Date.valueOf(start),
+                            Date.valueOf(start.plusDays(random.nextInt(3))),
+                            random.nextBoolean() ? "Unpaid" : LeaveRequest.SICK_LEAVE);
+                    leave.setLeaveId(leaveSequence.incrementAndGet());
+                    leave.setStatus(random.nextBoolean() ? LeaveRequest.STATUS_APPROVED : LeaveRequest.STATUS_PENDING);
+                    indexLeave(leave);
+                }
+            }
+            return null;
+        });
+        OrgTree.invalidate();
+        SingleFlight.invalidateAll();
+
+        LOGGER.info(String.format("Loaded in-memory sample data: %d employees, %d attendance rows, %d leave requests",
+                employees.size(), attendanceById.size(), leavesById.size()));
+    }
+
+    /**
+     * Stored credential row
+     */
+    static class CredentialRecord {
+        String password;
+        final LocalDateTime createdAt;
+        LocalDateTime updatedAt;
+
+        CredentialRecord(String password, LocalDateTime createdAt) {
+            this.password = password;
+            this.createdAt = createdAt;
+            this.updatedAt = createdAt;
+        }
+    }
+}
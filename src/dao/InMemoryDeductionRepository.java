@@ -0,0 +1,140 @@
+package dao;
+
+import model.Deduction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+
+/**
+ * {@link DeductionRepository} backed by {@link InMemoryDataStore}.
+ * Never throws SQLException; the clause is kept for interface compatibility.
+ */
+public class InMemoryDeductionRepository implements DeductionRepository {
+    private static final Logger LOGGER = Logger.getLogger(InMemoryDeductionRepository.class.getName());
+
+    private final InMemoryDataStore store;
+
+    public InMemoryDeductionRepository() {
+        this(InMemoryDataStore.getInstance());
+    }
+
+    public InMemoryDeductionRepository(InMemoryDataStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void addDeduction(Deduction deduction) {
+        if (deduction == null) {
+            throw new IllegalArgumentException("Deduction cannot be null");
+        }
+        store.write(() -> {
+            int generatedId = store.deductionSequence.incrementAndGet();
+            StoredDeduction stored = StoredDeduction.of(deduction);
+            stored.setDeductionId(generatedId);
+            store.deductions.put(generatedId, stored);
+            deduction.setDeductionId(generatedId);
+            LOGGER.info("Successfully added deduction for employee: " + deduction.getEmployeeId());
+            return null;
+        });
+    }
+
+    @Override
+    public List<Deduction> getDeductionsByEmployeeId(int employeeId) {
+        if (employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+        return store.read(() -> {
+            List<Deduction> result = new ArrayList<>();
+            for (Deduction d : store.deductions.values()) {
+                if (d.getEmployeeId() == employeeId) {
+                    result.add(StoredDeduction.of(d));
+                }
+            }
+            // Newest first, like ORDER BY deduction_date DESC
+            Collections.reverse(result);
+            return result;
+        });
+    }
+
+    @Override
+    public boolean updateDeduction(Deduction deduction) {
+        if (deduction == null || deduction.getDeductionId() <= 0) {
+            throw new IllegalArgumentException("Invalid deduction or deduction ID");
+        }
+        return store.write(() -> {
+            if (!store.deductions.containsKey(deduction.getDeductionId())) {
+                return false;
+            }
+            store.deductions.put(deduction.getDeductionId(), StoredDeduction.of(deduction));
+            return true;
+        });
+    }
+
+    @Override
+    public boolean deleteDeduction(int deductionId) {
+        if (deductionId <= 0) {
+            throw new IllegalArgumentException("Deduction ID must be positive");
+        }
+        return store.write(() -> store.deductions.remove(deductionId) != null);
+    }
+
+    @Override
+    public Deduction getDeductionById(int deductionId) {
+        if (deductionId <= 0) {
+            throw new IllegalArgumentException("Deduction ID must be positive");
+        }
+        return store.read(() -> {
+            Deduction d = store.deductions.get(deductionId);
+            return d != null ? StoredDeduction.of(d) : null;
+        });
+    }
+
+    @Override
+    public double getTotalDeductionsByType(int employeeId, String type) {
+        if (employeeId <= 0 || type == null || type.trim().isEmpty()) {
+            throw new IllegalArgumentException("Invalid employee ID or deduction type");
+        }
+        String wanted = type.trim();
+        return store.read(() -> store.deductions.values().stream()
+                .filter(d -> d.getEmployeeId() == employeeId && wanted.equals(d.getType()))
+                .mapToDouble(Deduction::getAmount)
+                .sum());
+    }
+
+    @Override
+    public List<String> getAllDeductionTypes() {
+        return store.read(() -> {
+            TreeSet<String> types = new TreeSet<>();
+            for (Deduction d : store.deductions.values()) {
+                types.add(d.getType());
+            }
+            return new ArrayList<>(types);
+        });
+    }
+
+    /**
+     * Plain stored copy of a deduction
+     */
+    private static class StoredDeduction extends Deduction {
+
+        StoredDeduction(int employeeId, String type, double amount, String description) {
+            super(employeeId, type, amount, description);
+        }
+
+        static StoredDeduction of(Deduction source) {
+            StoredDeduction copy = new StoredDeduction(source.getEmployeeId(), source.getType(),
+                    source.getAmount(), source.getDescription());
+            copy.setDeductionId(source.getDeductionId());
+            copy.setEffectiveDate(source.getEffectiveDate());
+            return copy;
+        }
+
+        @Override
+        public void calculateDeduction() {
+            // Amount is stored as given
+        }
+    }
+}
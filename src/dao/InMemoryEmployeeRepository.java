@@ -0,0 +1,376 @@
+package dao;
+
+import model.Employee;
+import model.Position;
+import util.SessionStore;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * {@link EmployeeRepository} backed by {@link InMemoryDataStore}.
+ * Mirrors {@link EmployeeDAO}: supervisor names are "Last, First" and
+ * getEmployeeById does not populate salary details.
+ */
+public class InMemoryEmployeeRepository implements EmployeeRepository {
+    private static final Logger LOGGER = Logger.getLogger(InMemoryEmployeeRepository.class.getName());
+
+    private static final Comparator<Employee> NAME_ORDER =
+            Comparator.comparing(Employee::getLastName).thenComparing(Employee::getFirstName);
+
+    private final InMemoryDataStore store;
+
+    public InMemoryEmployeeRepository() {
+        this(InMemoryDataStore.getInstance());
+    }
+
+    public InMemoryEmployeeRepository(InMemoryDataStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return findSorted(e -> true);
+    }
+
+    @Override
+    public Employee getEmployeeById(int employeeId) {
+        return store.read(() -> {
+            Employee stored = store.employees.get(employeeId);
+            return stored != null ? toEmployee(stored) : null;
+        });
+    }
+
+    @Override
+    public List<Employee> getEmployeesByIds(List<Integer> employeeIds) {
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Integer> wanted = new HashSet<>(employeeIds);
+        return findSorted(e -> wanted.contains(e.getId()));
+    }
+
+    @Override
+    public Employee getEmployeeWithPositionDetails(int employeeId) {
+        return store.read(() -> {
+            Employee stored = store.employees.get(employeeId);
+            if (stored == null) {
+                return null;
+            }
+            Employee e = toEmployee(stored);
+            Position p = store.positions.get(stored.getPositionId());
+            if (p != null) {
+                e.setBasicSalary(p.getMonthlySalary());
+            }
+            return e;
+        });
+    }
+
+    @Override
+    public boolean insertEmployee(Employee e) {
+        validateForWrite(e);
+        if (e.getStatus() != null && !e.getStatus().trim().isEmpty()) {
+            String status = e.getStatus().trim();
+            if (!status.equals("Regular") && !status.equals("Probationary")) {
+                throw new IllegalArgumentException("Status must be either 'Regular' or 'Probationary'");
+            }
+        }
+
+        return store.write(() -> {
+            if (store.employees.containsKey(e.getId())) {
+                throw new IllegalArgumentException("Employee ID " + e.getId() + " already exists");
+            }
+            LocalDateTime now = LocalDateTime.now();
+            Employee stored = toStored(e);
+            stored.setCreatedAt(now);
+            stored.setUpdatedAt(now);
+            store.employees.put(stored.getId(), stored);
+            putSupervisor(stored.getId(), e.getImmediateSupervisor());
+            OrgTree.invalidate();
+            LOGGER.info("Successfully inserted employee: " + e.getId() + " - " + e.getFullName());
+            return true;
+        });
+    }
+
+    @Override
+    public int insertEmployeesBatch(List<Employee> employees, Map<Integer, Integer> supervisorIds,
+                                    Map<Integer, String> passwords) {
+        if (employees == null || supervisorIds == null || passwords == null) {
+            throw new IllegalArgumentException("Employees, supervisor IDs and passwords cannot be null");
+        }
+        employees.forEach(this::validateForWrite);
+
+        int inserted = store.write(() -> {
+            // Check everything first so a bad row leaves the store untouched
+            Set<Integer> batchIds = new HashSet<>();
+            // Mirrors the UNIQUE constraints on the government numbers
+            Set<String> governmentNumbers = new HashSet<>();
+            for (Employee existing : store.employees.values()) {
+                addGovernmentNumbers(existing, governmentNumbers);
+            }
+            for (Employee e : employees) {
+                if (!addGovernmentNumbers(e, governmentNumbers)) {
+                    throw new RuntimeException("Duplicate government number for employee ID " + e.getId());
+                }
+                if (store.employees.containsKey(e.getId()) || !batchIds.add(e.getId())) {
+                    throw new RuntimeException("Employee ID " + e.getId() + " already exists");
+                }
+                if (!store.positions.containsKey(e.getPositionId())) {
+                    throw new RuntimeException("Position ID " + e.getPositionId() + " does not exist");
+                }
+                Integer supervisorId = supervisorIds.get(e.getId());
+                if (supervisorId != null && !store.employees.containsKey(supervisorId) && !batchIds.contains(supervisorId)) {
+                    throw new RuntimeException("Supervisor ID " + supervisorId + " does not exist");
+                }
+            }
+            LocalDateTime now = LocalDateTime.now();
+            for (Employee e : employees) {
+                Employee stored = copy(e);
+                stored.setStatus(e.getStatus() != null ? e.getStatus().trim() : "Regular");
+                stored.setCreatedAt(now);
+                stored.setUpdatedAt(now);
+                store.employees.put(stored.getId(), stored);
+                Integer supervisorId = supervisorIds.get(e.getId());
+                if (supervisorId != null) {
+                    store.supervisorIds.put(stored.getId(), supervisorId);
+                }
+                String password = passwords.get(e.getId());
+                if (password != null && !password.trim().isEmpty()) {
+                    store.credentials.put(stored.getId(), new InMemoryDataStore.CredentialRecord(password, now));
+                }
+            }
+            return employees.size();
+        });
+        OrgTree.invalidate();
+        LOGGER.info("Inserted batch of " + inserted + " employees");
+        return inserted;
+    }
+
+    /** Adds the employee's non-blank government numbers; false if any was already present */
+    private static boolean addGovernmentNumbers(Employee e, Set<String> numbers) {
+        boolean unique = true;
+        String[][] pairs = {{"sss", e.getSssNumber()}, {"philhealth", e.getPhilhealthNumber()},
+                {"tin", e.getTinNumber()}, {"pagibig", e.getPagibigNumber()}};
+        for (String[] pair : pairs) {
+            if (pair[1] != null && !pair[1].trim().isEmpty() && !numbers.add(pair[0] + ":" + pair[1].trim())) {
+                unique = false;
+            }
+        }
+        return unique;
+    }
+
+    @Override
+    public boolean updateEmployee(Employee e) {
+        validateForWrite(e);
+
+        return store.write(() -> {
+            Employee existing = store.employees.get(e.getId());
+            if (existing == null) {
+                LOGGER.warning("No employee found with ID: " + e.getId() + " for update");
+                return false;
+            }
+            Employee stored = toStored(e);
+            stored.setCreatedAt(existing.getCreatedAt());
+            stored.setUpdatedAt(LocalDateTime.now());
+            store.employees.put(stored.getId(), stored);
+            putSupervisor(stored.getId(), e.getImmediateSupervisor());
+            OrgTree.invalidate();
+            return true;
+        });
+    }
+
+    @Override
+    public boolean deleteEmployee(int employeeId) {
+        if (employeeId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+
+        return store.write(() -> {
+            if (store.employees.remove(employeeId) == null) {
+                LOGGER.warning("No employee found with ID: " + employeeId + " for deletion");
+                return false;
+            }
+            // Same cascades as the schema's foreign keys
+            store.supervisorIds.remove(employeeId);
+            store.supervisorIds.values().removeIf(s -> s == employeeId);
+            store.credentials.remove(employeeId);
+            new ArrayList<>(store.attendanceById.values()).stream()
+                    .filter(a -> a.getEmployeeId() == employeeId)
+                    .forEach(store::unindexAttendance);
+            new ArrayList<>(store.leavesById.values()).stream()
+                    .filter(l -> l.getEmployeeId() == employeeId)
+                    .forEach(store::unindexLeave);
+            OrgTree.invalidate();
+            SessionStore.getInstance().revokeAll(employeeId);
+            return true;
+        });
+    }
+
+    @Override
+    public List<Employee> getEmployeesByStatus(String status) {
+        if (status == null || status.trim().isEmpty()) {
+            throw new IllegalArgumentException("Status cannot be null or empty");
+        }
+        String wanted = status.trim();
+        return findSorted(e -> wanted.equals(e.getStatus()));
+    }
+
+    @Override
+    public List<Employee> getEmployeesByPositionId(int positionId) {
+        return findSorted(e -> e.getPositionId() == positionId);
+    }
+
+    @Override
+    public List<Employee> getEmployeesBySupervisor(int supervisorId) {
+        return findSorted(e -> {
+            Integer s = store.supervisorIds.get(e.getId());
+            return s != null && s == supervisorId;
+        });
+    }
+
+    @Override
+    public Map<Integer, Integer> getSupervisorLinks() {
+        return store.read(() -> {
+            Map<Integer, Integer> links = new HashMap<>();
+            for (Integer id : store.employees.keySet()) {
+                links.put(id, store.supervisorIds.get(id));
+            }
+            return links;
+        });
+    }
+
+    @Override
+    public Map<String, Integer> getEmployeeIdsByFullName() {
+        return store.read(() -> {
+            Map<String, Integer> ids = new HashMap<>();
+            store.employees.keySet().stream().sorted().forEach(id -> {
+                Employee e = store.employees.get(id);
+                ids.putIfAbsent(EmployeeDAO.normalizeFullName(e.getLastName() + ", " + e.getFirstName()), id);
+            });
+            return ids;
+        });
+    }
+
+    @Override
+    public boolean employeeExists(int employeeId) {
+        if (employeeId <= 0) {
+            return false;
+        }
+        return store.read(() -> store.employees.containsKey(employeeId));
+    }
+
+    @Override
+    public int getEmployeeCountByStatus(String status) {
+        if (status == null || status.trim().isEmpty()) {
+            throw new IllegalArgumentException("Status cannot be null or empty");
+        }
+        String wanted = status.trim();
+        return store.read(() -> (int) store.employees.values().stream()
+                .filter(e -> wanted.equals(e.getStatus()))
+                .count());
+    }
+
+    private List<Employee> findSorted(Predicate<Employee> filter) {
+        return store.read(() -> {
+            List<Employee> result = new ArrayList<>();
+            for (Employee stored : store.employees.values()) {
+                if (filter.test(stored)) {
+                    result.add(toEmployee(stored));
+                }
+            }
+            result.sort(NAME_ORDER);
+            return result;
+        });
+    }
+
+    private void validateForWrite(Employee e) {
+        if (e == null) {
+            throw new IllegalArgumentException("Employee cannot be null");
+        }
+        if (e.getId() <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive");
+        }
+        if (e.getFirstName() == null || e.getFirstName().trim().isEmpty()) {
+            throw new IllegalArgumentException("First name is required");
+        }
+        if (e.getLastName() == null || e.getLastName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Last name is required");
+        }
+    }
+
+    /** Build the value returned to callers (caller holds a lock) */
+    private Employee toEmployee(Employee stored) {
+        Employee e = copy(stored);
+        Position p = store.positions.get(stored.getPositionId());
+        e.setPosition(p != null ? p.getPositionName() : "Unknown Position");
+        Integer supervisorId = store.supervisorIds.get(stored.getId());
+        if (supervisorId != null) {
+            Employee s = store.employees.get(supervisorId);
+            e.setImmediateSupervisor(s != null ? s.getLastName() + ", " + s.getFirstName() : "Unknown Supervisor");
+        }
+        e.setCreatedAt(stored.getCreatedAt());
+        e.setUpdatedAt(stored.getUpdatedAt());
+        return e;
+    }
+
+    /** Build the stored row, resolving position by title like the employees table does (caller holds the write lock) */
+    private Employee toStored(Employee e) {
+        Employee stored = copy(e);
+        stored.setLastName(e.getLastName());
+        stored.setFirstName(e.getFirstName());
+        stored.setStatus(e.getStatus() != null ? e.getStatus().trim() : "Regular");
+        stored.setPositionId(resolvePositionId(e.getPosition()));
+        return stored;
+    }
+
+    private Employee copy(Employee source) {
+        Employee e = new Employee(source.getId(), source.getFirstName(), source.getLastName());
+        e.setBirthday(source.getBirthday());
+        e.setAddress(source.getAddress());
+        e.setPhoneNumber(source.getPhoneNumber());
+        e.setSssNumber(source.getSssNumber());
+        e.setPhilhealthNumber(source.getPhilhealthNumber());
+        e.setTinNumber(source.getTinNumber());
+        e.setPagibigNumber(source.getPagibigNumber());
+        e.setStatus(source.getStatus());
+        e.setPositionId(source.getPositionId());
+        return e;
+    }
+
+    private int resolvePositionId(String positionName) {
+        if (positionName == null) return 1;
+        for (Position p : store.positions.values()) {
+            if (positionName.equals(p.getPositionName())) {
+                return p.getPositionId();
+            }
+        }
+        return 1;
+    }
+
+    private void putSupervisor(int employeeId, String supervisorName) {
+        Integer supervisorId = null;
+        if (supervisorName != null && !supervisorName.trim().isEmpty()) {
+            String wanted = supervisorName.trim();
+            for (Map.Entry<Integer, Employee> entry : store.employees.entrySet()) {
+                Employee s = entry.getValue();
+                if (wanted.equals(s.getLastName() + ", " + s.getFirstName())) {
+                    supervisorId = entry.getKey();
+                    break;
+                }
+            }
+        }
+        if (supervisorId != null) {
+            store.supervisorIds.put(employeeId, supervisorId);
+        } else {
+            store.supervisorIds.remove(employeeId);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package dao;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link HolidayRepository} backed by {@link InMemoryDataStore}.
+ */
+public class InMemoryHolidayRepository implements HolidayRepository {
+
+    private final InMemoryDataStore store;
+
+    public InMemoryHolidayRepository() {
+        this(InMemoryDataStore.getInstance());
+    }
+
+    public InMemoryHolidayRepository(InMemoryDataStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<LocalDate> getHolidayDates() {
+        return store.read(() -> new ArrayList<>(store.holidays.keySet()));
+    }
+
+    @Override
+    public Map<LocalDate, String> getHolidaysForYear(int year) {
+        return store.read(() -> new LinkedHashMap<>(
+                store.holidays.subMap(LocalDate.of(year, 1, 1), true, LocalDate.of(year, 12, 31), true)));
+    }
+
+    @Override
+    public boolean addHoliday(LocalDate date, String name) {
+        if (date == null || name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Holiday date and name are required");
+        }
+        boolean added = store.write(() -> store.holidays.putIfAbsent(date, name.trim()) == null);
+        WorkCalendar.invalidate();
+        return added;
+    }
+
+    @Override
+    public boolean deleteHoliday(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Holiday date cannot be null");
+        }
+        boolean deleted = store.write(() -> store.holidays.remove(date) != null);
+        WorkCalendar.invalidate();
+        return deleted;
+    }
+}
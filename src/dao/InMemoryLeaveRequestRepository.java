@@ -0,0 +1,294 @@
+package dao;
+
+import model.Employee;
+import model.LeaveRequest;
+import model.LeaveSummaryRow;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * {@link LeaveRequestRepository} backed by {@link InMemoryDataStore}.
+ * Overlap checks only visit the employee's leaves that start on or before the
+ * end of the requested range.
+ */
+public class InMemoryLeaveRequestRepository implements LeaveRequestRepository {
+    private static final Logger logger = Logger.getLogger(InMemoryLeaveRequestRepository.class.getName());
+
+    private static final Comparator<LeaveRequest> NEWEST_FIRST =
+            Comparator.comparing(LeaveRequest::getStartDate).reversed();
+
+    private final InMemoryDataStore store;
+
+    public InMemoryLeaveRequestRepository() {
+        this(InMemoryDataStore.getInstance());
+    }
+
+    public InMemoryLeaveRequestRepository(InMemoryDataStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<LeaveRequest> getLeaveRequestsByEmployeeId(int empId) {
+        validateEmployeeId(empId);
+        return store.read(() -> copyNewestFirst(store.leavesByEmployee.get(empId), l -> true));
+    }
+
+    @Override
+    public List<LeaveRequest> getApprovedLeavesByEmployeeId(int empId) {
+        validateEmployeeId(empId);
+        return store.read(() -> copyNewestFirst(store.leavesByEmployee.get(empId), LeaveRequest::isApproved));
+    }
+
+    @Override
+    public List<LeaveRequest> getApprovedLeavesByEmployeeIdAndDateRange(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
+        validateEmployeeId(employeeId);
+        validateDateRange(periodStart, periodEnd);
+        return store.read(() -> copyNewestFirst(startingBy(employeeId, periodEnd),
+                l -> l.isApproved() && !l.getEndDate().toLocalDate().isBefore(periodStart)));
+    }
+
+    @Override
+    public Map<Integer, List<LeaveRequest>> getApprovedLeavesByEmployeeIdsAndDateRange(List<Integer> employeeIds,
+                                                                                     LocalDate periodStart, LocalDate periodEnd) {
+        validateDateRange(periodStart, periodEnd);
+        Map<Integer, List<LeaveRequest>> byEmployee = new HashMap<>();
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            return byEmployee;
+        }
+        return store.read(() -> {
+            for (Integer employeeId : employeeIds) {
+                List<LeaveRequest> rows = copyNewestFirst(startingBy(employeeId, periodEnd),
+                        l -> l.isApproved() && !l.getEndDate().toLocalDate().isBefore(periodStart));
+                if (!rows.isEmpty()) {
+                    byEmployee.put(employeeId, rows);
+                }
+            }
+            return byEmployee;
+        });
+    }
+
+    @Override
+    public List<LeaveRequest> getLeaveRequestsByStatus(String status) {
+        validateStatus(status);
+        String wanted = status.trim();
+        return store.read(() -> {
+            List<LeaveRequest> list = new ArrayList<>();
+            for (LeaveRequest l : store.leavesById.values()) {
+                if (wanted.equals(l.getStatus())) {
+                    list.add(InMemoryDataStore.copyOf(l));
+                }
+            }
+            list.sort(NEWEST_FIRST);
+            return list;
+        });
+    }
+
+    @Override
+    public void streamLeaveSummary(Consumer<LeaveSummaryRow> consumer) {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+        List<LeaveSummaryRow> rows = store.read(() -> {
+            // employee ID, then "type|status" in sort order, to {count, days}
+            Map<Integer, Map<String, long[]>> groups = new TreeMap<>();
+            Map<String, String[]> keys = new HashMap<>();
+            for (LeaveRequest l : store.leavesById.values()) {
+                String key = l.getLeaveType() + "|" + l.getStatus();
+                keys.putIfAbsent(key, new String[]{l.getLeaveType(), l.getStatus()});
+                long[] totals = groups.computeIfAbsent(l.getEmployeeId(), k -> new TreeMap<>())
+                        .computeIfAbsent(key, k -> new long[2]);
+                totals[0]++;
+                totals[1] += l.getLeaveDays();
+            }
+            List<LeaveSummaryRow> result = new ArrayList<>();
+            for (Map.Entry<Integer, Map<String, long[]>> byEmployee : groups.entrySet()) {
+                Employee e = store.employees.get(byEmployee.getKey());
+                String name = e != null ? e.getFullName() : "Employee " + byEmployee.getKey();
+                for (Map.Entry<String, long[]> group : byEmployee.getValue().entrySet()) {
+                    String[] typeAndStatus = keys.get(group.getKey());
+                    result.add(new LeaveSummaryRow(byEmployee.getKey(), name, typeAndStatus[0], typeAndStatus[1],
+                            (int) group.getValue()[0], group.getValue()[1]));
+                }
+            }
+            return result;
+        });
+        rows.forEach(consumer);
+    }
+
+    @Override
+    public int insertLeaveRequest(LeaveRequest leaveRequest) {
+        validateLeaveRequestForInsert(leaveRequest);
+
+        return store.write(() -> {
+            if (!store.employees.containsKey(leaveRequest.getEmployeeId())) {
+                throw new RuntimeException("Failed to insert leave request: employee "
+                        + leaveRequest.getEmployeeId() + " does not exist");
+            }
+            LeaveRequest stored = InMemoryDataStore.copyOf(leaveRequest);
+            int generatedId = store.leaveSequence.incrementAndGet();
+            stored.setLeaveId(generatedId);
+            if (stored.getStatus() == null) {
+                stored.setStatus(LeaveRequest.STATUS_PENDING);
+            }
+            stored.setCreatedAt(LocalDateTime.now());
+            stored.setUpdatedAt(stored.getCreatedAt());
+            store.indexLeave(stored);
+            leaveRequest.setLeaveId(generatedId);
+            logger.info(String.format("Successfully inserted leave request with ID: %d for employee %d",
+                    generatedId, leaveRequest.getEmployeeId()));
+            return generatedId;
+        });
+    }
+
+    @Override
+    public boolean updateLeaveStatus(int leaveId, String status) {
+        validateLeaveId(leaveId);
+        validateStatus(status);
+
+        return store.write(() -> {
+            LeaveRequest stored = store.leavesById.get(leaveId);
+            if (stored == null) {
+                logger.warning(String.format("No leave request found with ID: %d", leaveId));
+                return false;
+            }
+            // Status is not part of the sort key, so the per-employee index stays valid
+            stored.setStatus(status.trim());
+            stored.setUpdatedAt(LocalDateTime.now());
+            store.leaveIntervals.put(stored);
+            return true;
+        });
+    }
+
+    @Override
+    public boolean updateLeaveRequest(LeaveRequest leaveRequest) {
+        validateLeaveRequestForInsert(leaveRequest);
+        validateLeaveId(leaveRequest.getLeaveId());
+
+        return store.write(() -> {
+            LeaveRequest existing = store.leavesById.get(leaveRequest.getLeaveId());
+            if (existing == null) {
+                logger.warning(String.format("No leave request found with ID: %d", leaveRequest.getLeaveId()));
+                return false;
+            }
+            store.unindexLeave(existing);
+            LeaveRequest stored = InMemoryDataStore.copyOf(leaveRequest);
+            stored.setCreatedAt(existing.getCreatedAt());
+            stored.setUpdatedAt(LocalDateTime.now());
+            store.indexLeave(stored);
+            return true;
+        });
+    }
+
+    @Override
+    public boolean deleteLeaveRequest(int leaveId) {
+        validateLeaveId(leaveId);
+        return store.write(() -> {
+            LeaveRequest existing = store.leavesById.get(leaveId);
+            if (existing == null) {
+                logger.warning(String.format("No leave request found with ID: %d", leaveId));
+                return false;
+            }
+            store.unindexLeave(existing);
+            return true;
+        });
+    }
+
+    @Override
+    public Optional<LeaveRequest> getLeaveRequestById(int leaveId) {
+        validateLeaveId(leaveId);
+        return store.read(() -> Optional.ofNullable(store.leavesById.get(leaveId)).map(InMemoryDataStore::copyOf));
+    }
+
+    @Override
+    public boolean hasOverlappingLeave(int employeeId, LocalDate startDate, LocalDate endDate, Integer excludeLeaveId) {
+        validateEmployeeId(employeeId);
+        validateDateRange(startDate, endDate);
+        return store.leaveIntervals.hasApprovedOverlap(employeeId, startDate, endDate, excludeLeaveId);
+    }
+
+    /** Leaves of the employee whose start date is on or before the given date (caller holds a lock) */
+    private NavigableSet<LeaveRequest> startingBy(int employeeId, LocalDate date) {
+        NavigableSet<LeaveRequest> leaves = store.leavesByEmployee.get(employeeId);
+        if (leaves == null) {
+            return null;
+        }
+        LeaveRequest bound = new LeaveRequest();
+        bound.setStartDate(Date.valueOf(date));
+        bound.setLeaveId(Integer.MAX_VALUE);
+        return leaves.headSet(bound, true);
+    }
+
+    private List<LeaveRequest> copyNewestFirst(NavigableSet<LeaveRequest> leaves, Predicate<LeaveRequest> filter) {
+        List<LeaveRequest> list = new ArrayList<>();
+        if (leaves != null) {
+            for (LeaveRequest l : leaves.descendingSet()) {
+                if (filter.test(l)) {
+                    list.add(InMemoryDataStore.copyOf(l));
+                }
+            }
+        }
+        return list;
+    }
+
+    // Validation helper methods (same rules as LeaveRequestDAO)
+    private void validateEmployeeId(int empId) {
+        if (empId <= 0) {
+            throw new IllegalArgumentException("Employee ID must be positive, got: " + empId);
+        }
+    }
+
+    private void validateLeaveId(int leaveId) {
+        if (leaveId <= 0) {
+            throw new IllegalArgumentException("Leave ID must be positive, got: " + leaveId);
+        }
+    }
+
+    private void validateStatus(String status) {
+        if (status == null || status.trim().isEmpty()) {
+            throw new IllegalArgumentException("Status cannot be null or empty");
+        }
+        String trimmedStatus = status.trim();
+        if (!trimmedStatus.equals(LeaveRequest.STATUS_PENDING) && !trimmedStatus.equals(LeaveRequest.STATUS_APPROVED)
+                && !trimmedStatus.equals(LeaveRequest.STATUS_REJECTED)) {
+            throw new IllegalArgumentException("Invalid status: " + status + ". Must be one of: Pending, Approved, Rejected");
+        }
+    }
+
+    private void validateDateRange(LocalDate periodStart, LocalDate periodEnd) {
+        if (periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Period start and end dates cannot be null");
+        }
+        if (periodStart.isAfter(periodEnd)) {
+            throw new IllegalArgumentException("Period start date cannot be after end date: " + periodStart + " > " + periodEnd);
+        }
+    }
+
+    private void validateLeaveRequestForInsert(LeaveRequest leaveRequest) {
+        if (leaveRequest == null) {
+            throw new IllegalArgumentException("Leave request cannot be null");
+        }
+        validateEmployeeId(leaveRequest.getEmployeeId());
+        if (leaveRequest.getStartDate() == null || leaveRequest.getEndDate() == null) {
+            throw new IllegalArgumentException("Start and end dates cannot be null");
+        }
+        if (leaveRequest.getLeaveType() == null || leaveRequest.getLeaveType().trim().isEmpty()) {
+            throw new IllegalArgumentException("Leave type cannot be null or empty");
+        }
+        if (leaveRequest.getStartDate().after(leaveRequest.getEndDate())) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package dao;
+
+import model.Employee;
+import model.Position;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * {@link PositionRepository} backed by {@link InMemoryDataStore}.
+ */
+public class InMemoryPositionRepository implements PositionRepository {
+    private static final Logger LOGGER = Logger.getLogger(InMemoryPositionRepository.class.getName());
+
+    private final InMemoryDataStore store;
+
+    public InMemoryPositionRepository() {
+        this(InMemoryDataStore.getInstance());
+    }
+
+    public InMemoryPositionRepository(InMemoryDataStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Position> getAllPositions() {
+        return find(p -> true, Comparator.comparing(Position::getPositionName));
+    }
+
+    @Override
+    public Position getPositionById(int positionId) {
+        if (positionId <= 0) {
+            throw new IllegalArgumentException("Position ID must be positive");
+        }
+        return store.read(() -> {
+            Position p = store.positions.get(positionId);
+            return p != null ? InMemoryDataStore.copyOf(p) : null;
+        });
+    }
+
+    @Override
+    public Position getPositionByTitle(String title) {
+        if (title == null || title.trim().isEmpty()) {
+            throw new IllegalArgumentException("Position title cannot be null or empty");
+        }
+        List<Position> matches = find(p -> title.equals(p.getPositionName()), null);
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    @Override
+    public int insertPosition(Position position) {
+        if (position == null) {
+            throw new IllegalArgumentException("Position cannot be null");
+        }
+        if (position.getPositionName() == null || position.getPositionName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Position title is required");
+        }
+
+        return store.write(() -> {
+            for (Position p : store.positions.values()) {
+                if (p.getPositionName().equals(position.getPositionName())) {
+                    throw new IllegalArgumentException("Position title already exists: " + position.getPositionName());
+                }
+            }
+            Position stored = InMemoryDataStore.copyOf(position);
+            int generatedId = store.positionSequence.incrementAndGet();
+            stored.setPositionId(generatedId);
+            stored.setPositionName(position.getPositionName().trim());
+            store.positions.put(generatedId, stored);
+            position.setPositionId(generatedId);
+            LOGGER.info("Successfully inserted position: " + position.getPositionName() + " with ID: " + generatedId);
+            return generatedId;
+        });
+    }
+
+    @Override
+    public boolean updatePosition(Position position) {
+        if (position == null) {
+            throw new IllegalArgumentException("Position cannot be null");
+        }
+        if (position.getPositionId() <= 0) {
+            throw new IllegalArgumentException("Position ID must be positive");
+        }
+        if (position.getPositionName() == null || position.getPositionName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Position title is required");
+        }
+
+        return store.write(() -> {
+            if (!store.positions.containsKey(position.getPositionId())) {
+                LOGGER.warning("No position found with ID: " + position.getPositionId());
+                return false;
+            }
+            Position stored = InMemoryDataStore.copyOf(position);
+            stored.setPositionName(position.getPositionName().trim());
+            store.positions.put(stored.getPositionId(), stored);
+            return true;
+        });
+    }
+
+    @Override
+    public boolean deletePosition(int positionId) {
+        if (positionId <= 0) {
+            throw new IllegalArgumentException("Position ID must be positive");
+        }
+        if (isPositionInUse(positionId)) {
+            throw new RuntimeException("Cannot delete position: it is being used by employees");
+        }
+        return store.write(() -> store.positions.remove(positionId) != null);
+    }
+
+    @Override
+    public boolean positionExists(int positionId) {
+        if (positionId <= 0) {
+            return false;
+        }
+        return store.read(() -> store.positions.containsKey(positionId));
+    }
+
+    @Override
+    public boolean isPositionInUse(int positionId) {
+        if (positionId <= 0) {
+            return false;
+        }
+        return store.read(() -> store.employees.values().stream().anyMatch(e -> e.getPositionId() == positionId));
+    }
+
+    @Override
+    public List<Position> getPositionsBySalaryRange(double minSalary, double maxSalary) {
+        if (minSalary < 0 || maxSalary < 0) {
+            throw new IllegalArgumentException("Salary values cannot be negative");
+        }
+        if (minSalary > maxSalary) {
+            throw new IllegalArgumentException("Minimum salary cannot be greater than maximum salary");
+        }
+        return find(p -> p.getMonthlySalary() >= minSalary && p.getMonthlySalary() <= maxSalary,
+                Comparator.comparingDouble(Position::getMonthlySalary));
+    }
+
+    @Override
+    public Map<Integer, Integer> getEmployeeCountByPosition() {
+        return store.read(() -> {
+            Map<Integer, Integer> counts = new HashMap<>();
+            for (Integer positionId : store.positions.keySet()) {
+                counts.put(positionId, 0);
+            }
+            for (Employee e : store.employees.values()) {
+                counts.computeIfPresent(e.getPositionId(), (k, v) -> v + 1);
+            }
+            return counts;
+        });
+    }
+
+    private List<Position> find(Predicate<Position> filter, Comparator<Position> order) {
+        return store.read(() -> {
+            List<Position> result = new ArrayList<>();
+            for (Position p : store.positions.values()) {
+                if (filter.test(p)) {
+                    result.add(InMemoryDataStore.copyOf(p));
+                }
+            }
+            if (order != null) {
+                result.sort(order);
+            }
+            return result;
+        });
+    }
+}
@@ -0,0 +1,207 @@
+package dao;
+
+import model.LeaveRequest;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-employee index of approved and pending leave intervals.
+ *
+ * For each employee and status the start days and end days are kept as two
+ * sorted arrays. The number of leaves overlapping [from, to] is then
+ * (starts &lt;= to) - (ends &lt; from), two binary searches: every leave that ends
+ * before {@code from} also starts before {@code to}, so the second count is a
+ * subset of the first. Leaves may overlap each other without breaking this.
+ *
+ * Reads are lock-free against immutable per-employee snapshots; writers
+ * rebuild only the affected employee's arrays.
+ */
+public class LeaveIntervalIndex {
+
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final Map<Integer, Map<Integer, Entry>> entriesByEmployee = new HashMap<>();
+    private final Map<Integer, Intervals> intervalsByEmployee = new ConcurrentHashMap<>();
+
+    /**
+     * Add or replace a leave; statuses other than approved and pending are dropped from the index
+     */
+    public synchronized void put(LeaveRequest leave) {
+        if (leave == null || leave.getStartDate() == null || leave.getEndDate() == null) {
+            throw new IllegalArgumentException("Leave request and its dates cannot be null");
+        }
+        put(leave.getLeaveId(), leave.getEmployeeId(), leave.getStartDate().toLocalDate(),
+                leave.getEndDate().toLocalDate(), leave.getStatus());
+    }
+
+    public synchronized void put(int leaveId, int employeeId, LocalDate start, LocalDate end, String status) {
+        remove(leaveId);
+        if (!isIndexed(status)) {
+            return;
+        }
+        Entry entry = new Entry(leaveId, employeeId, (int) start.toEpochDay(), (int) end.toEpochDay(),
+                LeaveRequest.STATUS_APPROVED.equals(status));
+        entries.put(leaveId, entry);
+        entriesByEmployee.computeIfAbsent(employeeId, k -> new HashMap<>()).put(leaveId, entry);
+        rebuild(employeeId);
+    }
+
+    /**
+     * Apply a status change to an indexed leave; a no-op for leaves the index doesn't hold
+     */
+    public synchronized void updateStatus(int leaveId, String status) {
+        Entry entry = entries.get(leaveId);
+        if (entry == null) {
+            return;
+        }
+        if (!isIndexed(status)) {
+            remove(leaveId);
+            return;
+        }
+        Entry updated = new Entry(leaveId, entry.employeeId, entry.start, entry.end,
+                LeaveRequest.STATUS_APPROVED.equals(status));
+        entries.put(leaveId, updated);
+        entriesByEmployee.get(entry.employeeId).put(leaveId, updated);
+        rebuild(entry.employeeId);
+    }
+
+    public synchronized void remove(int leaveId) {
+        Entry entry = entries.remove(leaveId);
+        if (entry == null) {
+            return;
+        }
+        Map<Integer, Entry> forEmployee = entriesByEmployee.get(entry.employeeId);
+        forEmployee.remove(leaveId);
+        if (forEmployee.isEmpty()) {
+            entriesByEmployee.remove(entry.employeeId);
+        }
+        rebuild(entry.employeeId);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        entriesByEmployee.clear();
+        intervalsByEmployee.clear();
+    }
+
+    public synchronized boolean contains(int leaveId) {
+        return entries.containsKey(leaveId);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Whether an approved leave of the employee overlaps [from, to], ignoring excludeLeaveId
+     */
+    public boolean hasApprovedOverlap(int employeeId, LocalDate from, LocalDate to, Integer excludeLeaveId) {
+        return countOverlapping(employeeId, from, to, true, excludeLeaveId) > 0;
+    }
+
+    /**
+     * Whether a pending leave of the employee overlaps [from, to], ignoring excludeLeaveId
+     */
+    public boolean hasPendingOverlap(int employeeId, LocalDate from, LocalDate to, Integer excludeLeaveId) {
+        return countOverlapping(employeeId, from, to, false, excludeLeaveId) > 0;
+    }
+
+    private int countOverlapping(int employeeId, LocalDate from, LocalDate to, boolean approved, Integer excludeLeaveId) {
+        Intervals intervals = intervalsByEmployee.get(employeeId);
+        if (intervals == null) {
+            return 0;
+        }
+        int lo = (int) from.toEpochDay();
+        int hi = (int) to.toEpochDay();
+        int[] starts = approved ? intervals.approvedStarts : intervals.pendingStarts;
+        int[] ends = approved ? intervals.approvedEnds : intervals.pendingEnds;
+        int count = countAtMost(starts, hi) - countAtMost(ends, lo - 1);
+        if (count > 0 && excludeLeaveId != null) {
+            Entry excluded = intervals.byLeaveId.get(excludeLeaveId);
+            if (excluded != null && excluded.approved == approved && excluded.start <= hi && excluded.end >= lo) {
+                count--;
+            }
+        }
+        return count;
+    }
+
+    /** Number of values in the sorted array that are &lt;= bound */
+    private static int countAtMost(int[] sorted, int bound) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= bound) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private void rebuild(int employeeId) {
+        Map<Integer, Entry> forEmployee = entriesByEmployee.get(employeeId);
+        if (forEmployee == null || forEmployee.isEmpty()) {
+            intervalsByEmployee.remove(employeeId);
+            return;
+        }
+        intervalsByEmployee.put(employeeId, new Intervals(forEmployee));
+    }
+
+    private static boolean isIndexed(String status) {
+        return LeaveRequest.STATUS_APPROVED.equals(status) || LeaveRequest.STATUS_PENDING.equals(status);
+    }
+
+    private static final class Entry {
+        final int leaveId;
+        final int employeeId;
+        final int start;
+        final int end;
+        final boolean approved;
+
+        Entry(int leaveId, int employeeId, int start, int end, boolean approved) {
+            this.leaveId = leaveId;
+            this.employeeId = employeeId;
+            this.start = start;
+            this.end = end;
+            this.approved = approved;
+        }
+    }
+
+    /** Immutable sorted arrays for one employee */
+    private static final class Intervals {
+        final int[] approvedStarts;
+        final int[] approvedEnds;
+        final int[] pendingStarts;
+        final int[] pendingEnds;
+        final Map<Integer, Entry> byLeaveId;
+
+        Intervals(Map<Integer, Entry> source) {
+            byLeaveId = Map.copyOf(source);
+            int approvedCount = (int) source.values().stream().filter(e -> e.approved).count();
+            approvedStarts = new int[approvedCount];
+            approvedEnds = new int[approvedCount];
+            pendingStarts = new int[source.size() - approvedCount];
+            pendingEnds = new int[source.size() - approvedCount];
+            int a = 0;
+            int p = 0;
+            for (Entry e : source.values()) {
+                if (e.approved) {
+                    approvedStarts[a] = e.start;
+                    approvedEnds[a++] = e.end;
+                } else {
+                    pendingStarts[p] = e.start;
+                    pendingEnds[p++] = e.end;
+                }
+            }
+            Arrays.sort(approvedStarts);
+            Arrays.sort(approvedEnds);
+            Arrays.sort(pendingStarts);
+            Arrays.sort(pendingEnds);
+        }
+    }
+}
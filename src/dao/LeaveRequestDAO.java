@@ -2,23 +2,25 @@ package dao;
 
 import util.DBConnection;
 import model.LeaveRequest;
+import model.LeaveSummaryRow;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
-public class LeaveRequestDAO {
+public class LeaveRequestDAO implements LeaveRequestRepository {
     private static final Logger logger = Logger.getLogger(LeaveRequestDAO.class.getName());
 
     // SQL Queries matching actual database schema
-    private static final String SELECT_BY_EMPLOYEE_ID =
+    static final String SELECT_BY_EMPLOYEE_ID =
             "SELECT * FROM leave_requests WHERE employee_id = ? ORDER BY start_date DESC";
 
     private static final String SELECT_APPROVED_BY_EMPLOYEE_ID =
             "SELECT * FROM leave_requests WHERE employee_id = ? AND status = ? ORDER BY start_date DESC";
 
-    private static final String SELECT_APPROVED_BY_EMPLOYEE_AND_DATE_RANGE = """
+    static final String SELECT_APPROVED_BY_EMPLOYEE_AND_DATE_RANGE = """
         SELECT * FROM leave_requests 
         WHERE employee_id = ? AND status = ? 
         AND ((start_date >= ? AND start_date <= ?) 
@@ -27,7 +29,7 @@ public class LeaveRequestDAO {
         ORDER BY start_date DESC
         """;
 
-    private static final String SELECT_BY_STATUS =
+    static final String SELECT_BY_STATUS =
             "SELECT * FROM leave_requests WHERE status = ? ORDER BY start_date DESC";
 
     private static final String INSERT_LEAVE_REQUEST =
@@ -45,14 +47,24 @@ public class LeaveRequestDAO {
     private static final String SELECT_BY_ID =
             "SELECT * FROM leave_requests WHERE id = ?";
 
-    private static final String CHECK_OVERLAPPING_LEAVE = """
-        SELECT COUNT(*) FROM leave_requests 
-        WHERE employee_id = ? AND status = ? 
-        AND ((start_date >= ? AND start_date <= ?) 
-             OR (end_date >= ? AND end_date <= ?)
-             OR (start_date <= ? AND end_date >= ?))
+    // Overlap of [start, end] with an approved leave; the write path's authority, since
+    // other processes (API server, batch runs, other desktops) write leave_requests too
+    static final String CHECK_OVERLAPPING_LEAVE =
+            "SELECT 1 FROM leave_requests WHERE employee_id = ? AND status = ? AND start_date <= ? AND end_date >= ?";
+
+    // TIMESTAMPDIFF(DAY, ...) rather than DATEDIFF, which takes different arguments outside MySQL
+    private static final String SELECT_LEAVE_SUMMARY = """
+        SELECT lr.employee_id, e.first_name, e.last_name, lr.leave_type, lr.status,
+               COUNT(*) AS request_count,
+               SUM(TIMESTAMPDIFF(DAY, lr.start_date, lr.end_date) + 1) AS total_days
+        FROM leave_requests lr
+        LEFT JOIN employees e ON e.employee_id = lr.employee_id
+        GROUP BY lr.employee_id, e.first_name, e.last_name, lr.leave_type, lr.status
+        ORDER BY lr.employee_id, lr.leave_type, lr.status
         """;
 
+    private static final int SUMMARY_FETCH_SIZE = 500;
+
     // Status constants matching database enum
     private static final String STATUS_PENDING = "Pending";
     private static final String STATUS_APPROVED = "Approved";
@@ -153,6 +165,53 @@ public class LeaveRequestDAO {
         return approvedLeaves;
     }
 
+    /**
+     * Retrieves approved leaves overlapping a date range for several employees in one query
+     */
+    public Map<Integer, List<LeaveRequest>> getApprovedLeavesByEmployeeIdsAndDateRange(List<Integer> employeeIds,
+                                                                                     LocalDate periodStart, LocalDate periodEnd) {
+        validateDateRange(periodStart, periodEnd);
+
+        Map<Integer, List<LeaveRequest>> byEmployee = new HashMap<>();
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            return byEmployee;
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     selectApprovedByEmployeeIdsAndDateRangeQuery(employeeIds.size()))) {
+
+            int index = 1;
+            for (Integer employeeId : employeeIds) {
+                stmt.setInt(index++, employeeId);
+            }
+            stmt.setString(index++, STATUS_APPROVED);
+            stmt.setDate(index++, java.sql.Date.valueOf(periodEnd));
+            stmt.setDate(index, java.sql.Date.valueOf(periodStart));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    LeaveRequest lr = mapResultSetToLeaveRequest(rs);
+                    byEmployee.computeIfAbsent(lr.getEmployeeId(), k -> new ArrayList<>()).add(lr);
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, String.format("Error retrieving approved leaves for %d employees between dates: %s and %s",
+                    employeeIds.size(), periodStart, periodEnd), ex);
+            throw new RuntimeException("Failed to retrieve approved leave requests for date range", ex);
+        }
+
+        return byEmployee;
+    }
+
+    /** Query of {@link #getApprovedLeavesByEmployeeIdsAndDateRange} for the given number of IDs */
+    static String selectApprovedByEmployeeIdsAndDateRangeQuery(int idCount) {
+        String placeholders = String.join(", ", Collections.nCopies(idCount, "?"));
+        return "SELECT * FROM leave_requests WHERE employee_id IN (" + placeholders + ") " +
+                "AND status = ? AND start_date <= ? AND end_date >= ? ORDER BY employee_id, start_date DESC";
+    }
+
     /**
      * Retrieves leave requests by status
      */
@@ -180,6 +239,46 @@ public class LeaveRequestDAO {
         return leaveRequests;
     }
 
+    /**
+     * Leave counts and day totals per employee, type and status in one grouped
+     * query, handed to the consumer row by row as they are read
+     */
+    public void streamLeaveSummary(Consumer<LeaveSummaryRow> consumer) {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_LEAVE_SUMMARY)) {
+
+            stmt.setFetchSize(SUMMARY_FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(new LeaveSummaryRow(
+                            rs.getInt("employee_id"),
+                            summaryName(rs.getString("first_name"), rs.getString("last_name"), rs.getInt("employee_id")),
+                            rs.getString("leave_type"),
+                            rs.getString("status"),
+                            rs.getInt("request_count"),
+                            rs.getLong("total_days")));
+                }
+            }
+
+        } catch (SQLException ex) {
+            logger.log(Level.SEVERE, "Error retrieving leave summary", ex);
+            throw new RuntimeException("Failed to retrieve leave summary", ex);
+        }
+    }
+
+    static String summaryName(String firstName, String lastName, int employeeId) {
+        if (firstName == null && lastName == null) {
+            return "Employee " + employeeId;
+        }
+        if (firstName == null) return lastName;
+        if (lastName == null) return firstName;
+        return firstName + " " + lastName;
+    }
+
     /**
      * Inserts a new leave request
      */
@@ -338,46 +437,34 @@ public class LeaveRequestDAO {
     }
 
     /**
-     * Checks for overlapping leave requests
+     * Checks for overlapping approved leave. Always asks the database: this guards
+     * approvals, and the shared index may lag writes from other processes.
      */
     public boolean hasOverlappingLeave(int employeeId, LocalDate startDate, LocalDate endDate, Integer excludeLeaveId) {
         validateEmployeeId(employeeId);
         validateDateRange(startDate, endDate);
 
-        String query = CHECK_OVERLAPPING_LEAVE + (excludeLeaveId != null ? " AND id != ?" : "");
+        String query = CHECK_OVERLAPPING_LEAVE + (excludeLeaveId != null ? " AND id <> ?" : "") + " LIMIT 1";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
 
-            java.sql.Date sqlStartDate = java.sql.Date.valueOf(startDate);
-            java.sql.Date sqlEndDate = java.sql.Date.valueOf(endDate);
-
-            int paramIndex = 1;
-            stmt.setInt(paramIndex++, employeeId);
-            stmt.setString(paramIndex++, STATUS_APPROVED);
-            stmt.setDate(paramIndex++, sqlStartDate);
-            stmt.setDate(paramIndex++, sqlEndDate);
-            stmt.setDate(paramIndex++, sqlStartDate);
-            stmt.setDate(paramIndex++, sqlEndDate);
-            stmt.setDate(paramIndex++, sqlStartDate);
-            stmt.setDate(paramIndex++, sqlEndDate);
-
+            stmt.setInt(1, employeeId);
+            stmt.setString(2, STATUS_APPROVED);
+            stmt.setDate(3, java.sql.Date.valueOf(endDate));
+            stmt.setDate(4, java.sql.Date.valueOf(startDate));
             if (excludeLeaveId != null) {
-                stmt.setInt(paramIndex, excludeLeaveId);
+                stmt.setInt(5, excludeLeaveId);
             }
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1) > 0;
-                }
+                return rs.next();
             }
 
         } catch (SQLException ex) {
-            logger.log(Level.SEVERE, "Error checking overlapping leave", ex);
+            logger.log(Level.SEVERE, String.format("Error checking overlapping leave for employee %d", employeeId), ex);
             throw new RuntimeException("Failed to check overlapping leave", ex);
         }
-
-        return false;
     }
 
     /**
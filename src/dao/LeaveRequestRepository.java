@@ -0,0 +1,48 @@
+package dao;
+
+import model.LeaveRequest;
+import model.LeaveSummaryRow;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Storage contract for leave requests.
+ * Implemented by {@link LeaveRequestDAO} (MySQL) and {@link InMemoryLeaveRequestRepository}.
+ */
+public interface LeaveRequestRepository {
+
+    List<LeaveRequest> getLeaveRequestsByEmployeeId(int empId);
+
+    List<LeaveRequest> getApprovedLeavesByEmployeeId(int empId);
+
+    List<LeaveRequest> getApprovedLeavesByEmployeeIdAndDateRange(int employeeId, LocalDate periodStart, LocalDate periodEnd);
+
+    /**
+     * Approved leaves overlapping a range for several employees in one round trip, keyed by employee ID
+     */
+    Map<Integer, List<LeaveRequest>> getApprovedLeavesByEmployeeIdsAndDateRange(List<Integer> employeeIds,
+                                                                              LocalDate periodStart, LocalDate periodEnd);
+
+    List<LeaveRequest> getLeaveRequestsByStatus(String status);
+
+    /**
+     * Counts and day totals grouped by employee, leave type and status, ordered by
+     * employee ID, type and status, passed to the consumer one group at a time
+     */
+    void streamLeaveSummary(Consumer<LeaveSummaryRow> consumer);
+
+    int insertLeaveRequest(LeaveRequest leaveRequest);
+
+    boolean updateLeaveStatus(int leaveId, String status);
+
+    boolean updateLeaveRequest(LeaveRequest leaveRequest);
+
+    boolean deleteLeaveRequest(int leaveId);
+
+    Optional<LeaveRequest> getLeaveRequestById(int leaveId);
+
+    boolean hasOverlappingLeave(int employeeId, LocalDate startDate, LocalDate endDate, Integer excludeLeaveId);
+}
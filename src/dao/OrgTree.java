@@ -0,0 +1,258 @@
+package dao;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntToDoubleFunction;
+import java.util.logging.Logger;
+
+/**
+ * Snapshot of the reporting lines (employee to supervisor_id), built from one
+ * narrow query. Answers "who reports to whom" without loading employee rows,
+ * so a manager's view only ever fetches its own team.
+ *
+ * Employees are numbered in depth-first (Euler tour) order, so everyone under a
+ * manager occupies the contiguous range [position, end) of that order. Subtree
+ * membership is then two integer comparisons, and a {@link Rollup} of prefix
+ * sums answers any manager's total in O(1).
+ *
+ * The shared snapshot from {@link #current()} is rebuilt lazily after
+ * {@link #invalidate()}, which the repositories call whenever an employee is
+ * inserted, updated or deleted.
+ */
+public final class OrgTree {
+    private static final Logger LOGGER = Logger.getLogger(OrgTree.class.getName());
+
+    private static final int[] NONE = new int[0];
+
+    private static volatile OrgTree cached;
+
+    // Bumped by every invalidation; a load that raced one is used once but not kept
+    private static long generation;
+
+    private final Map<Integer, Integer> supervisorOf;
+    private final Map<Integer, int[]> reportsOf;
+
+    // Euler tour: order[position.get(id)] == id, and id's subtree is order[pos, end[pos])
+    private final int[] order;
+    private final int[] end;
+    private final Map<Integer, Integer> position;
+
+    private OrgTree(Map<Integer, Integer> links) {
+        this.supervisorOf = new HashMap<>(links);
+        Map<Integer, List<Integer>> children = new HashMap<>();
+        for (Map.Entry<Integer, Integer> link : links.entrySet()) {
+            if (link.getValue() != null) {
+                children.computeIfAbsent(link.getValue(), k -> new ArrayList<>()).add(link.getKey());
+            }
+        }
+        this.reportsOf = new HashMap<>(children.size() * 2);
+        for (Map.Entry<Integer, List<Integer>> entry : children.entrySet()) {
+            int[] ids = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+            Arrays.sort(ids);
+            reportsOf.put(entry.getKey(), ids);
+        }
+
+        int n = supervisorOf.size();
+        this.order = new int[n];
+        this.end = new int[n];
+        this.position = new HashMap<>(n * 2);
+        int[] ids = supervisorOf.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        int next = 0;
+        // Roots first; a second pass picks up anyone caught in a supervisor cycle
+        for (int pass = 0; pass < 2; pass++) {
+            for (int id : ids) {
+                if (position.containsKey(id)) {
+                    continue;
+                }
+                Integer sup = supervisorOf.get(id);
+                if (pass == 0 && sup != null && supervisorOf.containsKey(sup)) {
+                    continue;
+                }
+                next = number(id, next);
+            }
+        }
+    }
+
+    /** Iterative depth-first numbering from root; returns the next free position */
+    private int number(int root, int next) {
+        Deque<int[]> stack = new ArrayDeque<>();
+        position.put(root, next);
+        order[next++] = root;
+        stack.push(new int[]{root, 0});
+        while (!stack.isEmpty()) {
+            int[] frame = stack.peek();
+            int[] children = reportsOf.getOrDefault(frame[0], NONE);
+            if (frame[1] < children.length) {
+                int child = children[frame[1]++];
+                if (!position.containsKey(child)) {
+                    position.put(child, next);
+                    order[next++] = child;
+                    stack.push(new int[]{child, 0});
+                }
+            } else {
+                end[position.get(frame[0])] = next;
+                stack.pop();
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Build a tree from employee ID to supervisor ID links (null for the top of the tree)
+     */
+    public static OrgTree of(Map<Integer, Integer> supervisorLinks) {
+        if (supervisorLinks == null) {
+            throw new IllegalArgumentException("Supervisor links cannot be null");
+        }
+        return new OrgTree(supervisorLinks);
+    }
+
+    /**
+     * Shared tree for the active backend, loaded on first use after an invalidation
+     */
+    public static OrgTree current() {
+        OrgTree tree = cached;
+        if (tree != null) {
+            return tree;
+        }
+        long seen;
+        synchronized (OrgTree.class) {
+            seen = generation;
+        }
+        tree = of(RepositoryFactory.employees().getSupervisorLinks());
+        synchronized (OrgTree.class) {
+            if (seen == generation) {
+                cached = tree;
+                LOGGER.fine("Loaded org tree with " + tree.size() + " employees");
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * Drop the shared tree; the next {@link #current()} reloads it
+     */
+    public static void invalidate() {
+        synchronized (OrgTree.class) {
+            generation++;
+            cached = null;
+        }
+    }
+
+    public int size() {
+        return supervisorOf.size();
+    }
+
+    public boolean contains(int employeeId) {
+        return supervisorOf.containsKey(employeeId);
+    }
+
+    /**
+     * Supervisor ID, or null for the top of the tree and unknown employees
+     */
+    public Integer getSupervisorId(int employeeId) {
+        return supervisorOf.get(employeeId);
+    }
+
+    /**
+     * IDs of the employee's direct reports in ascending order
+     */
+    public List<Integer> getDirectReportIds(int employeeId) {
+        int[] ids = reportsOf.getOrDefault(employeeId, NONE);
+        List<Integer> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add(id);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public int getDirectReportCount(int employeeId) {
+        return reportsOf.getOrDefault(employeeId, NONE).length;
+    }
+
+    public boolean hasDirectReports(int employeeId) {
+        return reportsOf.containsKey(employeeId);
+    }
+
+    public boolean isDirectReport(int supervisorId, int employeeId) {
+        Integer actual = supervisorOf.get(employeeId);
+        return actual != null && actual == supervisorId;
+    }
+
+    /**
+     * Whether employeeId sits anywhere below managerId (not counting managerId itself)
+     */
+    public boolean isInSubtree(int managerId, int employeeId) {
+        Integer m = position.get(managerId);
+        Integer e = position.get(employeeId);
+        return m != null && e != null && e > m && e < end[m];
+    }
+
+    /**
+     * Number of employees anywhere below the manager
+     */
+    public int getSubtreeSize(int managerId) {
+        Integer m = position.get(managerId);
+        return m != null ? end[m] - m - 1 : 0;
+    }
+
+    /**
+     * IDs of everyone below the manager, in tour order
+     */
+    public List<Integer> getSubtreeIds(int managerId) {
+        Integer m = position.get(managerId);
+        if (m == null) {
+            return Collections.emptyList();
+        }
+        List<Integer> result = new ArrayList<>(end[m] - m - 1);
+        for (int i = m + 1; i < end[m]; i++) {
+            result.add(order[i]);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Prefix sums of a per-employee metric in tour order; employees the function
+     * doesn't know about should map to 0
+     */
+    public Rollup rollup(IntToDoubleFunction valueOf) {
+        double[] prefix = new double[order.length + 1];
+        for (int i = 0; i < order.length; i++) {
+            prefix[i + 1] = prefix[i] + valueOf.applyAsDouble(order[i]);
+        }
+        return new Rollup(prefix);
+    }
+
+    /**
+     * A metric summed over subtrees of the tree it was built from
+     */
+    public final class Rollup {
+        private final double[] prefix;
+
+        private Rollup(double[] prefix) {
+            this.prefix = prefix;
+        }
+
+        /**
+         * Sum over everyone below the manager, excluding the manager
+         */
+        public double below(int managerId) {
+            Integer m = position.get(managerId);
+            return m != null ? prefix[end[m]] - prefix[m + 1] : 0;
+        }
+
+        /**
+         * Sum over the manager and everyone below
+         */
+        public double subtree(int managerId) {
+            Integer m = position.get(managerId);
+            return m != null ? prefix[end[m]] - prefix[m] : 0;
+        }
+    }
+}
@@ -10,7 +10,7 @@ import java.util.logging.Level;
 /**
  * DAO for the positions table matching the actual database schema
  */
-public class PositionDAO {
+public class PositionDAO implements PositionRepository {
     private static final Logger LOGGER = Logger.getLogger(PositionDAO.class.getName());
 
     /**
@@ -0,0 +1,32 @@
+package dao;
+
+import model.Position;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage contract for positions.
+ * Implemented by {@link PositionDAO} (MySQL) and {@link InMemoryPositionRepository}.
+ */
+public interface PositionRepository {
+
+    List<Position> getAllPositions();
+
+    Position getPositionById(int positionId);
+
+    Position getPositionByTitle(String title);
+
+    int insertPosition(Position position);
+
+    boolean updatePosition(Position position);
+
+    boolean deletePosition(int positionId);
+
+    boolean positionExists(int positionId);
+
+    boolean isPositionInUse(int positionId);
+
+    List<Position> getPositionsBySalaryRange(double minSalary, double maxSalary);
+
+    Map<Integer, Integer> getEmployeeCountByPosition();
+}
@@ -0,0 +1,95 @@
+package dao;
+
+import util.SingleFlight;
+
+import java.util.logging.Logger;
+
+/**
+ * Chooses the storage backend for the services.
+ * The backend is read once from the {@code motorph.backend} system property:
+ * {@code mysql} (default) uses the JDBC DAOs, {@code memory} uses the
+ * {@link InMemoryDataStore} repositories.
+ */
+public final class RepositoryFactory {
+    private static final Logger LOGGER = Logger.getLogger(RepositoryFactory.class.getName());
+
+    public static final String BACKEND_PROPERTY = "motorph.backend";
+
+    public enum Backend { MYSQL, MEMORY }
+
+    private static volatile Backend backend = resolveBackend(System.getProperty(BACKEND_PROPERTY));
+
+    private RepositoryFactory() {}
+
+    public static Backend getBackend() {
+        return backend;
+    }
+
+    /**
+     * Switch backend at startup, before any service is created
+     */
+    public static void setBackend(Backend newBackend) {
+        if (newBackend == null) {
+            throw new IllegalArgumentException("Backend cannot be null");
+        }
+        backend = newBackend;
+        OrgTree.invalidate();
+        WorkCalendar.invalidate();
+        ClosedPeriods.invalidate();
+        AttendanceColumns.invalidate();
+        SingleFlight.invalidateAll();
+        LOGGER.info("Repository backend set to " + newBackend);
+    }
+
+    public static boolean isInMemory() {
+        return backend == Backend.MEMORY;
+    }
+
+    public static EmployeeRepository employees() {
+        return isInMemory() ? new InMemoryEmployeeRepository() : new EmployeeDAO();
+    }
+
+    public static AttendanceRepository attendance() {
+        return isInMemory() ? new InMemoryAttendanceRepository() : new AttendanceDAO();
+    }
+
+    public static LeaveRequestRepository leaveRequests() {
+        return isInMemory() ? new InMemoryLeaveRequestRepository() : new LeaveRequestDAO();
+    }
+
+    public static DeductionRepository deductions() {
+        return isInMemory() ? new InMemoryDeductionRepository() : new DeductionDAO();
+    }
+
+    public static PositionRepository positions() {
+        return isInMemory() ? new InMemoryPositionRepository() : new PositionDAO();
+    }
+
+    public static CredentialsRepository credentials() {
+        return isInMemory() ? new InMemoryCredentialsRepository() : new CredentialsDAO();
+    }
+
+    public static HolidayRepository holidays() {
+        return isInMemory() ? new InMemoryHolidayRepository() : new HolidayDAO();
+    }
+
+    public static ClosedPeriodRepository closedPeriods() {
+        return isInMemory() ? new InMemoryClosedPeriodRepository() : new ClosedPeriodDAO();
+    }
+
+    static Backend resolveBackend(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return Backend.MYSQL;
+        }
+        switch (value.trim().toLowerCase()) {
+            case "memory":
+            case "in-memory":
+                return Backend.MEMORY;
+            case "mysql":
+                return Backend.MYSQL;
+            default:
+                LOGGER.warning("Unknown backend '" + value + "', falling back to mysql");
+                return Backend.MYSQL;
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package dao;
+
+import util.DBConnection;
+
+import java.sql.*;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Brings the MySQL schema up to date once at startup, so the DAOs can assume
+ * every table, view and index exists and never probe the catalog at runtime.
+ *
+ * Migrations are numbered and applied in order; each applied version is
+ * recorded in {@code schema_version}, and startup costs a single query when
+ * nothing is pending. Statements are idempotent (IF NOT EXISTS, OR REPLACE),
+ * and an index or column that already exists counts as created, so a database
+ * built from aoopdatabase_payroll.sql is adopted without errors.
+ *
+ * Indexes follow the DAO queries: every lookup and sort on a hot path is
+ * served by an index prefix, and the narrow loader queries are covered.
+ */
+public final class SchemaMigrator {
+    private static final Logger LOGGER = Logger.getLogger(SchemaMigrator.class.getName());
+
+    // Errors that mean the object is already there: duplicate index and column in MySQL, then H2
+    private static final Set<Integer> ALREADY_APPLIED_ERRORS = Set.of(1061, 1060, 42111, 42121);
+
+    // MySQL generated columns default to VIRTUAL; H2 always stores them and rejects the keyword
+    private static final String STORED = "{STORED}";
+
+    private static final String CREATE_VERSION_TABLE = """
+        CREATE TABLE IF NOT EXISTS schema_version (
+            version INT PRIMARY KEY,
+            description VARCHAR(200) NOT NULL,
+            applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+        )
+        """;
+
+    private static final String SELECT_VERSION = "SELECT COALESCE(MAX(version), 0) FROM schema_version";
+
+    private static final String INSERT_VERSION = "INSERT INTO schema_version (version, description) VALUES (?, ?)";
+
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Core tables",
+                    """
+                    CREATE TABLE IF NOT EXISTS positions (
+                        position_id INT AUTO_INCREMENT PRIMARY KEY,
+                        position_title VARCHAR(100) NOT NULL UNIQUE,
+                        basic_salary DECIMAL(10,2) NOT NULL,
+                        rice_subsidy DECIMAL(8,2) NOT NULL,
+                        phone_allowance DECIMAL(8,2) NOT NULL,
+                        clothing_allowance DECIMAL(8,2) NOT NULL,
+                        gross_semi_monthly_rate DECIMAL(10,2) NOT NULL,
+                        hourly_rate DECIMAL(8,2) NOT NULL
+                    )
+                    """,
+                    """
+                    CREATE TABLE IF NOT EXISTS employees (
+                        employee_id INT PRIMARY KEY,
+                        last_name VARCHAR(50) NOT NULL,
+                        first_name VARCHAR(50) NOT NULL,
+                        birthday DATE,
+                        address TEXT,
+                        phone_number VARCHAR(20),
+                        sss_number VARCHAR(20) UNIQUE,
+                        philhealth_number VARCHAR(20) UNIQUE,
+                        tin_number VARCHAR(20) UNIQUE,
+                        pagibig_number VARCHAR(20) UNIQUE,
+                        status ENUM('Regular', 'Probationary') NOT NULL,
+                        position_id INT NOT NULL,
+                        supervisor_id INT,
+                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                        updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                        FOREIGN KEY (position_id) REFERENCES positions(position_id),
+                        FOREIGN KEY (supervisor_id) REFERENCES employees(employee_id) ON DELETE SET NULL
+                    )
+                    """,
+                    """
+                    CREATE TABLE IF NOT EXISTS credentials (
+                        employee_id INT PRIMARY KEY,
+                        password_hash VARCHAR(255) NOT NULL,
+                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                        updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                        FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+                    )
+                    """,
+                    """
+                    CREATE TABLE IF NOT EXISTS leave_requests (
+                        id INT AUTO_INCREMENT PRIMARY KEY,
+                        employee_id INT NOT NULL,
+                        leave_type VARCHAR(50),
+                        start_date DATE,
+                        end_date DATE,
+                        status ENUM('Pending', 'Approved', 'Rejected') DEFAULT 'Pending',
+                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                        updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                        FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+                    )
+                    """,
+                    """
+                    CREATE TABLE IF NOT EXISTS attendance (
+                        id INT AUTO_INCREMENT PRIMARY KEY,
+                        employee_id INT NOT NULL,
+                        attendance_date DATE NOT NULL,
+                        log_in TIME,
+                        log_out TIME,
+                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                        updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                        UNIQUE KEY uq_employee_date (employee_id, attendance_date),
+                        FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+                    )
+                    """),
+            new Migration(2, "Employee details view",
+                    """
+                    CREATE OR REPLACE VIEW v_employee_details AS
+                    SELECT
+                        e.employee_id,
+                        e.first_name,
+                        e.last_name,
+                        CONCAT(e.last_name, ', ', e.first_name) AS full_name,
+                        e.birthday,
+                        e.address,
+                        e.phone_number,
+                        e.status,
+                        p.position_title,
+                        p.basic_salary,
+                        p.rice_subsidy,
+                        p.phone_allowance,
+                        p.clothing_allowance,
+                        p.gross_semi_monthly_rate,
+                        p.hourly_rate,
+                        sup.employee_id AS supervisor_id,
+                        CONCAT(sup.last_name, ', ', sup.first_name) AS supervisor_name,
+                        e.sss_number,
+                        e.philhealth_number,
+                        e.tin_number,
+                        e.pagibig_number
+                    FROM employees e
+                    JOIN positions p ON e.position_id = p.position_id
+                    LEFT JOIN employees sup ON e.supervisor_id = sup.employee_id
+                    """),
+            new Migration(3, "Lookup indexes",
+                    "CREATE INDEX idx_employees_name ON employees(last_name, first_name)",
+                    "CREATE INDEX idx_employees_position ON employees(position_id)",
+                    "CREATE INDEX idx_employees_status ON employees(status)",
+                    "CREATE INDEX idx_employees_supervisor ON employees(supervisor_id, last_name, first_name)",
+                    "CREATE INDEX idx_leave_requests_employee_date ON leave_requests(employee_id, start_date, end_date)",
+                    "CREATE INDEX idx_attendance_employee_date ON attendance(employee_id, attendance_date)"),
+            new Migration(4, "Holidays",
+                    """
+                    CREATE TABLE IF NOT EXISTS holidays (
+                        holiday_date DATE PRIMARY KEY,
+                        holiday_name VARCHAR(100) NOT NULL,
+                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                    )
+                    """),
+            new Migration(5, "Deductions",
+                    """
+                    CREATE TABLE IF NOT EXISTS deductions (
+                        deduction_id INT AUTO_INCREMENT PRIMARY KEY,
+                        employee_id INT NOT NULL,
+                        type VARCHAR(50) NOT NULL,
+                        amount DECIMAL(10,2) NOT NULL,
+                        description TEXT,
+                        deduction_date DATE DEFAULT (CURRENT_DATE),
+                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                        updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                        FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+                    )
+                    """,
+                    "CREATE INDEX idx_deductions_employee ON deductions(employee_id, deduction_date)"),
+            new Migration(6, "Workload indexes and normalized full name",
+                    // Supervisor lookups by "Last, First" match this column instead of CONCAT() per row
+                    "ALTER TABLE employees ADD COLUMN full_name_key VARCHAR(102) " +
+                            "GENERATED ALWAYS AS (LOWER(CONCAT(last_name, ', ', first_name)))" + STORED,
+                    "CREATE INDEX idx_employees_full_name_key ON employees(full_name_key)",
+                    // Employees by status, sorted by name
+                    "CREATE INDEX idx_employees_status_name ON employees(status, last_name, first_name)",
+                    // Approved leaves of an employee in a range; team status and overlap queries
+                    "CREATE INDEX idx_leave_requests_employee_status " +
+                            "ON leave_requests(employee_id, status, start_date, end_date)",
+                    // Leaves by status sorted by start date; also covers the interval index load
+                    "CREATE INDEX idx_leave_requests_status_start " +
+                            "ON leave_requests(status, start_date, employee_id, end_date)",
+                    // Totals by type, answered from the index alone
+                    "CREATE INDEX idx_deductions_employee_type ON deductions(employee_id, type, amount)"),
+            new Migration(7, "Closed periods",
+                    """
+                    CREATE TABLE IF NOT EXISTS closed_periods (
+                        period_month DATE PRIMARY KEY,
+                        employee_count INT NOT NULL,
+                        closed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                    )
+                    """,
+                    // Frozen history: no employee foreign key, so deleting an employee keeps their closed months
+                    """
+                    CREATE TABLE IF NOT EXISTS closed_period_summaries (
+                        period_month DATE NOT NULL,
+                        employee_id INT NOT NULL,
+                        days_present INT NOT NULL,
+                        work_minutes INT NOT NULL,
+                        late_days INT NOT NULL,
+                        late_minutes INT NOT NULL,
+                        undertime_days INT NOT NULL,
+                        undertime_minutes INT NOT NULL,
+                        unpaid_leave_days INT NOT NULL,
+                        working_days INT NOT NULL,
+                        monthly_rate DECIMAL(12,2) NOT NULL,
+                        daily_rate DECIMAL(12,4) NOT NULL,
+                        basic_pay DECIMAL(12,2) NOT NULL,
+                        rice_subsidy DECIMAL(10,2) NOT NULL,
+                        phone_allowance DECIMAL(10,2) NOT NULL,
+                        clothing_allowance DECIMAL(10,2) NOT NULL,
+                        late_deduction DECIMAL(12,2) NOT NULL,
+                        undertime_deduction DECIMAL(12,2) NOT NULL,
+                        unpaid_leave_deduction DECIMAL(12,2) NOT NULL,
+                        sss DECIMAL(10,2) NOT NULL,
+                        philhealth DECIMAL(10,2) NOT NULL,
+                        pagibig DECIMAL(10,2) NOT NULL,
+                        tax DECIMAL(12,2) NOT NULL,
+                        PRIMARY KEY (period_month, employee_id),
+                        FOREIGN KEY (period_month) REFERENCES closed_periods(period_month)
+                    )
+                    """),
+            new Migration(8, "Attendance monthly rollup",
+                    """
+                    CREATE TABLE IF NOT EXISTS attendance_monthly_summary (
+                        employee_id INT NOT NULL,
+                        month_key INT NOT NULL,
+                        days_present INT NOT NULL,
+                        work_minutes INT NOT NULL,
+                        late_days INT NOT NULL,
+                        late_minutes INT NOT NULL,
+                        undertime_days INT NOT NULL,
+                        undertime_minutes INT NOT NULL,
+                        PRIMARY KEY (employee_id, month_key),
+                        FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+                    )
+                    """,
+                    // Rebuilt from the raw rows, so adopting a database that already has it is harmless
+                    "DELETE FROM attendance_monthly_summary",
+                    """
+                    INSERT INTO attendance_monthly_summary (employee_id, month_key, days_present, work_minutes,
+                                                            late_days, late_minutes, undertime_days, undertime_minutes)
+                    SELECT employee_id, YEAR(attendance_date) * 100 + MONTH(attendance_date), COUNT(*),
+                           SUM(CASE WHEN log_out IS NULL THEN 0 ELSE FLOOR(((HOUR(log_out) * 3600 + MINUTE(log_out) * 60 + SECOND(log_out))
+                               - (HOUR(log_in) * 3600 + MINUTE(log_in) * 60 + SECOND(log_in))) / 60) END),
+                           SUM(CASE WHEN log_in > TIME '08:00:00' THEN 1 ELSE 0 END),
+                           SUM(CASE WHEN log_in > TIME '08:00:00'
+                               THEN FLOOR((HOUR(log_in) * 3600 + MINUTE(log_in) * 60 + SECOND(log_in) - 28800) / 60) ELSE 0 END),
+                           SUM(CASE WHEN log_out < TIME '17:00:00' THEN 1 ELSE 0 END),
+                           SUM(CASE WHEN log_out < TIME '17:00:00'
+                               THEN FLOOR((61200 - (HOUR(log_out) * 3600 + MINUTE(log_out) * 60 + SECOND(log_out))) / 60) ELSE 0 END)
+                    FROM attendance
+                    WHERE log_in IS NOT NULL
+                    GROUP BY employee_id, YEAR(attendance_date) * 100 + MONTH(attendance_date)
+                    """)
+    );
+
+    public static final int CURRENT_VERSION = MIGRATIONS.get(MIGRATIONS.size() - 1).version;
+
+    private SchemaMigrator() {}
+
+    /**
+     * Apply pending migrations on a connection from {@link DBConnection};
+     * returns how many were applied
+     */
+    public static int migrate() {
+        try (Connection conn = DBConnection.getConnection()) {
+            return migrate(conn);
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Error migrating database schema", ex);
+            throw new RuntimeException("Failed to migrate database schema", ex);
+        }
+    }
+
+    /**
+     * Apply pending migrations on the given connection, which is left open
+     */
+    public static int migrate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(CREATE_VERSION_TABLE);
+        }
+        int current = currentVersion(conn);
+        int applied = 0;
+        for (Migration migration : MIGRATIONS) {
+            if (migration.version <= current) {
+                continue;
+            }
+            apply(conn, migration);
+            applied++;
+        }
+        if (applied > 0) {
+            LOGGER.info("Schema migrated from version " + current + " to " + CURRENT_VERSION);
+        } else {
+            LOGGER.fine("Schema is up to date at version " + current);
+        }
+        return applied;
+    }
+
+    /**
+     * Highest applied version, 0 for a database that has never been migrated
+     */
+    public static int currentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SELECT_VERSION)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void apply(Connection conn, Migration migration) throws SQLException {
+        boolean mysql = conn.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : migration.statements) {
+                try {
+                    stmt.execute(sql.replace(STORED, mysql ? " STORED" : ""));
+                } catch (SQLException ex) {
+                    if (!ALREADY_APPLIED_ERRORS.contains(ex.getErrorCode())) {
+                        throw ex;
+                    }
+                    LOGGER.fine("Already present, skipping: " + sql);
+                }
+            }
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_VERSION)) {
+            stmt.setInt(1, migration.version);
+            stmt.setString(2, migration.description);
+            stmt.executeUpdate();
+        }
+        LOGGER.info("Applied schema migration " + migration.version + ": " + migration.description);
+    }
+
+    private static final class Migration {
+        final int version;
+        final String description;
+        final List<String> statements;
+
+        Migration(int version, String description, String... statements) {
+            this.version = version;
+            this.description = description;
+            this.statements = List.of(statements);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package dao;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Company work calendar: Monday to Friday, minus the dates in the holidays table.
+ *
+ * Each year is compiled on first use into a prefix-sum array where
+ * {@code prefix[d]} is the number of working days among the first d days of the
+ * year. Working days between two dates in the same year are then one
+ * subtraction; longer ranges add the totals of the whole years in between.
+ *
+ * The shared calendar from {@link #current()} is reloaded lazily after
+ * {@link #invalidate()}, which the holiday repositories call on every change.
+ */
+public final class WorkCalendar {
+    private static final Logger LOGGER = Logger.getLogger(WorkCalendar.class.getName());
+
+    private static volatile WorkCalendar cached;
+
+    // Bumped by every invalidation; a load that raced one is used once but not kept
+    private static long generation;
+
+    private final Set<LocalDate> holidays;
+    private final Map<Integer, int[]> prefixByYear = new ConcurrentHashMap<>();
+
+    private WorkCalendar(Collection<LocalDate> holidays) {
+        this.holidays = Collections.unmodifiableSet(new HashSet<>(holidays));
+    }
+
+    /**
+     * Build a calendar from a list of holiday dates; weekend dates in the list change nothing
+     */
+    public static WorkCalendar of(Collection<LocalDate> holidays) {
+        if (holidays == null) {
+            throw new IllegalArgumentException("Holidays cannot be null");
+        }
+        return new WorkCalendar(holidays);
+    }
+
+    /**
+     * Shared calendar for the active backend. If the holidays can't be loaded
+     * the call falls back to weekends only rather than failing payroll; the
+     * fallback isn't kept, so the next call tries the load again.
+     */
+    public static WorkCalendar current() {
+        WorkCalendar calendar = cached;
+        if (calendar != null) {
+            return calendar;
+        }
+        long seen;
+        synchronized (WorkCalendar.class) {
+            seen = generation;
+        }
+        try {
+            calendar = of(RepositoryFactory.holidays().getHolidayDates());
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Holidays unavailable, using a weekends-only calendar for this call", e);
+            return of(Collections.emptyList());
+        }
+        synchronized (WorkCalendar.class) {
+            if (seen == generation) {
+                cached = calendar;
+                LOGGER.fine("Loaded work calendar with " + calendar.holidays.size() + " holidays");
+            }
+        }
+        return calendar;
+    }
+
+    /**
+     * Drop the shared calendar; the next {@link #current()} reloads it
+     */
+    public static void invalidate() {
+        synchronized (WorkCalendar.class) {
+            generation++;
+            cached = null;
+        }
+    }
+
+    public boolean isHoliday(LocalDate date) {
+        return holidays.contains(date);
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        DayOfWeek day = date.getDayOfWeek();
+        return day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY && !holidays.contains(date);
+    }
+
+    /**
+     * Working days from start to end, both inclusive; 0 when end is before start
+     */
+    public int workingDaysBetween(LocalDate start, LocalDate end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        if (end.isBefore(start)) {
+            return 0;
+        }
+        if (start.getYear() == end.getYear()) {
+            int[] prefix = prefix(start.getYear());
+            return prefix[end.getDayOfYear()] - prefix[start.getDayOfYear() - 1];
+        }
+        int[] first = prefix(start.getYear());
+        int total = first[first.length - 1] - first[start.getDayOfYear() - 1];
+        for (int year = start.getYear() + 1; year < end.getYear(); year++) {
+            int[] whole = prefix(year);
+            total += whole[whole.length - 1];
+        }
+        return total + prefix(end.getYear())[end.getDayOfYear()];
+    }
+
+    public int workingDaysInMonth(YearMonth month) {
+        if (month == null) {
+            throw new IllegalArgumentException("Month cannot be null");
+        }
+        return workingDaysBetween(month.atDay(1), month.atEndOfMonth());
+    }
+
+    /**
+     * Working days of [leaveStart, leaveEnd] that fall inside [periodStart, periodEnd]
+     */
+    public int workingDaysOverlapping(LocalDate leaveStart, LocalDate leaveEnd,
+                                      LocalDate periodStart, LocalDate periodEnd) {
+        LocalDate from = leaveStart.isAfter(periodStart) ? leaveStart : periodStart;
+        LocalDate to = leaveEnd.isBefore(periodEnd) ? leaveEnd : periodEnd;
+        return workingDaysBetween(from, to);
+    }
+
+    private int[] prefix(int year) {
+        return prefixByYear.computeIfAbsent(year, this::compile);
+    }
+
+    private int[] compile(int year) {
+        LocalDate day = LocalDate.ofYearDay(year, 1);
+        int length = day.lengthOfYear();
+        int[] prefix = new int[length + 1];
+        for (int d = 1; d <= length; d++, day = day.plusDays(1)) {
+            prefix[d] = prefix[d - 1] + (isWorkingDay(day) ? 1 : 0);
+        }
+        return prefix;
+    }
+}
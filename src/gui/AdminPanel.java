@@ -1,8 +1,13 @@
 package gui;
 
+import model.CredentialStatus;
+import service.AsyncServices;
 import service.EmployeeService;
 import service.AuthenticationService;
 import util.DBConnection;
+import util.LatencyHistogram;
+import util.QueryMetrics;
+import util.QueryStats;
 
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
@@ -14,6 +19,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 import java.util.logging.Level;
@@ -38,6 +44,8 @@ public class AdminPanel extends JPanel {
     // System information components
     private JTextArea systemInfoArea;
     private JButton refreshSystemInfoButton;
+    private DefaultTableModel queryStatsTableModel;
+    private JButton resetQueryStatsButton;
 
     // User management components
     private JTable usersTable;
@@ -99,8 +107,17 @@ public class AdminPanel extends JPanel {
 
         refreshSystemInfoButton = new JButton("Refresh System Info");
 
+        String[] queryColumns = {"SQL", "Calls", "Errors", "Rows", "Mean ms", "p50 ms", "p95 ms", "p99 ms"};
+        queryStatsTableModel = new DefaultTableModel(queryColumns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        resetQueryStatsButton = new JButton("Reset Query Stats");
+
         // User management components
-        String[] userColumns = {"Employee ID", "Has Credentials", "Last Login", "Status"};
+        String[] userColumns = {"Employee ID", "Name", "Has Credentials", "Created", "Last Updated", "Status"};
         usersTableModel = new DefaultTableModel(userColumns, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
@@ -220,11 +237,20 @@ public class AdminPanel extends JPanel {
         JScrollPane scrollPane = new JScrollPane(systemInfoArea);
         scrollPane.setBorder(new TitledBorder("System Information"));
 
-        panel.add(scrollPane, BorderLayout.CENTER);
+        // Per-statement database metrics, slowest total time first
+        JTable queryStatsTable = new JTable(queryStatsTableModel);
+        queryStatsTable.getColumnModel().getColumn(0).setPreferredWidth(420);
+        JScrollPane queryScrollPane = new JScrollPane(queryStatsTable);
+        queryScrollPane.setBorder(new TitledBorder("Database Query Statistics"));
+
+        JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, scrollPane, queryScrollPane);
+        splitPane.setResizeWeight(0.5);
+        panel.add(splitPane, BorderLayout.CENTER);
 
         // Controls
         JPanel controlsPanel = new JPanel(new FlowLayout());
         controlsPanel.add(refreshSystemInfoButton);
+        controlsPanel.add(resetQueryStatsButton);
 
         panel.add(controlsPanel, BorderLayout.SOUTH);
 
@@ -325,6 +351,10 @@ public class AdminPanel extends JPanel {
 
         // System information
         refreshSystemInfoButton.addActionListener(e -> loadSystemInformation());
+        resetQueryStatsButton.addActionListener(e -> {
+            QueryMetrics.reset();
+            loadSystemInformation();
+        });
 
         // User management
         createUserButton.addActionListener(this::handleCreateUser);
@@ -449,20 +479,25 @@ public class AdminPanel extends JPanel {
             return;
         }
 
+        int employeeId;
         try {
-            int employeeId = Integer.parseInt(employeeIdText);
+            employeeId = Integer.parseInt(employeeIdText);
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this,
+                    "Employee ID must be a valid number.",
+                    "Invalid Input", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
 
-            // Check if employee exists
-            if (!employeeService.getAllEmployees().stream()
-                    .anyMatch(emp -> emp.getId() == employeeId)) {
+        SwingFutures.onEdt(AsyncServices.supply(() -> checkNewUser(employeeId)), check -> {
+            if (check == NewUserCheck.NO_EMPLOYEE) {
                 JOptionPane.showMessageDialog(this,
                         "Employee ID " + employeeId + " does not exist.",
                         "Employee Not Found", JOptionPane.ERROR_MESSAGE);
                 return;
             }
 
-            // Check if user already has credentials
-            if (authService.hasCredentials(employeeId)) {
+            if (check == NewUserCheck.HAS_CREDENTIALS) {
                 JOptionPane.showMessageDialog(this,
                         "Employee ID " + employeeId + " already has login credentials.",
                         "User Already Exists", JOptionPane.WARNING_MESSAGE);
@@ -478,17 +513,22 @@ public class AdminPanel extends JPanel {
             newUserIdField.setText("");
             newPasswordField.setText("");
             loadUserManagement();
-
-        } catch (NumberFormatException ex) {
-            JOptionPane.showMessageDialog(this,
-                    "Employee ID must be a valid number.",
-                    "Invalid Input", JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
+        }, ex -> {
             LOGGER.log(Level.SEVERE, "Error creating user", ex);
             JOptionPane.showMessageDialog(this,
                     "Error creating user: " + ex.getMessage(),
                     "Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
+
+    private enum NewUserCheck { NO_EMPLOYEE, HAS_CREDENTIALS, OK }
+
+    /** Whether the employee exists and has no login yet; queries, so call it off the EDT */
+    private NewUserCheck checkNewUser(int employeeId) {
+        if (employeeService.getAllEmployees().stream().noneMatch(emp -> emp.getId() == employeeId)) {
+            return NewUserCheck.NO_EMPLOYEE;
         }
+        return authService.hasCredentials(employeeId) ? NewUserCheck.HAS_CREDENTIALS : NewUserCheck.OK;
     }
 
     private void handleResetPassword(ActionEvent e) {
@@ -776,10 +816,41 @@ public class AdminPanel extends JPanel {
         // Database Information
         info.append("DATABASE INFORMATION\n");
         info.append("-".repeat(30)).append("\n");
-        info.append("Connection Test: ").append(DBConnection.testConnection() ? "✅ Connected" : "❌ Failed").append("\n");
+        info.append("Connection Test: ").append(DBConnection.testConnection() ? "✅ Connected" : "❌ Failed").append("\n\n");
+
+        // Query metrics summary (details in the table below)
+        LatencyHistogram acquire = QueryMetrics.getConnectionAcquireHistogram();
+        info.append("QUERY METRICS\n");
+        info.append("-".repeat(30)).append("\n");
+        info.append("Instrumentation: ").append(QueryMetrics.isEnabled() ? "Enabled" : "Disabled").append("\n");
+        info.append("Statements Executed: ").append(QueryMetrics.getTotalStatements()).append("\n");
+        info.append("Connections Opened: ").append(acquire.getCount()).append("\n");
+        info.append(String.format("Connection Acquire: mean %.2f ms, p95 %.2f ms, p99 %.2f ms%n",
+                acquire.getMeanMillis(), acquire.getPercentileMillis(95), acquire.getPercentileMillis(99)));
 
         systemInfoArea.setText(info.toString());
         systemInfoArea.setCaretPosition(0);
+
+        loadQueryStatistics();
+    }
+
+    private void loadQueryStatistics() {
+        queryStatsTableModel.setRowCount(0);
+        for (QueryStats stats : QueryMetrics.getStatementStats()) {
+            if (stats.getCalls() == 0) {
+                continue;
+            }
+            queryStatsTableModel.addRow(new Object[]{
+                    stats.getSql(),
+                    stats.getCalls(),
+                    stats.getErrors(),
+                    stats.getRowsReturned() + stats.getRowsAffected(),
+                    String.format("%.2f", stats.getMeanMillis()),
+                    String.format("%.2f", stats.getP50Millis()),
+                    String.format("%.2f", stats.getP95Millis()),
+                    String.format("%.2f", stats.getP99Millis())
+            });
+        }
     }
 
     private String formatMemory(long bytes) {
@@ -788,27 +859,39 @@ public class AdminPanel extends JPanel {
     }
 
     private void loadUserManagement() {
+        // Every employee and their credentials in one query
+        SwingFutures.onEdt(AsyncServices.supply(authService::getCredentialStatuses), this::showUserManagement,
+                this::showUserManagementError);
+    }
+
+    private void showUserManagementError(Throwable e) {
+        LOGGER.log(Level.SEVERE, "Error loading user management data", e);
+        JOptionPane.showMessageDialog(this,
+                "Error loading user data: " + e.getMessage(),
+                "Data Error", JOptionPane.ERROR_MESSAGE);
+    }
+
+    private void showUserManagement(List<CredentialStatus> statuses) {
         try {
             usersTableModel.setRowCount(0);
 
-            // Load all employees and check which ones have credentials
-            employeeService.getAllEmployees().forEach(emp -> {
-                boolean hasCredentials = authService.hasCredentials(emp.getId());
+            DateTimeFormatter format = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+            for (CredentialStatus status : statuses) {
+                boolean hasCredentials = status.hasCredentials();
 
                 Object[] row = {
-                        String.valueOf(emp.getId()),
+                        String.valueOf(status.getEmployeeId()),
+                        status.getEmployeeName(),
                         hasCredentials ? "Yes" : "No",
-                        hasCredentials ? "Unknown" : "N/A", // Last login would need to be tracked
+                        status.getCreatedAt() != null ? status.getCreatedAt().format(format) : "N/A",
+                        status.getUpdatedAt() != null ? status.getUpdatedAt().format(format) : "N/A",
                         hasCredentials ? "Active" : "No Login"
                 };
                 usersTableModel.addRow(row);
-            });
+            }
 
         } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error loading user management data", e);
-            JOptionPane.showMessageDialog(this,
-                    "Error loading user data: " + e.getMessage(),
-                    "Data Error", JOptionPane.ERROR_MESSAGE);
+            showUserManagementError(e);
         }
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package gui;
 
 import model.Employee;
 import model.Attendance;
+import service.AsyncServices;
 import service.AttendanceService;
 
 import javax.swing.*;
@@ -16,6 +17,7 @@ import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -28,6 +30,7 @@ public class AttendancePanel extends JPanel {
 
     private final Employee employee;
     private final AttendanceService attendanceService;
+    private final AsyncServices services;
     private final boolean isHRUser;
 
     // Table components
@@ -61,9 +64,13 @@ public class AttendancePanel extends JPanel {
 
     private Attendance selectedAttendance;
 
+    // Bumped per load so a slow earlier load can't overwrite a newer one
+    private int attendanceLoadGeneration;
+
     public AttendancePanel(Employee employee) {
         this.employee = employee;
         this.attendanceService = new AttendanceService();
+        this.services = new AsyncServices();
         this.isHRUser = checkIfHRUser(employee);
 
         initializeComponents();
@@ -302,67 +309,69 @@ public class AttendancePanel extends JPanel {
         LocalDate today = LocalDate.now();
         LocalTime now = LocalTime.now();
 
-        boolean success = attendanceService.recordLogIn(employee.getId(), today, Time.valueOf(now));
-
-        if (success) {
-            JOptionPane.showMessageDialog(this,
-                    "Logged in successfully at " + now.format(DateTimeFormatter.ofPattern("HH:mm")),
-                    "Success", JOptionPane.INFORMATION_MESSAGE);
+        logInButton.setEnabled(false);
+        SwingFutures.onEdt(services.recordLogIn(employee.getId(), today, Time.valueOf(now)), success -> {
+            if (success) {
+                JOptionPane.showMessageDialog(this,
+                        "Logged in successfully at " + now.format(DateTimeFormatter.ofPattern("HH:mm")),
+                        "Success", JOptionPane.INFORMATION_MESSAGE);
 
-            loadAttendanceData();
+                loadAttendanceData();
+            } else {
+                JOptionPane.showMessageDialog(this,
+                        "Failed to record log in. You may have already logged in today.",
+                        "Error", JOptionPane.ERROR_MESSAGE);
+            }
             updateCurrentStatus();
-        } else {
-            JOptionPane.showMessageDialog(this,
-                    "Failed to record log in. You may have already logged in today.",
-                    "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, this::showError);
     }
 
     private void handleQuickLogOut(ActionEvent e) {
         LocalDate today = LocalDate.now();
         LocalTime now = LocalTime.now();
 
-        boolean success = attendanceService.recordLogOut(employee.getId(), today, Time.valueOf(now));
-
-        if (success) {
-            JOptionPane.showMessageDialog(this,
-                    "Logged out successfully at " + now.format(DateTimeFormatter.ofPattern("HH:mm")),
-                    "Success", JOptionPane.INFORMATION_MESSAGE);
-
-            loadAttendanceData();
-            updateCurrentStatus();
-        } else {
-            JOptionPane.showMessageDialog(this,
-                    "Failed to record log out. You may not have logged in today yet.",
-                    "Error", JOptionPane.ERROR_MESSAGE);
-        }
-    }
-
-    private void handleAddAttendance(ActionEvent e) {
-        try {
-            Attendance attendance = createAttendanceFromForm();
-
-            int attendanceId = attendanceService.attendanceDAO.insertAttendance(attendance);
-
-            if (attendanceId > 0) {
+        logOutButton.setEnabled(false);
+        SwingFutures.onEdt(services.recordLogOut(employee.getId(), today, Time.valueOf(now)), success -> {
+            if (success) {
                 JOptionPane.showMessageDialog(this,
-                        "Attendance record added successfully!",
+                        "Logged out successfully at " + now.format(DateTimeFormatter.ofPattern("HH:mm")),
                         "Success", JOptionPane.INFORMATION_MESSAGE);
 
-                clearForm();
                 loadAttendanceData();
             } else {
                 JOptionPane.showMessageDialog(this,
-                        "Failed to add attendance record.",
+                        "Failed to record log out. You may not have logged in today yet.",
                         "Error", JOptionPane.ERROR_MESSAGE);
             }
+            updateCurrentStatus();
+        }, this::showError);
+    }
 
-        } catch (Exception ex) {
-            LOGGER.log(Level.SEVERE, "Error adding attendance", ex);
-            JOptionPane.showMessageDialog(this,
-                    "Error adding attendance: " + ex.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
+    private void handleAddAttendance(ActionEvent e) {
+        Attendance attendance;
+        try {
+            attendance = createAttendanceFromForm();
+        } catch (IllegalArgumentException ex) {
+            showAttendanceError("adding", ex);
+            return;
         }
+
+        SwingFutures.onEdt(AsyncServices.supply(() -> attendanceService.attendanceDAO.insertAttendance(attendance)),
+                attendanceId -> {
+                    if (attendanceId > 0) {
+                        JOptionPane.showMessageDialog(this,
+                                "Attendance record added successfully!",
+                                "Success", JOptionPane.INFORMATION_MESSAGE);
+
+                        clearForm();
+                        loadAttendanceData();
+                    } else {
+                        JOptionPane.showMessageDialog(this,
+                                "Failed to add attendance record.",
+                                "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                },
+                ex -> showAttendanceError("adding", ex));
     }
 
     private void handleUpdateAttendance(ActionEvent e) {
@@ -373,12 +382,16 @@ public class AttendancePanel extends JPanel {
             return;
         }
 
+        Attendance attendance;
         try {
-            Attendance attendance = createAttendanceFromForm();
+            attendance = createAttendanceFromForm();
             attendance.setId(selectedAttendance.getId());
+        } catch (IllegalArgumentException ex) {
+            showAttendanceError("updating", ex);
+            return;
+        }
 
-            boolean success = attendanceService.updateAttendance(attendance);
-
+        SwingFutures.onEdt(services.updateAttendance(attendance), success -> {
             if (success) {
                 JOptionPane.showMessageDialog(this,
                         "Attendance record updated successfully!",
@@ -390,13 +403,21 @@ public class AttendancePanel extends JPanel {
                         "Failed to update attendance record.",
                         "Error", JOptionPane.ERROR_MESSAGE);
             }
+        }, ex -> showAttendanceError("updating", ex));
+    }
 
-        } catch (Exception ex) {
-            LOGGER.log(Level.SEVERE, "Error updating attendance", ex);
-            JOptionPane.showMessageDialog(this,
-                    "Error updating attendance: " + ex.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
-        }
+    private void showAttendanceError(String action, Throwable ex) {
+        LOGGER.log(Level.SEVERE, "Error " + action + " attendance", ex);
+        JOptionPane.showMessageDialog(this,
+                "Error " + action + " attendance: " + ex.getMessage(),
+                "Error", JOptionPane.ERROR_MESSAGE);
+    }
+
+    private void showError(Throwable ex) {
+        LOGGER.log(Level.SEVERE, "Attendance request failed", ex);
+        JOptionPane.showMessageDialog(this,
+                "Error: " + ex.getMessage(),
+                "Error", JOptionPane.ERROR_MESSAGE);
     }
 
     private void handleDeleteAttendance(ActionEvent e) {
@@ -414,20 +435,20 @@ public class AttendancePanel extends JPanel {
                 JOptionPane.WARNING_MESSAGE);
 
         if (option == JOptionPane.YES_OPTION) {
-            boolean success = attendanceService.deleteAttendance(selectedAttendance.getId());
-
-            if (success) {
-                JOptionPane.showMessageDialog(this,
-                        "Attendance record deleted successfully!",
-                        "Success", JOptionPane.INFORMATION_MESSAGE);
-
-                clearForm();
-                loadAttendanceData();
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        "Failed to delete attendance record.",
-                        "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            SwingFutures.onEdt(services.deleteAttendance(selectedAttendance.getId()), success -> {
+                if (success) {
+                    JOptionPane.showMessageDialog(this,
+                            "Attendance record deleted successfully!",
+                            "Success", JOptionPane.INFORMATION_MESSAGE);
+
+                    clearForm();
+                    loadAttendanceData();
+                } else {
+                    JOptionPane.showMessageDialog(this,
+                            "Failed to delete attendance record.",
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }, ex -> showAttendanceError("deleting", ex));
         }
     }
 
@@ -450,13 +471,19 @@ public class AttendancePanel extends JPanel {
             updateAttendanceButton.setEnabled(true);
             deleteAttendanceButton.setEnabled(true);
 
-            // Find the selected attendance object
+            // Find the selected attendance object; ignore the answer if the selection moved on
+            selectedAttendance = null;
+            LocalDate date;
             try {
-                LocalDate date = LocalDate.parse(dateStr);
-                selectedAttendance = attendanceService.getAttendanceByDate(employee.getId(), date);
-            } catch (Exception ex) {
-                selectedAttendance = null;
+                date = LocalDate.parse(dateStr);
+            } catch (DateTimeParseException ex) {
+                return;
             }
+            SwingFutures.onEdt(services.getAttendanceByDate(employee.getId(), date), attendance -> {
+                if (selectedRow == attendanceTable.getSelectedRow()) {
+                    selectedAttendance = attendance;
+                }
+            }, ex -> selectedAttendance = null);
         } else {
             updateAttendanceButton.setEnabled(false);
             deleteAttendanceButton.setEnabled(false);
@@ -521,13 +548,34 @@ public class AttendancePanel extends JPanel {
     }
 
     private void loadAttendanceData() {
+        LocalDate fromDate;
+        LocalDate toDate;
         try {
-            LocalDate fromDate = LocalDate.parse(fromDateField.getText());
-            LocalDate toDate = LocalDate.parse(toDateField.getText());
+            fromDate = LocalDate.parse(fromDateField.getText());
+            toDate = LocalDate.parse(toDateField.getText());
+        } catch (DateTimeParseException e) {
+            showLoadError(e);
+            return;
+        }
 
-            List<Attendance> attendanceList = attendanceService.getAttendanceByEmployeeAndDateRange(
-                    employee.getId(), fromDate, toDate);
+        int generation = ++attendanceLoadGeneration;
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        CompletableFuture<List<Attendance>> load =
+                services.getAttendanceByEmployeeAndDateRange(employee.getId(), fromDate, toDate);
+        SwingFutures.onEdt(load, attendanceList -> {
+            if (generation == attendanceLoadGeneration) {
+                showAttendanceData(attendanceList);
+            }
+        }, this::showLoadError);
+        SwingFutures.finallyOnEdt(load, () -> {
+            if (generation == attendanceLoadGeneration) {
+                setCursor(Cursor.getDefaultCursor());
+            }
+        });
+    }
 
+    private void showAttendanceData(List<Attendance> attendanceList) {
+        try {
             // Clear existing data
             tableModel.setRowCount(0);
 
@@ -575,18 +623,28 @@ public class AttendancePanel extends JPanel {
             undertimeCountLabel.setText("Undertime Days: " + undertimeDays);
 
         } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error loading attendance data", e);
-            JOptionPane.showMessageDialog(this,
-                    "Error loading attendance data: " + e.getMessage(),
-                    "Data Error", JOptionPane.ERROR_MESSAGE);
+            showLoadError(e);
         }
     }
 
+    private void showLoadError(Throwable e) {
+        LOGGER.log(Level.SEVERE, "Error loading attendance data", e);
+        JOptionPane.showMessageDialog(this,
+                "Error loading attendance data: " + e.getMessage(),
+                "Data Error", JOptionPane.ERROR_MESSAGE);
+    }
+
     private void updateCurrentStatus() {
-        try {
-            LocalDate today = LocalDate.now();
-            Attendance todayAttendance = attendanceService.getAttendanceByDate(employee.getId(), today);
+        SwingFutures.onEdt(services.getAttendanceByDate(employee.getId(), LocalDate.now()),
+                this::showCurrentStatus,
+                e -> {
+                    LOGGER.log(Level.WARNING, "Error updating current status", e);
+                    currentStatusLabel.setText("Status: Unknown");
+                });
+    }
 
+    private void showCurrentStatus(Attendance todayAttendance) {
+        try {
             if (todayAttendance == null) {
                 currentStatusLabel.setText("Status: Not logged in today");
                 logInButton.setEnabled(true);
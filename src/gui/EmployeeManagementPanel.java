@@ -2,7 +2,7 @@ package gui;
 
 import model.Employee;
 import model.Position;
-import service.EmployeeService;
+import service.AsyncServices;
 
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
@@ -26,7 +26,7 @@ import java.util.logging.Level;
 public class EmployeeManagementPanel extends JPanel {
     private static final Logger LOGGER = Logger.getLogger(EmployeeManagementPanel.class.getName());
 
-    private final EmployeeService employeeService;
+    private final AsyncServices services;
 
     // Table components
     private JTable employeeTable;
@@ -61,7 +61,7 @@ public class EmployeeManagementPanel extends JPanel {
     private Employee selectedEmployee;
 
     public EmployeeManagementPanel() {
-        this.employeeService = new EmployeeService();
+        this.services = new AsyncServices();
 
         initializeComponents();
         setupLayout();
@@ -346,12 +346,18 @@ public class EmployeeManagementPanel extends JPanel {
             int modelRow = employeeTable.convertRowIndexToModel(selectedRow);
             int employeeId = (Integer) tableModel.getValueAt(modelRow, 0);
 
-            selectedEmployee = employeeService.getEmployeeById(employeeId);
-            if (selectedEmployee != null) {
+            updateButton.setEnabled(false);
+            deleteButton.setEnabled(false);
+            SwingFutures.onEdt(services.getEmployeeById(employeeId), employee -> {
+                // Ignore the answer if the selection has moved on
+                if (employee == null || employeeTable.getSelectedRow() != selectedRow) {
+                    return;
+                }
+                selectedEmployee = employee;
                 populateForm(selectedEmployee);
                 updateButton.setEnabled(true);
                 deleteButton.setEnabled(true);
-            }
+            }, ex -> LOGGER.log(Level.WARNING, "Error loading employee " + employeeId, ex));
         } else {
             selectedEmployee = null;
             updateButton.setEnabled(false);
@@ -427,30 +433,34 @@ public class EmployeeManagementPanel extends JPanel {
                 password = "password1234"; // Default password
             }
 
-            boolean success = employeeService.addEmployee(newEmployee, password);
-
-            if (success) {
-                JOptionPane.showMessageDialog(this,
-                        "Employee added successfully!",
-                        "Success", JOptionPane.INFORMATION_MESSAGE);
+            SwingFutures.onEdt(services.addEmployee(newEmployee, password), success -> {
+                if (success) {
+                    JOptionPane.showMessageDialog(this,
+                            "Employee added successfully!",
+                            "Success", JOptionPane.INFORMATION_MESSAGE);
 
-                clearForm();
-                loadEmployeeData();
-                loadPotentialSupervisors();
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        "Failed to add employee. Please check the data and try again.",
-                        "Error", JOptionPane.ERROR_MESSAGE);
-            }
+                    clearForm();
+                    loadEmployeeData();
+                    loadPotentialSupervisors();
+                } else {
+                    JOptionPane.showMessageDialog(this,
+                            "Failed to add employee. Please check the data and try again.",
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }, ex -> showEmployeeError("adding", ex));
 
         } catch (Exception ex) {
-            LOGGER.log(Level.SEVERE, "Error adding employee", ex);
-            JOptionPane.showMessageDialog(this,
-                    "Error adding employee: " + ex.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
+            showEmployeeError("adding", ex);
         }
     }
 
+    private void showEmployeeError(String action, Throwable ex) {
+        LOGGER.log(Level.SEVERE, "Error " + action + " employee", ex);
+        JOptionPane.showMessageDialog(this,
+                "Error " + action + " employee: " + ex.getMessage(),
+                "Error", JOptionPane.ERROR_MESSAGE);
+    }
+
     private void handleUpdateEmployee(ActionEvent e) {
         if (selectedEmployee == null) {
             JOptionPane.showMessageDialog(this,
@@ -463,26 +473,23 @@ public class EmployeeManagementPanel extends JPanel {
             Employee updatedEmployee = createEmployeeFromForm();
             updatedEmployee.setId(selectedEmployee.getId());
 
-            boolean success = employeeService.updateEmployee(updatedEmployee);
-
-            if (success) {
-                JOptionPane.showMessageDialog(this,
-                        "Employee updated successfully!",
-                        "Success", JOptionPane.INFORMATION_MESSAGE);
+            SwingFutures.onEdt(services.updateEmployee(updatedEmployee), success -> {
+                if (success) {
+                    JOptionPane.showMessageDialog(this,
+                            "Employee updated successfully!",
+                            "Success", JOptionPane.INFORMATION_MESSAGE);
 
-                loadEmployeeData();
-                loadPotentialSupervisors();
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        "Failed to update employee. Please check the data and try again.",
-                        "Error", JOptionPane.ERROR_MESSAGE);
-            }
+                    loadEmployeeData();
+                    loadPotentialSupervisors();
+                } else {
+                    JOptionPane.showMessageDialog(this,
+                            "Failed to update employee. Please check the data and try again.",
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }, ex -> showEmployeeError("updating", ex));
 
         } catch (Exception ex) {
-            LOGGER.log(Level.SEVERE, "Error updating employee", ex);
-            JOptionPane.showMessageDialog(this,
-                    "Error updating employee: " + ex.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
+            showEmployeeError("updating", ex);
         }
     }
 
@@ -502,9 +509,7 @@ public class EmployeeManagementPanel extends JPanel {
                 JOptionPane.WARNING_MESSAGE);
 
         if (option == JOptionPane.YES_OPTION) {
-            try {
-                boolean success = employeeService.deleteEmployee(selectedEmployee.getId());
-
+            SwingFutures.onEdt(services.deleteEmployee(selectedEmployee.getId()), success -> {
                 if (success) {
                     JOptionPane.showMessageDialog(this,
                             "Employee deleted successfully!",
@@ -518,13 +523,7 @@ public class EmployeeManagementPanel extends JPanel {
                             "Failed to delete employee.",
                             "Error", JOptionPane.ERROR_MESSAGE);
                 }
-
-            } catch (Exception ex) {
-                LOGGER.log(Level.SEVERE, "Error deleting employee", ex);
-                JOptionPane.showMessageDialog(this,
-                        "Error deleting employee: " + ex.getMessage(),
-                        "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            }, ex -> showEmployeeError("deleting", ex));
         }
     }
 
@@ -596,9 +595,18 @@ public class EmployeeManagementPanel extends JPanel {
     }
 
     private void loadEmployeeData() {
-        try {
-            List<Employee> employees = employeeService.getAllEmployees();
+        SwingFutures.onEdt(services.getAllEmployees(), this::showEmployeeData, this::showEmployeeDataError);
+    }
+
+    private void showEmployeeDataError(Throwable e) {
+        LOGGER.log(Level.SEVERE, "Error loading employee data", e);
+        JOptionPane.showMessageDialog(this,
+                "Error loading employee data: " + e.getMessage(),
+                "Data Error", JOptionPane.ERROR_MESSAGE);
+    }
 
+    private void showEmployeeData(List<Employee> employees) {
+        try {
             // Clear existing data
             tableModel.setRowCount(0);
 
@@ -620,34 +628,31 @@ public class EmployeeManagementPanel extends JPanel {
             }
 
         } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error loading employee data", e);
-            JOptionPane.showMessageDialog(this,
-                    "Error loading employee data: " + e.getMessage(),
-                    "Data Error", JOptionPane.ERROR_MESSAGE);
+            showEmployeeDataError(e);
         }
     }
 
     private void loadPositions() {
-        try {
-            List<Position> positions = employeeService.getAllPositions();
-
+        SwingFutures.onEdt(services.getAllPositions(), positions -> {
             positionComboBox.removeAllItems();
             for (Position position : positions) {
                 positionComboBox.addItem(position);
             }
-
-        } catch (Exception e) {
+        }, e -> {
             LOGGER.log(Level.SEVERE, "Error loading positions", e);
             JOptionPane.showMessageDialog(this,
                     "Error loading positions: " + e.getMessage(),
                     "Data Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 
     private void loadPotentialSupervisors() {
-        try {
-            List<Employee> allEmployees = employeeService.getAllEmployees();
+        SwingFutures.onEdt(services.getAllEmployees(), this::showPotentialSupervisors,
+                e -> LOGGER.log(Level.SEVERE, "Error loading potential supervisors", e));
+    }
 
+    private void showPotentialSupervisors(List<Employee> allEmployees) {
+        try {
             supervisorComboBox.removeAllItems();
             supervisorComboBox.addItem(null); // No supervisor option
 
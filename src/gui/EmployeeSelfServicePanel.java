@@ -1,7 +1,7 @@
 package gui;
 
 import model.Employee;
-import service.EmployeeService;
+import service.AsyncServices;
 import service.JasperPayslipService;
 import service.PayrollCalculator;
 
@@ -13,6 +13,7 @@ import java.awt.event.ActionListener;
 import java.io.File;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -24,8 +25,7 @@ public class EmployeeSelfServicePanel extends JPanel {
     private static final Logger LOGGER = Logger.getLogger(EmployeeSelfServicePanel.class.getName());
 
     private final Employee employee;
-    private final EmployeeService employeeService;
-    private final PayrollCalculator payrollCalculator;
+    private final AsyncServices services;
     private JasperPayslipService jasperService;
 
     // Form fields
@@ -54,8 +54,7 @@ public class EmployeeSelfServicePanel extends JPanel {
 
     public EmployeeSelfServicePanel(Employee employee) {
         this.employee = employee;
-        this.employeeService = new EmployeeService();
-        this.payrollCalculator = new PayrollCalculator();
+        this.services = new AsyncServices();
 
         try {
             this.jasperService = new JasperPayslipService();
@@ -303,13 +302,20 @@ public class EmployeeSelfServicePanel extends JPanel {
     }
 
     private void populateEmployeeData() {
-        try {
-            // Get fresh employee data with position details
-            Employee freshEmployee = employeeService.getEmployeeById(employee.getId());
-            if (freshEmployee == null) {
-                freshEmployee = employee;
-            }
+        // Show what we have now, then refresh with position details in the background
+        showEmployeeData(employee);
+        SwingFutures.onEdt(services.getEmployeeById(employee.getId()),
+                fresh -> showEmployeeData(fresh != null ? fresh : employee),
+                error -> {
+                    LOGGER.log(Level.SEVERE, "Error populating employee data", error);
+                    JOptionPane.showMessageDialog(this,
+                            "Error loading employee data: " + error.getMessage(),
+                            "Data Error", JOptionPane.ERROR_MESSAGE);
+                });
+    }
 
+    private void showEmployeeData(Employee freshEmployee) {
+        try {
             employeeIdField.setText(String.valueOf(freshEmployee.getId()));
             firstNameField.setText(freshEmployee.getFirstName() != null ? freshEmployee.getFirstName() : "");
             lastNameField.setText(freshEmployee.getLastName() != null ? freshEmployee.getLastName() : "");
@@ -342,26 +348,25 @@ public class EmployeeSelfServicePanel extends JPanel {
     }
 
     private void handlePreviewPayroll(ActionEvent e) {
-        try {
-            int month = monthComboBox.getSelectedIndex() + 1;
-            int year = (Integer) yearComboBox.getSelectedItem();
-
-            LocalDate periodStart = LocalDate.of(year, month, 1);
-            LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
-
-            // Calculate payroll data
-            PayrollCalculator.PayrollData payrollData = payrollCalculator.calculatePayroll(
-                    employee.getId(), periodStart, periodEnd);
-
-            // Display the data in the preview area
-            displayPayrollPreview(payrollData);
-
-        } catch (Exception ex) {
+        int month = monthComboBox.getSelectedIndex() + 1;
+        int year = (Integer) yearComboBox.getSelectedItem();
+
+        LocalDate periodStart = LocalDate.of(year, month, 1);
+        LocalDate periodEnd = periodStart.withDayOfMonth(periodStart.lengthOfMonth());
+
+        // Calculate in the background and display the data in the preview area
+        previewPayrollButton.setEnabled(false);
+        payrollPreviewArea.setText("Calculating payroll...");
+        CompletableFuture<PayrollCalculator.PayrollData> preview =
+                services.calculatePayroll(employee.getId(), periodStart, periodEnd);
+        SwingFutures.onEdt(preview, this::displayPayrollPreview, ex -> {
             LOGGER.log(Level.SEVERE, "Error previewing payroll", ex);
+            payrollPreviewArea.setText("");
             JOptionPane.showMessageDialog(this,
                     "Error generating payroll preview: " + ex.getMessage(),
                     "Preview Error", JOptionPane.ERROR_MESSAGE);
-        }
+        });
+        SwingFutures.finallyOnEdt(preview, () -> previewPayrollButton.setEnabled(true));
     }
 
     private void displayPayrollPreview(PayrollCalculator.PayrollData data) {
@@ -377,7 +382,7 @@ public class EmployeeSelfServicePanel extends JPanel {
         preview.append("EARNINGS:\n");
         preview.append(String.format("  Monthly Rate:     ₱%,10.2f\n", data.getMonthlyRate()));
         preview.append(String.format("  Daily Rate:       ₱%,10.2f\n", data.getDailyRate()));
-        preview.append(String.format("  Days Worked:      %10d\n", data.getDaysWorked()));
+        preview.append(String.format("  Days Worked:      %10s\n", data.getDaysWorked() + " / " + data.getWorkingDays()));
         preview.append(String.format("  Basic Pay:        ₱%,10.2f\n", data.getBasicPay()));
         preview.append(String.format("  Rice Subsidy:     ₱%,10.2f\n", data.getRiceSubsidy()));
         preview.append(String.format("  Phone Allowance:  ₱%,10.2f\n", data.getPhoneAllowance()));
@@ -2,6 +2,7 @@ package gui;
 
 import model.Employee;
 import model.LeaveRequest;
+import service.AsyncServices;
 import service.LeaveRequestService;
 
 import javax.swing.*;
@@ -12,6 +13,7 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.concurrent.CompletableFuture;
 import java.util.List;
 import java.util.Optional;
 import java.util.logging.Logger;
@@ -26,6 +28,7 @@ public class LeaveRequestPanel extends JPanel {
 
     private final Employee employee;
     private final LeaveRequestService leaveService;
+    private final AsyncServices services;
     private final boolean isApprover;
 
     // Table components
@@ -56,6 +59,7 @@ public class LeaveRequestPanel extends JPanel {
     public LeaveRequestPanel(Employee employee) {
         this.employee = employee;
         this.leaveService = new LeaveRequestService();
+        this.services = new AsyncServices();
         this.isApprover = checkIfApprover(employee);
 
         initializeComponents();
@@ -411,23 +415,31 @@ public class LeaveRequestPanel extends JPanel {
             }
 
             // Submit leave request
-            boolean success = leaveService.submitLeaveRequest(
-                    employee.getId(), leaveType, startDate, endDate);
-
-            if (success) {
-                JOptionPane.showMessageDialog(this,
-                        "Leave request submitted successfully!",
-                        "Success", JOptionPane.INFORMATION_MESSAGE);
-
-                // Clear form
-                clearNewRequestForm();
-                loadLeaveRequests();
-                updateSummary();
-            } else {
+            submitRequestButton.setEnabled(false);
+            CompletableFuture<Boolean> submitted =
+                    services.submitLeaveRequest(employee.getId(), leaveType, startDate, endDate);
+            SwingFutures.onEdt(submitted, success -> {
+                if (success) {
+                    JOptionPane.showMessageDialog(this,
+                            "Leave request submitted successfully!",
+                            "Success", JOptionPane.INFORMATION_MESSAGE);
+
+                    // Clear form
+                    clearNewRequestForm();
+                    loadLeaveRequests();
+                    updateSummary();
+                } else {
+                    JOptionPane.showMessageDialog(this,
+                            "Failed to submit leave request. You may have overlapping leave dates.",
+                            "Submission Failed", JOptionPane.ERROR_MESSAGE);
+                }
+            }, ex -> {
+                LOGGER.log(Level.SEVERE, "Error submitting leave request", ex);
                 JOptionPane.showMessageDialog(this,
-                        "Failed to submit leave request. You may have overlapping leave dates.",
-                        "Submission Failed", JOptionPane.ERROR_MESSAGE);
-            }
+                        "Error submitting leave request: " + ex.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+            });
+            SwingFutures.finallyOnEdt(submitted, () -> submitRequestButton.setEnabled(true));
 
         } catch (DateTimeParseException ex) {
             JOptionPane.showMessageDialog(this,
@@ -462,22 +474,7 @@ public class LeaveRequestPanel extends JPanel {
                 JOptionPane.YES_NO_OPTION);
 
         if (option == JOptionPane.YES_OPTION) {
-            boolean success = leaveService.processLeaveRequest(
-                    selectedLeaveRequest.getLeaveId(), LeaveRequest.STATUS_APPROVED);
-
-            if (success) {
-                JOptionPane.showMessageDialog(this,
-                        "Leave request approved successfully!",
-                        "Success", JOptionPane.INFORMATION_MESSAGE);
-
-                loadLeaveRequests();
-                updateSummary();
-                clearApprovalForm();
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        "Failed to approve leave request.",
-                        "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            processSelectedRequest(LeaveRequest.STATUS_APPROVED, "approve", "approved");
         }
     }
 
@@ -502,12 +499,17 @@ public class LeaveRequestPanel extends JPanel {
                 JOptionPane.YES_NO_OPTION);
 
         if (option == JOptionPane.YES_OPTION) {
-            boolean success = leaveService.processLeaveRequest(
-                    selectedLeaveRequest.getLeaveId(), LeaveRequest.STATUS_REJECTED);
+            processSelectedRequest(LeaveRequest.STATUS_REJECTED, "reject", "rejected");
+        }
+    }
 
+    private void processSelectedRequest(String status, String verb, String past) {
+        approveButton.setEnabled(false);
+        rejectButton.setEnabled(false);
+        SwingFutures.onEdt(services.processLeaveRequest(selectedLeaveRequest.getLeaveId(), status), success -> {
             if (success) {
                 JOptionPane.showMessageDialog(this,
-                        "Leave request rejected successfully!",
+                        "Leave request " + past + " successfully!",
                         "Success", JOptionPane.INFORMATION_MESSAGE);
 
                 loadLeaveRequests();
@@ -515,10 +517,14 @@ public class LeaveRequestPanel extends JPanel {
                 clearApprovalForm();
             } else {
                 JOptionPane.showMessageDialog(this,
-                        "Failed to reject leave request.",
+                        "Failed to " + verb + " leave request.",
                         "Error", JOptionPane.ERROR_MESSAGE);
+                handleTableSelection();
             }
-        }
+        }, ex -> {
+            LOGGER.log(Level.SEVERE, "Error processing leave request", ex);
+            handleTableSelection();
+        });
     }
 
     private void handleTableSelection() {
@@ -526,18 +532,20 @@ public class LeaveRequestPanel extends JPanel {
         if (selectedRow >= 0) {
             int leaveId = (Integer) tableModel.getValueAt(selectedRow, 0);
 
-            Optional<LeaveRequest> optionalLeave = leaveService.getLeaveRequestById(leaveId);
-            if (optionalLeave.isPresent()) {
-                selectedLeaveRequest = optionalLeave.get();
-
-                if (isApprover && selectedLeaveRequest.isPending()) {
-                    approveButton.setEnabled(true);
-                    rejectButton.setEnabled(true);
-                } else {
-                    approveButton.setEnabled(false);
-                    rejectButton.setEnabled(false);
+            approveButton.setEnabled(false);
+            rejectButton.setEnabled(false);
+            CompletableFuture<Optional<LeaveRequest>> lookup =
+                    AsyncServices.supply(() -> leaveService.getLeaveRequestById(leaveId));
+            SwingFutures.onEdt(lookup, optionalLeave -> {
+                // Ignore the answer if the selection has moved on
+                if (!optionalLeave.isPresent() || leaveTable.getSelectedRow() != selectedRow) {
+                    return;
                 }
-            }
+                selectedLeaveRequest = optionalLeave.get();
+                boolean actionable = isApprover && selectedLeaveRequest.isPending();
+                approveButton.setEnabled(actionable);
+                rejectButton.setEnabled(actionable);
+            }, ex -> LOGGER.log(Level.WARNING, "Error loading leave request " + leaveId, ex));
         } else {
             selectedLeaveRequest = null;
             approveButton.setEnabled(false);
@@ -561,29 +569,42 @@ public class LeaveRequestPanel extends JPanel {
     }
 
     private void loadLeaveRequests() {
-        try {
-            String statusFilter = (String) statusFilterCombo.getSelectedItem();
-            List<LeaveRequest> requests;
-
-            if (isApprover && !"All".equals(statusFilter)) {
-                // HR/Managers can see requests by status
-                requests = leaveService.getLeaveRequestsByStatus(statusFilter);
-            } else if (isApprover && "All".equals(statusFilter)) {
-                // HR/Managers can see all requests (you might want to add this method)
-                requests = leaveService.getPendingLeaveRequests(); // For now, show pending
-                // Add approved and rejected
-                requests.addAll(leaveService.getLeaveRequestsByStatus("Approved"));
-                requests.addAll(leaveService.getLeaveRequestsByStatus("Rejected"));
-            } else {
-                // Regular employees see only their requests
-                requests = leaveService.getLeaveRequestsByEmployee(employee.getId());
+        String statusFilter = (String) statusFilterCombo.getSelectedItem();
+        SwingFutures.onEdt(AsyncServices.supply(() -> fetchLeaveRequests(statusFilter)), this::showLeaveRequests, e -> {
+            LOGGER.log(Level.SEVERE, "Error loading leave requests", e);
+            JOptionPane.showMessageDialog(this,
+                    "Error loading leave requests: " + e.getMessage(),
+                    "Data Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
 
-                // Filter by status if needed
-                if (!"All".equals(statusFilter)) {
-                    requests.removeIf(req -> !req.getStatus().equals(statusFilter));
-                }
+    /** Runs in the background */
+    private List<LeaveRequest> fetchLeaveRequests(String statusFilter) {
+        List<LeaveRequest> requests;
+
+        if (isApprover && !"All".equals(statusFilter)) {
+            // HR/Managers can see requests by status
+            requests = leaveService.getLeaveRequestsByStatus(statusFilter);
+        } else if (isApprover && "All".equals(statusFilter)) {
+            // HR/Managers can see all requests (you might want to add this method)
+            requests = leaveService.getPendingLeaveRequests(); // For now, show pending
+            // Add approved and rejected
+            requests.addAll(leaveService.getLeaveRequestsByStatus("Approved"));
+            requests.addAll(leaveService.getLeaveRequestsByStatus("Rejected"));
+        } else {
+            // Regular employees see only their requests
+            requests = leaveService.getLeaveRequestsByEmployee(employee.getId());
+
+            // Filter by status if needed
+            if (!"All".equals(statusFilter)) {
+                requests.removeIf(req -> !req.getStatus().equals(statusFilter));
             }
+        }
+        return requests;
+    }
 
+    private void showLeaveRequests(List<LeaveRequest> requests) {
+        try {
             // Clear existing data
             tableModel.setRowCount(0);
 
@@ -630,19 +651,13 @@ public class LeaveRequestPanel extends JPanel {
     }
 
     private void updateSummary() {
-        try {
-            List<LeaveRequest> allRequests;
-
-            if (isApprover) {
-                // For approvers, count all requests in the system
-                allRequests = leaveService.getPendingLeaveRequests();
-                allRequests.addAll(leaveService.getLeaveRequestsByStatus("Approved"));
-                allRequests.addAll(leaveService.getLeaveRequestsByStatus("Rejected"));
-            } else {
-                // For regular employees, count only their requests
-                allRequests = leaveService.getLeaveRequestsByEmployee(employee.getId());
-            }
+        // For approvers, count all requests in the system; for regular employees, only their own
+        SwingFutures.onEdt(AsyncServices.supply(() -> fetchLeaveRequests("All")), this::showSummary,
+                e -> LOGGER.log(Level.WARNING, "Error updating summary", e));
+    }
 
+    private void showSummary(List<LeaveRequest> allRequests) {
+        try {
             int total = allRequests.size();
             int pending = (int) allRequests.stream().filter(LeaveRequest::isPending).count();
             int approved = (int) allRequests.stream().filter(LeaveRequest::isApproved).count();
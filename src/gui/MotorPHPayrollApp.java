@@ -1,5 +1,8 @@
 package gui;
 
+import dao.InMemoryDataStore;
+import dao.RepositoryFactory;
+import dao.SchemaMigrator;
 import service.*;
 import model.Employee;
 import util.DBConnection;
@@ -9,6 +12,7 @@ import javax.swing.UIManager;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.time.LocalDate;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -30,12 +34,17 @@ public class MotorPHPayrollApp {
         // Set up logging
         setupLogging();
 
-        // Test database connection before starting GUI
-        if (!testDatabaseConnection()) {
+        // The in-memory backend (-Dmotorph.backend=memory) runs without MySQL on generated data
+        if (RepositoryFactory.isInMemory()) {
+            loadInMemoryData();
+        } else if (!testDatabaseConnection() || !migrateSchema()) {
             showDatabaseErrorDialog();
             return;
         }
 
+        // Let background loads finish (or stop) before the JVM goes away
+        Runtime.getRuntime().addShutdownHook(new Thread(AsyncServices::shutdown, "async-shutdown"));
+
         // Start the application
         SwingUtilities.invokeLater(() -> {
             try {
@@ -56,6 +65,13 @@ public class MotorPHPayrollApp {
         rootLogger.setLevel(Level.INFO);
     }
 
+    private static void loadInMemoryData() {
+        int employees = Integer.getInteger("motorph.memory.employees", 200);
+        LocalDate today = LocalDate.now();
+        LOGGER.info("Using in-memory backend with " + employees + " generated employees");
+        InMemoryDataStore.getInstance().loadSampleData(employees, today.minusMonths(3).withDayOfMonth(1), today);
+    }
+
     private static boolean testDatabaseConnection() {
         try {
             LOGGER.info("Testing database connection...");
@@ -66,6 +82,16 @@ public class MotorPHPayrollApp {
         }
     }
 
+    private static boolean migrateSchema() {
+        try {
+            SchemaMigrator.migrate();
+            return true;
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Database schema migration failed", e);
+            return false;
+        }
+    }
+
     private static void showDatabaseErrorDialog() {
         String message = """
             Database Connection Failed!
@@ -252,7 +278,7 @@ class LoginFrame extends JFrame {
 
             // Hide login frame and show main application
             setVisible(false);
-            new MainFrame(result.getEmployee()).setVisible(true);
+            new MainFrame(result.getEmployee(), result.getSessionToken()).setVisible(true);
             dispose();
         } else {
             showErrorMessage("Login Failed: " + result.getMessage());
@@ -289,11 +315,13 @@ class MainFrame extends JFrame {
     private static final Logger LOGGER = Logger.getLogger(MainFrame.class.getName());
 
     private final Employee loggedInEmployee;
+    private final String sessionToken;
     private JTabbedPane tabbedPane;
     private JLabel statusLabel;
 
-    public MainFrame(Employee employee) {
+    public MainFrame(Employee employee, String sessionToken) {
         this.loggedInEmployee = employee;
+        this.sessionToken = sessionToken;
         initializeComponents();
         setupLayout();
         configureFrame();
@@ -371,6 +399,10 @@ class MainFrame extends JFrame {
     }
 
     private boolean isManager(Employee employee) {
+        // Anyone with direct reports in the org tree manages a team, whatever the title
+        if (new EmployeeService().hasDirectReports(employee.getId())) {
+            return true;
+        }
         String position = employee.getPosition();
         return position != null && (
                 position.toLowerCase().contains("manager") ||
@@ -404,6 +436,7 @@ class MainFrame extends JFrame {
 
         if (option == JOptionPane.YES_OPTION) {
             LOGGER.info("User logged out: " + loggedInEmployee.getFullName());
+            new AuthenticationService().logout(sessionToken);
             dispose();
             new LoginFrame().setVisible(true);
         }
@@ -1,6 +1,7 @@
 package gui;
 
 import model.Employee;
+import service.AsyncServices;
 import service.EmployeeService;
 import service.PayrollCalculator;
 import service.JasperPayslipService;
@@ -366,9 +367,7 @@ public class PayrollManagementPanel extends JPanel {
         setButtonsEnabled(false);
 
         // Process in background
-        CompletableFuture.runAsync(() -> {
-            calculatePayrollForEmployees(selectedEmployeeIds);
-        });
+        runInBackground("Payroll calculation", () -> calculatePayrollForEmployees(selectedEmployeeIds));
     }
 
     private void calculatePayrollForEmployees(List<Integer> employeeIds) {
@@ -499,8 +498,22 @@ public class PayrollManagementPanel extends JPanel {
         setButtonsEnabled(false);
 
         // Process in background
-        CompletableFuture.runAsync(() -> {
-            generatePayslipsForEmployees(selectedEmployeeIds, outputDirectory);
+        runInBackground("Payslip generation", () -> generatePayslipsForEmployees(selectedEmployeeIds, outputDirectory));
+    }
+
+    /**
+     * Run a batch on the shared background executor; the batch reports its own
+     * progress, this only recovers the buttons if it dies unexpectedly
+     */
+    private void runInBackground(String name, Runnable batch) {
+        CompletableFuture<Void> run = AsyncServices.supply(() -> {
+            batch.run();
+            return null;
+        });
+        SwingFutures.onEdt(run, done -> { }, ex -> {
+            LOGGER.log(Level.SEVERE, name + " failed", ex);
+            statusLabel.setText(name + " failed: " + ex.getMessage());
+            setButtonsEnabled(true);
         });
     }
 
@@ -712,9 +725,19 @@ public class PayrollManagementPanel extends JPanel {
     }
 
     private void loadEmployees() {
-        try {
-            List<Employee> employees = employeeService.getAllEmployees();
+        SwingFutures.onEdt(AsyncServices.supply(employeeService::getAllEmployees), this::showEmployees,
+                this::showEmployeesError);
+    }
+
+    private void showEmployeesError(Throwable e) {
+        LOGGER.log(Level.SEVERE, "Error loading employees", e);
+        JOptionPane.showMessageDialog(this,
+                "Error loading employees: " + e.getMessage(),
+                "Data Error", JOptionPane.ERROR_MESSAGE);
+    }
 
+    private void showEmployees(List<Employee> employees) {
+        try {
             // Clear existing data
             employeeTableModel.setRowCount(0);
 
@@ -733,10 +756,7 @@ public class PayrollManagementPanel extends JPanel {
             statusLabel.setText("Loaded " + employees.size() + " employees");
 
         } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error loading employees", e);
-            JOptionPane.showMessageDialog(this,
-                    "Error loading employees: " + e.getMessage(),
-                    "Data Error", JOptionPane.ERROR_MESSAGE);
+            showEmployeesError(e);
         }
     }
 }
\ No newline at end of file
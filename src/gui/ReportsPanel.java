@@ -1,12 +1,16 @@
 package gui;
 
+import dao.AttendanceColumns;
 import model.Employee;
-import model.Attendance;
+import model.AttendanceTotals;
 import model.LeaveRequest;
+import service.AsyncServices;
 import service.EmployeeService;
 import service.AttendanceService;
 import service.LeaveRequestService;
 import service.PayrollCalculator;
+import util.JfrEvents;
+import util.SingleFlight;
 
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
@@ -16,11 +20,17 @@ import java.awt.event.ActionEvent;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.logging.Logger;
 import java.util.logging.Level;
@@ -30,6 +40,12 @@ import java.util.logging.Level;
  */
 public class ReportsPanel extends JPanel {
     private static final Logger LOGGER = Logger.getLogger(ReportsPanel.class.getName());
+    private static final int LEAVE_SUMMARY_CHUNK = 200;
+    private static final int ATTENDANCE_TOTALS_CHUNK = 200;
+
+    // Finished reports, shared by identical requests for a few seconds
+    private static final SingleFlight<String, ReportData> REPORTS =
+            SingleFlight.register("reports", "motorph.reports.cacheTtlMillis", 10000);
 
     private final EmployeeService employeeService;
     private final AttendanceService attendanceService;
@@ -86,6 +102,21 @@ public class ReportsPanel extends JPanel {
         }
     }
 
+    /**
+     * A built report: table columns, rows and the summary text
+     */
+    private static final class ReportData {
+        private final String[] columns;
+        private final List<Object[]> rows;
+        private final String summary;
+
+        ReportData(String[] columns, List<Object[]> rows, String summary) {
+            this.columns = columns;
+            this.rows = rows;
+            this.summary = summary;
+        }
+    }
+
     public ReportsPanel() {
         this.employeeService = new EmployeeService();
         this.attendanceService = new AttendanceService();
@@ -261,7 +292,12 @@ public class ReportsPanel extends JPanel {
         generateReportButton.addActionListener(this::handleGenerateReport);
         exportCsvButton.addActionListener(this::handleExportCsv);
         printReportButton.addActionListener(this::handlePrintReport);
-        refreshDataButton.addActionListener(e -> loadFilterData());
+        refreshDataButton.addActionListener(e -> {
+            // Next report recomputes instead of reusing a recent result
+            REPORTS.invalidate();
+            PayrollCalculator.invalidateCache();
+            loadFilterData();
+        });
     }
 
     private void handleGenerateReport(ActionEvent e) {
@@ -331,214 +367,249 @@ public class ReportsPanel extends JPanel {
     }
 
     private void generateReport(ReportType reportType) throws Exception {
-        switch (reportType) {
-            case EMPLOYEE_SUMMARY:
-                generateEmployeeSummaryReport();
-                break;
-            case ATTENDANCE_SUMMARY:
-                generateAttendanceSummaryReport();
-                break;
-            case LEAVE_SUMMARY:
-                generateLeaveSummaryReport();
-                break;
-            case PAYROLL_SUMMARY:
-                generatePayrollSummaryReport();
-                break;
-            case LATE_ATTENDANCE:
-                generateLateAttendanceReport();
-                break;
-            case DEPARTMENT_HEADCOUNT:
-                generateDepartmentHeadcountReport();
-                break;
-            case SALARY_ANALYSIS:
-                generateSalaryAnalysisReport();
-                break;
+        JfrEvents.ReportGeneration event = new JfrEvents.ReportGeneration();
+        event.report = reportType.name();
+        event.begin();
+        try {
+            buildReport(reportType);
+            event.succeeded = true;
+        } finally {
+            event.commit();
         }
     }
 
-    private void generateEmployeeSummaryReport() throws Exception {
-        SwingUtilities.invokeLater(() -> statusLabel.setText("Loading employee data..."));
+    private void buildReport(ReportType reportType) throws Exception {
+        if (reportType == ReportType.LEAVE_SUMMARY) {
+            // Streams its rows into the table as they arrive, so it isn't cached
+            generateLeaveSummaryReport();
+            return;
+        }
+
+        String selectedStatus = (String) statusFilter.getSelectedItem();
+        LocalDate fromDate = needsDateRange(reportType) ? LocalDate.parse(fromDateField.getText()) : null;
+        LocalDate toDate = needsDateRange(reportType) ? LocalDate.parse(toDateField.getText()) : null;
+        String key = reportType.name() + "|" + fromDate + "|" + toDate
+                + (reportType == ReportType.EMPLOYEE_SUMMARY ? "|" + selectedStatus : "");
+
+        ReportData report = REPORTS.get(key, () -> {
+            switch (reportType) {
+                case EMPLOYEE_SUMMARY:
+                    return generateEmployeeSummaryReport(selectedStatus);
+                case ATTENDANCE_SUMMARY:
+                    return generateAttendanceSummaryReport(fromDate, toDate);
+                case PAYROLL_SUMMARY:
+                    return generatePayrollSummaryReport(fromDate, toDate);
+                case LATE_ATTENDANCE:
+                    return generateLateAttendanceReport(fromDate, toDate);
+                case DEPARTMENT_HEADCOUNT:
+                    return generateDepartmentHeadcountReport();
+                case SALARY_ANALYSIS:
+                    return generateSalaryAnalysisReport();
+                default:
+                    throw new IllegalArgumentException("Unknown report type: " + reportType);
+            }
+        });
+
+        SwingUtilities.invokeLater(() -> {
+            tableModel.setColumnIdentifiers(report.columns);
+            tableModel.setRowCount(0);
+            report.rows.forEach(tableModel::addRow);
+            summaryArea.setText(report.summary);
+        });
+    }
+
+    private void showStatusLater(String status) {
+        SwingUtilities.invokeLater(() -> statusLabel.setText(status));
+    }
+
+    private ReportData generateEmployeeSummaryReport(String selectedStatus) throws Exception {
+        showStatusLater("Loading employee data...");
 
         List<Employee> employees = employeeService.getAllEmployees();
 
         // Apply filters
-        String selectedStatus = (String) statusFilter.getSelectedItem();
         if (!"All Status".equals(selectedStatus)) {
             employees = employees.stream()
                     .filter(emp -> selectedStatus.equals(emp.getStatus()))
                     .collect(Collectors.toList());
         }
 
-        List<Employee> finalEmployees = employees;
-        SwingUtilities.invokeLater(() -> {
-            // Setup table columns
-            String[] columns = {"ID", "Name", "Position", "Status", "Department", "Phone", "SSS", "PhilHealth"};
-            tableModel.setColumnIdentifiers(columns);
-            tableModel.setRowCount(0);
+        String[] columns = {"ID", "Name", "Position", "Status", "Department", "Phone", "SSS", "PhilHealth"};
+        List<Object[]> rows = new ArrayList<>(employees.size());
+
+        for (Employee emp : employees) {
+            rows.add(new Object[]{
+                    emp.getId(),
+                    emp.getFullName(),
+                    emp.getPosition() != null ? emp.getPosition() : "N/A",
+                    emp.getStatus() != null ? emp.getStatus() : "N/A",
+                    getDepartmentFromPosition(emp.getPosition()),
+                    emp.getPhoneNumber() != null ? emp.getPhoneNumber() : "N/A",
+                    emp.getSssNumber() != null ? emp.getSssNumber() : "N/A",
+                    emp.getPhilhealthNumber() != null ? emp.getPhilhealthNumber() : "N/A"
+            });
+        }
 
-            // Add data
-            for (Employee emp : finalEmployees) {
-                Object[] row = {
-                        emp.getId(),
-                        emp.getFullName(),
-                        emp.getPosition() != null ? emp.getPosition() : "N/A",
-                        emp.getStatus() != null ? emp.getStatus() : "N/A",
-                        getDepartmentFromPosition(emp.getPosition()),
-                        emp.getPhoneNumber() != null ? emp.getPhoneNumber() : "N/A",
-                        emp.getSssNumber() != null ? emp.getSssNumber() : "N/A",
-                        emp.getPhilhealthNumber() != null ? emp.getPhilhealthNumber() : "N/A"
-                };
-                tableModel.addRow(row);
-            }
+        // Generate summary
+        Map<String, Long> statusCounts = employees.stream()
+                .collect(Collectors.groupingBy(
+                        emp -> emp.getStatus() != null ? emp.getStatus() : "Unknown",
+                        Collectors.counting()));
 
-            // Generate summary
-            Map<String, Long> statusCounts = finalEmployees.stream()
-                    .collect(Collectors.groupingBy(
-                            emp -> emp.getStatus() != null ? emp.getStatus() : "Unknown",
-                            Collectors.counting()));
+        Map<String, Long> departmentCounts = employees.stream()
+                .collect(Collectors.groupingBy(
+                        emp -> getDepartmentFromPosition(emp.getPosition()),
+                        Collectors.counting()));
 
-            Map<String, Long> departmentCounts = finalEmployees.stream()
-                    .collect(Collectors.groupingBy(
-                            emp -> getDepartmentFromPosition(emp.getPosition()),
-                            Collectors.counting()));
+        StringBuilder summary = new StringBuilder();
+        summary.append("EMPLOYEE SUMMARY REPORT\n");
+        summary.append("Generated: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n\n");
+        summary.append("Total Employees: ").append(employees.size()).append("\n\n");
 
-            StringBuilder summary = new StringBuilder();
-            summary.append("EMPLOYEE SUMMARY REPORT\n");
-            summary.append("Generated: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n\n");
-            summary.append("Total Employees: ").append(finalEmployees.size()).append("\n\n");
+        summary.append("By Status:\n");
+        statusCounts.forEach((status, count) ->
+                summary.append("  ").append(status).append(": ").append(count).append("\n"));
 
-            summary.append("By Status:\n");
-            statusCounts.forEach((status, count) ->
-                    summary.append("  ").append(status).append(": ").append(count).append("\n"));
+        summary.append("\nBy Department:\n");
+        departmentCounts.forEach((dept, count) ->
+                summary.append("  ").append(dept).append(": ").append(count).append("\n"));
 
-            summary.append("\nBy Department:\n");
-            departmentCounts.forEach((dept, count) ->
-                    summary.append("  ").append(dept).append(": ").append(count).append("\n"));
+        return new ReportData(columns, rows, summary.toString());
+    }
 
-            summaryArea.setText(summary.toString());
-        });
+    /**
+     * Totals for every employee, a chunk of IDs per call. Closed months come
+     * frozen and other whole months from the monthly rollup, so only partial
+     * months at the edges read raw attendance.
+     */
+    private Map<Integer, AttendanceTotals> loadAttendanceTotals(List<Employee> employees, LocalDate fromDate,
+                                                               LocalDate toDate) {
+        List<Integer> ids = employees.stream().map(Employee::getId).collect(Collectors.toList());
+        Map<Integer, AttendanceTotals> totals = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += ATTENDANCE_TOTALS_CHUNK) {
+            totals.putAll(attendanceService.getAttendanceTotals(
+                    ids.subList(from, Math.min(from + ATTENDANCE_TOTALS_CHUNK, ids.size())), fromDate, toDate));
+        }
+        return totals;
     }
 
-    private void generateAttendanceSummaryReport() throws Exception {
-        LocalDate fromDate = LocalDate.parse(fromDateField.getText());
-        LocalDate toDate = LocalDate.parse(toDateField.getText());
+    /**
+     * Everyone's attendance scanned from the columnar store and added up, a chunk of IDs per call
+     */
+    private AttendanceColumns.Scan loadAttendancePattern(List<Employee> employees, LocalDate fromDate,
+                                                         LocalDate toDate) {
+        List<Integer> ids = employees.stream().map(Employee::getId).collect(Collectors.toList());
+        AttendanceColumns.Scan pattern = new AttendanceColumns.Scan();
+        for (int from = 0; from < ids.size(); from += ATTENDANCE_TOTALS_CHUNK) {
+            for (AttendanceColumns.Scan scan : attendanceService.getAttendancePatterns(
+                    ids.subList(from, Math.min(from + ATTENDANCE_TOTALS_CHUNK, ids.size())), fromDate, toDate).values()) {
+                pattern.add(scan);
+            }
+        }
+        return pattern;
+    }
 
-        SwingUtilities.invokeLater(() -> statusLabel.setText("Loading attendance data..."));
+    private ReportData generateAttendanceSummaryReport(LocalDate fromDate, LocalDate toDate) throws Exception {
+        showStatusLater("Loading attendance data...");
 
         List<Employee> employees = employeeService.getAllEmployees();
 
-        SwingUtilities.invokeLater(() -> {
-            String[] columns = {"Employee ID", "Name", "Days Present", "Total Hours", "Late Days", "Undertime Days"};
-            tableModel.setColumnIdentifiers(columns);
-            tableModel.setRowCount(0);
-
-            int totalEmployees = employees.size();
-            int totalDaysPresent = 0;
-            double totalHours = 0.0;
-            int totalLateDays = 0;
-            int totalUndertimeDays = 0;
-
-            for (Employee emp : employees) {
-                List<Attendance> attendanceList = attendanceService.getAttendanceByEmployeeAndDateRange(
-                        emp.getId(), fromDate, toDate);
-
-                int daysPresent = 0;
-                double hours = 0.0;
-                int lateDays = 0;
-                int undertimeDays = 0;
-
-                for (Attendance att : attendanceList) {
-                    if (att.getLogIn() != null) {
-                        daysPresent++;
-                        hours += att.getWorkHours();
-
-                        if (att.isLate()) lateDays++;
-                        if (att.hasUndertime()) undertimeDays++;
-                    }
-                }
-
-                Object[] row = {
-                        emp.getId(),
-                        emp.getFullName(),
-                        daysPresent,
-                        String.format("%.2f", hours),
-                        lateDays,
-                        undertimeDays
-                };
-                tableModel.addRow(row);
-
-                totalDaysPresent += daysPresent;
-                totalHours += hours;
-                totalLateDays += lateDays;
-                totalUndertimeDays += undertimeDays;
-            }
-
-            StringBuilder summary = new StringBuilder();
-            summary.append("ATTENDANCE SUMMARY REPORT\n");
-            summary.append("Period: ").append(fromDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")))
-                    .append(" to ").append(toDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n");
-            summary.append("Generated: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n\n");
-
-            summary.append("Total Employees: ").append(totalEmployees).append("\n");
-            summary.append("Total Days Present: ").append(totalDaysPresent).append("\n");
-            summary.append("Total Working Hours: ").append(String.format("%.2f", totalHours)).append("\n");
-            summary.append("Total Late Instances: ").append(totalLateDays).append("\n");
-            summary.append("Total Undertime Instances: ").append(totalUndertimeDays).append("\n\n");
+        String[] columns = {"Employee ID", "Name", "Days Present", "Total Hours", "Late Days", "Undertime Days"};
+        List<Object[]> rows = new ArrayList<>(employees.size());
+
+        int totalEmployees = employees.size();
+        int totalDaysPresent = 0;
+        double totalHours = 0.0;
+        int totalLateDays = 0;
+        int totalUndertimeDays = 0;
+
+        Map<Integer, AttendanceTotals> attendanceTotals = loadAttendanceTotals(employees, fromDate, toDate);
+        for (Employee emp : employees) {
+            AttendanceTotals totals = attendanceTotals.get(emp.getId());
+
+            int daysPresent = totals.getDaysPresent();
+            double hours = totals.getTotalHours();
+            int lateDays = totals.getLateDays();
+            int undertimeDays = totals.getUndertimeDays();
+
+            rows.add(new Object[]{
+                    emp.getId(),
+                    emp.getFullName(),
+                    daysPresent,
+                    String.format("%.2f", hours),
+                    lateDays,
+                    undertimeDays
+            });
+
+            totalDaysPresent += daysPresent;
+            totalHours += hours;
+            totalLateDays += lateDays;
+            totalUndertimeDays += undertimeDays;
+        }
 
-            if (totalEmployees > 0) {
-                summary.append("Average Days Present per Employee: ").append(String.format("%.1f", (double) totalDaysPresent / totalEmployees)).append("\n");
-                summary.append("Average Hours per Employee: ").append(String.format("%.2f", totalHours / totalEmployees)).append("\n");
-            }
+        StringBuilder summary = new StringBuilder();
+        summary.append("ATTENDANCE SUMMARY REPORT\n");
+        summary.append("Period: ").append(fromDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")))
+                .append(" to ").append(toDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n");
+        summary.append("Generated: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n\n");
+
+        summary.append("Total Employees: ").append(totalEmployees).append("\n");
+        summary.append("Total Days Present: ").append(totalDaysPresent).append("\n");
+        summary.append("Total Working Hours: ").append(String.format("%.2f", totalHours)).append("\n");
+        summary.append("Total Late Instances: ").append(totalLateDays).append("\n");
+        summary.append("Total Undertime Instances: ").append(totalUndertimeDays).append("\n\n");
+
+        if (totalEmployees > 0) {
+            summary.append("Average Days Present per Employee: ").append(String.format("%.1f", (double) totalDaysPresent / totalEmployees)).append("\n");
+            summary.append("Average Hours per Employee: ").append(String.format("%.2f", totalHours / totalEmployees)).append("\n");
+        }
 
-            summaryArea.setText(summary.toString());
-        });
+        return new ReportData(columns, rows, summary.toString());
     }
 
     private void generateLeaveSummaryReport() throws Exception {
-        SwingUtilities.invokeLater(() -> statusLabel.setText("Loading leave data..."));
-
-        List<LeaveRequest> allLeaves = leaveService.getLeaveRequestsByStatus("Pending");
-        allLeaves.addAll(leaveService.getLeaveRequestsByStatus("Approved"));
-        allLeaves.addAll(leaveService.getLeaveRequestsByStatus("Rejected"));
-
         SwingUtilities.invokeLater(() -> {
-            String[] columns = {"Employee ID", "Employee Name", "Leave Type", "Start Date", "End Date", "Days", "Status"};
+            statusLabel.setText("Loading leave data...");
+            String[] columns = {"Employee ID", "Employee Name", "Leave Type", "Status", "Requests", "Days"};
             tableModel.setColumnIdentifiers(columns);
             tableModel.setRowCount(0);
+        });
 
-            for (LeaveRequest leave : allLeaves) {
-                String employeeName = getEmployeeName(leave.getEmployeeId());
-
-                Object[] row = {
-                        leave.getEmployeeId(),
-                        employeeName,
-                        leave.getLeaveType(),
-                        leave.getStartDateAsLocalDate().toString(),
-                        leave.getEndDateAsLocalDate().toString(),
-                        leave.getLeaveDays(),
-                        leave.getStatus()
-                };
-                tableModel.addRow(row);
+        // One grouped query; rows reach the table in chunks while the totals are folded in
+        Map<String, Long> statusCounts = new TreeMap<>();
+        Map<String, Long> typeCounts = new TreeMap<>();
+        long[] totals = new long[2]; // requests, approved days
+        List<Object[]> chunk = new ArrayList<>(LEAVE_SUMMARY_CHUNK);
+
+        leaveService.streamLeaveSummary(group -> {
+            chunk.add(new Object[]{
+                    group.getEmployeeId(),
+                    group.getEmployeeName(),
+                    group.getLeaveType(),
+                    group.getStatus(),
+                    group.getRequestCount(),
+                    group.getTotalDays()
+            });
+            statusCounts.merge(group.getStatus(), (long) group.getRequestCount(), Long::sum);
+            typeCounts.merge(group.getLeaveType(), (long) group.getRequestCount(), Long::sum);
+            totals[0] += group.getRequestCount();
+            if (LeaveRequest.STATUS_APPROVED.equalsIgnoreCase(group.getStatus())) {
+                totals[1] += group.getTotalDays();
             }
+            if (chunk.size() == LEAVE_SUMMARY_CHUNK) {
+                addRowsLater(new ArrayList<>(chunk));
+                chunk.clear();
+            }
+        });
+        addRowsLater(new ArrayList<>(chunk));
 
-            // Generate summary
-            Map<String, Long> statusCounts = allLeaves.stream()
-                    .collect(Collectors.groupingBy(LeaveRequest::getStatus, Collectors.counting()));
-
-            Map<String, Long> typeCounts = allLeaves.stream()
-                    .collect(Collectors.groupingBy(LeaveRequest::getLeaveType, Collectors.counting()));
-
-            long totalLeaveDays = allLeaves.stream()
-                    .filter(LeaveRequest::isApproved)
-                    .mapToLong(LeaveRequest::getLeaveDays)
-                    .sum();
-
+        SwingUtilities.invokeLater(() -> {
             StringBuilder summary = new StringBuilder();
             summary.append("LEAVE SUMMARY REPORT\n");
             summary.append("Generated: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n\n");
 
-            summary.append("Total Leave Requests: ").append(allLeaves.size()).append("\n");
-            summary.append("Total Approved Leave Days: ").append(totalLeaveDays).append("\n\n");
+            summary.append("Total Leave Requests: ").append(totals[0]).append("\n");
+            summary.append("Total Approved Leave Days: ").append(totals[1]).append("\n\n");
 
             summary.append("By Status:\n");
             statusCounts.forEach((status, count) ->
@@ -552,247 +623,233 @@ public class ReportsPanel extends JPanel {
         });
     }
 
-    private void generatePayrollSummaryReport() throws Exception {
-        LocalDate fromDate = LocalDate.parse(fromDateField.getText());
-        LocalDate toDate = LocalDate.parse(toDateField.getText());
+    private void addRowsLater(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            SwingUtilities.invokeLater(() -> rows.forEach(tableModel::addRow));
+        }
+    }
 
-        SwingUtilities.invokeLater(() -> statusLabel.setText("Calculating payroll data..."));
+    private ReportData generatePayrollSummaryReport(LocalDate fromDate, LocalDate toDate) throws Exception {
+        showStatusLater("Calculating payroll data...");
 
         List<Employee> employees = employeeService.getAllEmployees();
 
-        SwingUtilities.invokeLater(() -> {
-            String[] columns = {"Employee ID", "Name", "Basic Pay", "Gross Pay", "Deductions", "Net Pay"};
-            tableModel.setColumnIdentifiers(columns);
-            tableModel.setRowCount(0);
+        String[] columns = {"Employee ID", "Name", "Basic Pay", "Gross Pay", "Deductions", "Net Pay"};
+        List<Object[]> rows = new ArrayList<>(employees.size());
 
-            double totalBasicPay = 0.0;
-            double totalGrossPay = 0.0;
-            double totalDeductions = 0.0;
-            double totalNetPay = 0.0;
-            int processedEmployees = 0;
+        double totalBasicPay = 0.0;
+        double totalGrossPay = 0.0;
+        double totalDeductions = 0.0;
+        double totalNetPay = 0.0;
+        int processedEmployees = 0;
 
-            for (Employee emp : employees) {
-                try {
-                    PayrollCalculator.PayrollData payrollData = payrollCalculator.calculatePayroll(
-                            emp.getId(), fromDate, toDate);
-
-                    Object[] row = {
-                            emp.getId(),
-                            emp.getFullName(),
-                            String.format("₱%,.2f", payrollData.getBasicPay()),
-                            String.format("₱%,.2f", payrollData.getGrossPay()),
-                            String.format("₱%,.2f", payrollData.getTotalDeductions()),
-                            String.format("₱%,.2f", payrollData.getNetPay())
-                    };
-                    tableModel.addRow(row);
-
-                    totalBasicPay += payrollData.getBasicPay();
-                    totalGrossPay += payrollData.getGrossPay();
-                    totalDeductions += payrollData.getTotalDeductions();
-                    totalNetPay += payrollData.getNetPay();
-                    processedEmployees++;
+        for (Employee emp : employees) {
+            try {
+                PayrollCalculator.PayrollData payrollData = payrollCalculator.calculatePayroll(
+                        emp.getId(), fromDate, toDate);
 
-                } catch (Exception ex) {
-                    LOGGER.log(Level.WARNING, "Error calculating payroll for employee " + emp.getId(), ex);
-
-                    Object[] row = {
-                            emp.getId(),
-                            emp.getFullName(),
-                            "Error",
-                            "Error",
-                            "Error",
-                            "Error"
-                    };
-                    tableModel.addRow(row);
-                }
+                rows.add(new Object[]{
+                        emp.getId(),
+                        emp.getFullName(),
+                        String.format("₱%,.2f", payrollData.getBasicPay()),
+                        String.format("₱%,.2f", payrollData.getGrossPay()),
+                        String.format("₱%,.2f", payrollData.getTotalDeductions()),
+                        String.format("₱%,.2f", payrollData.getNetPay())
+                });
+
+                totalBasicPay += payrollData.getBasicPay();
+                totalGrossPay += payrollData.getGrossPay();
+                totalDeductions += payrollData.getTotalDeductions();
+                totalNetPay += payrollData.getNetPay();
+                processedEmployees++;
+
+            } catch (Exception ex) {
+                LOGGER.log(Level.WARNING, "Error calculating payroll for employee " + emp.getId(), ex);
+
+                rows.add(new Object[]{
+                        emp.getId(),
+                        emp.getFullName(),
+                        "Error",
+                        "Error",
+                        "Error",
+                        "Error"
+                });
             }
+        }
 
-            StringBuilder summary = new StringBuilder();
-            summary.append("PAYROLL SUMMARY REPORT\n");
-            summary.append("Period: ").append(fromDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")))
-                    .append(" to ").append(toDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n");
-            summary.append("Generated: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n\n");
+        StringBuilder summary = new StringBuilder();
+        summary.append("PAYROLL SUMMARY REPORT\n");
+        summary.append("Period: ").append(fromDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")))
+                .append(" to ").append(toDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n");
+        summary.append("Generated: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n\n");
 
-            summary.append("Total Employees Processed: ").append(processedEmployees).append("\n");
-            summary.append("Total Basic Pay: ").append(String.format("₱%,.2f", totalBasicPay)).append("\n");
-            summary.append("Total Gross Pay: ").append(String.format("₱%,.2f", totalGrossPay)).append("\n");
-            summary.append("Total Deductions: ").append(String.format("₱%,.2f", totalDeductions)).append("\n");
-            summary.append("Total Net Pay: ").append(String.format("₱%,.2f", totalNetPay)).append("\n\n");
+        summary.append("Total Employees Processed: ").append(processedEmployees).append("\n");
+        summary.append("Total Basic Pay: ").append(String.format("₱%,.2f", totalBasicPay)).append("\n");
+        summary.append("Total Gross Pay: ").append(String.format("₱%,.2f", totalGrossPay)).append("\n");
+        summary.append("Total Deductions: ").append(String.format("₱%,.2f", totalDeductions)).append("\n");
+        summary.append("Total Net Pay: ").append(String.format("₱%,.2f", totalNetPay)).append("\n\n");
 
-            if (processedEmployees > 0) {
-                summary.append("Average Net Pay: ").append(String.format("₱%,.2f", totalNetPay / processedEmployees)).append("\n");
-            }
+        if (processedEmployees > 0) {
+            summary.append("Average Net Pay: ").append(String.format("₱%,.2f", totalNetPay / processedEmployees)).append("\n");
+        }
 
-            summaryArea.setText(summary.toString());
-        });
+        return new ReportData(columns, rows, summary.toString());
     }
 
-    private void generateLateAttendanceReport() throws Exception {
-        LocalDate fromDate = LocalDate.parse(fromDateField.getText());
-        LocalDate toDate = LocalDate.parse(toDateField.getText());
-
-        SwingUtilities.invokeLater(() -> statusLabel.setText("Analyzing late attendance..."));
+    private ReportData generateLateAttendanceReport(LocalDate fromDate, LocalDate toDate) throws Exception {
+        showStatusLater("Analyzing late attendance...");
 
         List<Employee> employees = employeeService.getAllEmployees();
 
-        SwingUtilities.invokeLater(() -> {
-            String[] columns = {"Employee ID", "Name", "Position", "Late Days", "Total Days", "Late Percentage"};
-            tableModel.setColumnIdentifiers(columns);
-            tableModel.setRowCount(0);
-
-            int totalLateInstances = 0;
-            int totalEmployeesWithLates = 0;
+        String[] columns = {"Employee ID", "Name", "Position", "Late Days", "Total Days", "Late Percentage"};
+        List<Object[]> rows = new ArrayList<>();
 
-            for (Employee emp : employees) {
-                List<Attendance> attendanceList = attendanceService.getAttendanceByEmployeeAndDateRange(
-                        emp.getId(), fromDate, toDate);
+        int totalLateInstances = 0;
+        int totalEmployeesWithLates = 0;
 
-                int lateDays = 0;
-                int totalDays = 0;
+        Map<Integer, AttendanceTotals> attendanceTotals = loadAttendanceTotals(employees, fromDate, toDate);
+        for (Employee emp : employees) {
+            AttendanceTotals totals = attendanceTotals.get(emp.getId());
 
-                for (Attendance att : attendanceList) {
-                    if (att.getLogIn() != null) {
-                        totalDays++;
-                        if (att.isLate()) {
-                            lateDays++;
-                        }
-                    }
-                }
+            int lateDays = totals.getLateDays();
+            int totalDays = totals.getDaysPresent();
 
-                if (lateDays > 0) {
-                    double latePercentage = totalDays > 0 ? (lateDays * 100.0 / totalDays) : 0.0;
-
-                    Object[] row = {
-                            emp.getId(),
-                            emp.getFullName(),
-                            emp.getPosition(),
-                            lateDays,
-                            totalDays,
-                            String.format("%.1f%%", latePercentage)
-                    };
-                    tableModel.addRow(row);
-
-                    totalLateInstances += lateDays;
-                    totalEmployeesWithLates++;
-                }
-            }
+            if (lateDays > 0) {
+                double latePercentage = totalDays > 0 ? (lateDays * 100.0 / totalDays) : 0.0;
 
-            StringBuilder summary = new StringBuilder();
-            summary.append("LATE ATTENDANCE REPORT\n");
-            summary.append("Period: ").append(fromDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")))
-                    .append(" to ").append(toDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n");
-            summary.append("Generated: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n\n");
+                rows.add(new Object[]{
+                        emp.getId(),
+                        emp.getFullName(),
+                        emp.getPosition(),
+                        lateDays,
+                        totalDays,
+                        String.format("%.1f%%", latePercentage)
+                });
 
-            summary.append("Employees with Late Arrivals: ").append(totalEmployeesWithLates).append("\n");
-            summary.append("Total Late Instances: ").append(totalLateInstances).append("\n");
+                totalLateInstances += lateDays;
+                totalEmployeesWithLates++;
+            }
+        }
 
-            if (totalEmployeesWithLates > 0) {
-                summary.append("Average Late Days per Employee: ").append(String.format("%.1f", (double) totalLateInstances / totalEmployeesWithLates)).append("\n");
+        StringBuilder summary = new StringBuilder();
+        summary.append("LATE ATTENDANCE REPORT\n");
+        summary.append("Period: ").append(fromDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")))
+                .append(" to ").append(toDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n");
+        summary.append("Generated: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n\n");
+
+        summary.append("Employees with Late Arrivals: ").append(totalEmployeesWithLates).append("\n");
+        summary.append("Total Late Instances: ").append(totalLateInstances).append("\n");
+
+        if (totalEmployeesWithLates > 0) {
+            summary.append("Average Late Days per Employee: ").append(String.format("%.1f", (double) totalLateInstances / totalEmployeesWithLates)).append("\n");
+
+            AttendanceColumns.Scan pattern = loadAttendancePattern(employees, fromDate, toDate);
+            int[] present = pattern.getPresentByWeekday();
+            int[] late = pattern.getLateByWeekday();
+            summary.append("\nLate Arrivals by Weekday:\n");
+            for (int day = 0; day < 7; day++) {
+                if (present[day] > 0) {
+                    summary.append("  ").append(DayOfWeek.of(day + 1).getDisplayName(TextStyle.SHORT, Locale.ENGLISH))
+                            .append(": ").append(late[day]).append(" of ").append(present[day])
+                            .append(String.format(" (%.1f%%)", late[day] * 100.0 / present[day])).append("\n");
+                }
             }
+        }
 
-            summaryArea.setText(summary.toString());
-        });
+        return new ReportData(columns, rows, summary.toString());
     }
 
-    private void generateDepartmentHeadcountReport() throws Exception {
-        SwingUtilities.invokeLater(() -> statusLabel.setText("Analyzing department headcount..."));
+    private ReportData generateDepartmentHeadcountReport() throws Exception {
+        showStatusLater("Analyzing department headcount...");
 
         List<Employee> employees = employeeService.getAllEmployees();
 
-        SwingUtilities.invokeLater(() -> {
-            Map<String, List<Employee>> departmentMap = employees.stream()
-                    .collect(Collectors.groupingBy(emp -> getDepartmentFromPosition(emp.getPosition())));
+        Map<String, List<Employee>> departmentMap = employees.stream()
+                .collect(Collectors.groupingBy(emp -> getDepartmentFromPosition(emp.getPosition())));
 
-            String[] columns = {"Department", "Regular", "Probationary", "Total"};
-            tableModel.setColumnIdentifiers(columns);
-            tableModel.setRowCount(0);
+        String[] columns = {"Department", "Regular", "Probationary", "Total"};
+        List<Object[]> rows = new ArrayList<>(departmentMap.size());
 
-            for (Map.Entry<String, List<Employee>> entry : departmentMap.entrySet()) {
-                String department = entry.getKey();
-                List<Employee> deptEmployees = entry.getValue();
+        for (Map.Entry<String, List<Employee>> entry : departmentMap.entrySet()) {
+            String department = entry.getKey();
+            List<Employee> deptEmployees = entry.getValue();
 
-                long regular = deptEmployees.stream().filter(emp -> "Regular".equals(emp.getStatus())).count();
-                long probationary = deptEmployees.stream().filter(emp -> "Probationary".equals(emp.getStatus())).count();
+            long regular = deptEmployees.stream().filter(emp -> "Regular".equals(emp.getStatus())).count();
+            long probationary = deptEmployees.stream().filter(emp -> "Probationary".equals(emp.getStatus())).count();
 
-                Object[] row = {
-                        department,
-                        regular,
-                        probationary,
-                        deptEmployees.size()
-                };
-                tableModel.addRow(row);
-            }
+            rows.add(new Object[]{
+                    department,
+                    regular,
+                    probationary,
+                    deptEmployees.size()
+            });
+        }
 
-            StringBuilder summary = new StringBuilder();
-            summary.append("DEPARTMENT HEADCOUNT REPORT\n");
-            summary.append("Generated: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n\n");
+        StringBuilder summary = new StringBuilder();
+        summary.append("DEPARTMENT HEADCOUNT REPORT\n");
+        summary.append("Generated: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n\n");
 
-            summary.append("Total Employees: ").append(employees.size()).append("\n");
-            summary.append("Total Departments: ").append(departmentMap.size()).append("\n\n");
+        summary.append("Total Employees: ").append(employees.size()).append("\n");
+        summary.append("Total Departments: ").append(departmentMap.size()).append("\n\n");
 
-            summary.append("Department Breakdown:\n");
-            departmentMap.forEach((dept, empList) ->
-                    summary.append("  ").append(dept).append(": ").append(empList.size()).append(" employees\n"));
+        summary.append("Department Breakdown:\n");
+        departmentMap.forEach((dept, empList) ->
+                summary.append("  ").append(dept).append(": ").append(empList.size()).append(" employees\n"));
 
-            summaryArea.setText(summary.toString());
-        });
+        return new ReportData(columns, rows, summary.toString());
     }
 
-    private void generateSalaryAnalysisReport() throws Exception {
-        SwingUtilities.invokeLater(() -> statusLabel.setText("Analyzing salary data..."));
+    private ReportData generateSalaryAnalysisReport() throws Exception {
+        showStatusLater("Analyzing salary data...");
 
         List<Employee> employees = employeeService.getAllEmployees();
 
-        SwingUtilities.invokeLater(() -> {
-            String[] columns = {"Position", "Count", "Min Salary", "Max Salary", "Avg Salary"};
-            tableModel.setColumnIdentifiers(columns);
-            tableModel.setRowCount(0);
+        String[] columns = {"Position", "Count", "Min Salary", "Max Salary", "Avg Salary"};
 
-            Map<String, List<Employee>> positionMap = employees.stream()
-                    .collect(Collectors.groupingBy(emp -> emp.getPosition() != null ? emp.getPosition() : "Unknown"));
-
-            double totalSalaries = 0.0;
-            double minSalary = Double.MAX_VALUE;
-            double maxSalary = Double.MIN_VALUE;
-
-            for (Map.Entry<String, List<Employee>> entry : positionMap.entrySet()) {
-                String position = entry.getKey();
-                List<Employee> positionEmployees = entry.getValue();
-
-                double posMin = positionEmployees.stream().mapToDouble(Employee::getBasicSalary).min().orElse(0.0);
-                double posMax = positionEmployees.stream().mapToDouble(Employee::getBasicSalary).max().orElse(0.0);
-                double posAvg = positionEmployees.stream().mapToDouble(Employee::getBasicSalary).average().orElse(0.0);
-
-                Object[] row = {
-                        position,
-                        positionEmployees.size(),
-                        String.format("₱%,.2f", posMin),
-                        String.format("₱%,.2f", posMax),
-                        String.format("₱%,.2f", posAvg)
-                };
-                tableModel.addRow(row);
-
-                totalSalaries += positionEmployees.stream().mapToDouble(Employee::getBasicSalary).sum();
-                minSalary = Math.min(minSalary, posMin);
-                maxSalary = Math.max(maxSalary, posMax);
-            }
+        Map<String, List<Employee>> positionMap = employees.stream()
+                .collect(Collectors.groupingBy(emp -> emp.getPosition() != null ? emp.getPosition() : "Unknown"));
+        List<Object[]> rows = new ArrayList<>(positionMap.size());
 
-            double avgSalary = employees.size() > 0 ? totalSalaries / employees.size() : 0.0;
+        double totalSalaries = 0.0;
+        double minSalary = Double.MAX_VALUE;
+        double maxSalary = Double.MIN_VALUE;
 
-            StringBuilder summary = new StringBuilder();
-            summary.append("SALARY ANALYSIS REPORT\n");
-            summary.append("Generated: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n\n");
+        for (Map.Entry<String, List<Employee>> entry : positionMap.entrySet()) {
+            String position = entry.getKey();
+            List<Employee> positionEmployees = entry.getValue();
 
-            summary.append("Total Employees: ").append(employees.size()).append("\n");
-            summary.append("Total Monthly Payroll: ").append(String.format("₱%,.2f", totalSalaries)).append("\n");
-            summary.append("Average Salary: ").append(String.format("₱%,.2f", avgSalary)).append("\n");
-            summary.append("Minimum Salary: ").append(String.format("₱%,.2f", minSalary)).append("\n");
-            summary.append("Maximum Salary: ").append(String.format("₱%,.2f", maxSalary)).append("\n\n");
+            double posMin = positionEmployees.stream().mapToDouble(Employee::getBasicSalary).min().orElse(0.0);
+            double posMax = positionEmployees.stream().mapToDouble(Employee::getBasicSalary).max().orElse(0.0);
+            double posAvg = positionEmployees.stream().mapToDouble(Employee::getBasicSalary).average().orElse(0.0);
 
-            summary.append("Annual Payroll Cost: ").append(String.format("₱%,.2f", totalSalaries * 12)).append("\n");
+            rows.add(new Object[]{
+                    position,
+                    positionEmployees.size(),
+                    String.format("₱%,.2f", posMin),
+                    String.format("₱%,.2f", posMax),
+                    String.format("₱%,.2f", posAvg)
+            });
 
-            summaryArea.setText(summary.toString());
-        });
+            totalSalaries += positionEmployees.stream().mapToDouble(Employee::getBasicSalary).sum();
+            minSalary = Math.min(minSalary, posMin);
+            maxSalary = Math.max(maxSalary, posMax);
+        }
+
+        double avgSalary = employees.size() > 0 ? totalSalaries / employees.size() : 0.0;
+
+        StringBuilder summary = new StringBuilder();
+        summary.append("SALARY ANALYSIS REPORT\n");
+        summary.append("Generated: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n\n");
+
+        summary.append("Total Employees: ").append(employees.size()).append("\n");
+        summary.append("Total Monthly Payroll: ").append(String.format("₱%,.2f", totalSalaries)).append("\n");
+        summary.append("Average Salary: ").append(String.format("₱%,.2f", avgSalary)).append("\n");
+        summary.append("Minimum Salary: ").append(String.format("₱%,.2f", minSalary)).append("\n");
+        summary.append("Maximum Salary: ").append(String.format("₱%,.2f", maxSalary)).append("\n\n");
+
+        summary.append("Annual Payroll Cost: ").append(String.format("₱%,.2f", totalSalaries * 12)).append("\n");
+
+        return new ReportData(columns, rows, summary.toString());
     }
 
     private void handleExportCsv(ActionEvent e) {
@@ -874,10 +931,13 @@ public class ReportsPanel extends JPanel {
     }
 
     private void loadFilterData() {
-        try {
-            // Load unique positions/departments for filtering
-            List<Employee> employees = employeeService.getAllEmployees();
+        // Load unique positions/departments for filtering
+        SwingFutures.onEdt(AsyncServices.supply(employeeService::getAllEmployees), this::showFilterData,
+                e -> LOGGER.log(Level.WARNING, "Error loading filter data", e));
+    }
 
+    private void showFilterData(List<Employee> employees) {
+        try {
             java.util.Set<String> departments = employees.stream()
                     .map(emp -> getDepartmentFromPosition(emp.getPosition()))
                     .collect(Collectors.toSet());
@@ -904,13 +964,4 @@ public class ReportsPanel extends JPanel {
 
         return "General";
     }
-
-    private String getEmployeeName(int employeeId) {
-        try {
-            Employee emp = employeeService.getEmployeeById(employeeId);
-            return emp != null ? emp.getFullName() : "Unknown Employee";
-        } catch (Exception e) {
-            return "Employee " + employeeId;
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package gui;
+
+import javax.swing.SwingUtilities;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Completion helpers for futures from {@link service.AsyncServices}: callbacks
+ * run on the event dispatch thread, so they can touch Swing components.
+ */
+final class SwingFutures {
+
+    /** Runs tasks on the event dispatch thread, in submission order */
+    static final Executor EDT = SwingUtilities::invokeLater;
+
+    private SwingFutures() {}
+
+    /**
+     * Hand the result or the failure (unwrapped from CompletionException) to the
+     * matching callback on the EDT
+     */
+    static <T> CompletableFuture<Void> onEdt(CompletableFuture<T> future, Consumer<? super T> onSuccess,
+                                             Consumer<? super Throwable> onFailure) {
+        return future.handleAsync((result, error) -> {
+            if (error != null) {
+                onFailure.accept(unwrap(error));
+            } else {
+                onSuccess.accept(result);
+            }
+            return null;
+        }, EDT);
+    }
+
+    /**
+     * Run on the EDT once the future settles, whatever the outcome; for resetting
+     * cursors and re-enabling buttons
+     */
+    static CompletableFuture<Void> finallyOnEdt(CompletableFuture<?> future, Runnable action) {
+        return future.handleAsync((result, error) -> {
+            action.run();
+            return null;
+        }, EDT);
+    }
+
+    /** The failure a callback should report, without the future's wrapper */
+    static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
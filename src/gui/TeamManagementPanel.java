@@ -1,11 +1,17 @@
 package gui;
 
+import dao.AttendanceColumns;
+import dao.WorkCalendar;
 import model.Employee;
 import model.Attendance;
+import model.AttendanceTotals;
 import model.LeaveRequest;
+import model.TeamMemberStatus;
 import service.EmployeeService;
+import service.AsyncServices;
 import service.AttendanceService;
 import service.LeaveRequestService;
+import service.OrgRollupService;
 import service.PayrollCalculator;
 
 import javax.swing.*;
@@ -14,10 +20,17 @@ import javax.swing.table.DefaultTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
 import java.awt.event.ActionEvent;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.logging.Logger;
 import java.util.logging.Level;
@@ -34,6 +47,7 @@ public class TeamManagementPanel extends JPanel {
     private final AttendanceService attendanceService;
     private final LeaveRequestService leaveService;
     private final PayrollCalculator payrollCalculator;
+    private final AsyncServices services;
 
     // Team overview components
     private JTable teamTable;
@@ -64,6 +78,8 @@ public class TeamManagementPanel extends JPanel {
     private JButton teamReportButton;
 
     private List<Employee> teamMembers;
+    private Map<Integer, Employee> teamById = new HashMap<>();
+    private List<LeaveRequest> teamPendingLeaves = new ArrayList<>();
     private LeaveRequest selectedLeaveRequest;
 
     public TeamManagementPanel(Employee manager) {
@@ -72,6 +88,7 @@ public class TeamManagementPanel extends JPanel {
         this.attendanceService = new AttendanceService();
         this.leaveService = new LeaveRequestService();
         this.payrollCalculator = new PayrollCalculator();
+        this.services = new AsyncServices(employeeService, attendanceService, leaveService, payrollCalculator);
 
         initializeComponents();
         setupLayout();
@@ -352,22 +369,27 @@ public class TeamManagementPanel extends JPanel {
                 JOptionPane.YES_NO_OPTION);
 
         if (option == JOptionPane.YES_OPTION) {
-            boolean success = leaveService.processLeaveRequest(
-                    selectedLeaveRequest.getLeaveId(), LeaveRequest.STATUS_APPROVED);
-
-            if (success) {
-                JOptionPane.showMessageDialog(this,
-                        "Leave request approved successfully!",
-                        "Success", JOptionPane.INFORMATION_MESSAGE);
-                loadTeamLeaveRequests();
-                selectedLeaveRequest = null;
-                approveLeaveButton.setEnabled(false);
-                rejectLeaveButton.setEnabled(false);
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        "Failed to approve leave request.",
-                        "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            approveLeaveButton.setEnabled(false);
+            rejectLeaveButton.setEnabled(false);
+            SwingFutures.onEdt(services.processLeaveRequest(selectedLeaveRequest.getLeaveId(), LeaveRequest.STATUS_APPROVED),
+                    success -> {
+                        if (success) {
+                            JOptionPane.showMessageDialog(this,
+                                    "Leave request approved successfully!",
+                                    "Success", JOptionPane.INFORMATION_MESSAGE);
+                            selectedLeaveRequest = null;
+                            loadTeamLeaveRequests();
+                        } else {
+                            JOptionPane.showMessageDialog(this,
+                                    "Failed to approve leave request.",
+                                    "Error", JOptionPane.ERROR_MESSAGE);
+                            handleLeaveRequestSelection();
+                        }
+                    },
+                    ex -> {
+                        LOGGER.log(Level.SEVERE, "Error processing leave request", ex);
+                        handleLeaveRequestSelection();
+                    });
         }
     }
 
@@ -385,22 +407,27 @@ public class TeamManagementPanel extends JPanel {
                 JOptionPane.YES_NO_OPTION);
 
         if (option == JOptionPane.YES_OPTION) {
-            boolean success = leaveService.processLeaveRequest(
-                    selectedLeaveRequest.getLeaveId(), LeaveRequest.STATUS_REJECTED);
-
-            if (success) {
-                JOptionPane.showMessageDialog(this,
-                        "Leave request rejected successfully!",
-                        "Success", JOptionPane.INFORMATION_MESSAGE);
-                loadTeamLeaveRequests();
-                selectedLeaveRequest = null;
-                approveLeaveButton.setEnabled(false);
-                rejectLeaveButton.setEnabled(false);
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        "Failed to reject leave request.",
-                        "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            approveLeaveButton.setEnabled(false);
+            rejectLeaveButton.setEnabled(false);
+            SwingFutures.onEdt(services.processLeaveRequest(selectedLeaveRequest.getLeaveId(), LeaveRequest.STATUS_REJECTED),
+                    success -> {
+                        if (success) {
+                            JOptionPane.showMessageDialog(this,
+                                    "Leave request rejected successfully!",
+                                    "Success", JOptionPane.INFORMATION_MESSAGE);
+                            selectedLeaveRequest = null;
+                            loadTeamLeaveRequests();
+                        } else {
+                            JOptionPane.showMessageDialog(this,
+                                    "Failed to reject leave request.",
+                                    "Error", JOptionPane.ERROR_MESSAGE);
+                            handleLeaveRequestSelection();
+                        }
+                    },
+                    ex -> {
+                        LOGGER.log(Level.SEVERE, "Error processing leave request", ex);
+                        handleLeaveRequestSelection();
+                    });
         }
     }
 
@@ -429,19 +456,13 @@ public class TeamManagementPanel extends JPanel {
     }
 
     private LeaveRequest findLeaveRequest(String employeeName, String startDate) {
-        try {
-            // Get all pending leave requests and find the matching one
-            List<LeaveRequest> pendingRequests = leaveService.getPendingLeaveRequests();
-
-            for (LeaveRequest request : pendingRequests) {
-                Employee emp = getEmployeeById(request.getEmployeeId());
-                if (emp != null && emp.getFullName().equals(employeeName) &&
-                        request.getStartDateAsLocalDate().toString().equals(startDate)) {
-                    return request;
-                }
+        // Matched against the pending list loaded with the table, no query
+        for (LeaveRequest request : teamPendingLeaves) {
+            Employee emp = teamById.get(request.getEmployeeId());
+            if (emp != null && emp.getFullName().equals(employeeName) &&
+                    request.getStartDateAsLocalDate().toString().equals(startDate)) {
+                return request;
             }
-        } catch (Exception ex) {
-            LOGGER.log(Level.WARNING, "Error finding leave request", ex);
         }
         return null;
     }
@@ -459,13 +480,21 @@ public class TeamManagementPanel extends JPanel {
     }
 
     private void createTeamReportDialog() {
-        JDialog reportDialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this),
-                "Team Report - " + manager.getFullName(), true);
-
-        JTextArea reportArea = new JTextArea(25, 70);
-        reportArea.setEditable(false);
-        reportArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 11));
+        List<Employee> teamMembers = new ArrayList<>(this.teamMembers);
+        Map<Integer, Employee> teamById = new HashMap<>(this.teamById);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        CompletableFuture<String> report = AsyncServices.supply(() -> buildTeamReport(teamMembers, teamById));
+        SwingFutures.onEdt(report, this::showTeamReportDialog, ex -> {
+            LOGGER.log(Level.SEVERE, "Error generating team report", ex);
+            JOptionPane.showMessageDialog(this,
+                    "Error generating team report: " + ex.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+        });
+        SwingFutures.finallyOnEdt(report, () -> setCursor(Cursor.getDefaultCursor()));
+    }
 
+    /** Runs in the background: reads only the snapshots it is given */
+    private String buildTeamReport(List<Employee> teamMembers, Map<Integer, Employee> teamById) {
         StringBuilder report = new StringBuilder();
         report.append("TEAM MANAGEMENT REPORT\n");
         report.append("=".repeat(60)).append("\n");
@@ -504,17 +533,12 @@ public class TeamManagementPanel extends JPanel {
         int presentToday = 0;
         int lateToday = 0;
 
-        for (Employee emp : teamMembers) {
-            try {
-                Attendance todayAttendance = attendanceService.getAttendanceByDate(emp.getId(), today);
-                if (todayAttendance != null && todayAttendance.getLogIn() != null) {
-                    presentToday++;
-                    if (todayAttendance.isLate()) {
-                        lateToday++;
-                    }
+        for (TeamMemberStatus member : attendanceService.getTeamStatus(manager.getId(), today)) {
+            if (member.hasLoggedIn()) {
+                presentToday++;
+                if (member.getAttendance().isLate()) {
+                    lateToday++;
                 }
-            } catch (Exception ex) {
-                // Continue with other employees
             }
         }
 
@@ -527,7 +551,7 @@ public class TeamManagementPanel extends JPanel {
         try {
             List<LeaveRequest> pendingLeaves = leaveService.getPendingLeaveRequests();
             long teamPendingLeaves = pendingLeaves.stream()
-                    .filter(leave -> teamMembers.stream().anyMatch(emp -> emp.getId() == leave.getEmployeeId()))
+                    .filter(leave -> teamById.containsKey(leave.getEmployeeId()))
                     .count();
 
             report.append("PENDING LEAVE REQUESTS: ").append(teamPendingLeaves).append("\n");
@@ -535,8 +559,8 @@ public class TeamManagementPanel extends JPanel {
 
             if (teamPendingLeaves > 0) {
                 for (LeaveRequest leave : pendingLeaves) {
-                    Employee emp = getEmployeeById(leave.getEmployeeId());
-                    if (emp != null && teamMembers.contains(emp)) {
+                    Employee emp = teamById.get(leave.getEmployeeId());
+                    if (emp != null) {
                         report.append(String.format("%-25s %-15s %s to %s (%d days)\n",
                                 emp.getFullName(),
                                 leave.getLeaveType(),
@@ -552,10 +576,42 @@ public class TeamManagementPanel extends JPanel {
             report.append("Error loading leave requests.\n");
         }
 
+        // Whole reporting tree, for managers of managers
+        try {
+            if (teamMembers.stream().anyMatch(emp -> employeeService.hasDirectReports(emp.getId()))) {
+                LocalDate monthStart = today.withDayOfMonth(1);
+                List<OrgRollupService.RollupRow> rollup =
+                        new OrgRollupService().summarize(manager.getId(), today, monthStart, today);
+
+                report.append("\nORGANIZATION ROLLUP (payroll ").append(monthStart).append(" to ").append(today).append("):\n");
+                report.append("-".repeat(30)).append("\n");
+                report.append(String.format("%-25s %9s %8s %9s %15s\n",
+                        "Subtree", "Headcount", "Present", "On Leave", "Net Payroll"));
+                for (OrgRollupService.RollupRow row : rollup) {
+                    report.append(String.format("%-25s %9d %8d %9d %,15.2f\n",
+                            row.getLabel(), row.getHeadcount(), row.getPresentToday(),
+                            row.getOnLeave(), row.getPayrollTotal()));
+                }
+            }
+        } catch (Exception ex) {
+            LOGGER.log(Level.WARNING, "Error building organization rollup", ex);
+            report.append("Error loading organization rollup.\n");
+        }
+
         report.append("\n").append("=".repeat(60)).append("\n");
         report.append("Report generated by MotorPH Payroll System\n");
+        return report.toString();
+    }
+
+    private void showTeamReportDialog(String report) {
+        JDialog reportDialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this),
+                "Team Report - " + manager.getFullName(), true);
+
+        JTextArea reportArea = new JTextArea(25, 70);
+        reportArea.setEditable(false);
+        reportArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 11));
 
-        reportArea.setText(report.toString());
+        reportArea.setText(report);
         reportArea.setCaretPosition(0);
 
         JScrollPane scrollPane = new JScrollPane(reportArea);
@@ -567,26 +623,35 @@ public class TeamManagementPanel extends JPanel {
     }
 
     private void loadTeamData() {
-        try {
-            // Load all employees and filter by supervisor
-            List<Employee> allEmployees = employeeService.getAllEmployees();
+        // Direct reports with today's attendance and leave in one query
+        SwingFutures.onEdt(services.getTeamStatus(manager.getId(), LocalDate.now()), this::showTeamData, e -> {
+            LOGGER.log(Level.SEVERE, "Error loading team data", e);
+            JOptionPane.showMessageDialog(this,
+                    "Error loading team data: " + e.getMessage(),
+                    "Data Error", JOptionPane.ERROR_MESSAGE);
+        });
+    }
 
-            teamMembers = allEmployees.stream()
-                    .filter(emp -> manager.getFormattedName().equals(emp.getImmediateSupervisor()))
+    private void showTeamData(List<TeamMemberStatus> team) {
+        try {
+            teamMembers = team.stream()
+                    .map(TeamMemberStatus::getEmployee)
                     .collect(Collectors.toList());
+            teamById = teamMembers.stream()
+                    .collect(Collectors.toMap(Employee::getId, emp -> emp));
 
             // Update team table
             teamTableModel.setRowCount(0);
 
-            LocalDate today = LocalDate.now();
             int presentToday = 0;
             int onLeave = 0;
 
-            for (Employee emp : teamMembers) {
-                String todayStatus = getTodayStatus(emp.getId(), today);
-                if ("Present".equals(todayStatus) || "Late".equals(todayStatus)) {
+            for (TeamMemberStatus member : team) {
+                Employee emp = member.getEmployee();
+                String todayStatus = member.getStatus();
+                if (TeamMemberStatus.STATUS_PRESENT.equals(todayStatus) || TeamMemberStatus.STATUS_LATE.equals(todayStatus)) {
                     presentToday++;
-                } else if ("On Leave".equals(todayStatus)) {
+                } else if (member.isOnLeave()) {
                     onLeave++;
                 }
 
@@ -618,40 +683,32 @@ public class TeamManagementPanel extends JPanel {
         }
     }
 
-    private String getTodayStatus(int employeeId, LocalDate date) {
+    private void loadTeamAttendance() {
+        LocalDate selectedDate;
         try {
-            // Check if on approved leave
-            List<LeaveRequest> approvedLeaves = leaveService.getApprovedLeavesByEmployeeAndDateRange(
-                    employeeId, date, date);
-            if (!approvedLeaves.isEmpty()) {
-                return "On Leave";
-            }
-
-            // Check attendance
-            Attendance attendance = attendanceService.getAttendanceByDate(employeeId, date);
-            if (attendance == null || attendance.getLogIn() == null) {
-                return "Absent";
-            }
-
-            if (attendance.isLate()) {
-                return "Late";
-            }
-
-            return "Present";
-
-        } catch (Exception e) {
-            return "Unknown";
+            selectedDate = LocalDate.parse(attendanceDateField.getText());
+        } catch (DateTimeParseException e) {
+            showTeamAttendanceError(e);
+            return;
         }
+        SwingFutures.onEdt(services.getTeamStatus(manager.getId(), selectedDate),
+                team -> showTeamAttendance(selectedDate, team), this::showTeamAttendanceError);
     }
 
-    private void loadTeamAttendance() {
-        try {
-            LocalDate selectedDate = LocalDate.parse(attendanceDateField.getText());
+    private void showTeamAttendanceError(Throwable e) {
+        LOGGER.log(Level.SEVERE, "Error loading team attendance", e);
+        JOptionPane.showMessageDialog(this,
+                "Error loading team attendance: " + e.getMessage(),
+                "Data Error", JOptionPane.ERROR_MESSAGE);
+    }
 
+    private void showTeamAttendance(LocalDate selectedDate, List<TeamMemberStatus> team) {
+        try {
             attendanceTableModel.setRowCount(0);
 
-            for (Employee emp : teamMembers) {
-                Attendance attendance = attendanceService.getAttendanceByDate(emp.getId(), selectedDate);
+            for (TeamMemberStatus member : team) {
+                Employee emp = member.getEmployee();
+                Attendance attendance = member.getAttendance();
 
                 String logIn = "N/A";
                 String logOut = "N/A";
@@ -670,13 +727,8 @@ public class TeamManagementPanel extends JPanel {
                     } else {
                         status = "Normal";
                     }
-                } else {
-                    // Check if on leave
-                    List<LeaveRequest> leaves = leaveService.getApprovedLeavesByEmployeeAndDateRange(
-                            emp.getId(), selectedDate, selectedDate);
-                    if (!leaves.isEmpty()) {
-                        status = "On Leave";
-                    }
+                } else if (member.isOnLeave()) {
+                    status = "On Leave";
                 }
 
                 Object[] row = {
@@ -691,23 +743,32 @@ public class TeamManagementPanel extends JPanel {
             }
 
         } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error loading team attendance", e);
-            JOptionPane.showMessageDialog(this,
-                    "Error loading team attendance: " + e.getMessage(),
-                    "Data Error", JOptionPane.ERROR_MESSAGE);
+            showTeamAttendanceError(e);
         }
     }
 
     private void loadTeamLeaveRequests() {
-        try {
-            List<LeaveRequest> pendingRequests = leaveService.getPendingLeaveRequests();
+        SwingFutures.onEdt(services.getLeaveRequestsByStatus(LeaveRequest.STATUS_PENDING),
+                this::showTeamLeaveRequests, this::showTeamLeaveRequestsError);
+    }
+
+    private void showTeamLeaveRequestsError(Throwable e) {
+        LOGGER.log(Level.SEVERE, "Error loading team leave requests", e);
+        JOptionPane.showMessageDialog(this,
+                "Error loading leave requests: " + e.getMessage(),
+                "Data Error", JOptionPane.ERROR_MESSAGE);
+    }
 
+    private void showTeamLeaveRequests(List<LeaveRequest> pendingRequests) {
+        try {
             leaveRequestsTableModel.setRowCount(0);
+            teamPendingLeaves = new ArrayList<>();
 
             for (LeaveRequest request : pendingRequests) {
                 // Check if this request is from a team member
-                Employee requestEmployee = getEmployeeById(request.getEmployeeId());
-                if (requestEmployee != null && teamMembers.contains(requestEmployee)) {
+                Employee requestEmployee = teamById.get(request.getEmployeeId());
+                if (requestEmployee != null) {
+                    teamPendingLeaves.add(request);
                     Object[] row = {
                             requestEmployee.getFullName(),
                             request.getLeaveType(),
@@ -723,143 +784,146 @@ public class TeamManagementPanel extends JPanel {
             }
 
         } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error loading team leave requests", e);
-            JOptionPane.showMessageDialog(this,
-                    "Error loading leave requests: " + e.getMessage(),
-                    "Data Error", JOptionPane.ERROR_MESSAGE);
+            showTeamLeaveRequestsError(e);
         }
     }
 
     private void generatePerformanceSummary() {
-        try {
-            String selectedPeriod = (String) performancePeriodCombo.getSelectedItem();
-            LocalDate[] dateRange = getDateRangeForPeriod(selectedPeriod);
-            LocalDate startDate = dateRange[0];
-            LocalDate endDate = dateRange[1];
-
-            StringBuilder summary = new StringBuilder();
-            summary.append("TEAM PERFORMANCE SUMMARY\n");
-            summary.append("=".repeat(50)).append("\n");
-            summary.append("Manager: ").append(manager.getFullName()).append("\n");
-            summary.append("Period: ").append(startDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")))
-                    .append(" to ").append(endDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n");
-            summary.append("Generated: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n");
-            summary.append("=".repeat(50)).append("\n\n");
-
-            if (teamMembers.isEmpty()) {
-                summary.append("No team members found.\n");
-                performanceSummaryArea.setText(summary.toString());
-                return;
-            }
+        String selectedPeriod = (String) performancePeriodCombo.getSelectedItem();
+        LocalDate[] dateRange = getDateRangeForPeriod(selectedPeriod);
+        List<Employee> team = teamMembers != null ? new ArrayList<>(teamMembers) : new ArrayList<>();
+
+        generatePerformanceButton.setEnabled(false);
+        performanceSummaryArea.setText("Generating performance summary...");
+        CompletableFuture<String> summary = AsyncServices.supply(
+                () -> buildPerformanceSummary(team, dateRange[0], dateRange[1]));
+        SwingFutures.onEdt(summary, text -> {
+            performanceSummaryArea.setText(text);
+            performanceSummaryArea.setCaretPosition(0);
+        }, e -> {
+            LOGGER.log(Level.SEVERE, "Error generating performance summary", e);
+            performanceSummaryArea.setText("");
+            JOptionPane.showMessageDialog(this,
+                    "Error generating performance summary: " + e.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+        });
+        SwingFutures.finallyOnEdt(summary, () -> generatePerformanceButton.setEnabled(true));
+    }
 
-            // Attendance performance
-            summary.append("ATTENDANCE PERFORMANCE:\n");
-            summary.append("-".repeat(30)).append("\n");
-
-            int totalWorkingDays = getWorkingDaysBetween(startDate, endDate);
-            int totalPossibleDays = teamMembers.size() * totalWorkingDays;
-            int totalActualDays = 0;
-            int totalLateDays = 0;
-            int totalUndertimeDays = 0;
-            double totalHours = 0.0;
-
-            for (Employee emp : teamMembers) {
-                List<Attendance> attendanceList = attendanceService.getAttendanceByEmployeeAndDateRange(
-                        emp.getId(), startDate, endDate);
-
-                int empDays = 0;
-                int empLateDays = 0;
-                int empUndertimeDays = 0;
-                double empHours = 0.0;
-
-                for (Attendance att : attendanceList) {
-                    if (att.getLogIn() != null) {
-                        empDays++;
-                        empHours += att.getWorkHours();
-
-                        if (att.isLate()) empLateDays++;
-                        if (att.hasUndertime()) empUndertimeDays++;
-                    }
-                }
+    /** Runs in the background: reads only the team snapshot it is given */
+    private String buildPerformanceSummary(List<Employee> teamMembers, LocalDate startDate, LocalDate endDate) {
+        StringBuilder summary = new StringBuilder();
+        summary.append("TEAM PERFORMANCE SUMMARY\n");
+        summary.append("=".repeat(50)).append("\n");
+        summary.append("Manager: ").append(manager.getFullName()).append("\n");
+        summary.append("Period: ").append(startDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy")))
+                .append(" to ").append(endDate.format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n");
+        summary.append("Generated: ").append(LocalDate.now().format(DateTimeFormatter.ofPattern("MMM dd, yyyy"))).append("\n");
+        summary.append("=".repeat(50)).append("\n\n");
+
+        if (teamMembers.isEmpty()) {
+            summary.append("No team members found.\n");
+            return summary.toString();
+        }
 
-                totalActualDays += empDays;
-                totalLateDays += empLateDays;
-                totalUndertimeDays += empUndertimeDays;
-                totalHours += empHours;
-            }
+        // Attendance performance
+        summary.append("ATTENDANCE PERFORMANCE:\n");
+        summary.append("-".repeat(30)).append("\n");
+
+        int totalWorkingDays = getWorkingDaysBetween(startDate, endDate);
+        int totalPossibleDays = teamMembers.size() * totalWorkingDays;
+        int totalActualDays = 0;
+        int totalLateDays = 0;
+        int totalUndertimeDays = 0;
+        double totalHours = 0.0;
+
+        // Closed months come frozen; open days for the whole team in one query per stretch
+        List<Integer> teamIds = teamMembers.stream().map(Employee::getId).collect(Collectors.toList());
+        Map<Integer, AttendanceTotals> attendanceTotals =
+                attendanceService.getAttendanceTotals(teamIds, startDate, endDate);
+
+        for (AttendanceTotals totals : attendanceTotals.values()) {
+            totalActualDays += totals.getDaysPresent();
+            totalLateDays += totals.getLateDays();
+            totalUndertimeDays += totals.getUndertimeDays();
+            totalHours += totals.getTotalHours();
+        }
 
-            double attendanceRate = totalPossibleDays > 0 ? (totalActualDays * 100.0) / totalPossibleDays : 0.0;
-            double avgHoursPerEmployee = teamMembers.size() > 0 ? totalHours / teamMembers.size() : 0.0;
-
-            summary.append("Total Working Days in Period: ").append(totalWorkingDays).append("\n");
-            summary.append("Team Attendance Rate: ").append(String.format("%.1f%%", attendanceRate)).append("\n");
-            summary.append("Total Days Present: ").append(totalActualDays).append(" / ").append(totalPossibleDays).append("\n");
-            summary.append("Total Late Instances: ").append(totalLateDays).append("\n");
-            summary.append("Total Undertime Instances: ").append(totalUndertimeDays).append("\n");
-            summary.append("Average Hours per Employee: ").append(String.format("%.2f", avgHoursPerEmployee)).append("\n\n");
-
-            // Leave utilization
-            summary.append("LEAVE UTILIZATION:\n");
-            summary.append("-".repeat(30)).append("\n");
-
-            int totalLeaveRequests = 0;
-            int approvedLeaves = 0;
-            long totalLeaveDays = 0;
-
-            for (Employee emp : teamMembers) {
-                List<LeaveRequest> empLeaves = leaveService.getLeaveRequestsByEmployee(emp.getId());
-
-                for (LeaveRequest leave : empLeaves) {
-                    if (!leave.getStartDateAsLocalDate().isBefore(startDate) &&
-                            !leave.getEndDateAsLocalDate().isAfter(endDate)) {
-                        totalLeaveRequests++;
-                        if (leave.isApproved()) {
-                            approvedLeaves++;
-                            totalLeaveDays += leave.getLeaveDays();
-                        }
+        double attendanceRate = totalPossibleDays > 0 ? (totalActualDays * 100.0) / totalPossibleDays : 0.0;
+        double avgHoursPerEmployee = teamMembers.size() > 0 ? totalHours / teamMembers.size() : 0.0;
+
+        summary.append("Total Working Days in Period: ").append(totalWorkingDays).append("\n");
+        summary.append("Team Attendance Rate: ").append(String.format("%.1f%%", attendanceRate)).append("\n");
+        summary.append("Total Days Present: ").append(totalActualDays).append(" / ").append(totalPossibleDays).append("\n");
+        summary.append("Total Late Instances: ").append(totalLateDays).append("\n");
+        summary.append("Total Undertime Instances: ").append(totalUndertimeDays).append("\n");
+        summary.append("Average Hours per Employee: ").append(String.format("%.2f", avgHoursPerEmployee)).append("\n");
+
+        // Weekday pattern of the whole team from the columnar store
+        AttendanceColumns.Scan pattern = new AttendanceColumns.Scan();
+        for (AttendanceColumns.Scan scan : attendanceService.getAttendancePatterns(teamIds, startDate, endDate).values()) {
+            pattern.add(scan);
+        }
+        int[] lateByWeekday = pattern.getLateByWeekday();
+        summary.append("Late Instances by Weekday:");
+        for (int day = 0; day < 5; day++) {
+            summary.append(" ").append(DayOfWeek.of(day + 1).getDisplayName(TextStyle.SHORT, Locale.ENGLISH))
+                    .append(" ").append(lateByWeekday[day]);
+        }
+        summary.append("\n\n");
+
+        // Leave utilization
+        summary.append("LEAVE UTILIZATION:\n");
+        summary.append("-".repeat(30)).append("\n");
+
+        int totalLeaveRequests = 0;
+        int approvedLeaves = 0;
+        long totalLeaveDays = 0;
+
+        for (Employee emp : teamMembers) {
+            List<LeaveRequest> empLeaves = leaveService.getLeaveRequestsByEmployee(emp.getId());
+
+            for (LeaveRequest leave : empLeaves) {
+                if (!leave.getStartDateAsLocalDate().isBefore(startDate) &&
+                        !leave.getEndDateAsLocalDate().isAfter(endDate)) {
+                    totalLeaveRequests++;
+                    if (leave.isApproved()) {
+                        approvedLeaves++;
+                        totalLeaveDays += leave.getLeaveDays();
                     }
                 }
             }
+        }
 
-            summary.append("Total Leave Requests: ").append(totalLeaveRequests).append("\n");
-            summary.append("Approved Leaves: ").append(approvedLeaves).append("\n");
-            summary.append("Total Leave Days Used: ").append(totalLeaveDays).append("\n");
-            summary.append("Average Leave Days per Employee: ")
-                    .append(teamMembers.size() > 0 ? String.format("%.1f", (double) totalLeaveDays / teamMembers.size()) : "0")
-                    .append("\n\n");
-
-            // Individual performance summary
-            summary.append("INDIVIDUAL PERFORMANCE:\n");
-            summary.append("-".repeat(30)).append("\n");
-            summary.append(String.format("%-25s %8s %8s %6s %6s\n", "Employee", "Present", "Hours", "Late", "Leave"));
-            summary.append("-".repeat(60)).append("\n");
-
-            for (Employee emp : teamMembers) {
-                List<Attendance> attendanceList = attendanceService.getAttendanceByEmployeeAndDateRange(
-                        emp.getId(), startDate, endDate);
-
-                int empDays = (int) attendanceList.stream().filter(att -> att.getLogIn() != null).count();
-                double empHours = attendanceList.stream().mapToDouble(Attendance::getWorkHours).sum();
-                int empLateDays = (int) attendanceList.stream().filter(Attendance::isLate).count();
-
-                List<LeaveRequest> empLeaves = leaveService.getApprovedLeavesByEmployeeAndDateRange(
-                        emp.getId(), startDate, endDate);
-                long empLeaveDays = empLeaves.stream().mapToLong(LeaveRequest::getLeaveDays).sum();
-
-                summary.append(String.format("%-25s %8d %8.1f %6d %6d\n",
-                        emp.getFullName().length() > 25 ? emp.getFullName().substring(0, 22) + "..." : emp.getFullName(),
-                        empDays, empHours, empLateDays, empLeaveDays));
-            }
+        summary.append("Total Leave Requests: ").append(totalLeaveRequests).append("\n");
+        summary.append("Approved Leaves: ").append(approvedLeaves).append("\n");
+        summary.append("Total Leave Days Used: ").append(totalLeaveDays).append("\n");
+        summary.append("Average Leave Days per Employee: ")
+                .append(teamMembers.size() > 0 ? String.format("%.1f", (double) totalLeaveDays / teamMembers.size()) : "0")
+                .append("\n\n");
 
-            performanceSummaryArea.setText(summary.toString());
-            performanceSummaryArea.setCaretPosition(0);
+        // Individual performance summary
+        summary.append("INDIVIDUAL PERFORMANCE:\n");
+        summary.append("-".repeat(30)).append("\n");
+        summary.append(String.format("%-25s %8s %8s %6s %6s\n", "Employee", "Present", "Hours", "Late", "Leave"));
+        summary.append("-".repeat(60)).append("\n");
 
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error generating performance summary", e);
-            JOptionPane.showMessageDialog(this,
-                    "Error generating performance summary: " + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
+        for (Employee emp : teamMembers) {
+            AttendanceTotals totals = attendanceTotals.get(emp.getId());
+            int empDays = totals.getDaysPresent();
+            double empHours = totals.getTotalHours();
+            int empLateDays = totals.getLateDays();
+
+            List<LeaveRequest> empLeaves = leaveService.getApprovedLeavesByEmployeeAndDateRange(
+                    emp.getId(), startDate, endDate);
+            long empLeaveDays = empLeaves.stream().mapToLong(LeaveRequest::getLeaveDays).sum();
+
+            summary.append(String.format("%-25s %8d %8.1f %6d %6d\n",
+                    emp.getFullName().length() > 25 ? emp.getFullName().substring(0, 22) + "..." : emp.getFullName(),
+                    empDays, empHours, empLateDays, empLeaveDays));
         }
+
+        return summary.toString();
     }
 
     private LocalDate[] getDateRangeForPeriod(String period) {
@@ -893,26 +957,8 @@ public class TeamManagementPanel extends JPanel {
     }
 
     private int getWorkingDaysBetween(LocalDate start, LocalDate end) {
-        // Simple calculation - excluding weekends
-        int workingDays = 0;
-        LocalDate current = start;
-
-        while (!current.isAfter(end)) {
-            if (current.getDayOfWeek().getValue() < 6) { // Monday to Friday
-                workingDays++;
-            }
-            current = current.plusDays(1);
-        }
-
-        return workingDays;
-    }
-
-    private Employee getEmployeeById(int employeeId) {
-        try {
-            return employeeService.getEmployeeById(employeeId);
-        } catch (Exception e) {
-            return null;
-        }
+        // Weekends and company holidays excluded
+        return WorkCalendar.current().workingDaysBetween(start, end);
     }
 
     /**
@@ -2,22 +2,54 @@ package model;
 
 import java.sql.Date;
 import java.sql.Time;
-import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
+/**
+ * One day of attendance. The date is kept as an epoch day and the log times as
+ * seconds of the day, so loading and totalling rows allocates nothing beyond
+ * the object itself; the java.sql getters and setters convert at the edges
+ * for the GUI and JDBC.
+ */
 public class Attendance extends BaseEntity {
+    /** Marks a missing date or log time */
+    public static final int NONE = -1;
+
+    /** Office hours in seconds after midnight: a later log in is late, an earlier log out undertime */
+    public static final int STANDARD_LOG_IN = 8 * 3600;
+    public static final int STANDARD_LOG_OUT = 17 * 3600;
+
     private int employeeId;
-    private Date date;
-    private Time logIn;
-    private Time logOut;
+    private long epochDay = NONE;
+    private int logInSecond = NONE;
+    private int logOutSecond = NONE;
 
     public Attendance() {}
 
     public Attendance(int employeeId, Date date, Time logIn, Time logOut) {
         this.employeeId = employeeId;
-        this.date = date;
-        this.logIn = logIn;
-        this.logOut = logOut;
+        this.epochDay = toEpochDay(date);
+        this.logInSecond = toSecondOfDay(logIn);
+        this.logOutSecond = toSecondOfDay(logOut);
+    }
+
+    private Attendance(int id, int employeeId, long epochDay, int logInSecond, int logOutSecond,
+                       LocalDateTime createdAt, LocalDateTime updatedAt) {
+        super(createdAt, updatedAt);
+        this.id = id;
+        this.employeeId = employeeId;
+        this.epochDay = epochDay;
+        this.logInSecond = logInSecond;
+        this.logOutSecond = logOutSecond;
+    }
+
+    /**
+     * A row as stored, with its own timestamps; nothing is validated or touched
+     */
+    public static Attendance loaded(int id, int employeeId, long epochDay, int logInSecond, int logOutSecond,
+                                    LocalDateTime createdAt, LocalDateTime updatedAt) {
+        return new Attendance(id, employeeId, epochDay, logInSecond, logOutSecond, createdAt, updatedAt);
     }
 
     // Getters and Setters
@@ -28,49 +60,82 @@ public class Attendance extends BaseEntity {
         touch();
     }
 
-    public Date getDate() { return date; }
+    public Date getDate() { return epochDay == NONE ? null : Date.valueOf(LocalDate.ofEpochDay(epochDay)); }
     public void setDate(Date date) {
         if (date == null) throw new IllegalArgumentException("Date cannot be null");
-        this.date = date;
+        this.epochDay = toEpochDay(date);
         touch();
     }
 
-    public Time getLogIn() { return logIn; }
-    public void setLogIn(Time logIn) { this.logIn = logIn; touch(); }
+    public Time getLogIn() { return logInSecond == NONE ? null : Time.valueOf(LocalTime.ofSecondOfDay(logInSecond)); }
+    public void setLogIn(Time logIn) { this.logInSecond = toSecondOfDay(logIn); touch(); }
 
-    public Time getLogOut() { return logOut; }
+    public Time getLogOut() { return logOutSecond == NONE ? null : Time.valueOf(LocalTime.ofSecondOfDay(logOutSecond)); }
     public void setLogOut(Time logOut) {
-        if (logIn != null && logOut != null && logOut.before(logIn)) {
+        int second = toSecondOfDay(logOut);
+        if (logInSecond != NONE && second != NONE && second < logInSecond) {
             throw new IllegalArgumentException("Log out cannot be before log in");
         }
-        this.logOut = logOut;
+        this.logOutSecond = second;
         touch();
     }
 
+    // Primitive accessors
+    public long getEpochDay() { return epochDay; }
+    public LocalDate getLocalDate() { return epochDay == NONE ? null : LocalDate.ofEpochDay(epochDay); }
+    /** Seconds after midnight at log in, NONE if not logged in */
+    public int getLogInSecond() { return logInSecond; }
+    /** Seconds after midnight at log out, NONE if not logged out */
+    public int getLogOutSecond() { return logOutSecond; }
+    public boolean hasLogIn() { return logInSecond != NONE; }
+    public boolean hasLogOut() { return logOutSecond != NONE; }
+
     // Utility methods
     public double getWorkHours() {
-        if (logIn == null || logOut == null) return 0.0;
-        Duration duration = Duration.between(logIn.toLocalTime(), logOut.toLocalTime());
-        return duration.toMinutes() / 60.0;
+        return getWorkMinutes() / 60.0;
     }
 
     public boolean isLate() {
-        if (logIn == null) return false;
-        return logIn.toLocalTime().isAfter(LocalTime.of(8, 0));
+        return logInSecond > STANDARD_LOG_IN;
     }
 
     public boolean hasUndertime() {
-        if (logOut == null) return false;
-        return logOut.toLocalTime().isBefore(LocalTime.of(17, 0));
+        return logOutSecond != NONE && logOutSecond < STANDARD_LOG_OUT;
+    }
+
+    /** Minutes worked between log in and log out, 0 while either is missing */
+    public long getWorkMinutes() {
+        if (logInSecond == NONE || logOutSecond == NONE) return 0;
+        return (logOutSecond - logInSecond) / 60;
+    }
+
+    /** Minutes past 08:00 at log in, 0 when on time */
+    public long getLateMinutes() {
+        if (!isLate()) return 0;
+        return (logInSecond - STANDARD_LOG_IN) / 60;
+    }
+
+    /** Minutes short of 17:00 at log out, 0 when not undertime */
+    public long getUndertimeMinutes() {
+        if (!hasUndertime()) return 0;
+        return (STANDARD_LOG_OUT - logOutSecond) / 60;
+    }
+
+    private static long toEpochDay(Date date) {
+        return date == null ? NONE : date.toLocalDate().toEpochDay();
+    }
+
+    private static int toSecondOfDay(Time time) {
+        return time == null ? NONE : time.toLocalTime().toSecondOfDay();
     }
 
     @Override
     public boolean isValid() {
-        return employeeId > 0 && date != null;
+        return employeeId > 0 && epochDay != NONE;
     }
 
     @Override
     public String getDisplayName() {
-        return "Attendance for Employee " + employeeId + " on " + date;
+        return "Attendance for Employee " + employeeId + " on " + getDate();
     }
 }
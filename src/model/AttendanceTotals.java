@@ -0,0 +1,84 @@
+package model;
+
+import java.util.Collection;
+
+/**
+ * Attendance figures summed over a set of days: days present, minutes worked,
+ * and late and undertime days with their minutes. Immutable; totals of
+ * adjacent ranges combine with {@link #plus}.
+ */
+public final class AttendanceTotals {
+    public static final AttendanceTotals EMPTY = new AttendanceTotals(0, 0, 0, 0, 0, 0);
+
+    private final int daysPresent;
+    private final long workMinutes;
+    private final int lateDays;
+    private final long lateMinutes;
+    private final int undertimeDays;
+    private final long undertimeMinutes;
+
+    public AttendanceTotals(int daysPresent, long workMinutes, int lateDays, long lateMinutes,
+                            int undertimeDays, long undertimeMinutes) {
+        this.daysPresent = daysPresent;
+        this.workMinutes = workMinutes;
+        this.lateDays = lateDays;
+        this.lateMinutes = lateMinutes;
+        this.undertimeDays = undertimeDays;
+        this.undertimeMinutes = undertimeMinutes;
+    }
+
+    /**
+     * Totals of the given records; only days with a log in count as present,
+     * matching the reports and payroll
+     */
+    public static AttendanceTotals of(Collection<Attendance> records) {
+        int days = 0;
+        long minutes = 0;
+        int late = 0;
+        long lateMins = 0;
+        int undertime = 0;
+        long undertimeMins = 0;
+        for (Attendance att : records) {
+            if (!att.hasLogIn()) {
+                continue;
+            }
+            days++;
+            minutes += att.getWorkMinutes();
+            if (att.isLate()) {
+                late++;
+                lateMins += att.getLateMinutes();
+            }
+            if (att.hasUndertime()) {
+                undertime++;
+                undertimeMins += att.getUndertimeMinutes();
+            }
+        }
+        return days == 0 ? EMPTY : new AttendanceTotals(days, minutes, late, lateMins, undertime, undertimeMins);
+    }
+
+    public AttendanceTotals plus(AttendanceTotals other) {
+        if (other == null || other == EMPTY) {
+            return this;
+        }
+        if (this == EMPTY) {
+            return other;
+        }
+        return new AttendanceTotals(daysPresent + other.daysPresent, workMinutes + other.workMinutes,
+                lateDays + other.lateDays, lateMinutes + other.lateMinutes,
+                undertimeDays + other.undertimeDays, undertimeMinutes + other.undertimeMinutes);
+    }
+
+    public int getDaysPresent() { return daysPresent; }
+    public long getWorkMinutes() { return workMinutes; }
+    public double getTotalHours() { return workMinutes / 60.0; }
+    public int getLateDays() { return lateDays; }
+    public long getLateMinutes() { return lateMinutes; }
+    public int getUndertimeDays() { return undertimeDays; }
+    public long getUndertimeMinutes() { return undertimeMinutes; }
+
+    @Override
+    public String toString() {
+        return "AttendanceTotals{days=" + daysPresent + ", minutes=" + workMinutes + ", late=" + lateDays +
+                ", undertime=" + undertimeDays + "}";
+    }
+}
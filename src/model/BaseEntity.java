@@ -13,6 +13,12 @@ public abstract class BaseEntity {
         this.updatedAt = LocalDateTime.now();
     }
 
+    /** For rows loaded from storage, which carry their own timestamps */
+    protected BaseEntity(LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Common getters/setters
     public int getId() { return id; }
     public void setId(int id) {
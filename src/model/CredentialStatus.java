@@ -0,0 +1,35 @@
+package model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Login account summary for one employee, as shown in user management.
+ * Timestamps are null when the employee has no credentials.
+ */
+public class CredentialStatus {
+    private final int employeeId;
+    private final String employeeName;
+    private final boolean hasCredentials;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public CredentialStatus(int employeeId, String employeeName, boolean hasCredentials,
+                            LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.hasCredentials = hasCredentials;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public int getEmployeeId() { return employeeId; }
+    public String getEmployeeName() { return employeeName; }
+    public boolean hasCredentials() { return hasCredentials; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    @Override
+    public String toString() {
+        return "CredentialStatus{employeeId=" + employeeId + ", hasCredentials=" + hasCredentials + "}";
+    }
+}
@@ -2,6 +2,7 @@ package model;
 
 import java.sql.Date;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 
 public class LeaveRequest extends BaseEntity {
@@ -112,12 +113,17 @@ public class LeaveRequest extends BaseEntity {
     }
 
     // Utility methods
+
+    /**
+     * Calendar days covered, both ends inclusive; payroll charges working days
+     * through {@code dao.WorkCalendar} instead
+     */
     public long getLeaveDays() {
         if (startDate == null || endDate == null) {
             return 0;
         }
-        long diffInMillis = endDate.getTime() - startDate.getTime();
-        return (diffInMillis / (1000 * 60 * 60 * 24)) + 1; // +1 to include both start and end dates
+        // Date arithmetic rather than milliseconds, which drift across DST changes
+        return ChronoUnit.DAYS.between(startDate.toLocalDate(), endDate.toLocalDate()) + 1;
     }
 
     public boolean isApproved() {
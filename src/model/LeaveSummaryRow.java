@@ -0,0 +1,37 @@
+package model;
+
+/**
+ * One group of the leave summary: an employee's requests of one type and status,
+ * with the number of requests and the calendar days they cover.
+ */
+public class LeaveSummaryRow {
+    private final int employeeId;
+    private final String employeeName;
+    private final String leaveType;
+    private final String status;
+    private final int requestCount;
+    private final long totalDays;
+
+    public LeaveSummaryRow(int employeeId, String employeeName, String leaveType, String status,
+                           int requestCount, long totalDays) {
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.leaveType = leaveType;
+        this.status = status;
+        this.requestCount = requestCount;
+        this.totalDays = totalDays;
+    }
+
+    public int getEmployeeId() { return employeeId; }
+    public String getEmployeeName() { return employeeName; }
+    public String getLeaveType() { return leaveType; }
+    public String getStatus() { return status; }
+    public int getRequestCount() { return requestCount; }
+    public long getTotalDays() { return totalDays; }
+
+    @Override
+    public String toString() {
+        return "LeaveSummaryRow{employeeId=" + employeeId + ", type=" + leaveType + ", status=" + status +
+                ", requests=" + requestCount + ", days=" + totalDays + "}";
+    }
+}
@@ -0,0 +1,102 @@
+package model;
+
+import java.time.YearMonth;
+
+/**
+ * An employee's figures for a closed month, frozen when the period was closed:
+ * attendance totals, unpaid leave days and every payroll line. Immutable, so
+ * it can be cached indefinitely; totals are derived the same way as a live
+ * payroll calculation.
+ */
+public final class MonthlySummary {
+    private final int employeeId;
+    private final YearMonth month;
+    private final AttendanceTotals attendance;
+    private final int unpaidLeaveDays;
+    private final int workingDays;
+
+    // Payroll lines
+    private final double monthlyRate;
+    private final double dailyRate;
+    private final double basicPay;
+    private final double riceSubsidy;
+    private final double phoneAllowance;
+    private final double clothingAllowance;
+    private final double lateDeduction;
+    private final double undertimeDeduction;
+    private final double unpaidLeaveDeduction;
+    private final double sss;
+    private final double philhealth;
+    private final double pagibig;
+    private final double tax;
+
+    public MonthlySummary(int employeeId, YearMonth month, AttendanceTotals attendance, int unpaidLeaveDays,
+                          int workingDays, double monthlyRate, double dailyRate, double basicPay,
+                          double riceSubsidy, double phoneAllowance, double clothingAllowance,
+                          double lateDeduction, double undertimeDeduction, double unpaidLeaveDeduction,
+                          double sss, double philhealth, double pagibig, double tax) {
+        if (employeeId <= 0 || month == null || attendance == null) {
+            throw new IllegalArgumentException("Employee, month and attendance are required");
+        }
+        this.employeeId = employeeId;
+        this.month = month;
+        this.attendance = attendance;
+        this.unpaidLeaveDays = unpaidLeaveDays;
+        this.workingDays = workingDays;
+        this.monthlyRate = monthlyRate;
+        this.dailyRate = dailyRate;
+        this.basicPay = basicPay;
+        this.riceSubsidy = riceSubsidy;
+        this.phoneAllowance = phoneAllowance;
+        this.clothingAllowance = clothingAllowance;
+        this.lateDeduction = lateDeduction;
+        this.undertimeDeduction = undertimeDeduction;
+        this.unpaidLeaveDeduction = unpaidLeaveDeduction;
+        this.sss = sss;
+        this.philhealth = philhealth;
+        this.pagibig = pagibig;
+        this.tax = tax;
+    }
+
+    public int getEmployeeId() { return employeeId; }
+    public YearMonth getMonth() { return month; }
+    public AttendanceTotals getAttendance() { return attendance; }
+    public int getUnpaidLeaveDays() { return unpaidLeaveDays; }
+    public int getWorkingDays() { return workingDays; }
+
+    public double getMonthlyRate() { return monthlyRate; }
+    public double getDailyRate() { return dailyRate; }
+    public double getBasicPay() { return basicPay; }
+    public double getRiceSubsidy() { return riceSubsidy; }
+    public double getPhoneAllowance() { return phoneAllowance; }
+    public double getClothingAllowance() { return clothingAllowance; }
+    public double getLateDeduction() { return lateDeduction; }
+    public double getUndertimeDeduction() { return undertimeDeduction; }
+    public double getUnpaidLeaveDeduction() { return unpaidLeaveDeduction; }
+    public double getSss() { return sss; }
+    public double getPhilhealth() { return philhealth; }
+    public double getPagibig() { return pagibig; }
+    public double getTax() { return tax; }
+
+    public double getTotalAllowances() {
+        return riceSubsidy + phoneAllowance + clothingAllowance;
+    }
+
+    public double getGrossPay() {
+        return basicPay + getTotalAllowances();
+    }
+
+    public double getTotalDeductions() {
+        return lateDeduction + undertimeDeduction + unpaidLeaveDeduction + sss + philhealth + pagibig + tax;
+    }
+
+    public double getNetPay() {
+        return getGrossPay() - getTotalDeductions();
+    }
+
+    @Override
+    public String toString() {
+        return "MonthlySummary{employeeId=" + employeeId + ", month=" + month + ", days=" +
+                attendance.getDaysPresent() + ", netPay=" + String.format("%.2f", getNetPay()) + "}";
+    }
+}
@@ -0,0 +1,57 @@
+package model;
+
+/**
+ * One direct report's standing on a given date: the employee, that day's
+ * attendance row (if any) and whether an approved leave covers the date.
+ */
+public class TeamMemberStatus {
+    public static final String STATUS_ON_LEAVE = "On Leave";
+    public static final String STATUS_ABSENT = "Absent";
+    public static final String STATUS_LATE = "Late";
+    public static final String STATUS_PRESENT = "Present";
+
+    private final Employee employee;
+    private final Attendance attendance;
+    private final String leaveType;
+
+    public TeamMemberStatus(Employee employee, Attendance attendance, String leaveType) {
+        if (employee == null) {
+            throw new IllegalArgumentException("Employee cannot be null");
+        }
+        this.employee = employee;
+        this.attendance = attendance;
+        this.leaveType = leaveType;
+    }
+
+    public Employee getEmployee() { return employee; }
+
+    /** Attendance for the date, or null when nothing was recorded */
+    public Attendance getAttendance() { return attendance; }
+
+    /** Type of the approved leave covering the date, or null */
+    public String getLeaveType() { return leaveType; }
+
+    public boolean isOnLeave() { return leaveType != null; }
+
+    public boolean hasLoggedIn() {
+        return attendance != null && attendance.hasLogIn();
+    }
+
+    /**
+     * Day status with leave taking precedence: On Leave, Absent, Late or Present
+     */
+    public String getStatus() {
+        if (isOnLeave()) {
+            return STATUS_ON_LEAVE;
+        }
+        if (!hasLoggedIn()) {
+            return STATUS_ABSENT;
+        }
+        return attendance.isLate() ? STATUS_LATE : STATUS_PRESENT;
+    }
+
+    @Override
+    public String toString() {
+        return "TeamMemberStatus{employeeId=" + employee.getId() + ", status=" + getStatus() + "}";
+    }
+}
@@ -0,0 +1,199 @@
+package service;
+
+import model.Attendance;
+import model.Employee;
+import model.LeaveRequest;
+import model.Position;
+import model.TeamMemberStatus;
+
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Non-blocking front for the services the GUI loads data through. Every call
+ * runs on a shared virtual-thread executor and returns a CompletableFuture, so
+ * panels never wait on the database from the event dispatch thread; completion
+ * back on the EDT is handled by {@code gui.SwingFutures}.
+ *
+ * At most {@code motorph.async.maxConcurrent} calls (default 8) touch the
+ * database at once, since the desktop client opens a connection per call.
+ * {@link #shutdown()} is called when the application exits.
+ */
+public class AsyncServices {
+    private static final Logger LOGGER = Logger.getLogger(AsyncServices.class.getName());
+
+    private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("motorph-async-", 0).factory());
+    private static final Semaphore PERMITS = new Semaphore(
+            Math.max(1, Integer.getInteger("motorph.async.maxConcurrent", 8)), true);
+
+    private final EmployeeService employeeService;
+    private final AttendanceService attendanceService;
+    private final LeaveRequestService leaveRequestService;
+    private final PayrollCalculator payrollCalculator;
+
+    public AsyncServices() {
+        this(new EmployeeService(), new AttendanceService(), new LeaveRequestService(), new PayrollCalculator());
+    }
+
+    public AsyncServices(EmployeeService employeeService, AttendanceService attendanceService,
+                         LeaveRequestService leaveRequestService, PayrollCalculator payrollCalculator) {
+        this.employeeService = employeeService;
+        this.attendanceService = attendanceService;
+        this.leaveRequestService = leaveRequestService;
+        this.payrollCalculator = payrollCalculator;
+    }
+
+    /**
+     * Run any blocking call on the shared executor; its exception completes the
+     * future exceptionally
+     */
+    public static <T> CompletableFuture<T> supply(Callable<T> call) {
+        if (call == null) {
+            throw new IllegalArgumentException("Call cannot be null");
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        EXECUTOR.execute(() -> {
+            if (future.isCancelled()) {
+                return;
+            }
+            try {
+                PERMITS.acquire();
+                try {
+                    future.complete(call.call());
+                } finally {
+                    PERMITS.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.completeExceptionally(e);
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Stop accepting work and give running calls a moment to finish
+     */
+    public static void shutdown() {
+        EXECUTOR.shutdown();
+        try {
+            if (!EXECUTOR.awaitTermination(5, TimeUnit.SECONDS)) {
+                LOGGER.warning("Background calls still running at shutdown");
+                EXECUTOR.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            EXECUTOR.shutdownNow();
+        }
+        LOGGER.log(Level.FINE, "Async service executor stopped");
+    }
+
+    // Employees
+
+    public CompletableFuture<List<Employee>> getAllEmployees() {
+        return supply(employeeService::getAllEmployees);
+    }
+
+    public CompletableFuture<Employee> getEmployeeById(int employeeId) {
+        return supply(() -> employeeService.getEmployeeById(employeeId));
+    }
+
+    public CompletableFuture<List<Employee>> getTeamMembers(int supervisorId) {
+        return supply(() -> employeeService.getTeamMembers(supervisorId));
+    }
+
+    public CompletableFuture<List<Position>> getAllPositions() {
+        return supply(employeeService::getAllPositions);
+    }
+
+    public CompletableFuture<Boolean> addEmployee(Employee employee, String password) {
+        return supply(() -> employeeService.addEmployee(employee, password));
+    }
+
+    public CompletableFuture<Boolean> updateEmployee(Employee employee) {
+        return supply(() -> employeeService.updateEmployee(employee));
+    }
+
+    public CompletableFuture<Boolean> deleteEmployee(int employeeId) {
+        return supply(() -> employeeService.deleteEmployee(employeeId));
+    }
+
+    // Attendance
+
+    public CompletableFuture<Boolean> recordLogIn(int employeeId, LocalDate date, Time logInTime) {
+        return supply(() -> attendanceService.recordLogIn(employeeId, date, logInTime));
+    }
+
+    public CompletableFuture<Boolean> recordLogOut(int employeeId, LocalDate date, Time logOutTime) {
+        return supply(() -> attendanceService.recordLogOut(employeeId, date, logOutTime));
+    }
+
+    public CompletableFuture<List<TeamMemberStatus>> getTeamStatus(int supervisorId, LocalDate date) {
+        return supply(() -> attendanceService.getTeamStatus(supervisorId, date));
+    }
+
+    public CompletableFuture<List<Attendance>> getAttendanceByEmployeeAndDateRange(int employeeId, LocalDate startDate,
+                                                                                 LocalDate endDate) {
+        return supply(() -> attendanceService.getAttendanceByEmployeeAndDateRange(employeeId, startDate, endDate));
+    }
+
+    public CompletableFuture<Attendance> getAttendanceByDate(int employeeId, LocalDate date) {
+        return supply(() -> attendanceService.getAttendanceByDate(employeeId, date));
+    }
+
+    public CompletableFuture<Boolean> updateAttendance(Attendance attendance) {
+        return supply(() -> attendanceService.updateAttendance(attendance));
+    }
+
+    public CompletableFuture<Boolean> deleteAttendance(int attendanceId) {
+        return supply(() -> attendanceService.deleteAttendance(attendanceId));
+    }
+
+    // Leave
+
+    public CompletableFuture<Boolean> submitLeaveRequest(int employeeId, String leaveType, LocalDate startDate,
+                                                         LocalDate endDate) {
+        return supply(() -> leaveRequestService.submitLeaveRequest(employeeId, leaveType, startDate, endDate));
+    }
+
+    public CompletableFuture<Boolean> processLeaveRequest(int leaveId, String status) {
+        return supply(() -> leaveRequestService.processLeaveRequest(leaveId, status));
+    }
+
+    public CompletableFuture<List<LeaveRequest>> getLeaveRequestsByEmployee(int employeeId) {
+        return supply(() -> leaveRequestService.getLeaveRequestsByEmployee(employeeId));
+    }
+
+    public CompletableFuture<List<LeaveRequest>> getLeaveRequestsByStatus(String status) {
+        return supply(() -> leaveRequestService.getLeaveRequestsByStatus(status));
+    }
+
+    public CompletableFuture<Boolean> deleteLeaveRequest(int leaveId) {
+        return supply(() -> leaveRequestService.deleteLeaveRequest(leaveId));
+    }
+
+    // Payroll
+
+    public CompletableFuture<PayrollCalculator.PayrollData> calculatePayroll(int employeeId, LocalDate periodStart,
+                                                                            LocalDate periodEnd) {
+        return supply(() -> payrollCalculator.calculatePayroll(employeeId, periodStart, periodEnd));
+    }
+
+    public CompletableFuture<List<PayrollCalculator.PayrollData>> calculatePayrollBatch(List<Integer> employeeIds,
+                                                                                       LocalDate periodStart,
+                                                                                       LocalDate periodEnd) {
+        return supply(() -> payrollCalculator.calculatePayrollBatch(employeeIds, periodStart, periodEnd));
+    }
+}
@@ -1,13 +1,25 @@
 package service;
 
-import dao.AttendanceDAO;
-import dao.EmployeeDAO;
+import dao.AttendanceColumns;
+import dao.AttendanceRepository;
+import dao.ClosedPeriods;
+import dao.EmployeeRepository;
+import dao.RepositoryFactory;
 import model.Attendance;
+import model.AttendanceTotals;
 import model.Employee;
+import model.MonthlySummary;
+import model.TeamMemberStatus;
+import util.UnitOfWork;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.sql.Date;
 import java.sql.Time;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -17,12 +29,12 @@ import java.util.logging.Level;
 public class AttendanceService {
     private static final Logger LOGGER = Logger.getLogger(AttendanceService.class.getName());
 
-     private final EmployeeDAO employeeDAO;
-    public dao.AttendanceDAO attendanceDAO;
+     private final EmployeeRepository employeeDAO;
+    public AttendanceRepository attendanceDAO;
 
     public AttendanceService() {
-        this.attendanceDAO = new AttendanceDAO();
-        this.employeeDAO = new EmployeeDAO();
+        this.attendanceDAO = RepositoryFactory.attendance();
+        this.employeeDAO = RepositoryFactory.employees();
     }
 
     /**
@@ -30,26 +42,28 @@ public class AttendanceService {
      */
     public boolean recordLogIn(int employeeId, LocalDate date, Time logInTime) {
         try {
-            // Validate employee exists
-            if (!employeeDAO.employeeExists(employeeId)) {
-                LOGGER.warning("Employee not found for log in: " + employeeId);
-                return false;
-            }
+            // Checks and insert run on one connection and commit together
+            boolean success = UnitOfWork.execute(() -> {
+                // Validate employee exists
+                if (!employeeDAO.employeeExists(employeeId)) {
+                    LOGGER.warning("Employee not found for log in: " + employeeId);
+                    return false;
+                }
 
-            // Check if attendance already exists for this date
-            if (attendanceDAO.attendanceExistsForDate(employeeId, date)) {
-                LOGGER.warning("Attendance already recorded for employee " + employeeId + " on " + date);
-                return false;
-            }
+                // Check if attendance already exists for this date
+                if (attendanceDAO.attendanceExistsForDate(employeeId, date)) {
+                    LOGGER.warning("Attendance already recorded for employee " + employeeId + " on " + date);
+                    return false;
+                }
 
-            // Create attendance record
-            Attendance attendance = new Attendance();
-            attendance.setEmployeeId(employeeId);
-            attendance.setDate(Date.valueOf(date));
-            attendance.setLogIn(logInTime);
+                // Create attendance record
+                Attendance attendance = new Attendance();
+                attendance.setEmployeeId(employeeId);
+                attendance.setDate(Date.valueOf(date));
+                attendance.setLogIn(logInTime);
 
-            int attendanceId = attendanceDAO.insertAttendance(attendance);
-            boolean success = attendanceId > 0;
+                return attendanceDAO.insertAttendance(attendance) > 0;
+            });
 
             if (success) {
                 LOGGER.info("Log in recorded for employee " + employeeId + " at " + logInTime);
@@ -68,17 +82,18 @@ public class AttendanceService {
      */
     public boolean recordLogOut(int employeeId, LocalDate date, Time logOutTime) {
         try {
-            // Get existing attendance record
-            Attendance attendance = attendanceDAO.getAttendanceByEmployeeAndDate(employeeId, date);
-            if (attendance == null) {
-                LOGGER.warning("No attendance record found for employee " + employeeId + " on " + date);
-                return false;
-            }
+            boolean success = UnitOfWork.execute(() -> {
+                // Get existing attendance record
+                Attendance attendance = attendanceDAO.getAttendanceByEmployeeAndDate(employeeId, date);
+                if (attendance == null) {
+                    LOGGER.warning("No attendance record found for employee " + employeeId + " on " + date);
+                    return false;
+                }
 
-            // Update with log out time
-            attendance.setLogOut(logOutTime);
-
-            boolean success = attendanceDAO.updateAttendance(attendance);
+                // Update with log out time
+                attendance.setLogOut(logOutTime);
+                return attendanceDAO.updateAttendance(attendance);
+            });
             if (success) {
                 LOGGER.info("Log out recorded for employee " + employeeId + " at " + logOutTime);
             }
@@ -91,6 +106,18 @@ public class AttendanceService {
         }
     }
 
+    /**
+     * Attendance and leave status of a supervisor's direct reports on a date, in one query
+     */
+    public List<TeamMemberStatus> getTeamStatus(int supervisorId, LocalDate date) {
+        try {
+            return attendanceDAO.getTeamStatusForDate(supervisorId, date);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving team status for supervisor: " + supervisorId, e);
+            return new ArrayList<>();
+        }
+    }
+
     /**
      * Get attendance records for employee
      */
@@ -115,6 +142,106 @@ public class AttendanceService {
         }
     }
 
+    /**
+     * Attendance totals for an employee in a date range; see the batch variant
+     */
+    public AttendanceTotals getAttendanceTotals(int employeeId, LocalDate startDate, LocalDate endDate) {
+        return getAttendanceTotals(Collections.singletonList(employeeId), startDate, endDate).get(employeeId);
+    }
+
+    /**
+     * Attendance totals per employee in a date range. Whole months that are
+     * closed come from their frozen summaries, other whole months from the
+     * monthly rollup, one query per run of months; only partial months at the
+     * edges read raw attendance rows.
+     * Every requested ID has an entry, EMPTY when nothing was recorded.
+     */
+    public Map<Integer, AttendanceTotals> getAttendanceTotals(List<Integer> employeeIds, LocalDate startDate,
+                                                              LocalDate endDate) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("Invalid date range: " + startDate + " to " + endDate);
+        }
+        Map<Integer, AttendanceTotals> totals = new LinkedHashMap<>();
+        for (Integer employeeId : employeeIds) {
+            totals.put(employeeId, AttendanceTotals.EMPTY);
+        }
+        if (totals.isEmpty()) {
+            return totals;
+        }
+
+        try {
+            YearMonth rollupFrom = null;
+            for (YearMonth month = YearMonth.from(startDate); !month.isAfter(YearMonth.from(endDate));
+                 month = month.plusMonths(1)) {
+                boolean wholeMonth = !startDate.isAfter(month.atDay(1)) && !endDate.isBefore(month.atEndOfMonth());
+                if (wholeMonth && !ClosedPeriods.isClosed(month)) {
+                    if (rollupFrom == null) {
+                        rollupFrom = month;
+                    }
+                    continue;
+                }
+                if (rollupFrom != null) {
+                    addTotals(totals, attendanceDAO.getMonthlyTotals(idsOf(totals), rollupFrom, month.minusMonths(1)));
+                    rollupFrom = null;
+                }
+                if (wholeMonth) {
+                    // Employees missing from a closed month had nothing to freeze
+                    Map<Integer, MonthlySummary> frozen = ClosedPeriods.summaries(month);
+                    for (Map.Entry<Integer, AttendanceTotals> entry : totals.entrySet()) {
+                        MonthlySummary summary = frozen.get(entry.getKey());
+                        if (summary != null) {
+                            entry.setValue(entry.getValue().plus(summary.getAttendance()));
+                        }
+                    }
+                } else {
+                    LocalDate from = month.atDay(1).isBefore(startDate) ? startDate : month.atDay(1);
+                    LocalDate to = month.atEndOfMonth().isAfter(endDate) ? endDate : month.atEndOfMonth();
+                    Map<Integer, List<Attendance>> records =
+                            attendanceDAO.getAttendanceByEmployeeIdsBetweenDates(idsOf(totals), from, to);
+                    for (Map.Entry<Integer, List<Attendance>> entry : records.entrySet()) {
+                        totals.computeIfPresent(entry.getKey(), (id, sum) -> sum.plus(AttendanceTotals.of(entry.getValue())));
+                    }
+                }
+            }
+            if (rollupFrom != null) {
+                addTotals(totals, attendanceDAO.getMonthlyTotals(idsOf(totals), rollupFrom, YearMonth.from(endDate)));
+            }
+            return totals;
+
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving attendance totals for " + employeeIds.size() + " employees", e);
+            throw new RuntimeException("Failed to retrieve attendance totals", e);
+        }
+    }
+
+    /**
+     * Late, hour and weekday counts per employee over any range, from the
+     * in-memory columnar store; for trends over months or years.
+     * Every requested ID has an entry.
+     */
+    public Map<Integer, AttendanceColumns.Scan> getAttendancePatterns(List<Integer> employeeIds, LocalDate startDate,
+                                                                     LocalDate endDate) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("Invalid date range: " + startDate + " to " + endDate);
+        }
+        try {
+            return AttendanceColumns.scan(employeeIds, startDate, endDate);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error scanning attendance patterns for " + employeeIds.size() + " employees", e);
+            throw new RuntimeException("Failed to retrieve attendance patterns", e);
+        }
+    }
+
+    private static List<Integer> idsOf(Map<Integer, AttendanceTotals> totals) {
+        return new ArrayList<>(totals.keySet());
+    }
+
+    private static void addTotals(Map<Integer, AttendanceTotals> totals, Map<Integer, AttendanceTotals> more) {
+        for (Map.Entry<Integer, AttendanceTotals> entry : more.entrySet()) {
+            totals.computeIfPresent(entry.getKey(), (id, sum) -> sum.plus(entry.getValue()));
+        }
+    }
+
     /**
      * Get attendance for specific date
      */
@@ -1,8 +1,12 @@
 package service;
 
-import dao.CredentialsDAO;
-import dao.EmployeeDAO;
+import dao.CredentialsRepository;
+import dao.RepositoryFactory;
+import model.CredentialStatus;
 import model.Employee;
+import util.SessionStore;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -12,36 +16,42 @@ import java.util.logging.Level;
 public class AuthenticationService {
     private static final Logger LOGGER = Logger.getLogger(AuthenticationService.class.getName());
 
-    private final CredentialsDAO credentialsDAO;
-    private final EmployeeDAO employeeDAO;
+    private final CredentialsRepository credentialsDAO;
 
     public AuthenticationService() {
-        this.credentialsDAO = new CredentialsDAO();
-        this.employeeDAO = new EmployeeDAO();
+        this.credentialsDAO = RepositoryFactory.credentials();
     }
 
     /**
-     * Authenticate user credentials
+     * Authenticate user credentials and start a session
      */
     public AuthenticationResult authenticate(int employeeId, String password) {
+        return authenticate(employeeId, password, true);
+    }
+
+    /**
+     * Authenticate user credentials without starting a session, for callers that
+     * send their password with every request (HTTP Basic)
+     */
+    public AuthenticationResult verifyCredentials(int employeeId, String password) {
+        return authenticate(employeeId, password, false);
+    }
+
+    private AuthenticationResult authenticate(int employeeId, String password, boolean startSession) {
         try {
             if (employeeId <= 0 || password == null || password.trim().isEmpty()) {
                 return new AuthenticationResult(false, "Invalid credentials provided");
             }
 
-            // Check credentials
-            boolean isValid = credentialsDAO.authenticateUser(employeeId, password);
-
-            if (isValid) {
-                // Get employee details
-                Employee employee = employeeDAO.getEmployeeById(employeeId);
-                if (employee != null) {
-                    LOGGER.info("Authentication successful for employee: " + employeeId);
-                    return new AuthenticationResult(true, "Authentication successful", employee);
-                } else {
-                    LOGGER.warning("Employee not found after successful authentication: " + employeeId);
-                    return new AuthenticationResult(false, "Employee record not found");
-                }
+            // Check credentials and load the profile and credentials stamp in one statement
+            CredentialsRepository.Login login = credentialsDAO.authenticateAndLoadEmployee(employeeId, password);
+
+            if (login != null) {
+                Employee employee = login.getEmployee();
+                LOGGER.info("Authentication successful for employee: " + employeeId);
+                String token = startSession
+                        ? SessionStore.getInstance().create(employee, login.getCredentialsUpdatedAt()) : null;
+                return new AuthenticationResult(true, "Authentication successful", employee, token);
             } else {
                 LOGGER.warning("Authentication failed for employee: " + employeeId);
                 return new AuthenticationResult(false, "Invalid employee ID or password");
@@ -53,6 +63,31 @@ public class AuthenticationService {
         }
     }
 
+    /**
+     * Re-authenticate with a session token from an earlier {@link #authenticate}.
+     * Checked in memory, plus a look at the credentials' updated_at at most once per
+     * recheck interval so password changes made by other processes end the session.
+     */
+    public AuthenticationResult authenticateSession(String token) {
+        try {
+            Employee employee = SessionStore.getInstance().validate(token, credentialsDAO::getCredentialsUpdatedAt);
+            if (employee == null) {
+                return new AuthenticationResult(false, "Session expired or invalid");
+            }
+            return new AuthenticationResult(true, "Session valid", employee, token);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Session validation error", e);
+            return new AuthenticationResult(false, "Authentication system error");
+        }
+    }
+
+    /**
+     * End a session
+     */
+    public boolean logout(String token) {
+        return SessionStore.getInstance().revoke(token);
+    }
+
     /**
      * Change password for an employee
      */
@@ -84,6 +119,18 @@ public class AuthenticationService {
         }
     }
 
+    /**
+     * Credential presence and timestamps for every employee, in one query
+     */
+    public List<CredentialStatus> getCredentialStatuses() {
+        try {
+            return credentialsDAO.getCredentialStatusForAllEmployees();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving credential status", e);
+            return new ArrayList<>();
+        }
+    }
+
     /**
      * Authentication result container
      */
@@ -91,19 +138,27 @@ public class AuthenticationService {
         private final boolean successful;
         private final String message;
         private final Employee employee;
+        private final String sessionToken;
 
         public AuthenticationResult(boolean successful, String message) {
             this(successful, message, null);
         }
 
         public AuthenticationResult(boolean successful, String message, Employee employee) {
+            this(successful, message, employee, null);
+        }
+
+        public AuthenticationResult(boolean successful, String message, Employee employee, String sessionToken) {
             this.successful = successful;
             this.message = message;
             this.employee = employee;
+            this.sessionToken = sessionToken;
         }
 
         public boolean isSuccessful() { return successful; }
         public String getMessage() { return message; }
         public Employee getEmployee() { return employee; }
+        /** Token for {@link AuthenticationService#authenticateSession}, null when unsuccessful */
+        public String getSessionToken() { return sessionToken; }
     }
 }
\ No newline at end of file
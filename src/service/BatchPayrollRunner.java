@@ -0,0 +1,502 @@
+package service;
+
+import dao.EmployeeRepository;
+import dao.InMemoryDataStore;
+import dao.RepositoryFactory;
+import dao.SchemaMigrator;
+import model.Employee;
+import service.PayrollCalculator.PayrollData;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Command-line payroll run for scheduled month-end processing. Never touches Swing/AWT.
+ *
+ * <pre>
+ * java -cp "MotorPH.jar:lib/*" service.BatchPayrollRunner --period 2024-06 --payslips --summary
+ * </pre>
+ *
+ * Exit codes: 0 all employees processed, 1 some employees failed,
+ * 2 invalid arguments, 3 the run could not start (database, JasperReports).
+ */
+public class BatchPayrollRunner {
+    private static final Logger LOGGER = Logger.getLogger(BatchPayrollRunner.class.getName());
+
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_PARTIAL_FAILURE = 1;
+    public static final int EXIT_USAGE = 2;
+    public static final int EXIT_FATAL = 3;
+
+    /** Employees per batch query; keeps IN lists bounded and gives the worker pool something to share */
+    private static final int CHUNK_SIZE = 100;
+
+    private static final String USAGE = String.join("\n",
+            "Usage: BatchPayrollRunner (--period YYYY-MM | --from YYYY-MM-DD --to YYYY-MM-DD) [options]",
+            "  --employees ID,ID,...   only these employees (default: all)",
+            "  --status STATUS         only employees with this status, e.g. Regular",
+            "  --payslips              generate a payslip per employee",
+            "  --format pdf|xlsx       payslip format (default pdf)",
+            "  --summary               write payroll_summary_<period>.csv",
+            "  --output-dir DIR        where payslips and the summary go (default ./payroll-output)",
+            "  --parallelism N         worker threads (default: available processors)",
+            "  --close                 close the --period month once every employee succeeded",
+            "  --help                  show this message");
+
+    private final Options options;
+    private final EmployeeRepository employeeDAO;
+    private final PayrollCalculator payrollCalculator;
+
+    public BatchPayrollRunner(Options options) {
+        this.options = options;
+        this.employeeDAO = RepositoryFactory.employees();
+        this.payrollCalculator = new PayrollCalculator();
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        System.exit(execute(args));
+    }
+
+    /**
+     * Parse arguments, run and return the exit code (main without System.exit)
+     */
+    public static int execute(String[] args) {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return EXIT_USAGE;
+        }
+        if (options.help) {
+            System.out.println(USAGE);
+            return EXIT_OK;
+        }
+
+        if (RepositoryFactory.isInMemory() && InMemoryDataStore.getInstance().isEmpty()) {
+            int employees = Integer.getInteger("motorph.memory.employees", 200);
+            InMemoryDataStore.getInstance().loadSampleData(employees,
+                    options.periodStart.minusMonths(1).withDayOfMonth(1), options.periodEnd);
+        }
+
+        try {
+            if (!RepositoryFactory.isInMemory()) {
+                SchemaMigrator.migrate();
+            }
+            RunResult result = new BatchPayrollRunner(options).run();
+            System.out.println(result.describe());
+            if (result.getFailed() != 0) {
+                return EXIT_PARTIAL_FAILURE;
+            }
+            if (options.close) {
+                YearMonth month = YearMonth.from(options.periodStart);
+                boolean closed = new PeriodCloseService().closeMonth(month);
+                System.out.println(closed ? "Closed period " + month : "Period " + month + " was already closed");
+            }
+            return EXIT_OK;
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Batch payroll run failed", e);
+            System.err.println("Payroll run failed: " + e.getMessage());
+            return EXIT_FATAL;
+        }
+    }
+
+    /**
+     * Calculate payroll (and optional payslips/summary) for the selected employees
+     */
+    public RunResult run() throws Exception {
+        long started = System.nanoTime();
+        List<Integer> missing = new ArrayList<>();
+        Map<Integer, Employee> employees = selectEmployees(missing);
+        List<Integer> ids = new ArrayList<>(employees.keySet());
+        LOGGER.info(String.format("Running payroll %s to %s for %d employees with %d threads",
+                options.periodStart, options.periodEnd, ids.size(), options.parallelism));
+
+        JasperPayslipService payslipService = options.payslips ? new JasperPayslipService() : null;
+        File outputDir = new File(options.outputDir);
+        if ((options.payslips || options.summary) && !outputDir.isDirectory() && !outputDir.mkdirs()) {
+            throw new IOException("Failed to create output directory: " + outputDir.getAbsolutePath());
+        }
+
+        List<EmployeeResult> results = new ArrayList<>(ids.size());
+        ExecutorService workers = Executors.newFixedThreadPool(options.parallelism);
+        try {
+            List<Future<List<EmployeeResult>>> chunks = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+                chunks.add(workers.submit(() -> processChunk(chunk, employees, payslipService, outputDir)));
+            }
+            for (Future<List<EmployeeResult>> chunk : chunks) {
+                try {
+                    results.addAll(chunk.get());
+                } catch (ExecutionException e) {
+                    throw new Exception("Payroll worker failed: " + e.getCause().getMessage(), e.getCause());
+                }
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        File summaryFile = null;
+        if (options.summary) {
+            summaryFile = new File(outputDir, "payroll_summary_" + options.periodLabel() + ".csv");
+            writeSummary(summaryFile, results);
+        }
+        return new RunResult(results, missing, summaryFile, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private Map<Integer, Employee> selectEmployees(List<Integer> missing) {
+        List<Employee> selected;
+        if (options.employeeIds != null) {
+            selected = employeeDAO.getEmployeesByIds(options.employeeIds);
+        } else if (options.status != null) {
+            selected = employeeDAO.getEmployeesByStatus(options.status);
+        } else {
+            selected = employeeDAO.getAllEmployees();
+        }
+        Map<Integer, Employee> byId = new LinkedHashMap<>();
+        for (Employee employee : selected) {
+            byId.put(employee.getId(), employee);
+        }
+        if (options.employeeIds != null) {
+            for (Integer id : options.employeeIds) {
+                if (!byId.containsKey(id)) {
+                    LOGGER.warning("Employee not found: " + id);
+                    missing.add(id);
+                }
+            }
+        }
+        return byId;
+    }
+
+    private List<EmployeeResult> processChunk(List<Integer> ids, Map<Integer, Employee> employees,
+                                              JasperPayslipService payslipService, File outputDir) {
+        Map<Integer, PayrollData> calculated = new LinkedHashMap<>();
+        try {
+            for (PayrollData data : payrollCalculator.calculatePayrollBatch(ids, options.periodStart, options.periodEnd)) {
+                calculated.put(data.getEmployeeId(), data);
+            }
+        } catch (PayrollCalculator.PayrollCalculationException e) {
+            LOGGER.log(Level.WARNING, "Batch calculation failed, retrying employees one at a time", e);
+            for (Integer id : ids) {
+                try {
+                    calculated.put(id, payrollCalculator.calculatePayroll(id, options.periodStart, options.periodEnd));
+                } catch (PayrollCalculator.PayrollCalculationException single) {
+                    LOGGER.warning("Payroll failed for employee " + id + ": " + single.getMessage());
+                }
+            }
+        }
+
+        List<EmployeeResult> results = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Employee employee = employees.get(id);
+            PayrollData data = calculated.get(id);
+            if (data == null) {
+                results.add(new EmployeeResult(employee, null, null, "Payroll calculation failed"));
+                continue;
+            }
+            File payslip = null;
+            String error = null;
+            if (payslipService != null) {
+                try {
+                    // Render from the payroll just calculated, so the payslip matches the summary row
+                    payslip = payslipService.generatePayslipToFile(employee, data, options.format, outputDir.getPath());
+                } catch (JasperPayslipService.JasperReportException e) {
+                    error = "Payslip failed: " + e.getMessage();
+                    LOGGER.warning("Payslip failed for employee " + id + ": " + e.getMessage());
+                }
+            }
+            results.add(new EmployeeResult(employee, data, payslip, error));
+        }
+        return results;
+    }
+
+    private void writeSummary(File file, List<EmployeeResult> results) throws IOException {
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write("Employee ID,Employee Name,Position,Days Worked,Basic Pay,Allowances,Gross Pay," +
+                    "Deductions,Net Pay,Status,Payslip\n");
+            for (EmployeeResult r : results) {
+                PayrollData d = r.getPayroll();
+                String[] row = {
+                        String.valueOf(r.getEmployee().getId()),
+                        r.getEmployee().getFullName(),
+                        r.getEmployee().getPosition(),
+                        d != null ? String.valueOf(d.getDaysWorked()) : "",
+                        d != null ? String.format("%.2f", d.getBasicPay()) : "",
+                        d != null ? String.format("%.2f", d.getTotalAllowances()) : "",
+                        d != null ? String.format("%.2f", d.getGrossPay()) : "",
+                        d != null ? String.format("%.2f", d.getTotalDeductions()) : "",
+                        d != null ? String.format("%.2f", d.getNetPay()) : "",
+                        r.isSuccess() ? "Success" : "Error: " + r.getError(),
+                        r.getPayslip() != null ? r.getPayslip().getName() : ""
+                };
+                for (int i = 0; i < row.length; i++) {
+                    String value = row[i] != null ? row[i] : "";
+                    // Escape commas and quotes
+                    if (value.contains(",") || value.contains("\"")) {
+                        value = "\"" + value.replace("\"", "\"\"") + "\"";
+                    }
+                    writer.write(value);
+                    writer.write(i < row.length - 1 ? "," : "\n");
+                }
+            }
+        }
+        LOGGER.info("Payroll summary saved: " + file.getAbsolutePath());
+    }
+
+    /**
+     * Parsed command-line options
+     */
+    public static class Options {
+        private LocalDate periodStart;
+        private LocalDate periodEnd;
+        private List<Integer> employeeIds;
+        private String status;
+        private boolean payslips;
+        private boolean summary;
+        private JasperPayslipService.ExportFormat format = JasperPayslipService.ExportFormat.PDF;
+        private String outputDir = "payroll-output";
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private boolean close;
+        private boolean help;
+
+        public static Options parse(String[] args) {
+            Options o = new Options();
+            LocalDate from = null;
+            LocalDate to = null;
+            YearMonth period = null;
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                switch (arg) {
+                    case "--help":
+                    case "-h":
+                        o.help = true;
+                        return o;
+                    case "--period":
+                        period = parseMonth(value(args, ++i, arg));
+                        break;
+                    case "--from":
+                        from = parseDate(value(args, ++i, arg));
+                        break;
+                    case "--to":
+                        to = parseDate(value(args, ++i, arg));
+                        break;
+                    case "--employees":
+                        o.employeeIds = parseIds(value(args, ++i, arg));
+                        break;
+                    case "--status":
+                        o.status = value(args, ++i, arg);
+                        break;
+                    case "--payslips":
+                        o.payslips = true;
+                        break;
+                    case "--summary":
+                        o.summary = true;
+                        break;
+                    case "--format":
+                        o.format = parseFormat(value(args, ++i, arg));
+                        break;
+                    case "--output-dir":
+                        o.outputDir = value(args, ++i, arg);
+                        break;
+                    case "--parallelism":
+                        o.parallelism = parsePositive(value(args, ++i, arg), arg);
+                        break;
+                    case "--close":
+                        o.close = true;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+
+            if (period != null && (from != null || to != null)) {
+                throw new IllegalArgumentException("Use either --period or --from/--to, not both");
+            }
+            if (period != null) {
+                o.periodStart = period.atDay(1);
+                o.periodEnd = period.atEndOfMonth();
+            } else if (from != null && to != null) {
+                if (to.isBefore(from)) {
+                    throw new IllegalArgumentException("--to cannot be before --from");
+                }
+                o.periodStart = from;
+                o.periodEnd = to;
+            } else {
+                throw new IllegalArgumentException("A payroll period is required (--period or --from/--to)");
+            }
+            if (o.employeeIds != null && o.status != null) {
+                throw new IllegalArgumentException("Use either --employees or --status, not both");
+            }
+            if (o.close && (period == null || o.employeeIds != null || o.status != null)) {
+                throw new IllegalArgumentException("--close needs --period and every employee");
+            }
+            return o;
+        }
+
+        private static String value(String[] args, int index, String option) {
+            if (index >= args.length || args[index].startsWith("--")) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            return args[index];
+        }
+
+        private static YearMonth parseMonth(String text) {
+            try {
+                return YearMonth.parse(text);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid period (expected YYYY-MM): " + text);
+            }
+        }
+
+        private static LocalDate parseDate(String text) {
+            try {
+                return LocalDate.parse(text);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid date (expected YYYY-MM-DD): " + text);
+            }
+        }
+
+        private static List<Integer> parseIds(String text) {
+            List<Integer> ids = new ArrayList<>();
+            for (String part : text.split(",")) {
+                if (!part.isBlank()) {
+                    ids.add(parsePositive(part.trim(), "--employees"));
+                }
+            }
+            if (ids.isEmpty()) {
+                throw new IllegalArgumentException("--employees needs at least one ID");
+            }
+            return ids;
+        }
+
+        private static int parsePositive(String text, String option) {
+            try {
+                int value = Integer.parseInt(text);
+                if (value <= 0) {
+                    throw new NumberFormatException();
+                }
+                return value;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value for " + option + ": " + text);
+            }
+        }
+
+        private static JasperPayslipService.ExportFormat parseFormat(String text) {
+            for (JasperPayslipService.ExportFormat format : JasperPayslipService.ExportFormat.values()) {
+                if (format.getExtension().equalsIgnoreCase(text) || format.name().equalsIgnoreCase(text)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unknown format: " + text);
+        }
+
+        String periodLabel() {
+            YearMonth month = YearMonth.from(periodStart);
+            if (periodStart.equals(month.atDay(1)) && periodEnd.equals(month.atEndOfMonth())) {
+                return month.format(DateTimeFormatter.ofPattern("yyyy_MM"));
+            }
+            return periodStart.format(DateTimeFormatter.BASIC_ISO_DATE) + "_" + periodEnd.format(DateTimeFormatter.BASIC_ISO_DATE);
+        }
+
+        public LocalDate getPeriodStart() { return periodStart; }
+        public LocalDate getPeriodEnd() { return periodEnd; }
+        public List<Integer> getEmployeeIds() { return employeeIds; }
+        public String getStatus() { return status; }
+        public boolean isPayslips() { return payslips; }
+        public boolean isSummary() { return summary; }
+        public JasperPayslipService.ExportFormat getFormat() { return format; }
+        public String getOutputDir() { return outputDir; }
+        public int getParallelism() { return parallelism; }
+        public boolean isClose() { return close; }
+    }
+
+    /**
+     * Outcome for one employee
+     */
+    public static class EmployeeResult {
+        private final Employee employee;
+        private final PayrollData payroll;
+        private final File payslip;
+        private final String error;
+
+        EmployeeResult(Employee employee, PayrollData payroll, File payslip, String error) {
+            this.employee = employee;
+            this.payroll = payroll;
+            this.payslip = payslip;
+            this.error = error;
+        }
+
+        public Employee getEmployee() { return employee; }
+        public PayrollData getPayroll() { return payroll; }
+        public File getPayslip() { return payslip; }
+        public String getError() { return error; }
+        public boolean isSuccess() { return error == null; }
+    }
+
+    /**
+     * Outcome of a whole run
+     */
+    public static class RunResult {
+        private final List<EmployeeResult> results;
+        private final List<Integer> missingEmployeeIds;
+        private final File summaryFile;
+        private final long elapsedMillis;
+
+        RunResult(List<EmployeeResult> results, List<Integer> missingEmployeeIds, File summaryFile, long elapsedMillis) {
+            this.results = results;
+            this.missingEmployeeIds = missingEmployeeIds;
+            this.summaryFile = summaryFile;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public List<EmployeeResult> getResults() { return results; }
+        public List<Integer> getMissingEmployeeIds() { return missingEmployeeIds; }
+        public File getSummaryFile() { return summaryFile; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        /** Employees that failed plus requested IDs that do not exist */
+        public int getFailed() {
+            int failed = missingEmployeeIds.size();
+            for (EmployeeResult r : results) {
+                if (!r.isSuccess()) {
+                    failed++;
+                }
+            }
+            return failed;
+        }
+
+        public double getTotalNetPay() {
+            double total = 0;
+            for (EmployeeResult r : results) {
+                if (r.getPayroll() != null) {
+                    total += r.getPayroll().getNetPay();
+                }
+            }
+            return total;
+        }
+
+        String describe() {
+            return String.format("Processed %d employees (%d failed) in %d ms, total net pay %,.2f%s",
+                    results.size(), getFailed(), elapsedMillis, getTotalNetPay(),
+                    summaryFile != null ? ", summary: " + summaryFile.getPath() : "");
+        }
+    }
+}
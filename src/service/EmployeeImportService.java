@@ -0,0 +1,338 @@
+package service;
+
+import dao.EmployeeRepository;
+import dao.PositionRepository;
+import dao.RepositoryFactory;
+import model.Employee;
+import model.Position;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bulk onboarding of many employees at once.
+ *
+ * Positions, existing employee IDs and supervisor names are loaded once into
+ * maps, every row is validated in memory, and accepted rows are written in
+ * chunks: each chunk is one transaction holding a batch of employee inserts and
+ * a batch of credential inserts. If the database rejects a chunk (for example a
+ * duplicate SSS number) the chunk is retried row by row so only the offending
+ * rows are reported. Supervisors may be employees earlier in the same import.
+ */
+public class EmployeeImportService {
+    private static final Logger LOGGER = Logger.getLogger(EmployeeImportService.class.getName());
+
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private static final Set<String> STATUSES = Set.of("Regular", "Probationary");
+
+    private final EmployeeRepository employeeDAO;
+    private final PositionRepository positionDAO;
+
+    public EmployeeImportService() {
+        this.employeeDAO = RepositoryFactory.employees();
+        this.positionDAO = RepositoryFactory.positions();
+    }
+
+    public ImportResult importEmployees(List<ImportRow> rows) {
+        return importEmployees(rows, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Validate and insert the rows; rejected rows are reported, never thrown
+     */
+    public ImportResult importEmployees(List<ImportRow> rows, int chunkSize) {
+        if (rows == null) {
+            throw new IllegalArgumentException("Import rows cannot be null");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        long started = System.nanoTime();
+
+        // Reference data, one query each
+        Map<Integer, Integer> positionIds = new HashMap<>();
+        Map<String, Integer> positionsByTitle = new HashMap<>();
+        for (Position p : positionDAO.getAllPositions()) {
+            positionIds.put(p.getPositionId(), p.getPositionId());
+            positionsByTitle.put(normalize(p.getPositionName()), p.getPositionId());
+        }
+        Set<Integer> takenIds = new HashSet<>(employeeDAO.getSupervisorLinks().keySet());
+        Map<String, Integer> idsByName = new HashMap<>(employeeDAO.getEmployeeIdsByFullName());
+
+        List<Reject> rejects = new ArrayList<>();
+        List<Pending> accepted = new ArrayList<>(rows.size());
+        Set<String> governmentNumbers = new HashSet<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            int rowNumber = i + 1;
+            ImportRow row = rows.get(i);
+            Employee e = row != null ? row.getEmployee() : null;
+            String problem = validate(e, takenIds, positionIds, positionsByTitle, idsByName, governmentNumbers);
+            if (problem != null) {
+                rejects.add(new Reject(rowNumber, e != null ? e.getId() : 0, problem));
+                continue;
+            }
+
+            Employee toInsert = copyForInsert(e, resolvePosition(e, positionIds, positionsByTitle));
+            Integer supervisorId = isBlank(e.getImmediateSupervisor())
+                    ? null : idsByName.get(normalize(e.getImmediateSupervisor()));
+            accepted.add(new Pending(rowNumber, toInsert, supervisorId, row.getPassword()));
+
+            takenIds.add(e.getId());
+            idsByName.putIfAbsent(normalize(e.getLastName().trim() + ", " + e.getFirstName().trim()), e.getId());
+            addGovernmentNumbers(e, governmentNumbers);
+        }
+
+        int imported = 0;
+        for (int from = 0; from < accepted.size(); from += chunkSize) {
+            imported += insertChunk(accepted.subList(from, Math.min(from + chunkSize, accepted.size())), rejects);
+        }
+
+        rejects.sort((a, b) -> Integer.compare(a.getRowNumber(), b.getRowNumber()));
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        LOGGER.info(String.format("Imported %d of %d employees in %d ms, %d rejected",
+                imported, rows.size(), elapsedMillis, rejects.size()));
+        return new ImportResult(rows.size(), imported, rejects, elapsedMillis);
+    }
+
+    /**
+     * The reason a row can't be imported, or null when it is fine
+     */
+    private String validate(Employee e, Set<Integer> takenIds, Map<Integer, Integer> positionIds,
+                            Map<String, Integer> positionsByTitle, Map<String, Integer> idsByName,
+                            Set<String> governmentNumbers) {
+        if (e == null) {
+            return "Missing employee data";
+        }
+        if (e.getId() <= 0) {
+            return "Employee ID must be positive";
+        }
+        if (!e.isValid()) {
+            return "First and last name are required";
+        }
+        if (takenIds.contains(e.getId())) {
+            return "Employee ID " + e.getId() + " already exists";
+        }
+        if (e.getStatus() != null && !e.getStatus().trim().isEmpty() && !STATUSES.contains(e.getStatus().trim())) {
+            return "Status must be either 'Regular' or 'Probationary'";
+        }
+        if (resolvePosition(e, positionIds, positionsByTitle) == null) {
+            return "Unknown position: " + e.getPosition();
+        }
+        if (!isBlank(e.getImmediateSupervisor()) && !idsByName.containsKey(normalize(e.getImmediateSupervisor()))) {
+            return "Unknown supervisor: " + e.getImmediateSupervisor();
+        }
+        for (String number : governmentNumbersOf(e)) {
+            if (governmentNumbers.contains(number)) {
+                return "Duplicate government number in import: " + number.substring(number.indexOf(':') + 1);
+            }
+        }
+        return null;
+    }
+
+    private Integer resolvePosition(Employee e, Map<Integer, Integer> positionIds, Map<String, Integer> positionsByTitle) {
+        if (e.getPositionId() > 0 && positionIds.containsKey(e.getPositionId())) {
+            return e.getPositionId();
+        }
+        return isBlank(e.getPosition()) ? null : positionsByTitle.get(normalize(e.getPosition()));
+    }
+
+    /**
+     * Insert one chunk in a single transaction; if it is rolled back, retry each
+     * row on its own to find the ones the database refuses
+     */
+    private int insertChunk(List<Pending> chunk, List<Reject> rejects) {
+        try {
+            return employeeDAO.insertEmployeesBatch(employeesOf(chunk), supervisorsOf(chunk), passwordsOf(chunk));
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Import chunk of " + chunk.size() + " rows rejected, retrying row by row", e);
+        }
+
+        int inserted = 0;
+        for (Pending pending : chunk) {
+            List<Pending> single = Collections.singletonList(pending);
+            try {
+                inserted += employeeDAO.insertEmployeesBatch(employeesOf(single), supervisorsOf(single), passwordsOf(single));
+            } catch (RuntimeException e) {
+                rejects.add(new Reject(pending.rowNumber, pending.employee.getId(), rootMessage(e)));
+            }
+        }
+        return inserted;
+    }
+
+    private static List<Employee> employeesOf(List<Pending> chunk) {
+        List<Employee> employees = new ArrayList<>(chunk.size());
+        for (Pending p : chunk) {
+            employees.add(p.employee);
+        }
+        return employees;
+    }
+
+    private static Map<Integer, Integer> supervisorsOf(List<Pending> chunk) {
+        Map<Integer, Integer> supervisors = new HashMap<>();
+        for (Pending p : chunk) {
+            if (p.supervisorId != null) {
+                supervisors.put(p.employee.getId(), p.supervisorId);
+            }
+        }
+        return supervisors;
+    }
+
+    private static Map<Integer, String> passwordsOf(List<Pending> chunk) {
+        Map<Integer, String> passwords = new HashMap<>();
+        for (Pending p : chunk) {
+            if (!isBlank(p.password)) {
+                passwords.put(p.employee.getId(), p.password);
+            }
+        }
+        return passwords;
+    }
+
+    private static Employee copyForInsert(Employee source, int positionId) {
+        Employee e = new Employee(source.getId(), source.getFirstName().trim(), source.getLastName().trim());
+        e.setBirthday(source.getBirthday());
+        e.setAddress(source.getAddress());
+        e.setPhoneNumber(source.getPhoneNumber());
+        e.setSssNumber(source.getSssNumber());
+        e.setPhilhealthNumber(source.getPhilhealthNumber());
+        e.setTinNumber(source.getTinNumber());
+        e.setPagibigNumber(source.getPagibigNumber());
+        e.setStatus(isBlank(source.getStatus()) ? "Regular" : source.getStatus().trim());
+        e.setPositionId(positionId);
+        e.setPosition(source.getPosition());
+        e.setImmediateSupervisor(source.getImmediateSupervisor());
+        return e;
+    }
+
+    private static List<String> governmentNumbersOf(Employee e) {
+        List<String> numbers = new ArrayList<>(4);
+        addIfPresent(numbers, "SSS:", e.getSssNumber());
+        addIfPresent(numbers, "PhilHealth:", e.getPhilhealthNumber());
+        addIfPresent(numbers, "TIN:", e.getTinNumber());
+        addIfPresent(numbers, "Pag-IBIG:", e.getPagibigNumber());
+        return numbers;
+    }
+
+    private static void addGovernmentNumbers(Employee e, Set<String> numbers) {
+        numbers.addAll(governmentNumbersOf(e));
+    }
+
+    private static void addIfPresent(List<String> numbers, String kind, String value) {
+        if (!isBlank(value)) {
+            numbers.add(kind + value.trim());
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private static String rootMessage(Throwable t) {
+        Throwable cause = t;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.toString();
+    }
+
+    /** An accepted row with its references resolved */
+    private static final class Pending {
+        final int rowNumber;
+        final Employee employee;
+        final Integer supervisorId;
+        final String password;
+
+        Pending(int rowNumber, Employee employee, Integer supervisorId, String password) {
+            this.rowNumber = rowNumber;
+            this.employee = employee;
+            this.supervisorId = supervisorId;
+            this.password = password;
+        }
+    }
+
+    /**
+     * One employee to onboard. Position is matched by ID or title, supervisor by
+     * "Last, First" name; the password is optional.
+     */
+    public static class ImportRow {
+        private final Employee employee;
+        private final String password;
+
+        public ImportRow(Employee employee, String password) {
+            this.employee = employee;
+            this.password = password;
+        }
+
+        public Employee getEmployee() { return employee; }
+        public String getPassword() { return password; }
+    }
+
+    /**
+     * A row that was not imported, numbered from 1 in input order
+     */
+    public static class Reject {
+        private final int rowNumber;
+        private final int employeeId;
+        private final String reason;
+
+        Reject(int rowNumber, int employeeId, String reason) {
+            this.rowNumber = rowNumber;
+            this.employeeId = employeeId;
+            this.reason = reason;
+        }
+
+        public int getRowNumber() { return rowNumber; }
+        public int getEmployeeId() { return employeeId; }
+        public String getReason() { return reason; }
+
+        @Override
+        public String toString() {
+            return "Row " + rowNumber + " (employee " + employeeId + "): " + reason;
+        }
+    }
+
+    public static class ImportResult {
+        private final int totalRows;
+        private final int imported;
+        private final List<Reject> rejects;
+        private final long elapsedMillis;
+
+        ImportResult(int totalRows, int imported, List<Reject> rejects, long elapsedMillis) {
+            this.totalRows = totalRows;
+            this.imported = imported;
+            this.rejects = Collections.unmodifiableList(rejects);
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getTotalRows() { return totalRows; }
+        public int getImported() { return imported; }
+        public List<Reject> getRejects() { return rejects; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        /**
+         * Rejects report, one line per rejected row
+         */
+        public String describe() {
+            StringBuilder report = new StringBuilder(String.format(
+                    "Imported %d of %d employees in %d ms, %d rejected",
+                    imported, totalRows, elapsedMillis, rejects.size()));
+            for (Reject reject : rejects) {
+                report.append('\n').append(reject);
+            }
+            return report.toString();
+        }
+    }
+}
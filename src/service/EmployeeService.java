@@ -1,10 +1,14 @@
 package service;
 
-import dao.EmployeeDAO;
-import dao.CredentialsDAO;
-import dao.PositionDAO;
+import dao.EmployeeRepository;
+import dao.OrgTree;
+import dao.CredentialsRepository;
+import dao.PositionRepository;
+import dao.RepositoryFactory;
 import model.Employee;
 import model.Position;
+import util.UnitOfWork;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
 import java.util.logging.Level;
@@ -15,14 +19,14 @@ import java.util.logging.Level;
 public class EmployeeService {
     private static final Logger LOGGER = Logger.getLogger(EmployeeService.class.getName());
 
-    private final EmployeeDAO employeeDAO;
-    private final CredentialsDAO credentialsDAO;
-    private final PositionDAO positionDAO;
+    private final EmployeeRepository employeeDAO;
+    private final CredentialsRepository credentialsDAO;
+    private final PositionRepository positionDAO;
 
     public EmployeeService() {
-        this.employeeDAO = new EmployeeDAO();
-        this.credentialsDAO = new CredentialsDAO();
-        this.positionDAO = new PositionDAO();
+        this.employeeDAO = RepositoryFactory.employees();
+        this.credentialsDAO = RepositoryFactory.credentials();
+        this.positionDAO = RepositoryFactory.positions();
     }
 
     /**
@@ -50,7 +54,9 @@ public class EmployeeService {
     }
 
     /**
-     * Add new employee with credentials
+     * Add new employee with credentials. The existence check, employee insert and
+     * credentials insert share one transaction, so a failed credentials insert
+     * leaves no employee behind.
      */
     public boolean addEmployee(Employee employee, String password) {
         try {
@@ -60,30 +66,29 @@ public class EmployeeService {
                 return false;
             }
 
-            // Check if employee ID already exists
-            if (employeeDAO.employeeExists(employee.getId())) {
-                LOGGER.warning("Employee ID already exists: " + employee.getId());
-                return false;
-            }
+            return UnitOfWork.execute(() -> {
+                // Check if employee ID already exists
+                if (employeeDAO.employeeExists(employee.getId())) {
+                    LOGGER.warning("Employee ID already exists: " + employee.getId());
+                    return false;
+                }
 
-            // Insert employee
-            boolean employeeAdded = employeeDAO.insertEmployee(employee);
-            if (!employeeAdded) {
-                LOGGER.warning("Failed to insert employee: " + employee.getId());
-                return false;
-            }
+                // Insert employee
+                if (!employeeDAO.insertEmployee(employee)) {
+                    LOGGER.warning("Failed to insert employee: " + employee.getId());
+                    UnitOfWork.setRollbackOnly();
+                    return false;
+                }
 
-            // Create credentials if password provided
-            if (password != null && !password.trim().isEmpty()) {
-                boolean credentialsCreated = credentialsDAO.createCredentials(employee.getId(), password);
-                if (!credentialsCreated) {
-                    LOGGER.warning("Failed to create credentials for employee: " + employee.getId());
-                    // Consider rollback here in a transactional environment
+                // Create credentials if password provided
+                if (password != null && !password.trim().isEmpty()
+                        && !credentialsDAO.createCredentials(employee.getId(), password)) {
+                    throw new IllegalStateException("Failed to create credentials for employee: " + employee.getId());
                 }
-            }
 
-            LOGGER.info("Employee added successfully: " + employee.getId());
-            return true;
+                LOGGER.info("Employee added successfully: " + employee.getId());
+                return true;
+            });
 
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error adding employee: " + employee.getId(), e);
@@ -117,23 +122,27 @@ public class EmployeeService {
     }
 
     /**
-     * Delete employee and associated credentials
+     * Delete employee and associated credentials in one transaction
      */
     public boolean deleteEmployee(int employeeId) {
         try {
-            // Delete credentials first (if they exist)
-            if (credentialsDAO.credentialsExist(employeeId)) {
-                credentialsDAO.deleteCredentials(employeeId);
-            }
+            boolean deleted = UnitOfWork.execute(() -> {
+                // Delete credentials first (if they exist)
+                if (credentialsDAO.credentialsExist(employeeId)) {
+                    credentialsDAO.deleteCredentials(employeeId);
+                }
+
+                // Delete employee; keep the credentials if there was nothing to delete
+                if (!employeeDAO.deleteEmployee(employeeId)) {
+                    UnitOfWork.setRollbackOnly();
+                    return false;
+                }
+                return true;
+            });
 
-            // Delete employee
-            boolean deleted = employeeDAO.deleteEmployee(employeeId);
             if (deleted) {
                 LOGGER.info("Employee deleted successfully: " + employeeId);
-            } else {
-                LOGGER.warning("Employee deletion failed: " + employeeId);
             }
-
             return deleted;
 
         } catch (Exception e) {
@@ -154,6 +163,34 @@ public class EmployeeService {
         }
     }
 
+    /**
+     * Direct reports of a supervisor, resolved by supervisor_id. The cached org tree
+     * short-circuits employees with no reports, so only real teams hit the database.
+     */
+    public List<Employee> getTeamMembers(int supervisorId) {
+        try {
+            if (!OrgTree.current().hasDirectReports(supervisorId)) {
+                return new ArrayList<>();
+            }
+            return employeeDAO.getEmployeesBySupervisor(supervisorId);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving team members for supervisor: " + supervisorId, e);
+            throw new RuntimeException("Failed to retrieve team members", e);
+        }
+    }
+
+    /**
+     * Whether anyone reports to this employee, from the cached org tree
+     */
+    public boolean hasDirectReports(int employeeId) {
+        try {
+            return OrgTree.current().hasDirectReports(employeeId);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Error checking direct reports for employee: " + employeeId, e);
+            return false;
+        }
+    }
+
     /**
      * Get all positions
      */
@@ -1,8 +1,10 @@
 package service;
 
-import dao.EmployeeDAO;
+import dao.EmployeeRepository;
+import dao.RepositoryFactory;
 import model.Employee;
 import service.PayrollCalculator.PayrollData;
+import util.JfrEvents;
 
 import java.io.*;
 import java.math.BigDecimal;
@@ -17,7 +19,7 @@ public class JasperPayslipService {
     private static final String PAYSLIP_TEMPLATE = "/motorph_payslip.jrxml";
     private static final String COMPANY_LOGO = "/images/motorph_logo.png";
 
-    private final EmployeeDAO employeeDAO = new EmployeeDAO();
+    private final EmployeeRepository employeeDAO = RepositoryFactory.employees();
     private final PayrollCalculator payrollCalculator = new PayrollCalculator();
     private static Object cachedCompiledReport;
     private final boolean testMode; // added
@@ -58,20 +60,67 @@ public class JasperPayslipService {
             if (emp == null) throw new JasperReportException("Employee not found: " + employeeId);
             PayrollData pd = payrollCalculator.calculatePayroll(employeeId, start, end);
             
-            Object ds = createDataSource(Collections.singletonList(createPayslipData(emp, pd)));
-            Object print = fillReport(getCompiledReport(), createReportParameters(emp), ds);
-            return exportReport(print, format);
+            return render(emp, pd, format);
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Payslip generation failed", e);
             throw new JasperReportException("Failed to generate report: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Render a payslip from an employee and payroll the caller already holds, as a
+     * batch run does, without querying or recalculating anything
+     */
+    public byte[] generatePayslipReport(Employee emp, PayrollData pd, ExportFormat format)
+            throws JasperReportException {
+        if (emp == null || pd == null) {
+            throw new IllegalArgumentException("Employee and payroll data are required");
+        }
+        try {
+            if (!isJasperReportsAvailable()) {
+                throw new JasperReportException("JasperReports library not available");
+            }
+            return render(emp, pd, format);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Payslip generation failed", e);
+            throw new JasperReportException("Failed to generate report: " + e.getMessage(), e);
+        }
+    }
+
+    private byte[] render(Employee emp, PayrollData pd, ExportFormat format) throws Exception {
+        Object ds = createDataSource(Collections.singletonList(createPayslipData(emp, pd)));
+        Object compiled = getCompiledReport();
+
+        JfrEvents.Jasper fill = beginJasperEvent("fill", format);
+        Object print = fillReport(compiled, createReportParameters(emp), ds);
+        fill.commit();
+
+        JfrEvents.Jasper export = beginJasperEvent("export", format);
+        byte[] document = exportReport(print, format);
+        export.bytes = document.length;
+        export.commit();
+        return document;
+    }
+
     public File generatePayslipToFile(int employeeId, java.time.LocalDate start,
                                       java.time.LocalDate end, ExportFormat format, String outputDir)
             throws JasperReportException {
         byte[] data = generatePayslipReport(employeeId, start, end, format);
-        Employee emp = employeeDAO.getEmployeeById(employeeId);
+        return saveToFile(data, employeeDAO.getEmployeeById(employeeId), employeeId, start, format, outputDir);
+    }
+
+    /**
+     * Save a payslip rendered from data the caller already holds; see
+     * {@link #generatePayslipReport(Employee, PayrollData, ExportFormat)}
+     */
+    public File generatePayslipToFile(Employee emp, PayrollData pd, ExportFormat format, String outputDir)
+            throws JasperReportException {
+        byte[] data = generatePayslipReport(emp, pd, format);
+        return saveToFile(data, emp, emp.getId(), pd.getPeriodStart(), format, outputDir);
+    }
+
+    private File saveToFile(byte[] data, Employee emp, int employeeId, java.time.LocalDate start,
+                            ExportFormat format, String outputDir) throws JasperReportException {
         String name = (emp != null ? emp.getLastName() : "Unknown").replaceAll("\\s+", "");
         String fileName = String.format("Payslip_%s_%d_%s.%s",
                 name, employeeId, start.format(DateTimeFormatter.ofPattern("yyyy_MM")), format.getExtension());
@@ -126,14 +175,25 @@ public class JasperPayslipService {
         }
 
         if (cachedCompiledReport != null) return cachedCompiledReport;
+        JfrEvents.Jasper compile = beginJasperEvent("compile", null);
         try (InputStream in = getClass().getResourceAsStream(PAYSLIP_TEMPLATE)) {
             if (in == null) throw new Exception("Missing template: " + PAYSLIP_TEMPLATE);
             Class<?> compileManagerClass = Class.forName("net.sf.jasperreports.engine.JasperCompileManager");
             cachedCompiledReport = compileManagerClass.getMethod("compileReport", InputStream.class).invoke(null, in);
         }
+        compile.commit();
         return cachedCompiledReport;
     }
 
+    private static JfrEvents.Jasper beginJasperEvent(String phase, ExportFormat format) {
+        JfrEvents.Jasper event = new JfrEvents.Jasper();
+        event.phase = phase;
+        event.template = PAYSLIP_TEMPLATE;
+        event.format = format != null ? format.name() : null;
+        event.begin();
+        return event;
+    }
+
     private PayslipData createPayslipData(Employee emp, PayrollData pd) {
         PayslipData d = new PayslipData();
         d.setEmployeeId(emp.getId());
@@ -1,13 +1,17 @@
 package service;
 
-import dao.LeaveRequestDAO;
-import dao.EmployeeDAO;
+import dao.LeaveRequestRepository;
+import dao.EmployeeRepository;
+import dao.RepositoryFactory;
 import model.LeaveRequest;
 import model.Employee;
+import model.LeaveSummaryRow;
+import util.UnitOfWork;
 import java.time.LocalDate;
 import java.sql.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -17,12 +21,12 @@ import java.util.logging.Level;
 public class LeaveRequestService {
     private static final Logger LOGGER = Logger.getLogger(LeaveRequestService.class.getName());
 
-    private final LeaveRequestDAO leaveRequestDAO;
-    private final EmployeeDAO employeeDAO;
+    private final LeaveRequestRepository leaveRequestDAO;
+    private final EmployeeRepository employeeDAO;
 
     public LeaveRequestService() {
-        this.leaveRequestDAO = new LeaveRequestDAO();
-        this.employeeDAO = new EmployeeDAO();
+        this.leaveRequestDAO = RepositoryFactory.leaveRequests();
+        this.employeeDAO = RepositoryFactory.employees();
     }
 
     /**
@@ -30,28 +34,30 @@ public class LeaveRequestService {
      */
     public boolean submitLeaveRequest(int employeeId, String leaveType, LocalDate startDate, LocalDate endDate) {
         try {
-            // Validate employee exists
-            if (!employeeDAO.employeeExists(employeeId)) {
-                LOGGER.warning("Employee not found for leave request: " + employeeId);
-                return false;
-            }
-
-            // Check for overlapping leave requests
-            if (leaveRequestDAO.hasOverlappingLeave(employeeId, startDate, endDate, null)) {
-                LOGGER.warning("Overlapping leave request detected for employee: " + employeeId);
-                return false;
-            }
-
-            // Create leave request
-            LeaveRequest leaveRequest = new LeaveRequest();
-            leaveRequest.setEmployeeId(employeeId);
-            leaveRequest.setLeaveType(leaveType);
-            leaveRequest.setStartDate(Date.valueOf(startDate));
-            leaveRequest.setEndDate(Date.valueOf(endDate));
-            leaveRequest.setStatus(LeaveRequest.STATUS_PENDING);
-
-            int leaveId = leaveRequestDAO.insertLeaveRequest(leaveRequest);
-            boolean success = leaveId > 0;
+            // Checks and insert run on one connection and commit together
+            boolean success = UnitOfWork.execute(() -> {
+                // Validate employee exists
+                if (!employeeDAO.employeeExists(employeeId)) {
+                    LOGGER.warning("Employee not found for leave request: " + employeeId);
+                    return false;
+                }
+
+                // Check for overlapping leave requests
+                if (leaveRequestDAO.hasOverlappingLeave(employeeId, startDate, endDate, null)) {
+                    LOGGER.warning("Overlapping leave request detected for employee: " + employeeId);
+                    return false;
+                }
+
+                // Create leave request
+                LeaveRequest leaveRequest = new LeaveRequest();
+                leaveRequest.setEmployeeId(employeeId);
+                leaveRequest.setLeaveType(leaveType);
+                leaveRequest.setStartDate(Date.valueOf(startDate));
+                leaveRequest.setEndDate(Date.valueOf(endDate));
+                leaveRequest.setStatus(LeaveRequest.STATUS_PENDING);
+
+                return leaveRequestDAO.insertLeaveRequest(leaveRequest) > 0;
+            });
 
             if (success) {
                 LOGGER.info("Leave request submitted for employee " + employeeId +
@@ -113,6 +119,18 @@ public class LeaveRequestService {
         }
     }
 
+    /**
+     * Stream leave counts and day totals per employee, type and status
+     */
+    public void streamLeaveSummary(Consumer<LeaveSummaryRow> consumer) {
+        try {
+            leaveRequestDAO.streamLeaveSummary(consumer);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving leave summary", e);
+            throw new RuntimeException("Failed to retrieve leave summary", e);
+        }
+    }
+
     /**
      * Get pending leave requests
      */
@@ -0,0 +1,142 @@
+package service;
+
+import dao.AttendanceRepository;
+import dao.LeaveRequestRepository;
+import dao.OrgTree;
+import dao.RepositoryFactory;
+import model.Attendance;
+import model.Employee;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Headcount, attendance, leave and payroll totals across a manager's whole
+ * reporting tree. Metrics are loaded once for everyone below the manager with
+ * bulk queries, in chunks of {@value #CHUNK_SIZE} IDs to keep each IN list well
+ * under the driver's placeholder limit, then summed per subtree through
+ * {@link OrgTree} prefix sums, so the breakdown by direct report costs nothing extra.
+ */
+public class OrgRollupService {
+    private static final Logger LOGGER = Logger.getLogger(OrgRollupService.class.getName());
+
+    private static final int CHUNK_SIZE = 100;
+
+    private final EmployeeService employeeService;
+    private final AttendanceRepository attendanceDAO;
+    private final LeaveRequestRepository leaveDAO;
+    private final PayrollCalculator payrollCalculator;
+
+    public OrgRollupService() {
+        this.employeeService = new EmployeeService();
+        this.attendanceDAO = RepositoryFactory.attendance();
+        this.leaveDAO = RepositoryFactory.leaveRequests();
+        this.payrollCalculator = new PayrollCalculator();
+    }
+
+    /**
+     * Totals for everything below the manager, followed by one row per direct
+     * report covering that report and their own subtree.
+     *
+     * @param day         date for present and on-leave counts
+     * @param periodStart start of the payroll period to total
+     * @param periodEnd   end of the payroll period to total
+     */
+    public List<RollupRow> summarize(int managerId, LocalDate day, LocalDate periodStart, LocalDate periodEnd) {
+        if (day == null || periodStart == null || periodEnd == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+
+        OrgTree tree = OrgTree.current();
+        List<Integer> ids = tree.getSubtreeIds(managerId);
+        List<RollupRow> rows = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return rows;
+        }
+
+        Set<Integer> present = new HashSet<>();
+        Set<Integer> onLeave = new HashSet<>();
+        Map<Integer, Double> netPay = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+
+            for (Map.Entry<Integer, List<Attendance>> entry
+                    : attendanceDAO.getAttendanceByEmployeeIdsBetweenDates(chunk, day, day).entrySet()) {
+                if (entry.getValue().stream().anyMatch(Attendance::hasLogIn)) {
+                    present.add(entry.getKey());
+                }
+            }
+
+            try {
+                onLeave.addAll(leaveDAO.getApprovedLeavesByEmployeeIdsAndDateRange(chunk, day, day).keySet());
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Error checking approved leave for org rollup", e);
+            }
+
+            try {
+                for (PayrollCalculator.PayrollData data : payrollCalculator.calculatePayrollBatch(chunk, periodStart, periodEnd)) {
+                    netPay.put(data.getEmployeeId(), data.getNetPay());
+                }
+            } catch (PayrollCalculator.PayrollCalculationException e) {
+                LOGGER.log(Level.WARNING, "Payroll totals unavailable for part of org rollup of manager " + managerId, e);
+            }
+        }
+
+        Set<Integer> inScope = new HashSet<>(ids);
+        OrgTree.Rollup headcount = tree.rollup(id -> inScope.contains(id) ? 1 : 0);
+        OrgTree.Rollup presentCount = tree.rollup(id -> present.contains(id) ? 1 : 0);
+        OrgTree.Rollup leaveCount = tree.rollup(id -> onLeave.contains(id) ? 1 : 0);
+        OrgTree.Rollup payroll = tree.rollup(id -> netPay.getOrDefault(id, 0.0));
+
+        rows.add(new RollupRow(managerId, "All reports",
+                (int) headcount.below(managerId), (int) presentCount.below(managerId),
+                (int) leaveCount.below(managerId), payroll.below(managerId)));
+
+        // Names of the direct reports in one supervisor_id lookup
+        Map<Integer, String> names = new HashMap<>();
+        for (Employee e : employeeService.getTeamMembers(managerId)) {
+            names.put(e.getId(), e.getFullName());
+        }
+        for (int id : tree.getDirectReportIds(managerId)) {
+            rows.add(new RollupRow(id, names.getOrDefault(id, String.valueOf(id)),
+                    (int) headcount.subtree(id), (int) presentCount.subtree(id),
+                    (int) leaveCount.subtree(id), payroll.subtree(id)));
+        }
+        return rows;
+    }
+
+    /**
+     * Totals for one subtree
+     */
+    public static class RollupRow {
+        private final int employeeId;
+        private final String label;
+        private final int headcount;
+        private final int presentToday;
+        private final int onLeave;
+        private final double payrollTotal;
+
+        public RollupRow(int employeeId, String label, int headcount, int presentToday, int onLeave, double payrollTotal) {
+            this.employeeId = employeeId;
+            this.label = label;
+            this.headcount = headcount;
+            this.presentToday = presentToday;
+            this.onLeave = onLeave;
+            this.payrollTotal = payrollTotal;
+        }
+
+        public int getEmployeeId() { return employeeId; }
+        public String getLabel() { return label; }
+        public int getHeadcount() { return headcount; }
+        public int getPresentToday() { return presentToday; }
+        public int getOnLeave() { return onLeave; }
+        public double getPayrollTotal() { return payrollTotal; }
+    }
+}
@@ -1,17 +1,29 @@
 package service;
 
-import dao.AttendanceDAO;
-import dao.EmployeeDAO;
-import dao.LeaveRequestDAO;
+import dao.AttendanceRepository;
+import dao.ClosedPeriods;
+import dao.EmployeeRepository;
+import dao.LeaveRequestRepository;
+import dao.RepositoryFactory;
+import dao.WorkCalendar;
 import model.Attendance;
 import model.Employee;
 import model.LeaveRequest;
 import model.GovernmentContribution;
+import model.MonthlySummary;
+import util.JfrEvents;
+import util.SingleFlight;
+import util.UnitOfWork;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.time.temporal.ChronoUnit;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -22,85 +34,298 @@ import java.util.logging.Logger;
 public class PayrollCalculator {
     private static final Logger LOGGER = Logger.getLogger(PayrollCalculator.class.getName());
 
-    // Constants for payroll calculations
-    private static final int STANDARD_WORKING_DAYS_PER_MONTH = 22;
+    // Constants for payroll calculations; working days come from the WorkCalendar
     private static final int STANDARD_WORKING_HOURS_PER_DAY = 8;
     private static final double OVERTIME_RATE_MULTIPLIER = 1.25;
-    private static final LocalTime STANDARD_LOGIN_TIME = LocalTime.of(8, 0);
-    private static final LocalTime LATE_THRESHOLD_TIME = LocalTime.of(8, 15);
-    private static final LocalTime STANDARD_LOGOUT_TIME = LocalTime.of(17, 0);
+    // Seconds after midnight, compared against Attendance's primitive log times
+    private static final int STANDARD_LOGIN_SECOND = LocalTime.of(8, 0).toSecondOfDay();
+    private static final int LATE_THRESHOLD_SECOND = LocalTime.of(8, 15).toSecondOfDay();
+    private static final int STANDARD_LOGOUT_SECOND = LocalTime.of(17, 0).toSecondOfDay();
 
     // Default allowances (can be overridden)
     private static final double DEFAULT_RICE_SUBSIDY = 1500.00;
     private static final double DEFAULT_PHONE_ALLOWANCE = 800.00;
     private static final double DEFAULT_CLOTHING_ALLOWANCE = 800.00;
 
+    // Results shared by identical calls; see calculatePayroll
+    private static final SingleFlight<PeriodKey, PayrollData> RESULTS =
+            SingleFlight.register("payroll", "motorph.payroll.cacheTtlMillis", 5000);
+
     // DAO instances
-    private final EmployeeDAO employeeDAO;
-    private final AttendanceDAO attendanceDAO;
-    private final LeaveRequestDAO leaveDAO;
+    private final EmployeeRepository employeeDAO;
+    private final AttendanceRepository attendanceDAO;
+    private final LeaveRequestRepository leaveDAO;
 
     public PayrollCalculator() {
-        this.employeeDAO = new EmployeeDAO();
-        this.attendanceDAO = new AttendanceDAO();
-        this.leaveDAO = new LeaveRequestDAO();
+        this.employeeDAO = RepositoryFactory.employees();
+        this.attendanceDAO = RepositoryFactory.attendance();
+        this.leaveDAO = RepositoryFactory.leaveRequests();
     }
 
     /**
      * Calculate payroll for an employee within a specific period
-     * Uses basic salary from employee record, no position ID required
+     * Uses basic salary from employee record, no position ID required.
+     * Identical concurrent calls share one computation and the result is reused
+     * for a few seconds, so callers must not modify it; calls inside a unit of
+     * work bypass the cache since they may see uncommitted writes.
+     * A period that is exactly one closed month is answered from its frozen summary.
      */
     public PayrollData calculatePayroll(int employeeId, LocalDate periodStart, LocalDate periodEnd)
             throws PayrollCalculationException {
 
+        validateInputs(employeeId, periodStart, periodEnd);
+        MonthlySummary frozen = closedSummaries(periodStart, periodEnd).get(employeeId);
+        if (frozen != null) {
+            return fromSummary(frozen);
+        }
+        if (UnitOfWork.isActive()) {
+            return computePayroll(employeeId, periodStart, periodEnd);
+        }
+        try {
+            return RESULTS.get(new PeriodKey(employeeId, periodStart, periodEnd),
+                    () -> computePayroll(employeeId, periodStart, periodEnd));
+        } catch (PayrollCalculationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new PayrollCalculationException("Failed to calculate payroll: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Drop cached payroll results, e.g. after correcting attendance that a
+     * payroll view must show immediately
+     */
+    public static void invalidateCache() {
+        RESULTS.invalidate();
+    }
+
+    private PayrollData computePayroll(int employeeId, LocalDate periodStart, LocalDate periodEnd)
+            throws PayrollCalculationException {
+
         try {
-            validateInputs(employeeId, periodStart, periodEnd);
 
+            JfrEvents.PayrollPhase load = JfrEvents.beginPhase(employeeId, "load");
             // Get employee details (no position details required)
             Employee employee = employeeDAO.getEmployeeById(employeeId);
             if (employee == null) {
                 throw new PayrollCalculationException("Employee not found with ID: " + employeeId);
             }
 
-            // Use basic salary from employee record or set a default
-            double basicSalary = employee.getBasicSalary();
-            if (basicSalary <= 0) {
-                // Set a default minimum wage if no salary is set
-                basicSalary = 25000.00; // Default monthly salary
-                LOGGER.warning("No basic salary found for employee " + employeeId + ", using default: " + basicSalary);
+            List<Attendance> attendanceList = attendanceDAO.getAttendanceByEmployeeIdBetweenDates(
+                    employeeId, periodStart, periodEnd);
+            List<LeaveRequest> approvedLeaves = loadApprovedLeaves(employeeId, periodStart, periodEnd);
+            load.commit();
+
+            PayrollData payrollData = buildPayroll(WorkCalendar.current(), employee, attendanceList, approvedLeaves,
+                    periodStart, periodEnd);
+
+            LOGGER.info(String.format("Payroll calculated for employee %d: Net Pay = %.2f",
+                    employeeId, payrollData.getNetPay()));
+
+            return payrollData;
+
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Failed to calculate payroll for employee " + employeeId, e);
+            throw new PayrollCalculationException("Failed to calculate payroll: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Calculate payroll for several employees with a fixed number of queries:
+     * one each for employees, attendance and approved leaves, however many IDs are given.
+     * Unknown employee IDs are logged and skipped; results keep the order of the IDs.
+     * Employees frozen in a closed month that matches the period need no queries at all.
+     */
+    public List<PayrollData> calculatePayrollBatch(List<Integer> employeeIds, LocalDate periodStart, LocalDate periodEnd)
+            throws PayrollCalculationException {
+
+        if (employeeIds == null) {
+            throw new PayrollCalculationException("Employee IDs cannot be null");
+        }
+        List<PayrollData> results = new ArrayList<>(employeeIds.size());
+        if (employeeIds.isEmpty()) {
+            return results;
+        }
+
+        JfrEvents.PayrollRun run = new JfrEvents.PayrollRun();
+        run.begin();
+        try {
+            for (Integer employeeId : employeeIds) {
+                validateInputs(employeeId == null ? 0 : employeeId, periodStart, periodEnd);
             }
 
-            // Create payroll data object
-            PayrollData payrollData = new PayrollData();
-            payrollData.setEmployeeId(employeeId);
-            payrollData.setPeriodStart(periodStart);
-            payrollData.setPeriodEnd(periodEnd);
-            payrollData.setMonthlyRate(basicSalary);
-            payrollData.setDailyRate(basicSalary / STANDARD_WORKING_DAYS_PER_MONTH);
+            Map<Integer, MonthlySummary> frozen = closedSummaries(periodStart, periodEnd);
+            List<Integer> liveIds = new ArrayList<>();
+            for (Integer employeeId : employeeIds) {
+                if (!frozen.containsKey(employeeId)) {
+                    liveIds.add(employeeId);
+                }
+            }
 
-            // Calculate attendance-based earnings
-            calculateAttendanceBasedEarnings(payrollData, employeeId, periodStart, periodEnd);
+            JfrEvents.PayrollPhase load = JfrEvents.beginPhase(0, "load");
+            Map<Integer, Employee> employees = new HashMap<>();
+            Map<Integer, List<Attendance>> attendanceByEmployee = Collections.emptyMap();
+            Map<Integer, List<LeaveRequest>> leavesByEmployee = Collections.emptyMap();
+            if (!liveIds.isEmpty()) {
+                for (Employee employee : employeeDAO.getEmployeesByIds(liveIds)) {
+                    employees.put(employee.getId(), employee);
+                }
+                attendanceByEmployee = attendanceDAO.getAttendanceByEmployeeIdsBetweenDates(liveIds, periodStart, periodEnd);
+                try {
+                    leavesByEmployee = leaveDAO.getApprovedLeavesByEmployeeIdsAndDateRange(liveIds, periodStart, periodEnd);
+                } catch (Exception e) {
+                    LOGGER.warning("Error loading approved leaves for payroll batch: " + e.getMessage());
+                }
+            }
+            WorkCalendar calendar = WorkCalendar.current();
+            load.commit();
+
+            for (Integer employeeId : employeeIds) {
+                MonthlySummary summary = frozen.get(employeeId);
+                if (summary != null) {
+                    results.add(fromSummary(summary));
+                    continue;
+                }
+                Employee employee = employees.get(employeeId);
+                if (employee == null) {
+                    LOGGER.warning("Skipping payroll for unknown employee ID: " + employeeId);
+                    continue;
+                }
+                results.add(buildPayroll(calendar, employee,
+                        attendanceByEmployee.getOrDefault(employeeId, Collections.emptyList()),
+                        leavesByEmployee.getOrDefault(employeeId, Collections.emptyList()),
+                        periodStart, periodEnd));
+            }
 
-            // Set standard allowances (can be customized per employee if needed)
-            setStandardAllowances(payrollData, employee);
+            LOGGER.info(String.format("Batch payroll calculated for %d of %d employees",
+                    results.size(), employeeIds.size()));
+            return results;
 
-            // Calculate time-based deductions
-            calculateTimeBasedDeductions(payrollData, employeeId, periodStart, periodEnd);
+        } catch (PayrollCalculationException e) {
+            throw e;
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Failed to calculate batch payroll", e);
+            throw new PayrollCalculationException("Failed to calculate batch payroll: " + e.getMessage(), e);
+        } finally {
+            run.end();
+            if (run.shouldCommit()) {
+                run.employees = employeeIds.size();
+                run.calculated = results.size();
+                run.periodStart = String.valueOf(periodStart);
+                run.periodEnd = String.valueOf(periodEnd);
+                run.commit();
+            }
+        }
+    }
 
-            // Calculate government contributions
-            calculateGovernmentContributions(payrollData, basicSalary);
+    /**
+     * Compute all figures from already-loaded data; shared by the single and batch paths
+     */
+    private PayrollData buildPayroll(WorkCalendar calendar, Employee employee, List<Attendance> attendanceList,
+                                     List<LeaveRequest> approvedLeaves, LocalDate periodStart, LocalDate periodEnd) {
+        int employeeId = employee.getId();
+
+        // Use basic salary from employee record or set a default
+        double basicSalary = employee.getBasicSalary();
+        if (basicSalary <= 0) {
+            // Set a default minimum wage if no salary is set
+            basicSalary = 25000.00; // Default monthly salary
+            LOGGER.warning("No basic salary found for employee " + employeeId + ", using default: " + basicSalary);
+        }
 
-            // Calculate totals
-            calculateTotals(payrollData);
+        // Create payroll data object
+        PayrollData payrollData = new PayrollData();
+        payrollData.setEmployeeId(employeeId);
+        payrollData.setPeriodStart(periodStart);
+        payrollData.setPeriodEnd(periodEnd);
+        payrollData.setMonthlyRate(basicSalary);
+        // Daily rate over the working days of the month the period starts in
+        int workingDaysInMonth = Math.max(1, calendar.workingDaysInMonth(YearMonth.from(periodStart)));
+        payrollData.setDailyRate(basicSalary / workingDaysInMonth);
+        payrollData.setWorkingDays(calendar.workingDaysBetween(periodStart, periodEnd));
+
+        // Calculate attendance-based earnings
+        JfrEvents.PayrollPhase phase = JfrEvents.beginPhase(employeeId, "earnings");
+        calculateAttendanceBasedEarnings(payrollData, employeeId, attendanceList);
+
+        // Set standard allowances (can be customized per employee if needed)
+        setStandardAllowances(payrollData, employee);
+        phase.commit();
+
+        // Calculate time-based deductions
+        phase = JfrEvents.beginPhase(employeeId, "deductions");
+        calculateTimeBasedDeductions(payrollData, attendanceList, approvedLeaves, calendar);
+        phase.commit();
+
+        // Calculate government contributions
+        phase = JfrEvents.beginPhase(employeeId, "contributions");
+        calculateGovernmentContributions(payrollData, basicSalary);
+        phase.commit();
+
+        // Calculate totals
+        calculateTotals(payrollData);
+
+        return payrollData;
+    }
 
-            LOGGER.info(String.format("Payroll calculated for employee %d: Net Pay = %.2f",
-                    employeeId, payrollData.getNetPay()));
+    /**
+     * Frozen summaries when the period is exactly one closed month, otherwise empty;
+     * if they can't be loaded the period is simply calculated live
+     */
+    private static Map<Integer, MonthlySummary> closedSummaries(LocalDate periodStart, LocalDate periodEnd) {
+        YearMonth month = YearMonth.from(periodStart);
+        if (!periodStart.equals(month.atDay(1)) || !periodEnd.equals(month.atEndOfMonth())) {
+            return Collections.emptyMap();
+        }
+        try {
+            return ClosedPeriods.summaries(month);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Closed period " + month + " unavailable, calculating live", e);
+            return Collections.emptyMap();
+        }
+    }
 
-            return payrollData;
+    /**
+     * Payroll of a closed month as it was frozen; a fresh copy, so callers may modify it
+     */
+    static PayrollData fromSummary(MonthlySummary summary) {
+        PayrollData payrollData = new PayrollData();
+        payrollData.setEmployeeId(summary.getEmployeeId());
+        payrollData.setPeriodStart(summary.getMonth().atDay(1));
+        payrollData.setPeriodEnd(summary.getMonth().atEndOfMonth());
+        payrollData.setMonthlyRate(summary.getMonthlyRate());
+        payrollData.setDailyRate(summary.getDailyRate());
+        payrollData.setDaysWorked(summary.getAttendance().getDaysPresent());
+        payrollData.setWorkingDays(summary.getWorkingDays());
+        payrollData.setTotalHours(summary.getAttendance().getTotalHours());
+        payrollData.setBasicPay(summary.getBasicPay());
+        payrollData.setRiceSubsidy(summary.getRiceSubsidy());
+        payrollData.setPhoneAllowance(summary.getPhoneAllowance());
+        payrollData.setClothingAllowance(summary.getClothingAllowance());
+        payrollData.setLateDeduction(summary.getLateDeduction());
+        payrollData.setUndertimeDeduction(summary.getUndertimeDeduction());
+        payrollData.setUnpaidLeaveDays(summary.getUnpaidLeaveDays());
+        payrollData.setUnpaidLeaveDeduction(summary.getUnpaidLeaveDeduction());
+        payrollData.setSss(summary.getSss());
+        payrollData.setPhilhealth(summary.getPhilhealth());
+        payrollData.setPagibig(summary.getPagibig());
+        payrollData.setTax(summary.getTax());
+        payrollData.setTotalAllowances(summary.getTotalAllowances());
+        payrollData.setGrossPay(summary.getGrossPay());
+        payrollData.setTotalDeductions(summary.getTotalDeductions());
+        payrollData.setNetPay(summary.getNetPay());
+        return payrollData;
+    }
 
+    /**
+     * Approved leaves in the period; a failure here only drops the unpaid leave deduction
+     */
+    private List<LeaveRequest> loadApprovedLeaves(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
+        try {
+            return leaveDAO.getApprovedLeavesByEmployeeIdAndDateRange(employeeId, periodStart, periodEnd);
         } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Failed to calculate payroll for employee " + employeeId, e);
-            throw new PayrollCalculationException("Failed to calculate payroll: " + e.getMessage(), e);
+            LOGGER.warning("Error calculating unpaid leave deduction: " + e.getMessage());
+            return Collections.emptyList();
         }
     }
 
@@ -143,16 +368,13 @@ public class PayrollCalculator {
      * Calculate attendance-based earnings
      */
     private void calculateAttendanceBasedEarnings(PayrollData payrollData, int employeeId,
-                                                  LocalDate periodStart, LocalDate periodEnd) {
-
-        List<Attendance> attendanceList = attendanceDAO.getAttendanceByEmployeeIdBetweenDates(
-                employeeId, periodStart, periodEnd);
+                                                  List<Attendance> attendanceList) {
 
         int validDays = 0;
         double totalHours = 0.0;
 
         for (Attendance attendance : attendanceList) {
-            if (attendance.getLogIn() != null) {
+            if (attendance.hasLogIn()) {
                 validDays++;
                 totalHours += attendance.getWorkHours();
             }
@@ -169,15 +391,12 @@ public class PayrollCalculator {
     /**
      * Calculate time-based deductions (late, undertime, unpaid leave)
      */
-    private void calculateTimeBasedDeductions(PayrollData payrollData, int employeeId,
-                                              LocalDate periodStart, LocalDate periodEnd) {
-
-        List<Attendance> attendanceList = attendanceDAO.getAttendanceByEmployeeIdBetweenDates(
-                employeeId, periodStart, periodEnd);
+    private void calculateTimeBasedDeductions(PayrollData payrollData, List<Attendance> attendanceList,
+                                              List<LeaveRequest> approvedLeaves, WorkCalendar calendar) {
 
         double lateDeduction = calculateLateDeduction(attendanceList, payrollData.getDailyRate());
         double undertimeDeduction = calculateUndertimeDeduction(attendanceList, payrollData.getDailyRate());
-        double unpaidLeaveDeduction = calculateUnpaidLeaveDeduction(employeeId, periodStart, periodEnd, payrollData.getDailyRate());
+        double unpaidLeaveDeduction = calculateUnpaidLeaveDeduction(approvedLeaves, payrollData, calendar);
 
         payrollData.setLateDeduction(lateDeduction);
         payrollData.setUndertimeDeduction(undertimeDeduction);
@@ -209,13 +428,11 @@ public class PayrollCalculator {
         double hourlyRate = dailyRate / STANDARD_WORKING_HOURS_PER_DAY;
 
         for (Attendance attendance : attendanceList) {
-            if (attendance.getLogIn() != null) {
-                LocalTime loginTime = attendance.getLogIn().toLocalTime();
-                if (loginTime.isAfter(LATE_THRESHOLD_TIME)) {
-                    long minutesLate = ChronoUnit.MINUTES.between(STANDARD_LOGIN_TIME, loginTime);
-                    double hoursLate = minutesLate / 60.0;
-                    totalLateDeduction += hoursLate * hourlyRate;
-                }
+            int loginSecond = attendance.getLogInSecond();
+            if (loginSecond > LATE_THRESHOLD_SECOND) {
+                long minutesLate = (loginSecond - STANDARD_LOGIN_SECOND) / 60;
+                double hoursLate = minutesLate / 60.0;
+                totalLateDeduction += hoursLate * hourlyRate;
             }
         }
 
@@ -230,13 +447,11 @@ public class PayrollCalculator {
         double hourlyRate = dailyRate / STANDARD_WORKING_HOURS_PER_DAY;
 
         for (Attendance attendance : attendanceList) {
-            if (attendance.getLogOut() != null) {
-                LocalTime logoutTime = attendance.getLogOut().toLocalTime();
-                if (logoutTime.isBefore(STANDARD_LOGOUT_TIME)) {
-                    long minutesShort = ChronoUnit.MINUTES.between(logoutTime, STANDARD_LOGOUT_TIME);
-                    double hoursShort = minutesShort / 60.0;
-                    totalUndertimeDeduction += hoursShort * hourlyRate;
-                }
+            int logoutSecond = attendance.getLogOutSecond();
+            if (attendance.hasLogOut() && logoutSecond < STANDARD_LOGOUT_SECOND) {
+                long minutesShort = (STANDARD_LOGOUT_SECOND - logoutSecond) / 60;
+                double hoursShort = minutesShort / 60.0;
+                totalUndertimeDeduction += hoursShort * hourlyRate;
             }
         }
 
@@ -244,25 +459,23 @@ public class PayrollCalculator {
     }
 
     /**
-     * Calculate unpaid leave deduction
+     * Calculate unpaid leave deduction: only working days of each leave that fall
+     * inside the pay period are charged
      */
-    private double calculateUnpaidLeaveDeduction(int employeeId, LocalDate periodStart, LocalDate periodEnd, double dailyRate) {
-        try {
-            List<LeaveRequest> approvedLeaves = leaveDAO.getApprovedLeavesByEmployeeIdAndDateRange(
-                    employeeId, periodStart, periodEnd);
-
-            int unpaidLeaveDays = 0;
-            for (LeaveRequest leave : approvedLeaves) {
-                if ("Unpaid".equalsIgnoreCase(leave.getLeaveType())) {
-                    unpaidLeaveDays += leave.getLeaveDays();
-                }
+    private double calculateUnpaidLeaveDeduction(List<LeaveRequest> approvedLeaves, PayrollData payrollData,
+                                                 WorkCalendar calendar) {
+        int unpaidLeaveDays = 0;
+        for (LeaveRequest leave : approvedLeaves) {
+            if ("Unpaid".equalsIgnoreCase(leave.getLeaveType())
+                    && leave.getStartDate() != null && leave.getEndDate() != null) {
+                unpaidLeaveDays += calendar.workingDaysOverlapping(
+                        leave.getStartDate().toLocalDate(), leave.getEndDate().toLocalDate(),
+                        payrollData.getPeriodStart(), payrollData.getPeriodEnd());
             }
-
-            return unpaidLeaveDays * dailyRate;
-        } catch (Exception e) {
-            LOGGER.warning("Error calculating unpaid leave deduction: " + e.getMessage());
-            return 0.0;
         }
+
+        payrollData.setUnpaidLeaveDays(unpaidLeaveDays);
+        return unpaidLeaveDays * payrollData.getDailyRate();
     }
 
     /**
@@ -334,6 +547,33 @@ public class PayrollCalculator {
         }
     }
 
+    private static final class PeriodKey {
+        private final int employeeId;
+        private final LocalDate periodStart;
+        private final LocalDate periodEnd;
+
+        PeriodKey(int employeeId, LocalDate periodStart, LocalDate periodEnd) {
+            this.employeeId = employeeId;
+            this.periodStart = periodStart;
+            this.periodEnd = periodEnd;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof PeriodKey)) {
+                return false;
+            }
+            PeriodKey other = (PeriodKey) o;
+            return employeeId == other.employeeId && periodStart.equals(other.periodStart)
+                    && periodEnd.equals(other.periodEnd);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(employeeId, periodStart, periodEnd);
+        }
+    }
+
     /**
      * PayrollData class to hold calculated payroll information
      */
@@ -344,6 +584,7 @@ public class PayrollCalculator {
         private double monthlyRate;
         private double dailyRate;
         private int daysWorked;
+        private int workingDays;
         private double totalHours;
         private double basicPay;
         private double riceSubsidy;
@@ -353,6 +594,7 @@ public class PayrollCalculator {
         private double grossPay;
         private double lateDeduction;
         private double undertimeDeduction;
+        private int unpaidLeaveDays;
         private double unpaidLeaveDeduction;
         private double sss;
         private double philhealth;
@@ -380,6 +622,9 @@ public class PayrollCalculator {
 
         public int getDaysWorked() { return daysWorked; }
         public void setDaysWorked(int daysWorked) { this.daysWorked = daysWorked; }
+        /** Working days in the period per the work calendar, i.e. the expected attendance */
+        public int getWorkingDays() { return workingDays; }
+        public void setWorkingDays(int workingDays) { this.workingDays = workingDays; }
 
         public double getTotalHours() { return totalHours; }
         public void setTotalHours(double totalHours) { this.totalHours = totalHours; }
@@ -408,6 +653,10 @@ public class PayrollCalculator {
         public double getUndertimeDeduction() { return undertimeDeduction; }
         public void setUndertimeDeduction(double undertimeDeduction) { this.undertimeDeduction = undertimeDeduction; }
 
+        /** Working days of approved unpaid leave inside the period */
+        public int getUnpaidLeaveDays() { return unpaidLeaveDays; }
+        public void setUnpaidLeaveDays(int unpaidLeaveDays) { this.unpaidLeaveDays = unpaidLeaveDays; }
+
         public double getUnpaidLeaveDeduction() { return unpaidLeaveDeduction; }
         public void setUnpaidLeaveDeduction(double unpaidLeaveDeduction) { this.unpaidLeaveDeduction = unpaidLeaveDeduction; }
 
@@ -0,0 +1,91 @@
+package service;
+
+import dao.ClosedPeriodRepository;
+import dao.ClosedPeriods;
+import dao.EmployeeRepository;
+import dao.RepositoryFactory;
+import model.AttendanceTotals;
+import model.Employee;
+import model.MonthlySummary;
+import service.PayrollCalculator.PayrollData;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Month-end period close. Freezes every employee's attendance totals, unpaid
+ * leave days and payroll lines for a finished month into the closed period
+ * store; from then on payroll, reports and team summaries read those figures
+ * through {@link ClosedPeriods} instead of recomputing the month.
+ */
+public class PeriodCloseService {
+    private static final Logger LOGGER = Logger.getLogger(PeriodCloseService.class.getName());
+
+    /** Employees per batch calculation, as in the batch payroll run */
+    private static final int CHUNK_SIZE = 100;
+
+    private final EmployeeRepository employeeDAO;
+    private final ClosedPeriodRepository closedPeriodDAO;
+    private final AttendanceService attendanceService;
+    private final PayrollCalculator payrollCalculator;
+
+    public PeriodCloseService() {
+        this.employeeDAO = RepositoryFactory.employees();
+        this.closedPeriodDAO = RepositoryFactory.closedPeriods();
+        this.attendanceService = new AttendanceService();
+        this.payrollCalculator = new PayrollCalculator();
+    }
+
+    /**
+     * Close a month that has already ended. Returns false if it was closed before;
+     * a closed month is never recalculated.
+     */
+    public boolean closeMonth(YearMonth month) throws PayrollCalculator.PayrollCalculationException {
+        if (month == null) {
+            throw new IllegalArgumentException("Month cannot be null");
+        }
+        if (!month.isBefore(YearMonth.now())) {
+            throw new IllegalArgumentException("Only a month that has ended can be closed: " + month);
+        }
+        if (ClosedPeriods.isClosed(month)) {
+            LOGGER.info("Period already closed: " + month);
+            return false;
+        }
+
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.atEndOfMonth();
+        List<Integer> ids = new ArrayList<>();
+        for (Employee employee : employeeDAO.getAllEmployees()) {
+            ids.add(employee.getId());
+        }
+
+        List<MonthlySummary> summaries = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            Map<Integer, AttendanceTotals> attendance = attendanceService.getAttendanceTotals(chunk, start, end);
+            for (PayrollData payroll : payrollCalculator.calculatePayrollBatch(chunk, start, end)) {
+                summaries.add(toSummary(month, payroll, attendance.get(payroll.getEmployeeId())));
+            }
+        }
+
+        boolean closed = closedPeriodDAO.closeMonth(month, summaries);
+        if (closed) {
+            LOGGER.info("Closed period " + month + " for " + summaries.size() + " employees");
+        }
+        return closed;
+    }
+
+    private static MonthlySummary toSummary(YearMonth month, PayrollData payroll, AttendanceTotals attendance) {
+        return new MonthlySummary(payroll.getEmployeeId(), month,
+                attendance != null ? attendance : AttendanceTotals.EMPTY,
+                payroll.getUnpaidLeaveDays(), payroll.getWorkingDays(),
+                payroll.getMonthlyRate(), payroll.getDailyRate(), payroll.getBasicPay(),
+                payroll.getRiceSubsidy(), payroll.getPhoneAllowance(), payroll.getClothingAllowance(),
+                payroll.getLateDeduction(), payroll.getUndertimeDeduction(), payroll.getUnpaidLeaveDeduction(),
+                payroll.getSss(), payroll.getPhilhealth(), payroll.getPagibig(), payroll.getTax());
+    }
+}
@@ -0,0 +1,179 @@
+package util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Small bounded JDBC connection pool. close() on a borrowed connection hands it back
+ * instead of closing it, so DAO try-with-resources blocks work unchanged.
+ * Waiting callers block on a semaphore, which is cheap for virtual threads.
+ */
+public class ConnectionPool {
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+
+    /** Idle connections older than this are validated before reuse */
+    private static final long VALIDATE_AFTER_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    /**
+     * Opens a new physical connection
+     */
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    private final ConnectionFactory factory;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<Idle> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger physical = new AtomicInteger();
+    private volatile boolean closed;
+
+    public ConnectionPool(ConnectionFactory factory, int maxSize, long borrowTimeoutMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Borrow a connection; close() it to give it back
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + borrowTimeoutMillis
+                        + " ms waiting for a database connection (pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            Connection physicalConnection = takeIdle();
+            if (physicalConnection == null) {
+                physicalConnection = factory.open();
+                physical.incrementAndGet();
+            }
+            return lease(physicalConnection);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private Connection takeIdle() {
+        Idle entry;
+        while ((entry = idle.pollFirst()) != null) {
+            if (System.nanoTime() - entry.since < VALIDATE_AFTER_NANOS || isValid(entry.connection)) {
+                return entry.connection;
+            }
+            discard(entry.connection);
+        }
+        return null;
+    }
+
+    private Connection lease(Connection target) {
+        boolean[] returned = {false};
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!returned[0]) {
+                                returned[0] = true;
+                                giveBack(target);
+                            }
+                            return null;
+                        case "isClosed":
+                            return returned[0] || target.isClosed();
+                        default:
+                            if (returned[0]) {
+                                throw new SQLException("Connection has already been returned to the pool");
+                            }
+                            try {
+                                return method.invoke(target, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                    }
+                });
+    }
+
+    private void giveBack(Connection target) {
+        try {
+            if (closed || target.isClosed()) {
+                discard(target);
+                return;
+            }
+            if (!target.getAutoCommit()) {
+                // Never hand an open transaction to the next borrower
+                target.rollback();
+                target.setAutoCommit(true);
+            }
+            idle.offerFirst(new Idle(target, System.nanoTime()));
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Discarding broken pooled connection", e);
+            discard(target);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void discard(Connection connection) {
+        physical.decrementAndGet();
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Error closing pooled connection", e);
+        }
+    }
+
+    /**
+     * Close idle connections; borrowed ones are closed when they come back
+     */
+    public void close() {
+        closed = true;
+        Idle entry;
+        while ((entry = idle.pollFirst()) != null) {
+            discard(entry.connection);
+        }
+    }
+
+    public int getMaxSize() { return maxSize; }
+    public int getIdleCount() { return idle.size(); }
+    public int getActiveCount() { return maxSize - permits.availablePermits(); }
+    public int getPhysicalCount() { return physical.get(); }
+
+    private static final class Idle {
+        final Connection connection;
+        final long since;
+
+        Idle(Connection connection, long since) {
+            this.connection = connection;
+            this.since = since;
+        }
+    }
+}
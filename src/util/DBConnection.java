@@ -14,6 +14,7 @@ public class DBConnection {
     private static final Logger LOGGER = Logger.getLogger(DBConnection.class.getName());
 
     private static Connection testConnection;
+    private static volatile ConnectionPool pool;
     
     // Database configuration constants
     private static final String DATABASE_NAME = "aoopdatabase_payroll";
@@ -26,7 +27,7 @@ public class DBConnection {
 
     // Connection properties for better performance and compatibility
     private static final String CONNECTION_PROPERTIES =
-            "?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true&useUnicode=true&characterEncoding=UTF-8&autoReconnect=true&failOverReadOnly=false&maxReconnects=3&initialTimeout=2";
+            "?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true&useUnicode=true&characterEncoding=UTF-8&autoReconnect=true&failOverReadOnly=false&maxReconnects=3&initialTimeout=2&rewriteBatchedStatements=true";
 
     // Error message constants
     private static final String DRIVER_NOT_FOUND_ERROR =
@@ -80,14 +81,65 @@ public class DBConnection {
      */
     public static void setTestConnection(Connection conn) {
         testConnection = conn;
+        // Results computed against the previous database no longer apply
+        SingleFlight.invalidateAll();
     }
     
     public static Connection getConnection() throws SQLException {
+        // Inside a unit of work every caller shares the unit's transaction
+        Connection bound = UnitOfWork.boundConnection(DBConnection::acquireConnection);
+        if (bound != null) {
+            return bound;
+        }
+        return acquireConnection();
+    }
+
+    private static Connection acquireConnection() throws SQLException {
         // Use injected connection for tests if available
         if (testConnection != null) {
-            return testConnection;
+            return QueryMetrics.instrument(testConnection);
+        }
+
+        long acquireStart = System.nanoTime();
+        ConnectionPool activePool = pool;
+        if (activePool != null) {
+            Connection pooled = activePool.borrow();
+            QueryMetrics.recordConnectionAcquire(System.nanoTime() - acquireStart);
+            return QueryMetrics.instrument(pooled);
+        }
+
+        Connection conn = openConnection();
+        QueryMetrics.recordConnectionAcquire(System.nanoTime() - acquireStart);
+        return QueryMetrics.instrument(conn);
+    }
+
+    /**
+     * Serve getConnection() from a bounded pool instead of opening a connection per call.
+     * Used by long-running servers; the desktop client keeps one connection per operation.
+     */
+    public static synchronized void enablePooling(int maxSize, long borrowTimeoutMillis) {
+        if (pool != null) {
+            pool.close();
         }
-        
+        pool = new ConnectionPool(DBConnection::openConnection, maxSize, borrowTimeoutMillis);
+        LOGGER.info("Database connection pooling enabled (max " + maxSize + " connections)");
+    }
+
+    public static synchronized void disablePooling() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
+
+    /**
+     * The active pool, or null when every call opens its own connection
+     */
+    public static ConnectionPool getPool() {
+        return pool;
+    }
+
+    private static Connection openConnection() throws SQLException {
         try {
             // Load MySQL JDBC Driver with better error handling
             loadJDBCDriver();
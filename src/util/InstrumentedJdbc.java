@@ -0,0 +1,203 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Dynamic-proxy wrappers that time statement execution and count rows for {@link QueryMetrics}
+ * and emit {@link JfrEvents.StatementExecution} events.
+ * Only execute* calls and ResultSet.next()/close() do extra work; everything else is passed through.
+ */
+final class InstrumentedJdbc {
+
+    private InstrumentedJdbc() {}
+
+    static Connection wrap(Connection connection) {
+        if (Proxy.isProxyClass(connection.getClass())
+                && Proxy.getInvocationHandler(connection) instanceof ConnectionHandler) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedJdbc.invoke(target, method, args);
+            switch (method.getName()) {
+                case "prepareStatement":
+                    return wrapStatement(result, PreparedStatement.class, (String) args[0], proxy);
+                case "prepareCall":
+                    return wrapStatement(result, CallableStatement.class, (String) args[0], proxy);
+                case "createStatement":
+                    return wrapStatement(result, Statement.class, null, proxy);
+                default:
+                    return result;
+            }
+        }
+
+        private static Object wrapStatement(Object statement, Class<?> type, String sql, Object connection) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler((Statement) statement, sql, (Connection) connection));
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final Connection connection;
+        private QueryStats stats;
+        private ResultSetHandler openResultSet;
+
+        StatementHandler(Statement target, String sql, Connection connection) {
+            this.target = target;
+            this.connection = connection;
+            this.stats = sql != null ? QueryMetrics.statsFor(sql) : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("getConnection")) {
+                return connection;
+            }
+            if (!name.startsWith("execute")) {
+                if (name.equals("close")) {
+                    finishEvent();
+                }
+                Object result = InstrumentedJdbc.invoke(target, method, args);
+                if (name.equals("getResultSet") && result != null && stats != null) {
+                    return wrapResultSet((ResultSet) result, stats);
+                }
+                return result;
+            }
+
+            // Plain Statement: the SQL arrives with the execute call
+            if (args != null && args.length > 0 && args[0] instanceof String) {
+                stats = QueryMetrics.statsFor((String) args[0]);
+            }
+            QueryStats current = stats != null ? stats : QueryMetrics.statsFor("<unknown>");
+
+            finishEvent();
+            JfrEvents.StatementExecution event = new JfrEvents.StatementExecution();
+            event.begin();
+            long start = System.nanoTime();
+            boolean failed = true;
+            boolean deferred = false;
+            long rows = 0;
+            try {
+                Object result = InstrumentedJdbc.invoke(target, method, args);
+                failed = false;
+                if (result instanceof ResultSet) {
+                    // The event stays open until the rows have been read
+                    openResultSet = new ResultSetHandler((ResultSet) result, current, event);
+                    deferred = true;
+                    return Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                            new Class<?>[]{ResultSet.class}, openResultSet);
+                }
+                if (result instanceof Integer) {
+                    rows = (Integer) result;
+                } else if (result instanceof Long) {
+                    rows = (Long) result;
+                } else if (result instanceof int[]) {
+                    for (int count : (int[]) result) {
+                        rows += Math.max(count, 0);
+                    }
+                }
+                if (QueryMetrics.isEnabled()) {
+                    current.addRowsAffected(rows);
+                }
+                return result;
+            } finally {
+                QueryMetrics.recordExecution(current, System.nanoTime() - start, failed);
+                if (!deferred) {
+                    commit(event, current, rows, failed);
+                }
+            }
+        }
+
+        /** Commit the event of a result set the caller never closed explicitly */
+        private void finishEvent() {
+            if (openResultSet != null) {
+                openResultSet.finish();
+                openResultSet = null;
+            }
+        }
+
+        private static ResultSet wrapResultSet(ResultSet rs, QueryStats stats) {
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, new ResultSetHandler(rs, stats, null));
+        }
+    }
+
+    private static void commit(JfrEvents.StatementExecution event, QueryStats stats, long rows, boolean failed) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.sql = stats.getSql();
+            event.rows = rows;
+            event.failed = failed;
+            event.commit();
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final QueryStats stats;
+        private JfrEvents.StatementExecution event;
+        private long rows;
+
+        ResultSetHandler(ResultSet target, QueryStats stats, JfrEvents.StatementExecution event) {
+            this.target = target;
+            this.stats = stats;
+            this.event = event;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close")) {
+                finish();
+            }
+            Object result = InstrumentedJdbc.invoke(target, method, args);
+            if (name.equals("next")) {
+                if (Boolean.TRUE.equals(result)) {
+                    rows++;
+                    if (QueryMetrics.isEnabled()) {
+                        stats.addRowsReturned(1);
+                    }
+                } else {
+                    finish();
+                }
+            }
+            return result;
+        }
+
+        void finish() {
+            if (event != null) {
+                commit(event, stats, rows, false);
+                event = null;
+            }
+        }
+    }
+}
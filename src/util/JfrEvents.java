@@ -0,0 +1,120 @@
+package util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Custom JDK Flight Recorder events. They cost next to nothing unless a
+ * recording has them enabled, e.g.
+ * {@code jcmd <pid> JFR.start name=motorph settings=profile filename=motorph.jfr}.
+ * All events live under the "MotorPH" category in JDK Mission Control.
+ */
+public final class JfrEvents {
+
+    private static final EventType STATEMENT_TYPE = EventType.getEventType(StatementExecution.class);
+
+    private JfrEvents() {}
+
+    @Name("motorph.PayrollRun")
+    @Label("Payroll Run")
+    @Category({"MotorPH", "Payroll"})
+    @Description("Payroll calculation for a batch of employees")
+    public static class PayrollRun extends Event {
+        @Label("Employees Requested")
+        public int employees;
+
+        @Label("Employees Calculated")
+        public int calculated;
+
+        @Label("Period Start")
+        public String periodStart;
+
+        @Label("Period End")
+        public String periodEnd;
+    }
+
+    @Name("motorph.PayrollPhase")
+    @Label("Payroll Phase")
+    @Category({"MotorPH", "Payroll"})
+    @Description("One phase of a payroll calculation: load, earnings, deductions or contributions")
+    @StackTrace(false)
+    public static class PayrollPhase extends Event {
+        @Label("Employee ID")
+        @Description("0 for phases shared by a whole batch")
+        public int employeeId;
+
+        @Label("Phase")
+        public String phase;
+    }
+
+    @Name("motorph.Statement")
+    @Label("JDBC Statement")
+    @Category({"MotorPH", "JDBC"})
+    @Description("Statement execution through DBConnection; queries include the time spent reading rows")
+    @StackTrace(false)
+    public static class StatementExecution extends Event {
+        @Label("SQL Template")
+        public String sql;
+
+        @Label("Rows")
+        @Description("Rows read for queries, rows affected for updates")
+        public long rows;
+
+        @Label("Failed")
+        public boolean failed;
+    }
+
+    @Name("motorph.Jasper")
+    @Label("Jasper Report Phase")
+    @Category({"MotorPH", "Reports"})
+    @Description("JasperReports compile, fill or export step")
+    public static class Jasper extends Event {
+        @Label("Phase")
+        public String phase;
+
+        @Label("Template")
+        public String template;
+
+        @Label("Format")
+        public String format;
+
+        @Label("Bytes")
+        @Description("Size of the exported document")
+        public long bytes;
+    }
+
+    @Name("motorph.ReportGeneration")
+    @Label("Report Generation")
+    @Category({"MotorPH", "Reports"})
+    @Description("A report built in the Reports panel")
+    public static class ReportGeneration extends Event {
+        @Label("Report")
+        public String report;
+
+        @Label("Succeeded")
+        public boolean succeeded;
+    }
+
+    /**
+     * Whether a running recording wants statement events
+     */
+    public static boolean isStatementRecordingEnabled() {
+        return STATEMENT_TYPE.isEnabled();
+    }
+
+    /**
+     * Start timing a payroll phase; pair with {@link PayrollPhase#commit()}
+     */
+    public static PayrollPhase beginPhase(int employeeId, String phase) {
+        PayrollPhase event = new PayrollPhase();
+        event.employeeId = employeeId;
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+}
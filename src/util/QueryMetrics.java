@@ -0,0 +1,240 @@
+package util;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Per-SQL-template statistics for every statement run through {@link DBConnection}.
+ * Literals are stripped from the SQL so "WHERE id = 5" and "WHERE id = 6" share
+ * one template. Disable with {@code -Dmotorph.metrics=false}.
+ */
+public final class QueryMetrics {
+    private static final Logger LOGGER = Logger.getLogger(QueryMetrics.class.getName());
+
+    private static final String JMX_DOMAIN = "motorph.jdbc";
+
+    /** Templates beyond this are folded into one bucket so ad-hoc SQL can't grow the map forever */
+    private static final int MAX_TEMPLATES = 500;
+    private static final String OVERFLOW_TEMPLATE = "<other>";
+
+    /** IN lists of any length share a template: "IN (?, ?, ?)" becomes "IN (?...)" */
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN \\(\\?(?:, ?\\?)*\\)");
+
+    private static final ConcurrentHashMap<String, QueryStats> BY_TEMPLATE = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, QueryStats> BY_RAW_SQL = new ConcurrentHashMap<>();
+    private static final LatencyHistogram CONNECTION_ACQUIRE = new LatencyHistogram();
+    private static final LongAdder TOTAL_STATEMENTS = new LongAdder();
+
+    private static volatile boolean enabled =
+            Boolean.parseBoolean(System.getProperty("motorph.metrics", "true"));
+
+    static {
+        registerMBean(new ManagementView(), "type=QueryMetrics");
+    }
+
+    private QueryMetrics() {}
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Wrap a connection so its statements are measured; returns it unchanged when
+     * metrics are disabled and no flight recording wants statement events
+     */
+    public static Connection instrument(Connection connection) {
+        if (connection == null || (!enabled && !JfrEvents.isStatementRecordingEnabled())) {
+            return connection;
+        }
+        return InstrumentedJdbc.wrap(connection);
+    }
+
+    public static void recordConnectionAcquire(long nanos) {
+        if (enabled) {
+            CONNECTION_ACQUIRE.record(nanos);
+        }
+    }
+
+    /**
+     * Stats bucket for a statement; the raw SQL lookup avoids re-normalizing constant strings
+     */
+    static QueryStats statsFor(String rawSql) {
+        String key = rawSql != null ? rawSql : "";
+        QueryStats stats = BY_RAW_SQL.get(key);
+        if (stats != null) {
+            return stats;
+        }
+        stats = templateStats(normalize(key));
+        if (BY_RAW_SQL.size() < MAX_TEMPLATES * 4) {
+            BY_RAW_SQL.putIfAbsent(key, stats);
+        }
+        return stats;
+    }
+
+    static void recordExecution(QueryStats stats, long nanos, boolean failed) {
+        if (!enabled) {
+            return;
+        }
+        TOTAL_STATEMENTS.increment();
+        stats.recordExecution(nanos, failed);
+    }
+
+    private static QueryStats templateStats(String template) {
+        QueryStats stats = BY_TEMPLATE.get(template);
+        if (stats != null) {
+            return stats;
+        }
+        if (BY_TEMPLATE.size() >= MAX_TEMPLATES) {
+            template = OVERFLOW_TEMPLATE;
+        }
+        QueryStats created = new QueryStats(template);
+        QueryStats existing = BY_TEMPLATE.putIfAbsent(template, created);
+        if (existing != null) {
+            return existing;
+        }
+        registerMBean(created, "type=Statement,name=" + ObjectName.quote(template));
+        return created;
+    }
+
+    /**
+     * Snapshot of all templates, slowest (by total time) first
+     */
+    public static List<QueryStats> getStatementStats() {
+        List<QueryStats> list = new ArrayList<>(BY_TEMPLATE.values());
+        list.sort(Comparator.comparingDouble(QueryStats::getTotalMillis).reversed());
+        return list;
+    }
+
+    public static LatencyHistogram getConnectionAcquireHistogram() {
+        return CONNECTION_ACQUIRE;
+    }
+
+    public static long getTotalStatements() {
+        return TOTAL_STATEMENTS.sum();
+    }
+
+    /**
+     * Zero all counters; templates and their MBeans stay registered
+     */
+    public static void reset() {
+        BY_TEMPLATE.values().forEach(QueryStats::reset);
+        CONNECTION_ACQUIRE.reset();
+        TOTAL_STATEMENTS.reset();
+    }
+
+    /**
+     * Collapse whitespace, replace string/numeric literals with '?' and fold IN lists
+     */
+    static String normalize(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int n = sql.length();
+        boolean pendingSpace = false;
+        for (int i = 0; i < n; i++) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = out.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                out.append(' ');
+                pendingSpace = false;
+            }
+            if (c == '\'' || c == '"') {
+                // skip quoted literal, honouring doubled quotes
+                int j = i + 1;
+                while (j < n) {
+                    if (sql.charAt(j) == c) {
+                        if (j + 1 < n && sql.charAt(j + 1) == c) {
+                            j += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    j++;
+                }
+                out.append('?');
+                i = j;
+            } else if (Character.isDigit(c) && (out.length() == 0 || !isIdentifierChar(out.charAt(out.length() - 1)))) {
+                int j = i;
+                while (j + 1 < n && (Character.isDigit(sql.charAt(j + 1)) || sql.charAt(j + 1) == '.')) {
+                    j++;
+                }
+                out.append('?');
+                i = j;
+            } else {
+                out.append(c);
+            }
+        }
+        return IN_LIST.matcher(out).replaceAll("IN (?...)");
+    }
+
+    private static boolean isIdentifierChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private static void registerMBean(Object bean, String properties) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(JMX_DOMAIN + ":" + properties);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(bean, name);
+            }
+        } catch (Exception | LinkageError e) {
+            LOGGER.log(Level.FINE, "Could not register query metrics MBean " + properties, e);
+        }
+    }
+
+    /**
+     * Aggregate JMX view
+     */
+    private static class ManagementView implements QueryMetricsMXBean {
+        @Override
+        public boolean isEnabled() { return QueryMetrics.isEnabled(); }
+
+        @Override
+        public void setEnabled(boolean value) { QueryMetrics.setEnabled(value); }
+
+        @Override
+        public long getConnectionAcquisitions() { return CONNECTION_ACQUIRE.getCount(); }
+
+        @Override
+        public double getConnectionAcquireMeanMillis() { return CONNECTION_ACQUIRE.getMeanMillis(); }
+
+        @Override
+        public double getConnectionAcquireP95Millis() { return CONNECTION_ACQUIRE.getPercentileMillis(95); }
+
+        @Override
+        public double getConnectionAcquireP99Millis() { return CONNECTION_ACQUIRE.getPercentileMillis(99); }
+
+        @Override
+        public long getTotalStatements() { return QueryMetrics.getTotalStatements(); }
+
+        @Override
+        public int getTemplateCount() { return BY_TEMPLATE.size(); }
+
+        @Override
+        public String[] getTopStatementsByTotalTime() {
+            return getStatementStats().stream()
+                    .limit(10)
+                    .map(s -> String.format("%d calls, p95 %.2f ms: %s", s.getCalls(), s.getP95Millis(), s.getSql()))
+                    .toArray(String[]::new);
+        }
+
+        @Override
+        public void reset() { QueryMetrics.reset(); }
+    }
+}
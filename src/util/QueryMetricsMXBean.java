@@ -0,0 +1,18 @@
+package util;
+
+/**
+ * JMX view of the JDBC instrumentation, registered as
+ * {@code motorph.jdbc:type=QueryMetrics}
+ */
+public interface QueryMetricsMXBean {
+    boolean isEnabled();
+    void setEnabled(boolean enabled);
+    long getConnectionAcquisitions();
+    double getConnectionAcquireMeanMillis();
+    double getConnectionAcquireP95Millis();
+    double getConnectionAcquireP99Millis();
+    long getTotalStatements();
+    int getTemplateCount();
+    String[] getTopStatementsByTotalTime();
+    void reset();
+}
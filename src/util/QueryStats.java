@@ -0,0 +1,84 @@
+package util;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for one SQL template. All updates are lock-free so the
+ * instrumentation can stay on in production.
+ */
+public class QueryStats implements StatementStatsMXBean {
+
+    private final String sql;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rowsReturned = new LongAdder();
+    private final LongAdder rowsAffected = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    QueryStats(String sql) {
+        this.sql = sql;
+    }
+
+    void recordExecution(long nanos, boolean failed) {
+        calls.increment();
+        if (failed) {
+            errors.increment();
+        }
+        maxNanos.accumulate(nanos);
+        latency.record(nanos);
+    }
+
+    void addRowsReturned(long rows) {
+        rowsReturned.add(rows);
+    }
+
+    void addRowsAffected(long rows) {
+        if (rows > 0) {
+            rowsAffected.add(rows);
+        }
+    }
+
+    void reset() {
+        calls.reset();
+        errors.reset();
+        rowsReturned.reset();
+        rowsAffected.reset();
+        maxNanos.reset();
+        latency.reset();
+    }
+
+    @Override
+    public String getSql() { return sql; }
+
+    @Override
+    public long getCalls() { return calls.sum(); }
+
+    @Override
+    public long getErrors() { return errors.sum(); }
+
+    @Override
+    public long getRowsReturned() { return rowsReturned.sum(); }
+
+    @Override
+    public long getRowsAffected() { return rowsAffected.sum(); }
+
+    @Override
+    public double getMeanMillis() { return latency.getMeanMillis(); }
+
+    @Override
+    public double getP50Millis() { return latency.getPercentileMillis(50); }
+
+    @Override
+    public double getP95Millis() { return latency.getPercentileMillis(95); }
+
+    @Override
+    public double getP99Millis() { return latency.getPercentileMillis(99); }
+
+    @Override
+    public double getMaxMillis() { return maxNanos.get() / 1_000_000.0; }
+
+    /** Total time spent in this template, used to rank the slowest statements */
+    public double getTotalMillis() { return latency.getMeanMillis() * latency.getCount(); }
+}
@@ -0,0 +1,224 @@
+package util;
+
+import model.Employee;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/**
+ * In-memory store of authenticated sessions. A successful password check issues
+ * an opaque random token; later requests present the token and are validated
+ * here, reading only the credentials stamp, and that only once per recheck interval.
+ *
+ * Expiry slides: each successful validation pushes it back by the idle timeout.
+ * The store is bounded, evicting the least recently used session when full.
+ * Changing or deleting an employee's credentials revokes all of their sessions
+ * in this process. Other processes (the API server, other desktops) see such
+ * changes through the credentials stamp: each session keeps the stamp it was
+ * issued with, and validation compares it with the current one at most once
+ * per recheck interval, revoking the session when they differ.
+ *
+ * Limits come from {@code motorph.session.idleMinutes} (default 30),
+ * {@code motorph.session.maxSessions} (default 10000) and
+ * {@code motorph.session.recheckSeconds} (default 30).
+ */
+public class SessionStore {
+    private static final Logger LOGGER = Logger.getLogger(SessionStore.class.getName());
+
+    private static final int TOKEN_BYTES = 32;
+    private static final SessionStore INSTANCE = new SessionStore(
+            TimeUnit.MINUTES.toNanos(Long.getLong("motorph.session.idleMinutes", 30)),
+            Integer.getInteger("motorph.session.maxSessions", 10_000),
+            TimeUnit.SECONDS.toNanos(Long.getLong("motorph.session.recheckSeconds", 30)),
+            System::nanoTime);
+
+    private final SecureRandom random = new SecureRandom();
+    private final long idleTimeoutNanos;
+    private final int maxSessions;
+    private final long recheckNanos;
+    private final LongSupplier clock;
+
+    // Access-ordered, so the eldest entry is always the least recently used
+    private final LinkedHashMap<String, Session> sessions;
+
+    SessionStore(long idleTimeoutNanos, int maxSessions, LongSupplier clock) {
+        this(idleTimeoutNanos, maxSessions, TimeUnit.SECONDS.toNanos(30), clock);
+    }
+
+    SessionStore(long idleTimeoutNanos, int maxSessions, long recheckNanos, LongSupplier clock) {
+        if (idleTimeoutNanos <= 0 || maxSessions <= 0 || recheckNanos < 0) {
+            throw new IllegalArgumentException("Session timeout and capacity must be positive");
+        }
+        this.idleTimeoutNanos = idleTimeoutNanos;
+        this.maxSessions = maxSessions;
+        this.recheckNanos = recheckNanos;
+        this.clock = clock;
+        this.sessions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Session> eldest) {
+                return size() > SessionStore.this.maxSessions;
+            }
+        };
+    }
+
+    public static SessionStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Start a session not tied to a credentials stamp; see {@link #create(Employee, LocalDateTime)}
+     */
+    public String create(Employee employee) {
+        return create(employee, null);
+    }
+
+    /**
+     * Start a session for an authenticated employee and return its token.
+     * The stamp is when their credentials last changed, read before the password check.
+     */
+    public String create(Employee employee, LocalDateTime credentialsStamp) {
+        if (employee == null || employee.getId() <= 0) {
+            throw new IllegalArgumentException("Employee cannot be null");
+        }
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        long now = clock.getAsLong();
+        synchronized (sessions) {
+            sessions.put(token, new Session(employee, credentialsStamp, now, now + idleTimeoutNanos));
+        }
+        return token;
+    }
+
+    /**
+     * The employee for a live session, extending its expiry; null for unknown,
+     * expired or revoked tokens. Checked in memory only.
+     */
+    public Employee validate(String token) {
+        return validate(token, null);
+    }
+
+    /**
+     * As {@link #validate(String)}, and once per recheck interval also looks up the
+     * employee's current credentials stamp (null when they have none), revoking
+     * the session if it no longer matches the one it was issued with
+     */
+    public Employee validate(String token, IntFunction<LocalDateTime> credentialsStamp) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        long now = clock.getAsLong();
+        Session session;
+        synchronized (sessions) {
+            session = sessions.get(token);
+            if (session == null) {
+                return null;
+            }
+            if (now - session.expiresAt >= 0) {
+                sessions.remove(token);
+                return null;
+            }
+            session.expiresAt = now + idleTimeoutNanos;
+            if (credentialsStamp == null || now - session.checkedAt < recheckNanos) {
+                return session.employee;
+            }
+        }
+
+        // Outside the lock, as this is a database round trip
+        int employeeId = session.employee.getId();
+        if (!Objects.equals(session.credentialsStamp, credentialsStamp.apply(employeeId))) {
+            revoke(token);
+            LOGGER.info("Revoked session for employee " + employeeId + ": credentials changed");
+            return null;
+        }
+        synchronized (sessions) {
+            session.checkedAt = now;
+        }
+        return session.employee;
+    }
+
+    /**
+     * End one session (logout)
+     */
+    public boolean revoke(String token) {
+        if (token == null) {
+            return false;
+        }
+        synchronized (sessions) {
+            return sessions.remove(token) != null;
+        }
+    }
+
+    /**
+     * End every session belonging to the employee
+     */
+    public int revokeAll(int employeeId) {
+        int removed = 0;
+        synchronized (sessions) {
+            Iterator<Session> it = sessions.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().employee.getId() == employeeId) {
+                    it.remove();
+                    removed++;
+                }
+            }
+        }
+        if (removed > 0) {
+            LOGGER.info("Revoked " + removed + " session(s) for employee: " + employeeId);
+        }
+        return removed;
+    }
+
+    /**
+     * Drop expired sessions; validation also expires them lazily
+     */
+    public int purgeExpired() {
+        long now = clock.getAsLong();
+        int removed = 0;
+        synchronized (sessions) {
+            Iterator<Session> it = sessions.values().iterator();
+            while (it.hasNext()) {
+                if (now - it.next().expiresAt >= 0) {
+                    it.remove();
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (sessions) {
+            sessions.clear();
+        }
+    }
+
+    private static final class Session {
+        final Employee employee;
+        final LocalDateTime credentialsStamp;
+        long checkedAt;
+        long expiresAt;
+
+        Session(Employee employee, LocalDateTime credentialsStamp, long checkedAt, long expiresAt) {
+            this.employee = employee;
+            this.credentialsStamp = credentialsStamp;
+            this.checkedAt = checkedAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package util;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Coalesces identical computations. The first caller for a key runs the work;
+ * callers arriving while it is in flight wait for the same result instead of
+ * starting their own, and the result is then kept for a short TTL so a burst of
+ * identical requests (a preview followed by a payslip export, two panels
+ * refreshing together) costs one computation.
+ *
+ * Failures are never cached: every waiter sees the exception and the next call
+ * starts afresh. Results are shared between callers, so they must be treated as
+ * read-only. {@link #invalidateAll()} drops every registered cache; it runs
+ * whenever the data source is switched, and callers can clear one cache with
+ * {@link #invalidate()} after a write they need reflected at once.
+ */
+public final class SingleFlight<K, V> {
+    private static final Logger LOGGER = Logger.getLogger(SingleFlight.class.getName());
+
+    // Expired entries are swept once the map grows past this
+    private static final int SWEEP_THRESHOLD = 1024;
+
+    private static final List<SingleFlight<?, ?>> REGISTERED = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    SingleFlight(String name, long ttlNanos, LongSupplier clock) {
+        if (ttlNanos < 0) {
+            throw new IllegalArgumentException("TTL cannot be negative");
+        }
+        this.name = name;
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+    }
+
+    /**
+     * A cache that {@link #invalidateAll()} reaches, with its TTL read from the
+     * given system property; a TTL of 0 only coalesces concurrent calls
+     */
+    public static <K, V> SingleFlight<K, V> register(String name, String ttlProperty, long defaultTtlMillis) {
+        SingleFlight<K, V> flight = new SingleFlight<>(name,
+                TimeUnit.MILLISECONDS.toNanos(Math.max(0, Long.getLong(ttlProperty, defaultTtlMillis))),
+                System::nanoTime);
+        REGISTERED.add(flight);
+        return flight;
+    }
+
+    /**
+     * Drop the cached results of every registered cache
+     */
+    public static void invalidateAll() {
+        for (SingleFlight<?, ?> flight : REGISTERED) {
+            flight.invalidate();
+        }
+    }
+
+    /**
+     * The result for the key: a fresh cached one, the one already being computed,
+     * or a new computation run on this thread. The work's own exception is
+     * rethrown to every caller waiting on it.
+     */
+    public V get(K key, Callable<V> work) throws Exception {
+        Objects.requireNonNull(key, "key");
+        long now = clock.getAsLong();
+        Flight<V> started = new Flight<>();
+        Flight<V> flight = flights.compute(key,
+                (k, existing) -> existing != null && !existing.isExpired(now, ttlNanos) ? existing : started);
+
+        if (flight != started) {
+            return await(flight.result);
+        }
+        if (flights.size() > SWEEP_THRESHOLD) {
+            flights.values().removeIf(f -> f.isExpired(now, ttlNanos));
+        }
+        try {
+            V value = work.call();
+            flight.completedAt = clock.getAsLong();
+            flight.result.complete(value);
+            return value;
+        } catch (Throwable t) {
+            flights.remove(key, flight);
+            flight.result.completeExceptionally(t);
+            throw t;
+        }
+    }
+
+    /**
+     * Forget cached results. Computations already in flight finish for the
+     * callers waiting on them, but new callers start their own.
+     */
+    public void invalidate() {
+        if (!flights.isEmpty()) {
+            flights.clear();
+            LOGGER.fine(() -> "Cleared " + name + " results");
+        }
+    }
+
+    int size() {
+        return flights.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> result) throws Exception {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Flight<V> {
+        final CompletableFuture<V> result = new CompletableFuture<>();
+        volatile long completedAt;
+
+        boolean isExpired(long now, long ttlNanos) {
+            if (!result.isDone()) {
+                return false;
+            }
+            return result.isCompletedExceptionally() || now - completedAt >= ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package util;
+
+/**
+ * JMX view of a single SQL template, registered as
+ * {@code motorph.jdbc:type=Statement,name="<sql>"}
+ */
+public interface StatementStatsMXBean {
+    String getSql();
+    long getCalls();
+    long getErrors();
+    long getRowsReturned();
+    long getRowsAffected();
+    double getMeanMillis();
+    double getP50Millis();
+    double getP95Millis();
+    double getP99Millis();
+    double getMaxMillis();
+}
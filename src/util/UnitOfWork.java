@@ -0,0 +1,258 @@
+package util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Binds one connection to the current thread for the length of a service call,
+ * so every DAO write inside it shares a single transaction and commits once.
+ *
+ * While a unit is active {@link DBConnection#getConnection()} hands out the
+ * bound connection; the DAOs keep their try-with-resources blocks, and their
+ * close, commit and setAutoCommit calls are absorbed until the unit ends. The
+ * connection is taken lazily, so a unit that never touches the database (or
+ * runs against the in-memory backend) costs nothing.
+ *
+ * Units nest by joining: an inner {@link #execute} runs inside the outer
+ * transaction, and a failure anywhere rolls back the whole unit, even if an
+ * outer caller catches it. DAOs that keep caches in step with their writes
+ * hand the cache change to {@link #afterCommit}, so it happens once the rows
+ * are visible to other connections; clearing a cache earlier would let a
+ * concurrent reader reload the old rows and keep them.
+ */
+public final class UnitOfWork {
+    private static final Logger LOGGER = Logger.getLogger(UnitOfWork.class.getName());
+
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    private Connection connection;
+    private Connection bound;
+    private boolean rollbackOnly;
+    private final List<Runnable> rollbackHooks = new ArrayList<>();
+    private final List<Runnable> commitHooks = new ArrayList<>();
+
+    private UnitOfWork() {
+    }
+
+    /**
+     * Work run inside a unit; any exception rolls the unit back
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T run() throws Exception;
+    }
+
+    /**
+     * Run the work on one connection and commit once, or roll everything back if
+     * it throws. Checked exceptions are rethrown wrapped in a RuntimeException.
+     */
+    public static <T> T execute(Work<T> work) {
+        if (work == null) {
+            throw new IllegalArgumentException("Work cannot be null");
+        }
+        UnitOfWork outer = CURRENT.get();
+        if (outer != null) {
+            return outer.join(work);
+        }
+
+        UnitOfWork unit = new UnitOfWork();
+        CURRENT.set(unit);
+        boolean committed = false;
+        try {
+            T result = work.run();
+            if (unit.rollbackOnly) {
+                unit.rollback(null);
+            } else {
+                unit.commit();
+                committed = true;
+            }
+            return result;
+        } catch (Exception e) {
+            unit.rollback(e);
+            throw e instanceof RuntimeException ? (RuntimeException) e
+                    : new RuntimeException("Unit of work failed: " + e.getMessage(), e);
+        } finally {
+            CURRENT.remove();
+            unit.release();
+            if (committed) {
+                unit.runCommitHooks();
+            }
+        }
+    }
+
+    /**
+     * Whether the current thread is inside a unit of work
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Make the current unit roll back instead of committing when it returns, for
+     * work that ends in a normal "nothing done" result; a no-op outside a unit
+     */
+    public static void setRollbackOnly() {
+        UnitOfWork unit = CURRENT.get();
+        if (unit != null) {
+            unit.rollbackOnly = true;
+        }
+    }
+
+    /**
+     * Run the hook if the current unit rolls back; a no-op outside a unit, where
+     * every write has already committed
+     */
+    public static void onRollback(Runnable hook) {
+        UnitOfWork unit = CURRENT.get();
+        if (unit != null && hook != null) {
+            unit.rollbackHooks.add(hook);
+        }
+    }
+
+    /**
+     * Run the hook once the current unit has committed, after its connection is
+     * released; dropped if the unit rolls back. Outside a unit the caller's write
+     * has already committed, so the hook runs at once.
+     */
+    public static void afterCommit(Runnable hook) {
+        if (hook == null) {
+            return;
+        }
+        UnitOfWork unit = CURRENT.get();
+        if (unit != null) {
+            unit.commitHooks.add(hook);
+        } else {
+            hook.run();
+        }
+    }
+
+    /**
+     * The current unit's connection, taken on first use; null outside a unit
+     */
+    static Connection boundConnection(ConnectionSource source) throws SQLException {
+        UnitOfWork unit = CURRENT.get();
+        if (unit == null) {
+            return null;
+        }
+        if (unit.bound == null) {
+            Connection conn = source.acquire();
+            try {
+                conn.setAutoCommit(false);
+            } catch (SQLException e) {
+                conn.close();
+                throw e;
+            }
+            unit.connection = conn;
+            unit.bound = unit.view(conn);
+        }
+        return unit.bound;
+    }
+
+    @FunctionalInterface
+    interface ConnectionSource {
+        Connection acquire() throws SQLException;
+    }
+
+    private <T> T join(Work<T> work) {
+        try {
+            return work.run();
+        } catch (Exception e) {
+            rollbackOnly = true;
+            throw e instanceof RuntimeException ? (RuntimeException) e
+                    : new RuntimeException("Unit of work failed: " + e.getMessage(), e);
+        }
+    }
+
+    private void commit() throws SQLException {
+        if (connection != null) {
+            connection.commit();
+        }
+    }
+
+    /** Roll back and run the hooks; cause is null for a requested rollback */
+    private void rollback(Exception cause) {
+        if (connection != null) {
+            try {
+                connection.rollback();
+            } catch (SQLException e) {
+                if (cause != null) {
+                    cause.addSuppressed(e);
+                }
+                LOGGER.log(Level.WARNING, "Rollback failed", e);
+            }
+        }
+        for (Runnable hook : rollbackHooks) {
+            try {
+                hook.run();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Rollback hook failed", e);
+            }
+        }
+        LOGGER.fine(cause != null ? "Unit of work rolled back: " + cause.getMessage() : "Unit of work rolled back");
+    }
+
+    private void runCommitHooks() {
+        for (Runnable hook : commitHooks) {
+            try {
+                hook.run();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Commit hook failed", e);
+            }
+        }
+    }
+
+    private void release() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Could not restore autocommit", e);
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Error closing unit of work connection", e);
+        }
+    }
+
+    /**
+     * The connection as the DAOs see it: transaction control belongs to the unit,
+     * and a DAO rolling back its own statements marks the whole unit for rollback
+     */
+    private Connection view(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                        case "commit":
+                        case "setAutoCommit":
+                            return null;
+                        case "rollback":
+                            if (args == null) {
+                                rollbackOnly = true;
+                                return null;
+                            }
+                            break;
+                        case "getAutoCommit":
+                            return false;
+                        case "isClosed":
+                            return target.isClosed();
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -45,6 +45,7 @@ SET SESSION sql_mode = 'STRICT_TRANS_TABLES,NO_ZERO_IN_DATE,NO_ZERO_DATE,ERROR_F
 -- Purpose: Achieves 3NF by storing position-related data separately.
 -- This removes transitive dependencies from the employees table.
 -- =============================================
+DROP TABLE IF EXISTS holidays;
 DROP TABLE IF EXISTS attendance;
 DROP TABLE IF EXISTS leave_requests;
 DROP TABLE IF EXISTS credentials;
@@ -81,6 +82,8 @@ CREATE TABLE employees (
     status ENUM('Regular', 'Probationary') NOT NULL,
     position_id INT NOT NULL,
     supervisor_id INT, -- This is now a self-referencing foreign key
+    -- "last, first" in lower case, so supervisor lookups by name can use an index
+    full_name_key VARCHAR(102) GENERATED ALWAYS AS (LOWER(CONCAT(last_name, ', ', first_name))) STORED,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (position_id) REFERENCES positions(position_id),
@@ -129,6 +132,72 @@ CREATE TABLE attendance (
     FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
 );
 
+-- =============================================
+-- Table: holidays
+-- Non-working weekdays; weekends are excluded by the application
+-- =============================================
+CREATE TABLE holidays (
+    holiday_date DATE PRIMARY KEY,
+    holiday_name VARCHAR(100) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- =============================================
+-- Tables: closed_periods, closed_period_summaries
+-- Per-employee monthly figures frozen when a pay period is closed; insert-only
+-- =============================================
+CREATE TABLE closed_periods (
+    period_month DATE PRIMARY KEY,
+    employee_count INT NOT NULL,
+    closed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE closed_period_summaries (
+    period_month DATE NOT NULL,
+    employee_id INT NOT NULL,
+    days_present INT NOT NULL,
+    work_minutes INT NOT NULL,
+    late_days INT NOT NULL,
+    late_minutes INT NOT NULL,
+    undertime_days INT NOT NULL,
+    undertime_minutes INT NOT NULL,
+    unpaid_leave_days INT NOT NULL,
+    working_days INT NOT NULL,
+    monthly_rate DECIMAL(12,2) NOT NULL,
+    daily_rate DECIMAL(12,4) NOT NULL,
+    basic_pay DECIMAL(12,2) NOT NULL,
+    rice_subsidy DECIMAL(10,2) NOT NULL,
+    phone_allowance DECIMAL(10,2) NOT NULL,
+    clothing_allowance DECIMAL(10,2) NOT NULL,
+    late_deduction DECIMAL(12,2) NOT NULL,
+    undertime_deduction DECIMAL(12,2) NOT NULL,
+    unpaid_leave_deduction DECIMAL(12,2) NOT NULL,
+    sss DECIMAL(10,2) NOT NULL,
+    philhealth DECIMAL(10,2) NOT NULL,
+    pagibig DECIMAL(10,2) NOT NULL,
+    tax DECIMAL(12,2) NOT NULL,
+    PRIMARY KEY (period_month, employee_id),
+    FOREIGN KEY (period_month) REFERENCES closed_periods(period_month)
+);
+
+-- =============================================
+-- Table: attendance_monthly_summary
+-- Per-employee monthly attendance rollup, month_key = yyyymm; the application
+-- recounts the affected month on every attendance insert, update and delete
+-- =============================================
+CREATE TABLE attendance_monthly_summary (
+    employee_id INT NOT NULL,
+    month_key INT NOT NULL,
+    days_present INT NOT NULL,
+    work_minutes INT NOT NULL,
+    late_days INT NOT NULL,
+    late_minutes INT NOT NULL,
+    undertime_days INT NOT NULL,
+    undertime_minutes INT NOT NULL,
+    PRIMARY KEY (employee_id, month_key),
+    FOREIGN KEY (employee_id) REFERENCES employees(employee_id) ON DELETE CASCADE
+);
+
 
 -- =============================================
 -- Data Insertion (Normalized)
@@ -159,6 +228,29 @@ INSERT INTO positions (position_title, basic_salary, rice_subsidy, phone_allowan
 ('Supply Chain and Logistics', 52670.00, 1500.00, 1000.00, 1000.00, 26335.00, 313.51),
 ('Customer Service and Relations', 52670.00, 1500.00, 1000.00, 1000.00, 26335.00, 313.51);
 
+-- Step 1b: Regular holidays for the payroll years in the sample data.
+INSERT INTO holidays (holiday_date, holiday_name) VALUES
+('2024-01-01', 'New Year''s Day'),
+('2024-03-28', 'Maundy Thursday'),
+('2024-03-29', 'Good Friday'),
+('2024-04-09', 'Araw ng Kagitingan'),
+('2024-05-01', 'Labor Day'),
+('2024-06-12', 'Independence Day'),
+('2024-08-26', 'National Heroes Day'),
+('2024-11-30', 'Bonifacio Day'),
+('2024-12-25', 'Christmas Day'),
+('2024-12-30', 'Rizal Day'),
+('2025-01-01', 'New Year''s Day'),
+('2025-04-09', 'Araw ng Kagitingan'),
+('2025-04-17', 'Maundy Thursday'),
+('2025-04-18', 'Good Friday'),
+('2025-05-01', 'Labor Day'),
+('2025-06-12', 'Independence Day'),
+('2025-08-25', 'National Heroes Day'),
+('2025-11-30', 'Bonifacio Day'),
+('2025-12-25', 'Christmas Day'),
+('2025-12-30', 'Rizal Day');
+
 -- Step 2: Populate the `employees` table.
 -- Note how supervisor_id is now used. This must be done in order, from top management down.
 -- The CEO (10001) has a NULL supervisor_id.
@@ -217,6 +309,19 @@ INSERT INTO attendance (employee_id, attendance_date, log_in, log_out) VALUES
 (10001, '2024-06-04', '09:47:00', '19:07:00'), (10002, '2024-06-04', '10:11:00', '20:16:00'),
 (10003, '2024-06-04', '10:45:00', '20:37:00'), (10004, '2024-06-04', '09:45:00', '16:54:00');
 
+-- Step 5: Build the monthly attendance rollup from the rows above.
+INSERT INTO attendance_monthly_summary (employee_id, month_key, days_present, work_minutes,
+                                        late_days, late_minutes, undertime_days, undertime_minutes)
+SELECT employee_id, YEAR(attendance_date) * 100 + MONTH(attendance_date), COUNT(*),
+       SUM(CASE WHEN log_out IS NULL THEN 0 ELSE FLOOR((TIME_TO_SEC(log_out) - TIME_TO_SEC(log_in)) / 60) END),
+       SUM(CASE WHEN log_in > '08:00:00' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN log_in > '08:00:00' THEN FLOOR((TIME_TO_SEC(log_in) - 28800) / 60) ELSE 0 END),
+       SUM(CASE WHEN log_out < '17:00:00' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN log_out < '17:00:00' THEN FLOOR((61200 - TIME_TO_SEC(log_out)) / 60) ELSE 0 END)
+FROM attendance
+WHERE log_in IS NOT NULL
+GROUP BY employee_id, YEAR(attendance_date) * 100 + MONTH(attendance_date);
+
 
 -- =============================================
 -- View Creation
@@ -370,8 +475,15 @@ DELIMITER ;
 CREATE INDEX idx_employees_name ON employees(last_name, first_name);
 CREATE INDEX idx_employees_position ON employees(position_id);
 CREATE INDEX idx_employees_status ON employees(status);
+-- Team lookups filter on supervisor_id and sort by name
+CREATE INDEX idx_employees_supervisor ON employees(supervisor_id, last_name, first_name);
 CREATE INDEX idx_leave_requests_employee_date ON leave_requests(employee_id, start_date, end_date);
 CREATE INDEX idx_attendance_employee_date ON attendance(employee_id, attendance_date);
+-- Matched to the DAO queries; see dao.SchemaMigrator, which applies the same set
+CREATE INDEX idx_employees_full_name_key ON employees(full_name_key);
+CREATE INDEX idx_employees_status_name ON employees(status, last_name, first_name);
+CREATE INDEX idx_leave_requests_employee_status ON leave_requests(employee_id, status, start_date, end_date);
+CREATE INDEX idx_leave_requests_status_start ON leave_requests(status, start_date, employee_id, end_date);
 
 
 -- =============================================
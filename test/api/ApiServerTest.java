@@ -0,0 +1,195 @@
+package api;
+
+import dao.InMemoryDataStore;
+import dao.RepositoryFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.File;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ApiServerTest {
+
+    private static final String PASSWORD = "password1234";
+
+    private RepositoryFactory.Backend previousBackend;
+    private ApiServer server;
+    private HttpClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        previousBackend = RepositoryFactory.getBackend();
+        RepositoryFactory.setBackend(RepositoryFactory.Backend.MEMORY);
+        InMemoryDataStore.getInstance().clear();
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        InMemoryDataStore.getInstance().loadSampleData(10, yesterday.minusMonths(1), yesterday);
+
+        server = new ApiServer(0);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+        InMemoryDataStore.getInstance().clear();
+        RepositoryFactory.setBackend(previousBackend);
+    }
+
+    @Test
+    public void testHealth() throws Exception {
+        HttpResponse<String> response = send("GET", "/api/health", null, null);
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"status\":\"UP\""));
+    }
+
+    @Test
+    public void testRequiresAuthentication() throws Exception {
+        assertEquals(401, send("GET", "/api/employees/10002/attendance", null, null).statusCode());
+        assertEquals(401, send("GET", "/api/employees/10002/attendance", auth(10002, "wrong"), null).statusCode());
+        assertEquals(403, send("GET", "/api/employees/10003/attendance", auth(10002, PASSWORD), null).statusCode());
+    }
+
+    @Test
+    public void testClockInAndOut() throws Exception {
+        HttpResponse<String> in = send("POST", "/api/employees/10002/clock-in", auth(10002, PASSWORD), "");
+        assertEquals(201, in.statusCode());
+        assertTrue(in.body().contains("\"date\":\"" + LocalDate.now() + "\""));
+
+        assertEquals(409, send("POST", "/api/employees/10002/clock-in", auth(10002, PASSWORD), "").statusCode());
+        assertEquals(200, send("POST", "/api/employees/10002/clock-out", auth(10002, PASSWORD), "").statusCode());
+    }
+
+    @Test
+    public void testAttendanceHistory() throws Exception {
+        HttpResponse<String> response = send("GET", "/api/employees/10002/attendance?from="
+                + LocalDate.now().minusDays(14), auth(10002, PASSWORD), null);
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().startsWith("["));
+        assertTrue(response.body().contains("\"employeeId\":10002"));
+    }
+
+    @Test
+    public void testSubmitLeave() throws Exception {
+        LocalDate start = LocalDate.now().plusMonths(2);
+        String body = Json.write(Map.of("leaveType", "Vacation",
+                "startDate", start.toString(), "endDate", start.plusDays(1).toString()));
+
+        HttpResponse<String> created = send("POST", "/api/employees/10002/leave-requests", auth(10002, PASSWORD), body);
+        assertEquals(201, created.statusCode());
+
+        HttpResponse<String> list = send("GET", "/api/employees/10002/leave-requests", auth(10002, PASSWORD), null);
+        assertTrue(list.body().contains("\"startDate\":\"" + start + "\""));
+
+        assertEquals(400, send("POST", "/api/employees/10002/leave-requests", auth(10002, PASSWORD), "{oops").statusCode());
+    }
+
+    @Test
+    public void testPayslipJson() throws Exception {
+        String period = LocalDate.now().minusMonths(1).toString().substring(0, 7);
+        HttpResponse<String> response = send("GET", "/api/employees/10002/payslips/" + period, auth(10002, PASSWORD), null);
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"netPay\":"));
+    }
+
+    @Test
+    public void testSessionToken() throws Exception {
+        // Plain Basic requests don't start sessions
+        HttpResponse<String> basic = send("GET", "/api/employees/10002/leave-requests", auth(10002, PASSWORD), null);
+        assertEquals(200, basic.statusCode());
+        assertFalse(basic.headers().firstValue("X-Session-Token").isPresent());
+
+        HttpResponse<String> login = send("POST", "/api/employees/10002/session", auth(10002, PASSWORD), "");
+        assertEquals(201, login.statusCode());
+        String token = login.headers().firstValue("X-Session-Token").orElseThrow();
+        assertTrue(login.body().contains("\"token\":\"" + token + "\""));
+        String bearer = "Bearer " + token;
+
+        assertEquals(200, send("GET", "/api/employees/10002/leave-requests", bearer, null).statusCode());
+        assertEquals(403, send("GET", "/api/employees/10003/leave-requests", bearer, null).statusCode());
+        // Logging in again with a token hands the same one back
+        assertEquals(token, send("POST", "/api/employees/10002/session", bearer, "")
+                .headers().firstValue("X-Session-Token").orElseThrow());
+
+        // A password change revokes the session at once
+        new dao.InMemoryCredentialsRepository().updatePassword(10002, "changed-password");
+        assertEquals(401, send("GET", "/api/employees/10002/leave-requests", bearer, null).statusCode());
+
+        String fresh = send("POST", "/api/employees/10002/session", auth(10002, "changed-password"), "")
+                .headers().firstValue("X-Session-Token").orElseThrow();
+        assertEquals(204, send("DELETE", "/api/employees/10002/session", "Bearer " + fresh, null).statusCode());
+        assertEquals(401, send("GET", "/api/employees/10002/leave-requests", "Bearer " + fresh, null).statusCode());
+    }
+
+    @Test
+    public void testPlainHttpOnlyOnLoopback() throws Exception {
+        assertFalse(server.isHttps());
+        try {
+            new ApiServer(new InetSocketAddress("0.0.0.0", 0), null);
+            fail("Plain HTTP bound beyond loopback");
+        } catch (IllegalArgumentException expected) {
+            // a keystore is required off loopback
+        }
+    }
+
+    @Test
+    public void testHttpsWithKeystore() throws Exception {
+        File keystore = File.createTempFile("motorph-api", ".p12");
+        assertTrue(keystore.delete());
+        char[] password = "changeit".toCharArray();
+        Process keytool = new ProcessBuilder(System.getProperty("java.home") + "/bin/keytool", "-genkeypair",
+                "-alias", "api", "-keyalg", "RSA", "-dname", "CN=localhost", "-validity", "1",
+                "-storetype", "PKCS12", "-keystore", keystore.getPath(), "-storepass", "changeit")
+                .inheritIO().start();
+        assertEquals(0, keytool.waitFor());
+
+        ApiServer https = new ApiServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                ApiServer.sslContext(keystore, password));
+        https.start();
+        try {
+            KeyStore trusted = KeyStore.getInstance(keystore, password);
+            TrustManagerFactory trust = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            trust.init(trusted);
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, trust.getTrustManagers(), null);
+            HttpClient tls = HttpClient.newBuilder().sslContext(context).build();
+
+            assertTrue(https.isHttps());
+            HttpResponse<String> response = tls.send(HttpRequest.newBuilder(
+                    URI.create("https://localhost:" + https.getPort() + "/api/health")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+        } finally {
+            https.stop(0);
+            keystore.delete();
+        }
+    }
+
+    private HttpResponse<String> send(String method, String path, String authorization, String body) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, body != null ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody());
+        if (authorization != null) {
+            builder.header("Authorization", authorization);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String auth(int employeeId, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((employeeId + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
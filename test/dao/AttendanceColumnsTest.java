@@ -0,0 +1,87 @@
+package dao;
+
+import model.Attendance;
+import model.AttendanceTotals;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class AttendanceColumnsTest {
+
+    private static final LocalDate FROM = LocalDate.of(2023, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 6, 30);
+    private static final int EMPLOYEE_ID = 10002;
+
+    private RepositoryFactory.Backend previousBackend;
+
+    @Before
+    public void setUp() {
+        previousBackend = RepositoryFactory.getBackend();
+        RepositoryFactory.setBackend(RepositoryFactory.Backend.MEMORY);
+        InMemoryDataStore.getInstance().loadSampleData(10, FROM, TO);
+    }
+
+    @After
+    public void tearDown() {
+        InMemoryDataStore.getInstance().clear();
+        RepositoryFactory.setBackend(previousBackend);
+    }
+
+    @Test
+    public void testScan_matchesTotalsOfRawRows() {
+        // Edges fall mid-month so both partial chunks are cut by day
+        LocalDate from = LocalDate.of(2023, 2, 14);
+        LocalDate to = LocalDate.of(2024, 5, 9);
+        List<Integer> ids = Arrays.asList(10001, EMPLOYEE_ID, 10003, 99999);
+
+        Map<Integer, AttendanceColumns.Scan> scans = AttendanceColumns.scan(ids, from, to);
+        assertEquals(4, scans.size());
+        assertEquals(0, scans.get(99999).getDaysPresent());
+
+        for (int id : Arrays.asList(10001, EMPLOYEE_ID, 10003)) {
+            AttendanceTotals raw = AttendanceTotals.of(
+                    RepositoryFactory.attendance().getAttendanceByEmployeeIdBetweenDates(id, from, to));
+            AttendanceColumns.Scan scan = scans.get(id);
+            assertEquals(raw.getDaysPresent(), scan.getDaysPresent());
+            assertEquals(raw.getWorkMinutes(), scan.getWorkMinutes());
+            assertEquals(raw.getLateDays(), scan.getLateDays());
+            assertEquals(raw.getLateMinutes(), scan.getLateMinutes());
+            assertEquals(raw.getUndertimeDays(), scan.getUndertimeDays());
+            assertEquals(raw.getUndertimeMinutes(), scan.getUndertimeMinutes());
+            assertEquals(scan.getDaysPresent(), Arrays.stream(scan.getPresentByWeekday()).sum());
+            assertEquals(scan.getLateDays(), Arrays.stream(scan.getLateByWeekday()).sum());
+        }
+    }
+
+    @Test
+    public void testScan_seesWritesToCachedMonths() {
+        // Saturday 2024-06-01 is empty in the sample data
+        LocalDate saturday = LocalDate.of(2024, 6, 1);
+        AttendanceColumns.Scan before = AttendanceColumns.scan(EMPLOYEE_ID, FROM, TO);
+
+        int id = RepositoryFactory.attendance().insertAttendance(new Attendance(EMPLOYEE_ID,
+                Date.valueOf(saturday), Time.valueOf("08:30:00"), Time.valueOf("16:00:00")));
+
+        AttendanceColumns.Scan after = AttendanceColumns.scan(EMPLOYEE_ID, FROM, TO);
+        assertEquals(before.getDaysPresent() + 1, after.getDaysPresent());
+        assertEquals(before.getLateByWeekday()[5] + 1, after.getLateByWeekday()[5]);
+        assertEquals(before.getUndertimeMinutes() + 60, after.getUndertimeMinutes());
+
+        RepositoryFactory.attendance().deleteAttendance(id);
+        assertEquals(before.getDaysPresent(), AttendanceColumns.scan(EMPLOYEE_ID, FROM, TO).getDaysPresent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testScan_rejectsReversedRange() {
+        AttendanceColumns.scan(EMPLOYEE_ID, TO, FROM);
+    }
+}
@@ -41,29 +41,31 @@ public class DeductionDAOTest {
     public void testAddDeduction_validInput() throws Exception {
         Deduction dummy = new DummyDeduction(1, "SSS", 150.00, "Monthly contribution");
 
+        ResultSet generatedKeys = mock(ResultSet.class);
+        when(mockConn.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(mockStmt);
+        when(mockStmt.getGeneratedKeys()).thenReturn(generatedKeys);
+        when(generatedKeys.next()).thenReturn(true);
+        when(generatedKeys.getInt(1)).thenReturn(42);
+
         try (MockedStatic<DBConnection> db = Mockito.mockStatic(DBConnection.class)) {
             db.when(DBConnection::getConnection).thenReturn(mockConn);
 
             dao.addDeduction(dummy);
             verify(mockStmt, times(1)).executeUpdate();
+            assertEquals(42, dummy.getDeductionId());
         }
     }
 
     @Test
-    public void testGetDeductionsByEmployeeId_tableDoesNotExist_returnsEmptyList() throws Exception {
-        // Simulate table does not exist
+    public void testGetDeductionsByEmployeeId_noRows_returnsEmptyList() throws Exception {
+        // The schema is migrated at startup, so no catalog probe runs before the query
         try (MockedStatic<DBConnection> db = Mockito.mockStatic(DBConnection.class)) {
-            Connection spyConn = spy(mockConn);
-            PreparedStatement infoStmt = mock(PreparedStatement.class);
-            ResultSet emptyRs = mock(ResultSet.class);
-            when(emptyRs.next()).thenReturn(false);
-            when(infoStmt.executeQuery()).thenReturn(emptyRs);
-            when(spyConn.prepareStatement(contains("information_schema.tables"))).thenReturn(infoStmt);
-
-            db.when(DBConnection::getConnection).thenReturn(spyConn);
+            when(mockRs.next()).thenReturn(false);
+            db.when(DBConnection::getConnection).thenReturn(mockConn);
 
             List<Deduction> result = dao.getDeductionsByEmployeeId(1);
             assertTrue(result.isEmpty());
+            verify(mockConn, never()).prepareStatement(contains("information_schema"));
         }
     }
 
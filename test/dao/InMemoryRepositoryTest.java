@@ -0,0 +1,182 @@
+package dao;
+
+import model.Attendance;
+import model.AttendanceTotals;
+import model.Employee;
+import model.LeaveRequest;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class InMemoryRepositoryTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 6, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 6, 30);
+
+    private InMemoryDataStore store;
+    private InMemoryEmployeeRepository employees;
+    private InMemoryAttendanceRepository attendance;
+    private InMemoryLeaveRequestRepository leaves;
+    private InMemoryCredentialsRepository credentials;
+
+    @Before
+    public void setUp() {
+        store = new InMemoryDataStore();
+        store.loadSampleData(20, FROM, TO);
+        employees = new InMemoryEmployeeRepository(store);
+        attendance = new InMemoryAttendanceRepository(store);
+        leaves = new InMemoryLeaveRequestRepository(store);
+        credentials = new InMemoryCredentialsRepository(store);
+    }
+
+    @Test
+    public void testGetAllEmployees_sortedByName() {
+        List<Employee> all = employees.getAllEmployees();
+        assertEquals(20, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).getLastName().compareTo(all.get(i).getLastName()) <= 0);
+        }
+    }
+
+    @Test
+    public void testGetEmployeeById_resolvesPositionAndSupervisor() {
+        Employee e = employees.getEmployeeById(10002);
+        assertNotNull(e);
+        assertEquals("Last0, First0", e.getImmediateSupervisor());
+        assertNotNull(e.getPosition());
+        assertEquals(0.0, e.getBasicSalary(), 0.001);
+        assertTrue(employees.getEmployeeWithPositionDetails(10002).getBasicSalary() > 0);
+    }
+
+    @Test
+    public void testGetEmployeesBySupervisor() {
+        List<Employee> reports = employees.getEmployeesBySupervisor(10001);
+        assertEquals(8, reports.size());
+    }
+
+    @Test
+    public void testAttendanceRange_newestFirstAndWithinRange() {
+        List<Attendance> rows = attendance.getAttendanceByEmployeeIdBetweenDates(10001,
+                LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 14));
+        assertFalse(rows.isEmpty());
+        for (int i = 0; i < rows.size(); i++) {
+            LocalDate d = rows.get(i).getDate().toLocalDate();
+            assertFalse(d.isBefore(LocalDate.of(2024, 6, 10)));
+            assertFalse(d.isAfter(LocalDate.of(2024, 6, 14)));
+            if (i > 0) {
+                assertTrue(d.isBefore(rows.get(i - 1).getDate().toLocalDate()));
+            }
+        }
+        assertEquals(rows.size(), attendance.countAttendanceDays(10001,
+                LocalDate.of(2024, 6, 10), LocalDate.of(2024, 6, 14)));
+    }
+
+    @Test
+    public void testInsertAttendance_rejectsDuplicateDate() {
+        LocalDate saturday = LocalDate.of(2024, 6, 1);
+        Attendance a = new Attendance(10003, Date.valueOf(saturday), Time.valueOf("08:00:00"), Time.valueOf("17:00:00"));
+        int id = attendance.insertAttendance(a);
+        assertTrue(id > 0);
+        assertEquals(id, attendance.getAttendanceByEmployeeAndDate(10003, saturday).getId());
+
+        try {
+            attendance.insertAttendance(new Attendance(10003, Date.valueOf(saturday), Time.valueOf("09:00:00"), null));
+            fail("Expected duplicate attendance to be rejected");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testMonthlyTotals_followInsertUpdateAndDelete() {
+        YearMonth june = YearMonth.from(FROM);
+        assertEquals(AttendanceTotals.of(attendance.getAttendanceByEmployeeIdBetweenDates(10003, FROM, TO)).toString(),
+                attendance.getMonthlyTotals(List.of(10003), june, june).get(10003).toString());
+        int days = attendance.getMonthlyTotals(List.of(10003), june, june).get(10003).getDaysPresent();
+
+        Attendance saturday = new Attendance(10003, Date.valueOf("2024-06-01"),
+                Time.valueOf("08:30:00"), Time.valueOf("17:00:00"));
+        attendance.insertAttendance(saturday);
+        AttendanceTotals inserted = attendance.getMonthlyTotals(List.of(10003), june, june).get(10003);
+        assertEquals(days + 1, inserted.getDaysPresent());
+
+        // Moving the row to May recounts both months
+        saturday.setDate(Date.valueOf("2024-05-25"));
+        assertTrue(attendance.updateAttendance(saturday));
+        assertEquals(days, attendance.getMonthlyTotals(List.of(10003), june, june).get(10003).getDaysPresent());
+        AttendanceTotals may = attendance.getMonthlyTotals(List.of(10003), june.minusMonths(1), june.minusMonths(1)).get(10003);
+        assertEquals(1, may.getDaysPresent());
+        assertEquals(30, may.getLateMinutes());
+
+        assertTrue(attendance.deleteAttendance(saturday.getId()));
+        assertNull(attendance.getMonthlyTotals(List.of(10003), june.minusMonths(1), june.minusMonths(1)).get(10003));
+    }
+
+    @Test
+    public void testReturnedRowsAreCopies() {
+        Attendance a = attendance.getAttendanceByEmployeeId(10001).get(0);
+        a.setLogIn(Time.valueOf("12:00:00"));
+        assertNotEquals(Time.valueOf("12:00:00"), attendance.getAttendanceById(a.getId()).getLogIn());
+    }
+
+    @Test
+    public void testLeaveOverlapAndStatusUpdate() {
+        LeaveRequest leave = new LeaveRequest(10004, Date.valueOf("2024-07-10"), Date.valueOf("2024-07-12"), "Annual");
+        int id = leaves.insertLeaveRequest(leave);
+
+        // Pending leaves don't count as overlaps, approved ones do
+        assertFalse(leaves.hasOverlappingLeave(10004, LocalDate.of(2024, 7, 12), LocalDate.of(2024, 7, 15), null));
+        assertTrue(leaves.updateLeaveStatus(id, LeaveRequest.STATUS_APPROVED));
+        assertTrue(leaves.hasOverlappingLeave(10004, LocalDate.of(2024, 7, 12), LocalDate.of(2024, 7, 15), null));
+        assertFalse(leaves.hasOverlappingLeave(10004, LocalDate.of(2024, 7, 12), LocalDate.of(2024, 7, 15), id));
+        assertFalse(leaves.hasOverlappingLeave(10004, LocalDate.of(2024, 7, 13), LocalDate.of(2024, 7, 15), null));
+
+        assertEquals(1, leaves.getApprovedLeavesByEmployeeIdAndDateRange(10004,
+                LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 31)).size());
+    }
+
+    @Test
+    public void testLeaveSummary_matchesLeaveRows() {
+        int expected = 0;
+        for (String status : new String[]{"Pending", "Approved", "Rejected"}) {
+            expected += leaves.getLeaveRequestsByStatus(status).size();
+        }
+        int[] streamed = new int[1];
+        int[] lastEmployee = {0};
+        leaves.streamLeaveSummary(row -> {
+            assertTrue(row.getEmployeeId() >= lastEmployee[0]);
+            assertTrue(row.getTotalDays() >= row.getRequestCount());
+            lastEmployee[0] = row.getEmployeeId();
+            streamed[0] += row.getRequestCount();
+        });
+        assertEquals(expected, streamed[0]);
+    }
+
+    @Test
+    public void testDeleteEmployee_cascades() {
+        assertTrue(employees.deleteEmployee(10020));
+        assertFalse(employees.employeeExists(10020));
+        assertFalse(credentials.credentialsExist(10020));
+        assertTrue(attendance.getAttendanceByEmployeeId(10020).isEmpty());
+    }
+
+    @Test
+    public void testAuthenticateUser() {
+        assertTrue(credentials.authenticateUser(10001, "password1234"));
+        assertFalse(credentials.authenticateUser(10001, "wrong"));
+    }
+
+    @Test
+    public void testRepositoryFactory_resolveBackend() {
+        assertEquals(RepositoryFactory.Backend.MYSQL, RepositoryFactory.resolveBackend(null));
+        assertEquals(RepositoryFactory.Backend.MEMORY, RepositoryFactory.resolveBackend("memory"));
+        assertEquals(RepositoryFactory.Backend.MYSQL, RepositoryFactory.resolveBackend("oracle"));
+    }
+}
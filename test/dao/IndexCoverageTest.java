@@ -0,0 +1,189 @@
+package dao;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Time;
+import java.time.LocalDate;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs EXPLAIN on the hot DAO queries against the migrated schema with 5,000
+ * employees and fails if any of them scans a whole table. ANALYZE gives H2 the
+ * row counts its cost model needs, so a few thousand rows are enough for it to
+ * prefer an index. The queries are the DAOs' own SQL constants and builders,
+ * so the test follows any change to them.
+ *
+ * H2 in MySQL mode is only a proxy: it shows that a usable index exists for
+ * each query, not that MySQL's optimizer will pick it. Check EXPLAIN on a
+ * production-sized MySQL database before relying on a new index.
+ */
+public class IndexCoverageTest {
+
+    private static final int EMPLOYEE_COUNT = 5_000;
+    // Size of the IN lists the batch queries are checked with; the callers chunk by 100
+    private static final int ID_COUNT = 100;
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 3);
+    private static final int MONTH_KEY = 202406;
+
+    private static Connection connection;
+
+    @BeforeClass
+    public static void setUpDatabase() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:indexcoverage;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        SchemaMigrator.migrate(connection);
+        connection.setAutoCommit(false);
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("INSERT INTO positions (position_id, position_title, basic_salary, rice_subsidy, phone_allowance, " +
+                    "clothing_allowance, gross_semi_monthly_rate, hourly_rate) VALUES " +
+                    "(1, 'Chief Executive Officer', 90000, 1500, 2000, 1000, 45000, 535.71), " +
+                    "(2, 'Rank and File', 22500, 1500, 500, 500, 11250, 133.93)");
+        }
+        try (PreparedStatement emp = connection.prepareStatement(
+                "INSERT INTO employees (employee_id, last_name, first_name, status, position_id, supervisor_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?)");
+             PreparedStatement att = connection.prepareStatement(
+                "INSERT INTO attendance (employee_id, attendance_date, log_in, log_out) VALUES (?, ?, ?, ?)");
+             PreparedStatement leave = connection.prepareStatement(
+                "INSERT INTO leave_requests (employee_id, leave_type, start_date, end_date, status) VALUES (?, ?, ?, ?, ?)");
+             PreparedStatement cred = connection.prepareStatement(
+                "INSERT INTO credentials (employee_id, password_hash) VALUES (?, 'password1234')")) {
+            String[] statuses = {"Approved", "Pending", "Rejected"};
+            for (int id = 1; id <= EMPLOYEE_COUNT; id++) {
+                emp.setInt(1, id);
+                emp.setString(2, "Last" + id);
+                emp.setString(3, "First" + id);
+                emp.setString(4, id % 20 == 0 ? "Probationary" : "Regular");
+                emp.setInt(5, id == 1 ? 1 : 2);
+                emp.setObject(6, id == 1 ? null : 1 + (id - 2) / 8, java.sql.Types.INTEGER);
+                emp.addBatch();
+
+                att.setInt(1, id);
+                att.setDate(2, Date.valueOf(DAY.plusDays(id % 5)));
+                att.setTime(3, Time.valueOf("08:00:00"));
+                att.setTime(4, Time.valueOf("17:00:00"));
+                att.addBatch();
+
+                leave.setInt(1, id);
+                leave.setString(2, "Vacation");
+                leave.setDate(3, Date.valueOf(DAY.plusDays(id % 200)));
+                leave.setDate(4, Date.valueOf(DAY.plusDays(id % 200 + 2)));
+                leave.setString(5, statuses[id % 3]);
+                leave.addBatch();
+
+                cred.setInt(1, id);
+                cred.addBatch();
+
+                if (id % 1_000 == 0) {
+                    emp.executeBatch();
+                    att.executeBatch();
+                    leave.executeBatch();
+                    cred.executeBatch();
+                }
+            }
+        }
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("INSERT INTO deductions (employee_id, type, amount) SELECT employee_id, 'Loan', 100 FROM employees");
+            stmt.execute("INSERT INTO attendance_monthly_summary (employee_id, month_key, days_present, work_minutes, " +
+                    "late_days, late_minutes, undertime_days, undertime_minutes) " +
+                    "SELECT employee_id, " + MONTH_KEY + ", COUNT(*), 540 * COUNT(*), 0, 0, 0, 0 FROM attendance GROUP BY employee_id");
+            connection.commit();
+            stmt.execute("ANALYZE");
+        }
+        connection.setAutoCommit(true);
+    }
+
+    @AfterClass
+    public static void tearDownDatabase() throws Exception {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Test
+    public void testEmployeeQueries() throws Exception {
+        assertIndexed(EmployeeDAO.SELECT_EMPLOYEE + " WHERE e.employee_id = ?", 5000);
+        assertIndexed(EmployeeDAO.SELECT_EMPLOYEE + " WHERE e.supervisor_id = ? ORDER BY e.last_name, e.first_name", 10);
+        assertIndexed(EmployeeDAO.SELECT_EMPLOYEE + " WHERE e.status = ? ORDER BY e.last_name, e.first_name", "Probationary");
+        assertIndexed(EmployeeDAO.SELECT_ID_BY_FULL_NAME_KEY, EmployeeDAO.normalizeFullName("Last500, First500"));
+        assertIndexed(EmployeeDAO.COUNT_BY_STATUS, "Probationary");
+        assertIndexed(EmployeeDAO.selectByIdsQuery(ID_COUNT), withIds());
+    }
+
+    @Test
+    public void testAuthenticationQuery() throws Exception {
+        assertIndexed(CredentialsDAO.AUTHENTICATE_AND_LOAD_EMPLOYEE, 42, "password1234");
+    }
+
+    @Test
+    public void testAttendanceQueries() throws Exception {
+        assertIndexed(AttendanceDAO.SELECT_BY_EMPLOYEE_AND_DATE_RANGE, 77, Date.valueOf(DAY),
+                Date.valueOf(DAY.plusDays(14)));
+        assertIndexed(AttendanceDAO.SELECT_BY_EMPLOYEE_AND_DATE, 77, Date.valueOf(DAY));
+        assertIndexed(AttendanceDAO.TEAM_STATUS_QUERY, "Approved", Date.valueOf(DAY), Date.valueOf(DAY),
+                Date.valueOf(DAY), 10);
+        assertIndexed(AttendanceDAO.selectByEmployeeIdsBetweenDatesQuery(ID_COUNT),
+                withIds(Date.valueOf(DAY), Date.valueOf(DAY.plusDays(14))));
+        assertIndexed(AttendanceDAO.scanQuery(ID_COUNT), withIds(Date.valueOf(DAY), Date.valueOf(DAY.plusDays(14))));
+    }
+
+    @Test
+    public void testMonthlyRollupQueries() throws Exception {
+        assertIndexed(AttendanceDAO.monthlyTotalsQuery(ID_COUNT), withIds(MONTH_KEY, MONTH_KEY));
+        assertIndexed(AttendanceDAO.DELETE_MONTHLY_SUMMARY, 77, MONTH_KEY);
+        assertIndexed(AttendanceDAO.REFRESH_MONTHLY_SUMMARY, MONTH_KEY, 77, Date.valueOf(DAY.withDayOfMonth(1)),
+                Date.valueOf(DAY.withDayOfMonth(30)));
+    }
+
+    @Test
+    public void testLeaveQueries() throws Exception {
+        assertIndexed(LeaveRequestDAO.SELECT_BY_EMPLOYEE_ID, 300);
+        Date from = Date.valueOf(DAY);
+        Date to = Date.valueOf(DAY.plusDays(14));
+        assertIndexed(LeaveRequestDAO.SELECT_APPROVED_BY_EMPLOYEE_AND_DATE_RANGE, 300, "Approved",
+                from, to, from, to, from, to);
+        assertIndexed(LeaveRequestDAO.SELECT_BY_STATUS, "Pending");
+        assertIndexed(LeaveRequestDAO.CHECK_OVERLAPPING_LEAVE + " AND id <> ? LIMIT 1", 300, "Approved", to, from, 5);
+        assertIndexed(LeaveRequestDAO.selectApprovedByEmployeeIdsAndDateRangeQuery(ID_COUNT),
+                withIds("Approved", to, from));
+    }
+
+    @Test
+    public void testDeductionQueries() throws Exception {
+        assertIndexed(DeductionDAO.SUM_BY_EMPLOYEE_AND_TYPE, 300, "Loan");
+        assertIndexed(DeductionDAO.SELECT_BY_EMPLOYEE_ID, 300);
+    }
+
+    /** ID_COUNT employee IDs spread over the table, followed by the query's other parameters */
+    private static Object[] withIds(Object... rest) {
+        Object[] params = new Object[ID_COUNT + rest.length];
+        for (int i = 0; i < ID_COUNT; i++) {
+            params[i] = 300 + i * 37;
+        }
+        System.arraycopy(rest, 0, params, ID_COUNT, rest.length);
+        return params;
+    }
+
+    private static void assertIndexed(String query, Object... params) throws Exception {
+        try (PreparedStatement stmt = connection.prepareStatement("EXPLAIN " + query)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                assertTrue(rs.next());
+                String plan = rs.getString(1);
+                assertFalse("Full table scan in plan:\n" + plan, plan.contains("tableScan"));
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package dao;
+
+import model.LeaveRequest;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.*;
+
+public class LeaveIntervalIndexTest {
+
+    private LeaveIntervalIndex index;
+
+    @Before
+    public void setUp() {
+        index = new LeaveIntervalIndex();
+        index.put(1, 10002, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 3), LeaveRequest.STATUS_APPROVED);
+        index.put(2, 10002, LocalDate.of(2024, 7, 10), LocalDate.of(2024, 7, 12), LeaveRequest.STATUS_PENDING);
+        index.put(3, 10003, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 31), LeaveRequest.STATUS_APPROVED);
+    }
+
+    @Test
+    public void testApprovedOverlap_edges() {
+        assertTrue(index.hasApprovedOverlap(10002, LocalDate.of(2024, 6, 25), LocalDate.of(2024, 7, 1), null));
+        assertTrue(index.hasApprovedOverlap(10002, LocalDate.of(2024, 7, 3), LocalDate.of(2024, 7, 9), null));
+        assertTrue(index.hasApprovedOverlap(10002, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 1), null));
+        assertFalse(index.hasApprovedOverlap(10002, LocalDate.of(2024, 7, 4), LocalDate.of(2024, 7, 9), null));
+        assertFalse(index.hasApprovedOverlap(10002, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30), null));
+        assertFalse(index.hasApprovedOverlap(10099, LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 1), null));
+    }
+
+    @Test
+    public void testPendingKeptSeparate() {
+        assertFalse(index.hasApprovedOverlap(10002, LocalDate.of(2024, 7, 11), LocalDate.of(2024, 7, 11), null));
+        assertTrue(index.hasPendingOverlap(10002, LocalDate.of(2024, 7, 11), LocalDate.of(2024, 7, 11), null));
+    }
+
+    @Test
+    public void testExcludeLeaveId() {
+        assertFalse(index.hasApprovedOverlap(10002, LocalDate.of(2024, 7, 2), LocalDate.of(2024, 7, 2), 1));
+        assertTrue(index.hasApprovedOverlap(10002, LocalDate.of(2024, 7, 2), LocalDate.of(2024, 7, 2), 2));
+    }
+
+    @Test
+    public void testOverlappingLeavesOfOneEmployee() {
+        index.put(4, 10003, LocalDate.of(2024, 7, 5), LocalDate.of(2024, 7, 6), LeaveRequest.STATUS_APPROVED);
+
+        assertTrue(index.hasApprovedOverlap(10003, LocalDate.of(2024, 7, 5), LocalDate.of(2024, 7, 5), 3));
+        assertTrue(index.hasApprovedOverlap(10003, LocalDate.of(2024, 7, 20), LocalDate.of(2024, 7, 20), 4));
+        assertFalse(index.hasApprovedOverlap(10003, LocalDate.of(2024, 7, 20), LocalDate.of(2024, 7, 20), 3));
+    }
+
+    @Test
+    public void testStatusChangesAndRemoval() {
+        index.updateStatus(2, LeaveRequest.STATUS_APPROVED);
+        assertTrue(index.hasApprovedOverlap(10002, LocalDate.of(2024, 7, 11), LocalDate.of(2024, 7, 11), null));
+
+        index.updateStatus(2, LeaveRequest.STATUS_REJECTED);
+        assertFalse(index.contains(2));
+        assertFalse(index.hasPendingOverlap(10002, LocalDate.of(2024, 7, 11), LocalDate.of(2024, 7, 11), null));
+
+        index.remove(1);
+        assertFalse(index.hasApprovedOverlap(10002, LocalDate.of(2024, 7, 2), LocalDate.of(2024, 7, 2), null));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testPutReplacesDates() {
+        index.put(1, 10002, LocalDate.of(2024, 8, 1), LocalDate.of(2024, 8, 2), LeaveRequest.STATUS_APPROVED);
+
+        assertFalse(index.hasApprovedOverlap(10002, LocalDate.of(2024, 7, 2), LocalDate.of(2024, 7, 2), null));
+        assertTrue(index.hasApprovedOverlap(10002, LocalDate.of(2024, 8, 2), LocalDate.of(2024, 8, 2), null));
+    }
+}
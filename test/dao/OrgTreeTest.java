@@ -0,0 +1,132 @@
+package dao;
+
+import model.Employee;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class OrgTreeTest {
+
+    private RepositoryFactory.Backend previousBackend;
+
+    @Before
+    public void setUp() {
+        previousBackend = RepositoryFactory.getBackend();
+        RepositoryFactory.setBackend(RepositoryFactory.Backend.MEMORY);
+        InMemoryDataStore.getInstance().clear();
+        InMemoryDataStore.getInstance().loadSampleData(20, LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 4));
+    }
+
+    @After
+    public void tearDown() {
+        InMemoryDataStore.getInstance().clear();
+        RepositoryFactory.setBackend(previousBackend);
+    }
+
+    @Test
+    public void testOf_directReports() {
+        Map<Integer, Integer> links = new HashMap<>();
+        links.put(1, null);
+        links.put(3, 1);
+        links.put(2, 1);
+        links.put(4, 2);
+        OrgTree tree = OrgTree.of(links);
+
+        assertEquals(4, tree.size());
+        assertEquals(List.of(2, 3), tree.getDirectReportIds(1));
+        assertEquals(1, tree.getDirectReportCount(2));
+        assertTrue(tree.hasDirectReports(2));
+        assertFalse(tree.hasDirectReports(4));
+        assertTrue(tree.isDirectReport(2, 4));
+        assertFalse(tree.isDirectReport(1, 4));
+        assertNull(tree.getSupervisorId(1));
+        assertTrue(tree.getDirectReportIds(99).isEmpty());
+    }
+
+    @Test
+    public void testSubtree_contiguousRanges() {
+        Map<Integer, Integer> links = new HashMap<>();
+        links.put(1, null);
+        links.put(2, 1);
+        links.put(3, 1);
+        links.put(4, 2);
+        links.put(5, 4);
+        links.put(6, 3);
+        OrgTree tree = OrgTree.of(links);
+
+        assertEquals(5, tree.getSubtreeSize(1));
+        assertEquals(2, tree.getSubtreeSize(2));
+        assertEquals(0, tree.getSubtreeSize(5));
+        assertEquals(List.of(4, 5), tree.getSubtreeIds(2));
+        assertTrue(tree.isInSubtree(1, 5));
+        assertTrue(tree.isInSubtree(2, 5));
+        assertFalse(tree.isInSubtree(3, 5));
+        assertFalse(tree.isInSubtree(2, 2));
+        assertFalse(tree.isInSubtree(99, 2));
+    }
+
+    @Test
+    public void testRollup_sumsSubtrees() {
+        Map<Integer, Integer> links = new HashMap<>();
+        links.put(1, null);
+        links.put(2, 1);
+        links.put(3, 1);
+        links.put(4, 2);
+        OrgTree tree = OrgTree.of(links);
+
+        OrgTree.Rollup rollup = tree.rollup(id -> id * 10);
+
+        assertEquals(90, rollup.below(1), 0.001);
+        assertEquals(100, rollup.subtree(1), 0.001);
+        assertEquals(60, rollup.subtree(2), 0.001);
+        assertEquals(40, rollup.below(2), 0.001);
+        assertEquals(0, rollup.below(3), 0.001);
+    }
+
+    @Test
+    public void testOf_supervisorCycleStillNumbered() {
+        Map<Integer, Integer> links = new HashMap<>();
+        links.put(1, 2);
+        links.put(2, 1);
+        links.put(3, 2);
+        OrgTree tree = OrgTree.of(links);
+
+        assertEquals(2, tree.getSubtreeSize(1));
+        assertTrue(tree.isInSubtree(1, 3));
+    }
+
+    @Test
+    public void testCurrent_matchesRepository() {
+        OrgTree tree = OrgTree.current();
+
+        assertEquals(20, tree.size());
+        assertSame(tree, OrgTree.current());
+        assertEquals(8, tree.getDirectReportCount(10001));
+        List<Employee> reports = new InMemoryEmployeeRepository().getEmployeesBySupervisor(10001);
+        for (Employee e : reports) {
+            assertTrue(tree.isDirectReport(10001, e.getId()));
+        }
+    }
+
+    @Test
+    public void testUpdateEmployee_invalidatesTree() {
+        OrgTree before = OrgTree.current();
+        InMemoryEmployeeRepository repository = new InMemoryEmployeeRepository();
+        Employee moved = repository.getEmployeeById(10010);
+        moved.setImmediateSupervisor(repository.getEmployeeById(10002).getImmediateSupervisor());
+
+        assertTrue(repository.updateEmployee(moved));
+
+        OrgTree after = OrgTree.current();
+        assertNotSame(before, after);
+        assertEquals(9, after.getDirectReportCount(10001));
+        assertFalse(after.isDirectReport(10002, 10010));
+    }
+}
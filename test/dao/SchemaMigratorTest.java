@@ -0,0 +1,100 @@
+package dao;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.Assert.*;
+
+public class SchemaMigratorTest {
+
+    private Connection connection;
+
+    @Before
+    public void setUp() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:schemamigrator;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Test
+    public void testMigrate_freshDatabase() throws Exception {
+        assertEquals(SchemaMigrator.CURRENT_VERSION, SchemaMigrator.migrate(connection));
+        assertEquals(SchemaMigrator.CURRENT_VERSION, SchemaMigrator.currentVersion(connection));
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("INSERT INTO positions (position_title, basic_salary, rice_subsidy, phone_allowance, " +
+                    "clothing_allowance, gross_semi_monthly_rate, hourly_rate) VALUES ('Clerk', 20000, 1500, 500, 500, 10000, 119)");
+            stmt.execute("INSERT INTO employees (employee_id, last_name, first_name, status, position_id) " +
+                    "VALUES (1, 'Cruz', 'Ana', 'Regular', 1)");
+            stmt.execute("INSERT INTO deductions (employee_id, type, amount) VALUES (1, 'Loan', 100)");
+            stmt.execute("INSERT INTO holidays (holiday_date, holiday_name) VALUES ('2024-06-12', 'Independence Day')");
+            try (ResultSet rs = stmt.executeQuery("SELECT full_name, position_title FROM v_employee_details")) {
+                assertTrue(rs.next());
+                assertEquals("Cruz, Ana", rs.getString(1));
+                assertEquals("Clerk", rs.getString(2));
+            }
+        }
+    }
+
+    @Test
+    public void testMigrate_secondRunAppliesNothing() throws Exception {
+        SchemaMigrator.migrate(connection);
+
+        assertEquals(0, SchemaMigrator.migrate(connection));
+        assertEquals(SchemaMigrator.CURRENT_VERSION, SchemaMigrator.currentVersion(connection));
+    }
+
+    @Test
+    public void testMigrate_adoptsScriptBuiltDatabase() throws Exception {
+        // Every table and index already there, as aoopdatabase_payroll.sql leaves them, but no version table
+        SchemaMigrator.migrate(connection);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP TABLE schema_version");
+        }
+
+        assertEquals(SchemaMigrator.CURRENT_VERSION, SchemaMigrator.migrate(connection));
+        assertEquals(SchemaMigrator.CURRENT_VERSION, SchemaMigrator.currentVersion(connection));
+    }
+
+    @Test
+    public void testMigrate_buildsAttendanceRollupFromExistingRows() throws Exception {
+        SchemaMigrator.migrate(connection);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("INSERT INTO positions (position_title, basic_salary, rice_subsidy, phone_allowance, " +
+                    "clothing_allowance, gross_semi_monthly_rate, hourly_rate) VALUES ('Clerk', 20000, 1500, 500, 500, 10000, 119)");
+            stmt.execute("INSERT INTO employees (employee_id, last_name, first_name, status, position_id) " +
+                    "VALUES (1, 'Cruz', 'Ana', 'Regular', 1)");
+            stmt.execute("INSERT INTO attendance (employee_id, attendance_date, log_in, log_out) VALUES " +
+                    "(1, '2024-06-03', '08:30:00', '17:00:00'), (1, '2024-06-04', '08:00:00', '16:15:30'), " +
+                    "(1, '2024-07-01', '08:00:00', '17:00:00')");
+            stmt.execute("DROP TABLE schema_version");
+        }
+
+        SchemaMigrator.migrate(connection);
+
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT days_present, work_minutes, late_days, late_minutes, " +
+                     "undertime_days, undertime_minutes FROM attendance_monthly_summary " +
+                     "WHERE employee_id = 1 AND month_key = 202406")) {
+            assertTrue(rs.next());
+            assertEquals(2, rs.getInt(1));
+            assertEquals(510 + 495, rs.getInt(2));
+            assertEquals(1, rs.getInt(3));
+            assertEquals(30, rs.getInt(4));
+            assertEquals(1, rs.getInt(5));
+            assertEquals(44, rs.getInt(6));
+        }
+    }
+}
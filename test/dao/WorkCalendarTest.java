@@ -0,0 +1,127 @@
+package dao;
+
+import org.junit.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import util.DBConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class WorkCalendarTest {
+
+    private final WorkCalendar weekdays = WorkCalendar.of(Collections.emptyList());
+    private final WorkCalendar withHolidays = WorkCalendar.of(Arrays.asList(
+            LocalDate.of(2024, 6, 12),   // Wednesday
+            LocalDate.of(2024, 6, 15),   // Saturday, no effect
+            LocalDate.of(2025, 1, 1)));
+
+    @Test
+    public void testWorkingDay() {
+        assertTrue(weekdays.isWorkingDay(LocalDate.of(2024, 6, 12)));
+        assertFalse(weekdays.isWorkingDay(LocalDate.of(2024, 6, 15)));
+        assertFalse(withHolidays.isWorkingDay(LocalDate.of(2024, 6, 12)));
+        assertTrue(withHolidays.isHoliday(LocalDate.of(2024, 6, 12)));
+    }
+
+    @Test
+    public void testWorkingDaysInMonth() {
+        assertEquals(20, weekdays.workingDaysInMonth(YearMonth.of(2024, 6)));
+        assertEquals(19, withHolidays.workingDaysInMonth(YearMonth.of(2024, 6)));
+        assertEquals(21, weekdays.workingDaysInMonth(YearMonth.of(2024, 2)));
+    }
+
+    @Test
+    public void testWorkingDaysBetween_matchesDayByDayCount() {
+        LocalDate from = LocalDate.of(2023, 12, 20);
+        LocalDate to = LocalDate.of(2025, 1, 10);
+        for (LocalDate start = from; start.isBefore(LocalDate.of(2024, 1, 5)); start = start.plusDays(3)) {
+            for (LocalDate end = LocalDate.of(2024, 12, 25); !end.isAfter(to); end = end.plusDays(4)) {
+                int expected = 0;
+                for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
+                    if (withHolidays.isWorkingDay(d)) {
+                        expected++;
+                    }
+                }
+                assertEquals(start + ".." + end, expected, withHolidays.workingDaysBetween(start, end));
+            }
+        }
+    }
+
+    @Test
+    public void testWorkingDaysBetween_edges() {
+        assertEquals(1, weekdays.workingDaysBetween(LocalDate.of(2024, 6, 3), LocalDate.of(2024, 6, 3)));
+        assertEquals(0, weekdays.workingDaysBetween(LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 2)));
+        assertEquals(0, weekdays.workingDaysBetween(LocalDate.of(2024, 6, 5), LocalDate.of(2024, 6, 3)));
+    }
+
+    @Test
+    public void testWorkingDaysOverlapping_clipsToPeriod() {
+        // Unpaid leave Thu 13 Jun to Wed 19 Jun 2024, payroll period 1-15 Jun: Thu and Fri only
+        assertEquals(2, withHolidays.workingDaysOverlapping(
+                LocalDate.of(2024, 6, 13), LocalDate.of(2024, 6, 19),
+                LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 15)));
+        // Leave across the 12 June holiday and a weekend
+        assertEquals(4, withHolidays.workingDaysOverlapping(
+                LocalDate.of(2024, 6, 11), LocalDate.of(2024, 6, 17),
+                LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30)));
+        // Leave entirely outside the period
+        assertEquals(0, withHolidays.workingDaysOverlapping(
+                LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 3),
+                LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30)));
+    }
+
+    @Test
+    public void testInMemoryHolidaysInvalidateSharedCalendar() {
+        RepositoryFactory.Backend previous = RepositoryFactory.getBackend();
+        RepositoryFactory.setBackend(RepositoryFactory.Backend.MEMORY);
+        try {
+            InMemoryDataStore.getInstance().clear();
+            LocalDate day = LocalDate.of(2024, 6, 12);
+            assertTrue(WorkCalendar.current().isWorkingDay(day));
+
+            assertTrue(RepositoryFactory.holidays().addHoliday(day, "Independence Day"));
+            assertFalse(WorkCalendar.current().isWorkingDay(day));
+            assertEquals("Independence Day", RepositoryFactory.holidays().getHolidaysForYear(2024).get(day));
+
+            assertTrue(RepositoryFactory.holidays().deleteHoliday(day));
+            assertTrue(WorkCalendar.current().isWorkingDay(day));
+        } finally {
+            InMemoryDataStore.getInstance().clear();
+            RepositoryFactory.setBackend(previous);
+        }
+    }
+
+    @Test
+    public void testCurrent_retriesAfterFailedLoad() throws Exception {
+        Connection conn = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, false);
+        when(rs.getDate("holiday_date")).thenReturn(java.sql.Date.valueOf("2024-06-12"));
+
+        RepositoryFactory.Backend previous = RepositoryFactory.getBackend();
+        RepositoryFactory.setBackend(RepositoryFactory.Backend.MYSQL);
+        try (MockedStatic<DBConnection> db = Mockito.mockStatic(DBConnection.class)) {
+            db.when(DBConnection::getConnection).thenThrow(new SQLException("down")).thenReturn(conn);
+
+            // The weekends-only fallback serves this call but isn't kept
+            assertFalse(WorkCalendar.current().isHoliday(LocalDate.of(2024, 6, 12)));
+            assertTrue(WorkCalendar.current().isHoliday(LocalDate.of(2024, 6, 12)));
+            assertSame(WorkCalendar.current(), WorkCalendar.current());
+        } finally {
+            RepositoryFactory.setBackend(previous);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.Test;
 import java.sql.Date;
 import java.sql.Time;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 import static org.junit.Assert.*;
@@ -120,4 +121,33 @@ public class AttendanceTest {
         Attendance attendance = new Attendance(1, date, null, null);
         assertEquals("Attendance for Employee 1 on 2025-07-20", attendance.getDisplayName());
     }
+
+    @Test
+    public void testPrimitiveTimesMatchSqlGetters() {
+        Date date = Date.valueOf(LocalDate.of(2025, 7, 21));
+        Time logIn = Time.valueOf(LocalTime.of(8, 14, 59));
+        Attendance attendance = new Attendance(1, date, logIn, null);
+
+        assertEquals(LocalDate.of(2025, 7, 21).toEpochDay(), attendance.getEpochDay());
+        assertEquals(8 * 3600 + 14 * 60 + 59, attendance.getLogInSecond());
+        assertEquals(Attendance.NONE, attendance.getLogOutSecond());
+        assertTrue(attendance.hasLogIn());
+        assertFalse(attendance.hasLogOut());
+        assertEquals(date, attendance.getDate());
+        assertEquals(logIn, attendance.getLogIn());
+        assertNull(attendance.getLogOut());
+        assertEquals(14, attendance.getLateMinutes());
+    }
+
+    @Test
+    public void testLoadedKeepsStoredTimestamps() {
+        LocalDateTime stored = LocalDateTime.of(2025, 7, 21, 17, 5);
+        Attendance attendance = Attendance.loaded(7, 1, LocalDate.of(2025, 7, 21).toEpochDay(),
+                8 * 3600, 17 * 3600, stored, stored);
+
+        assertEquals(7, attendance.getId());
+        assertEquals(stored, attendance.getCreatedAt());
+        assertEquals(stored, attendance.getUpdatedAt());
+        assertEquals(540, attendance.getWorkMinutes());
+    }
 }
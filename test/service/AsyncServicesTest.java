@@ -0,0 +1,99 @@
+package service;
+
+import dao.InMemoryDataStore;
+import dao.RepositoryFactory;
+import model.Employee;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class AsyncServicesTest {
+
+    private RepositoryFactory.Backend previousBackend;
+    private AsyncServices services;
+
+    @Before
+    public void setUp() {
+        previousBackend = RepositoryFactory.getBackend();
+        RepositoryFactory.setBackend(RepositoryFactory.Backend.MEMORY);
+        InMemoryDataStore.getInstance().loadSampleData(10, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30));
+        services = new AsyncServices();
+    }
+
+    @After
+    public void tearDown() {
+        InMemoryDataStore.getInstance().clear();
+        RepositoryFactory.setBackend(previousBackend);
+    }
+
+    @Test
+    public void testCallsRunOffTheCallingThread() throws Exception {
+        Thread caller = Thread.currentThread();
+        CompletableFuture<Thread> worker = AsyncServices.supply(Thread::currentThread);
+
+        Thread thread = worker.get(5, TimeUnit.SECONDS);
+        assertNotSame(caller, thread);
+        assertTrue("Runs on a virtual thread", thread.isVirtual());
+    }
+
+    @Test
+    public void testServiceResultsMatchDirectCalls() throws Exception {
+        List<Employee> employees = services.getAllEmployees().get(5, TimeUnit.SECONDS);
+        assertEquals(10, employees.size());
+
+        PayrollCalculator.PayrollData data = services
+                .calculatePayroll(10001, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30))
+                .get(5, TimeUnit.SECONDS);
+        assertEquals(10001, data.getEmployeeId());
+    }
+
+    @Test
+    public void testFailureCompletesExceptionally() throws Exception {
+        CompletableFuture<PayrollCalculator.PayrollData> missing =
+                services.calculatePayroll(99999, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30));
+        try {
+            missing.get(5, TimeUnit.SECONDS);
+            fail("Expected the unknown employee to fail the future");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof PayrollCalculator.PayrollCalculationException);
+        }
+    }
+
+    @Test
+    public void testConcurrentCallsAreBounded() throws Exception {
+        int limit = Integer.getInteger("motorph.async.maxConcurrent", 8);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<CompletableFuture<Integer>> calls = new ArrayList<>();
+        for (int i = 0; i < limit * 3; i++) {
+            calls.add(AsyncServices.supply(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                release.await(5, TimeUnit.SECONDS);
+                running.decrementAndGet();
+                return 1;
+            }));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        int done = 0;
+        for (CompletableFuture<Integer> call : calls) {
+            done += call.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(limit * 3, done);
+        assertTrue("At most " + limit + " calls at once, saw " + peak.get(), peak.get() <= limit);
+    }
+}
@@ -0,0 +1,93 @@
+package service;
+
+import dao.InMemoryDataStore;
+import dao.RepositoryFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BatchPayrollRunnerTest {
+
+    private RepositoryFactory.Backend previousBackend;
+    private File outputDir;
+
+    @Before
+    public void setUp() throws Exception {
+        previousBackend = RepositoryFactory.getBackend();
+        RepositoryFactory.setBackend(RepositoryFactory.Backend.MEMORY);
+        InMemoryDataStore.getInstance().clear();
+        InMemoryDataStore.getInstance().loadSampleData(30, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30));
+        outputDir = Files.createTempDirectory("payroll-run").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        InMemoryDataStore.getInstance().clear();
+        RepositoryFactory.setBackend(previousBackend);
+        File[] files = outputDir.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        outputDir.delete();
+    }
+
+    @Test
+    public void testParse_periodAndFlags() {
+        BatchPayrollRunner.Options o = BatchPayrollRunner.Options.parse(new String[]{
+                "--period", "2024-02", "--employees", "10001, 10002", "--summary", "--parallelism", "3"});
+        assertEquals(LocalDate.of(2024, 2, 1), o.getPeriodStart());
+        assertEquals(LocalDate.of(2024, 2, 29), o.getPeriodEnd());
+        assertEquals(Arrays.asList(10001, 10002), o.getEmployeeIds());
+        assertTrue(o.isSummary());
+        assertFalse(o.isPayslips());
+        assertEquals(3, o.getParallelism());
+    }
+
+    @Test
+    public void testParse_rejectsMissingPeriod() {
+        try {
+            BatchPayrollRunner.Options.parse(new String[]{"--summary"});
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("period"));
+        }
+    }
+
+    @Test
+    public void testExecute_invalidArgumentsReturnUsageCode() {
+        assertEquals(BatchPayrollRunner.EXIT_USAGE, BatchPayrollRunner.execute(new String[]{"--period", "June"}));
+    }
+
+    @Test
+    public void testRun_allEmployeesWithSummary() throws Exception {
+        BatchPayrollRunner.Options o = BatchPayrollRunner.Options.parse(new String[]{
+                "--period", "2024-06", "--summary", "--parallelism", "4", "--output-dir", outputDir.getPath()});
+
+        BatchPayrollRunner.RunResult result = new BatchPayrollRunner(o).run();
+
+        assertEquals(30, result.getResults().size());
+        assertEquals(0, result.getFailed());
+        assertTrue(result.getTotalNetPay() > 0);
+        List<String> lines = Files.readAllLines(result.getSummaryFile().toPath());
+        assertEquals("payroll_summary_2024_06.csv", result.getSummaryFile().getName());
+        assertEquals(31, lines.size());
+        assertTrue(lines.get(0).startsWith("Employee ID,"));
+    }
+
+    @Test
+    public void testExecute_unknownEmployeeIsPartialFailure() {
+        int code = BatchPayrollRunner.execute(new String[]{
+                "--period", "2024-06", "--employees", "10001,99999", "--output-dir", outputDir.getPath()});
+        assertEquals(BatchPayrollRunner.EXIT_PARTIAL_FAILURE, code);
+    }
+}
@@ -0,0 +1,120 @@
+package service;
+
+import dao.InMemoryDataStore;
+import dao.OrgTree;
+import dao.RepositoryFactory;
+import model.Employee;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class EmployeeImportServiceTest {
+
+    private RepositoryFactory.Backend previousBackend;
+    private EmployeeImportService service;
+
+    @Before
+    public void setUp() {
+        previousBackend = RepositoryFactory.getBackend();
+        RepositoryFactory.setBackend(RepositoryFactory.Backend.MEMORY);
+        InMemoryDataStore.getInstance().loadSampleData(10, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 3));
+        service = new EmployeeImportService();
+    }
+
+    @After
+    public void tearDown() {
+        InMemoryDataStore.getInstance().clear();
+        RepositoryFactory.setBackend(previousBackend);
+    }
+
+    private static EmployeeImportService.ImportRow row(int id, String first, String last, String position,
+                                                       String supervisor, String password) {
+        Employee e = new Employee(id, first, last);
+        e.setPosition(position);
+        e.setImmediateSupervisor(supervisor);
+        e.setSssNumber("SSS-IMP-" + id);
+        return new EmployeeImportService.ImportRow(e, password);
+    }
+
+    @Test
+    public void testImport_acceptsRowsInChunks() {
+        List<EmployeeImportService.ImportRow> rows = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            rows.add(row(20001 + i, "New" + i, "Hire" + i, "HR Rank and File", "Last1, First1", "pw" + i));
+        }
+
+        EmployeeImportService.ImportResult result = service.importEmployees(rows, 10);
+
+        assertEquals(25, result.getImported());
+        assertTrue(result.getRejects().isEmpty());
+        assertNotNull(RepositoryFactory.employees().getEmployeeById(20001));
+        assertEquals(Integer.valueOf(10002), OrgTree.current().getSupervisorId(20025));
+        assertTrue(RepositoryFactory.credentials().credentialsExist(20010));
+    }
+
+    @Test
+    public void testImport_supervisorEarlierInSameFile() {
+        List<EmployeeImportService.ImportRow> rows = Arrays.asList(
+                row(20001, "Maria", "Lead", "Account Team Leader", "Last0, First0", null),
+                row(20002, "Juan", "Member", "Account Rank and File", "Lead, Maria", null));
+
+        EmployeeImportService.ImportResult result = service.importEmployees(rows);
+
+        assertEquals(2, result.getImported());
+        assertEquals(Integer.valueOf(20001), OrgTree.current().getSupervisorId(20002));
+    }
+
+    @Test
+    public void testImport_reportsInvalidRowsWithoutStoppingTheRest() {
+        EmployeeImportService.ImportRow badStatus = row(20003, "C", "Three", "HR Rank and File", null, null);
+        badStatus.getEmployee().setStatus("Contractual");
+        EmployeeImportService.ImportRow duplicateSss = row(20005, "E", "Five", "HR Rank and File", null, null);
+        duplicateSss.getEmployee().setSssNumber("SSS-IMP-20001");
+
+        List<EmployeeImportService.ImportRow> rows = Arrays.asList(
+                row(20001, "A", "One", "HR Rank and File", null, null),
+                row(10001, "B", "Taken", "HR Rank and File", null, null),
+                badStatus,
+                row(20004, "D", "Four", "Astronaut", null, null),
+                duplicateSss,
+                row(20006, "F", "Six", "HR Rank and File", "Nobody, Known", null),
+                row(20007, "G", "Seven", "HR Rank and File", null, null));
+
+        EmployeeImportService.ImportResult result = service.importEmployees(rows);
+
+        assertEquals(2, result.getImported());
+        List<Integer> rejectedRows = new ArrayList<>();
+        for (EmployeeImportService.Reject reject : result.getRejects()) {
+            rejectedRows.add(reject.getRowNumber());
+        }
+        assertEquals(Arrays.asList(2, 3, 4, 5, 6), rejectedRows);
+        assertNotNull(RepositoryFactory.employees().getEmployeeById(20007));
+        assertNull(RepositoryFactory.employees().getEmployeeById(20004));
+    }
+
+    @Test
+    public void testImport_chunkRejectedByStoreFallsBackRowByRow() {
+        // Passes in-memory validation but collides with an existing employee's SSS number
+        EmployeeImportService.ImportRow clash = row(20002, "B", "Clash", "HR Rank and File", null, null);
+        clash.getEmployee().setSssNumber("SSS-00010001");
+        List<EmployeeImportService.ImportRow> rows = Arrays.asList(
+                row(20001, "A", "One", "HR Rank and File", null, null),
+                clash,
+                row(20003, "C", "Three", "HR Rank and File", null, null));
+
+        EmployeeImportService.ImportResult result = service.importEmployees(rows);
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getRejects().size());
+        assertEquals(2, result.getRejects().get(0).getRowNumber());
+        assertNotNull(RepositoryFactory.employees().getEmployeeById(20003));
+        assertNull(RepositoryFactory.employees().getEmployeeById(20002));
+    }
+}
@@ -48,4 +48,10 @@ public class JasperPayslipServiceTest {
             file.delete();
         }
     }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGeneratePayslipReport_fromDataRequiresPayroll() throws Exception {
+        new JasperPayslipService(true).generatePayslipReport(
+                new model.Employee(1, "Juan", "Cruz"), null, JasperPayslipService.ExportFormat.PDF);
+    }
 }
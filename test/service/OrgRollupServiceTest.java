@@ -0,0 +1,90 @@
+package service;
+
+import dao.InMemoryDataStore;
+import dao.RepositoryFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class OrgRollupServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 6, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 6, 15);
+
+    private RepositoryFactory.Backend previousBackend;
+
+    @Before
+    public void setUp() {
+        previousBackend = RepositoryFactory.getBackend();
+        RepositoryFactory.setBackend(RepositoryFactory.Backend.MEMORY);
+        InMemoryDataStore.getInstance().clear();
+        InMemoryDataStore.getInstance().loadSampleData(20, FROM, TO);
+    }
+
+    @After
+    public void tearDown() {
+        InMemoryDataStore.getInstance().clear();
+        RepositoryFactory.setBackend(previousBackend);
+    }
+
+    @Test
+    public void testSummarize_ceoCoversWholeCompany() {
+        List<OrgRollupService.RollupRow> rows =
+                new OrgRollupService().summarize(10001, LocalDate.of(2024, 6, 10), FROM, TO);
+
+        // Total row plus one per direct report
+        assertEquals(9, rows.size());
+        OrgRollupService.RollupRow total = rows.get(0);
+        assertEquals(19, total.getHeadcount());
+        assertTrue(total.getPresentToday() + total.getOnLeave() <= 19);
+        assertTrue(total.getPayrollTotal() > 0);
+
+        int headcount = 0;
+        double payroll = 0;
+        for (OrgRollupService.RollupRow row : rows.subList(1, rows.size())) {
+            headcount += row.getHeadcount();
+            payroll += row.getPayrollTotal();
+        }
+        assertEquals(total.getHeadcount(), headcount);
+        assertEquals(total.getPayrollTotal(), payroll, 0.01);
+    }
+
+    @Test
+    public void testSummarize_directReportSubtree() {
+        List<OrgRollupService.RollupRow> rows =
+                new OrgRollupService().summarize(10001, LocalDate.of(2024, 6, 10), FROM, TO);
+
+        OrgRollupService.RollupRow first = rows.stream()
+                .filter(r -> r.getEmployeeId() == 10002).findFirst().orElseThrow();
+        // 10002 plus the eight people reporting to them
+        assertEquals(9, first.getHeadcount());
+    }
+
+    @Test
+    public void testSummarize_spansSeveralChunks() {
+        InMemoryDataStore.getInstance().clear();
+        InMemoryDataStore.getInstance().loadSampleData(250, FROM, TO);
+
+        List<OrgRollupService.RollupRow> rows =
+                new OrgRollupService().summarize(10001, LocalDate.of(2024, 6, 10), FROM, TO);
+
+        OrgRollupService.RollupRow total = rows.get(0);
+        assertEquals(249, total.getHeadcount());
+        assertTrue(total.getPresentToday() > 100);
+        int present = 0;
+        for (OrgRollupService.RollupRow row : rows.subList(1, rows.size())) {
+            present += row.getPresentToday();
+        }
+        assertEquals(total.getPresentToday(), present);
+    }
+
+    @Test
+    public void testSummarize_noReports() {
+        assertTrue(new OrgRollupService().summarize(10020, TO, FROM, TO).isEmpty());
+    }
+}
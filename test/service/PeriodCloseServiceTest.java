@@ -0,0 +1,139 @@
+package service;
+
+import dao.ClosedPeriods;
+import dao.InMemoryDataStore;
+import dao.RepositoryFactory;
+import model.Attendance;
+import model.AttendanceTotals;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import util.DBConnection;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class PeriodCloseServiceTest {
+
+    private static final YearMonth JUNE = YearMonth.of(2024, 6);
+    private static final int EMPLOYEE_ID = 10002;
+
+    private RepositoryFactory.Backend previousBackend;
+
+    @Before
+    public void setUp() {
+        previousBackend = RepositoryFactory.getBackend();
+        RepositoryFactory.setBackend(RepositoryFactory.Backend.MEMORY);
+        InMemoryDataStore.getInstance().loadSampleData(20, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 7, 31));
+        PayrollCalculator.invalidateCache();
+    }
+
+    @After
+    public void tearDown() {
+        InMemoryDataStore.getInstance().clear();
+        PayrollCalculator.invalidateCache();
+        RepositoryFactory.setBackend(previousBackend);
+    }
+
+    @Test
+    public void testCloseMonth_onlyOnce() throws Exception {
+        PeriodCloseService service = new PeriodCloseService();
+
+        assertTrue(service.closeMonth(JUNE));
+        assertFalse(service.closeMonth(JUNE));
+        assertTrue(ClosedPeriods.isClosed(JUNE));
+        assertEquals(20, ClosedPeriods.summaries(JUNE).size());
+    }
+
+    @Test
+    public void testClosedMonths_retriesAfterFailedLoad() throws Exception {
+        Connection conn = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, false);
+        when(rs.getDate("period_month")).thenReturn(Date.valueOf("2024-06-01"));
+
+        RepositoryFactory.setBackend(RepositoryFactory.Backend.MYSQL);
+        try (MockedStatic<DBConnection> db = Mockito.mockStatic(DBConnection.class)) {
+            db.when(DBConnection::getConnection).thenThrow(new SQLException("down")).thenReturn(conn);
+
+            // Every month reads as open while the load fails, but that isn't kept
+            assertFalse(ClosedPeriods.isClosed(JUNE));
+            assertTrue(ClosedPeriods.isClosed(JUNE));
+            assertSame(ClosedPeriods.closedMonths(), ClosedPeriods.closedMonths());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCloseMonth_rejectsCurrentMonth() throws Exception {
+        new PeriodCloseService().closeMonth(YearMonth.now());
+    }
+
+    @Test
+    public void testClosedMonth_matchesLiveFigures() throws Exception {
+        PayrollCalculator calculator = new PayrollCalculator();
+        AttendanceService attendanceService = new AttendanceService();
+        PayrollCalculator.PayrollData live = calculator.calculatePayroll(EMPLOYEE_ID, JUNE.atDay(1), JUNE.atEndOfMonth());
+        AttendanceTotals liveTotals = attendanceService.getAttendanceTotals(EMPLOYEE_ID, JUNE.atDay(1), JUNE.atEndOfMonth());
+
+        new PeriodCloseService().closeMonth(JUNE);
+        PayrollCalculator.invalidateCache();
+
+        PayrollCalculator.PayrollData frozen = calculator.calculatePayroll(EMPLOYEE_ID, JUNE.atDay(1), JUNE.atEndOfMonth());
+        assertEquals(live.getNetPay(), frozen.getNetPay(), 0.001);
+        assertEquals(live.getDaysWorked(), frozen.getDaysWorked());
+        assertEquals(live.getLateDeduction(), frozen.getLateDeduction(), 0.001);
+
+        AttendanceTotals frozenTotals = attendanceService.getAttendanceTotals(EMPLOYEE_ID, JUNE.atDay(1), JUNE.atEndOfMonth());
+        assertEquals(liveTotals.getDaysPresent(), frozenTotals.getDaysPresent());
+        assertEquals(liveTotals.getWorkMinutes(), frozenTotals.getWorkMinutes());
+        assertEquals(liveTotals.getLateDays(), frozenTotals.getLateDays());
+    }
+
+    @Test
+    public void testClosedMonth_ignoresLaterWritesButOpenDaysStayLive() throws Exception {
+        AttendanceService attendanceService = new AttendanceService();
+        new PeriodCloseService().closeMonth(JUNE);
+        AttendanceTotals before = attendanceService.getAttendanceTotals(EMPLOYEE_ID, JUNE.atDay(1), JUNE.atEndOfMonth());
+
+        // June 1st 2024 is a Saturday, so the sample data left it empty
+        RepositoryFactory.attendance().insertAttendance(new Attendance(EMPLOYEE_ID,
+                Date.valueOf(LocalDate.of(2024, 6, 1)), Time.valueOf("08:00:00"), Time.valueOf("17:00:00")));
+
+        AttendanceTotals closed = attendanceService.getAttendanceTotals(EMPLOYEE_ID, JUNE.atDay(1), JUNE.atEndOfMonth());
+        assertEquals(before.getDaysPresent(), closed.getDaysPresent());
+
+        // A partial month is not covered by the close and reads raw rows
+        AttendanceTotals partial = attendanceService.getAttendanceTotals(EMPLOYEE_ID, JUNE.atDay(1), JUNE.atDay(29));
+        AttendanceTotals partialWithoutNewRow = attendanceService.getAttendanceTotals(EMPLOYEE_ID, JUNE.atDay(2), JUNE.atDay(29));
+        assertEquals(partialWithoutNewRow.getDaysPresent() + 1, partial.getDaysPresent());
+    }
+
+    @Test
+    public void testAttendanceTotals_combineClosedAndOpenMonths() throws Exception {
+        AttendanceService attendanceService = new AttendanceService();
+        LocalDate start = JUNE.atDay(1);
+        LocalDate end = LocalDate.of(2024, 7, 31);
+        AttendanceTotals live = attendanceService.getAttendanceTotals(EMPLOYEE_ID, start, end);
+
+        new PeriodCloseService().closeMonth(JUNE);
+
+        AttendanceTotals mixed = attendanceService.getAttendanceTotals(EMPLOYEE_ID, start, end);
+        assertEquals(live.getDaysPresent(), mixed.getDaysPresent());
+        assertEquals(live.getWorkMinutes(), mixed.getWorkMinutes());
+        assertEquals(live.getUndertimeMinutes(), mixed.getUndertimeMinutes());
+    }
+}
@@ -0,0 +1,293 @@
+package service;
+
+import dao.AttendanceDAO;
+import dao.CredentialsDAO;
+import dao.EmployeeDAO;
+import dao.LeaveRequestDAO;
+import model.CredentialStatus;
+import model.Employee;
+import model.LeaveRequest;
+import model.LeaveSummaryRow;
+import model.TeamMemberStatus;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import util.QueryCounter;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Query budgets for the hot read paths. A failure here usually means an N+1
+ * lookup crept back in; the message lists every statement that ran.
+ */
+public class QueryBudgetTest {
+
+    private static final int EMPLOYEE_COUNT = 25;
+    private static final LocalDate PERIOD_START = LocalDate.of(2024, 6, 1);
+    private static final LocalDate PERIOD_END = LocalDate.of(2024, 6, 15);
+
+    private static Connection connection;
+    private QueryCounter counter;
+
+    @BeforeClass
+    public static void setUpDatabase() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:querybudget;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE positions (position_id INT PRIMARY KEY, position_title VARCHAR(255), basic_salary DOUBLE)");
+            stmt.execute("CREATE TABLE employees (" +
+                    "employee_id INT PRIMARY KEY," +
+                    "last_name VARCHAR(255)," +
+                    "first_name VARCHAR(255)," +
+                    "birthday DATE," +
+                    "address VARCHAR(255)," +
+                    "phone_number VARCHAR(50)," +
+                    "sss_number VARCHAR(50)," +
+                    "philhealth_number VARCHAR(50)," +
+                    "tin_number VARCHAR(50)," +
+                    "pagibig_number VARCHAR(50)," +
+                    "status VARCHAR(50)," +
+                    "position_id INT," +
+                    "supervisor_id INT," +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                    ")");
+            stmt.execute("CREATE TABLE attendance (" +
+                    "id INT AUTO_INCREMENT PRIMARY KEY," +
+                    "employee_id INT NOT NULL," +
+                    "attendance_date DATE," +
+                    "log_in TIME," +
+                    "log_out TIME," +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                    ")");
+            stmt.execute("CREATE TABLE leave_requests (" +
+                    "id INT AUTO_INCREMENT PRIMARY KEY," +
+                    "employee_id INT NOT NULL," +
+                    "leave_type VARCHAR(50)," +
+                    "start_date DATE," +
+                    "end_date DATE," +
+                    "status VARCHAR(20)," +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                    ")");
+            stmt.execute("CREATE TABLE credentials (" +
+                    "employee_id INT PRIMARY KEY," +
+                    "password_hash VARCHAR(255) NOT NULL," +
+                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                    ")");
+            stmt.execute("INSERT INTO positions VALUES (1, 'Chief Executive Officer', 90000), (2, 'Rank and File', 25000)");
+        }
+
+        try (PreparedStatement emp = connection.prepareStatement(
+                "INSERT INTO employees (employee_id, last_name, first_name, status, position_id, supervisor_id) " +
+                "VALUES (?, ?, ?, 'Regular', ?, ?)");
+             PreparedStatement att = connection.prepareStatement(
+                "INSERT INTO attendance (employee_id, attendance_date, log_in, log_out) VALUES (?, ?, ?, ?)")) {
+            for (int id = 1; id <= EMPLOYEE_COUNT; id++) {
+                emp.setInt(1, id);
+                emp.setString(2, "Last" + (char) ('A' + id % 26));
+                emp.setString(3, "First" + id);
+                emp.setInt(4, id == 1 ? 1 : 2);
+                if (id == 1) {
+                    emp.setNull(5, java.sql.Types.INTEGER);
+                } else {
+                    emp.setInt(5, 1);
+                }
+                emp.addBatch();
+
+                for (LocalDate d = PERIOD_START; !d.isAfter(PERIOD_END); d = d.plusDays(1)) {
+                    att.setInt(1, id);
+                    att.setDate(2, java.sql.Date.valueOf(d));
+                    att.setTime(3, java.sql.Time.valueOf(id % 3 == 0 ? "08:30:00" : "08:00:00"));
+                    att.setTime(4, java.sql.Time.valueOf("17:00:00"));
+                    att.addBatch();
+                }
+            }
+            emp.executeBatch();
+            att.executeBatch();
+        }
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("INSERT INTO leave_requests (employee_id, leave_type, start_date, end_date, status) " +
+                    "VALUES (2, 'Unpaid', '2024-06-03', '2024-06-04', 'Approved')");
+            // Only the first ten employees have logins
+            stmt.execute("INSERT INTO credentials (employee_id, password_hash) " +
+                    "SELECT employee_id, 'password1234' FROM employees WHERE employee_id <= 10");
+        }
+    }
+
+    @AfterClass
+    public static void tearDownDatabase() throws Exception {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Before
+    public void setUp() {
+        counter = QueryCounter.install(connection);
+    }
+
+    @After
+    public void tearDown() {
+        counter.close();
+    }
+
+    @Test
+    public void testGetAllEmployees_singleQuery() {
+        List<Employee> employees = new EmployeeDAO().getAllEmployees();
+
+        assertEquals(EMPLOYEE_COUNT, employees.size());
+        assertEquals(counter.statements().toString(), 1, counter.count());
+        // Joined columns are mapped without follow-up lookups
+        Employee report = employees.stream().filter(e -> e.getId() == 2).findFirst().orElseThrow();
+        assertEquals("Rank and File", report.getPosition());
+        assertNotNull(report.getImmediateSupervisor());
+    }
+
+    @Test
+    public void testGetEmployeeById_singleQuery() {
+        Employee employee = new EmployeeDAO().getEmployeeById(2);
+
+        assertNotNull(employee);
+        assertBudget(1);
+    }
+
+    @Test
+    public void testPayrollBatch_constantQueries() throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 1; id <= EMPLOYEE_COUNT; id++) {
+            ids.add(id);
+        }
+
+        List<PayrollCalculator.PayrollData> batch =
+                new PayrollCalculator().calculatePayrollBatch(ids, PERIOD_START, PERIOD_END);
+
+        assertEquals(EMPLOYEE_COUNT, batch.size());
+        assertBudget(5);
+    }
+
+    @Test
+    public void testPayrollBatch_matchesSingleEmployeeCalculation() throws Exception {
+        PayrollCalculator calculator = new PayrollCalculator();
+        List<PayrollCalculator.PayrollData> batch =
+                calculator.calculatePayrollBatch(List.of(2, 3), PERIOD_START, PERIOD_END);
+
+        counter.reset();
+        PayrollCalculator.PayrollData single = calculator.calculatePayroll(2, PERIOD_START, PERIOD_END);
+        assertBudget(3);
+
+        assertEquals(single.getNetPay(), batch.get(0).getNetPay(), 0.001);
+        assertEquals(single.getUnpaidLeaveDeduction(), batch.get(0).getUnpaidLeaveDeduction(), 0.001);
+        assertTrue(batch.get(0).getUnpaidLeaveDeduction() > 0);
+        assertTrue(batch.get(1).getLateDeduction() > 0);
+    }
+
+    @Test
+    public void testTeamStatus_singleQuery() {
+        List<TeamMemberStatus> team = new AttendanceDAO().getTeamStatusForDate(1, LocalDate.of(2024, 6, 3));
+
+        assertEquals(EMPLOYEE_COUNT - 1, team.size());
+        assertBudget(1);
+
+        TeamMemberStatus onLeave = team.stream().filter(m -> m.getEmployee().getId() == 2).findFirst().orElseThrow();
+        assertTrue(onLeave.isOnLeave());
+        assertEquals(TeamMemberStatus.STATUS_ON_LEAVE, onLeave.getStatus());
+        TeamMemberStatus late = team.stream().filter(m -> m.getEmployee().getId() == 3).findFirst().orElseThrow();
+        assertEquals(TeamMemberStatus.STATUS_LATE, late.getStatus());
+        assertEquals("Rank and File", late.getEmployee().getPosition());
+    }
+
+    @Test
+    public void testCredentialStatus_singleQuery() {
+        List<CredentialStatus> statuses = new CredentialsDAO().getCredentialStatusForAllEmployees();
+
+        assertEquals(EMPLOYEE_COUNT, statuses.size());
+        assertBudget(1);
+        assertEquals(10, statuses.stream().filter(CredentialStatus::hasCredentials).count());
+        CredentialStatus withLogin = statuses.get(0);
+        assertEquals(1, withLogin.getEmployeeId());
+        assertNotNull(withLogin.getCreatedAt());
+        CredentialStatus withoutLogin = statuses.get(EMPLOYEE_COUNT - 1);
+        assertFalse(withoutLogin.hasCredentials());
+        assertNull(withoutLogin.getUpdatedAt());
+    }
+
+    @Test
+    public void testLogin_singleQuery() {
+        AuthenticationService.AuthenticationResult result = new AuthenticationService().authenticate(2, "password1234");
+
+        // Password check, profile and the session's credentials stamp in one statement
+        assertTrue(result.getMessage(), result.isSuccessful());
+        assertBudget(1);
+        assertEquals("Rank and File", result.getEmployee().getPosition());
+        assertNotNull(result.getEmployee().getImmediateSupervisor());
+
+        // Sessions are checked in memory within the recheck interval
+        counter.reset();
+        assertTrue(new AuthenticationService().authenticateSession(result.getSessionToken()).isSuccessful());
+        assertEquals(counter.statements().toString(), 0, counter.count());
+        // The stamp read at login is the one later rechecks compare against
+        assertEquals(new CredentialsDAO().getCredentialsUpdatedAt(2),
+                new CredentialsDAO().authenticateAndLoadEmployee(2, "password1234").getCredentialsUpdatedAt());
+
+        counter.reset();
+        assertFalse(new AuthenticationService().authenticate(2, "wrong").isSuccessful());
+        assertFalse(new AuthenticationService().authenticate(20, "password1234").isSuccessful());
+        assertBudget(2);
+    }
+
+    @Test
+    public void testLeaveOverlap_checkedInDatabase() {
+        LeaveRequestDAO dao = new LeaveRequestDAO();
+
+        // Overlap guards approvals, so it always asks the database
+        assertTrue(dao.hasOverlappingLeave(2, LocalDate.of(2024, 6, 4), LocalDate.of(2024, 6, 6), null));
+        assertFalse(dao.hasOverlappingLeave(3, LocalDate.of(2024, 6, 4), LocalDate.of(2024, 6, 6), null));
+        assertBudget(2);
+
+        // Writes by other callers are seen on the next check
+        LeaveRequest leave = new LeaveRequest(3, java.sql.Date.valueOf("2024-06-20"),
+                java.sql.Date.valueOf("2024-06-21"), "Vacation");
+        int id = dao.insertLeaveRequest(leave);
+        assertFalse(dao.hasOverlappingLeave(3, LocalDate.of(2024, 6, 21), LocalDate.of(2024, 6, 21), null));
+        assertTrue(dao.updateLeaveStatus(id, LeaveRequest.STATUS_APPROVED));
+        assertTrue(dao.hasOverlappingLeave(3, LocalDate.of(2024, 6, 21), LocalDate.of(2024, 6, 21), null));
+        assertFalse(dao.hasOverlappingLeave(3, LocalDate.of(2024, 6, 21), LocalDate.of(2024, 6, 21), id));
+        assertTrue(dao.deleteLeaveRequest(id));
+        assertFalse(dao.hasOverlappingLeave(3, LocalDate.of(2024, 6, 21), LocalDate.of(2024, 6, 21), null));
+    }
+
+    @Test
+    public void testLeaveSummary_singleQuery() {
+        List<LeaveSummaryRow> rows = new ArrayList<>();
+        new LeaveRequestDAO().streamLeaveSummary(rows::add);
+
+        assertBudget(1);
+        assertEquals(1, rows.size());
+        LeaveSummaryRow row = rows.get(0);
+        assertEquals(2, row.getEmployeeId());
+        assertEquals("First2 LastC", row.getEmployeeName());
+        assertEquals("Unpaid", row.getLeaveType());
+        assertEquals(LeaveRequest.STATUS_APPROVED, row.getStatus());
+        assertEquals(1, row.getRequestCount());
+        assertEquals(2, row.getTotalDays());
+    }
+
+    private void assertBudget(int maxQueries) {
+        assertTrue("Expected at most " + maxQueries + " queries but ran " + counter.count() + ": "
+                + counter.statements(), counter.count() <= maxQueries);
+    }
+}
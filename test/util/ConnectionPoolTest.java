@@ -0,0 +1,87 @@
+package util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.*;
+
+public class ConnectionPoolTest {
+
+    private ConnectionPool pool;
+
+    @Before
+    public void setUp() {
+        pool = new ConnectionPool(() -> DriverManager.getConnection("jdbc:h2:mem:pooltest;DB_CLOSE_DELAY=-1", "sa", ""),
+                2, 200);
+    }
+
+    @After
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    public void testClose_returnsConnectionForReuse() throws Exception {
+        try (Connection c = pool.borrow()) {
+            assertTrue(c.isValid(1));
+            assertEquals(1, pool.getActiveCount());
+        }
+        assertEquals(0, pool.getActiveCount());
+        assertEquals(1, pool.getIdleCount());
+
+        try (Connection c = pool.borrow()) {
+            assertFalse(c.isClosed());
+        }
+        assertEquals(1, pool.getPhysicalCount());
+    }
+
+    @Test
+    public void testBorrow_timesOutWhenExhausted() throws Exception {
+        Connection a = pool.borrow();
+        Connection b = pool.borrow();
+        try {
+            pool.borrow();
+            fail("Expected SQLException");
+        } catch (SQLException e) {
+            assertTrue(e.getMessage().contains("Timed out"));
+        } finally {
+            a.close();
+            b.close();
+        }
+    }
+
+    @Test
+    public void testReturn_rollsBackOpenTransaction() throws Exception {
+        try (Connection c = pool.borrow(); Statement s = c.createStatement()) {
+            s.execute("CREATE TABLE IF NOT EXISTS pool_probe (id INT)");
+            s.execute("DELETE FROM pool_probe");
+            c.setAutoCommit(false);
+            s.execute("INSERT INTO pool_probe VALUES (1)");
+        }
+        try (Connection c = pool.borrow(); Statement s = c.createStatement()) {
+            assertTrue(c.getAutoCommit());
+            var rs = s.executeQuery("SELECT COUNT(*) FROM pool_probe");
+            rs.next();
+            assertEquals(0, rs.getInt(1));
+        }
+    }
+
+    @Test
+    public void testReturnedConnection_rejectsFurtherUse() throws Exception {
+        Connection c = pool.borrow();
+        c.close();
+        assertTrue(c.isClosed());
+        try {
+            c.createStatement();
+            fail("Expected SQLException");
+        } catch (SQLException expected) {
+            // returned connections must not be used
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package util;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class JfrEventsTest {
+
+    private Connection raw;
+
+    @Before
+    public void setUp() throws Exception {
+        raw = DriverManager.getConnection("jdbc:h2:mem:jfrevents;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement stmt = raw.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS jfr_probe (id INT PRIMARY KEY)");
+            stmt.execute("DELETE FROM jfr_probe");
+            stmt.execute("INSERT INTO jfr_probe VALUES (1), (2), (3)");
+        }
+        DBConnection.setTestConnection(raw);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        DBConnection.setTestConnection(null);
+        QueryMetrics.setEnabled(true);
+        raw.close();
+    }
+
+    @Test
+    public void testStatementEvent_recordsTemplateAndRows() throws Exception {
+        // Statement events are emitted even with the metrics registry switched off
+        QueryMetrics.setEnabled(false);
+        Path file = Files.createTempFile("motorph", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("motorph.Statement").withThreshold(java.time.Duration.ZERO);
+            recording.start();
+
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement ps = conn.prepareStatement("SELECT id FROM jfr_probe WHERE id >= ?")) {
+                ps.setInt(1, 2);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        rs.getInt(1);
+                    }
+                }
+            }
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.deleteIfExists(file);
+        RecordedEvent event = events.stream()
+                .filter(e -> e.getEventType().getName().equals("motorph.Statement"))
+                .filter(e -> e.getString("sql").contains("jfr_probe"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No statement event recorded"));
+        assertEquals("SELECT id FROM jfr_probe WHERE id >= ?", event.getString("sql"));
+        assertEquals(2, event.getLong("rows"));
+        assertFalse(event.getBoolean("failed"));
+    }
+}
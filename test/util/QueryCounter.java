@@ -0,0 +1,106 @@
+package util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test-side JDBC interceptor: installs itself as the {@link DBConnection} test
+ * connection and records every statement executed while it is open, so tests can
+ * assert query budgets ("one query for N employees").
+ * close() on the handed-out connection is ignored so DAO try-with-resources blocks
+ * don't close the shared test database.
+ *
+ * <pre>
+ * try (QueryCounter counter = QueryCounter.install(connection)) {
+ *     dao.getAllEmployees();
+ *     assertEquals(1, counter.count());
+ * }
+ * </pre>
+ */
+public final class QueryCounter implements AutoCloseable {
+
+    private final Connection target;
+    private final List<String> executed = Collections.synchronizedList(new ArrayList<>());
+
+    private QueryCounter(Connection target) {
+        this.target = target;
+    }
+
+    /**
+     * Start counting statements run through DBConnection.getConnection()
+     */
+    public static QueryCounter install(Connection target) {
+        QueryCounter counter = new QueryCounter(target);
+        DBConnection.setTestConnection(counter.connection());
+        return counter;
+    }
+
+    /** Number of statements executed since install or the last reset */
+    public int count() {
+        return executed.size();
+    }
+
+    /** SQL of the executed statements, in order */
+    public List<String> statements() {
+        synchronized (executed) {
+            return new ArrayList<>(executed);
+        }
+    }
+
+    public void reset() {
+        executed.clear();
+    }
+
+    /**
+     * Stop counting; DBConnection goes back to its normal connection
+     */
+    @Override
+    public void close() {
+        DBConnection.setTestConnection(null);
+    }
+
+    private Connection connection() {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            return null;
+                        case "prepareStatement":
+                            return statement(invoke(target, method, args), PreparedStatement.class, (String) args[0]);
+                        case "prepareCall":
+                            return statement(invoke(target, method, args), CallableStatement.class, (String) args[0]);
+                        case "createStatement":
+                            return statement(invoke(target, method, args), Statement.class, null);
+                        default:
+                            return invoke(target, method, args);
+                    }
+                });
+    }
+
+    private Object statement(Object statement, Class<?> type, String preparedSql) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String
+                        ? (String) args[0] : preparedSql;
+                executed.add(sql);
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
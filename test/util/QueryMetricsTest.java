@@ -0,0 +1,92 @@
+package util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.Assert.*;
+
+public class QueryMetricsTest {
+
+    private Connection raw;
+
+    @Before
+    public void setUp() throws Exception {
+        raw = DriverManager.getConnection("jdbc:h2:mem:querymetrics;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement stmt = raw.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS metrics_probe (id INT PRIMARY KEY, name VARCHAR(20))");
+            stmt.execute("DELETE FROM metrics_probe");
+        }
+        DBConnection.setTestConnection(raw);
+        QueryMetrics.setEnabled(true);
+        QueryMetrics.reset();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        DBConnection.setTestConnection(null);
+        raw.close();
+    }
+
+    @Test
+    public void testNormalize_stripsLiteralsAndWhitespace() {
+        assertEquals("SELECT * FROM t WHERE a = ? AND b = ?",
+                QueryMetrics.normalize("SELECT *\n  FROM t WHERE a = 'x''y' AND b = 42"));
+        assertEquals("SELECT col1 FROM t2 WHERE id = ?",
+                QueryMetrics.normalize("SELECT col1 FROM t2 WHERE id = ?"));
+        assertEquals(QueryMetrics.normalize("SELECT * FROM t WHERE id IN (?)"),
+                QueryMetrics.normalize("SELECT * FROM t WHERE id IN (?, ?, ?)"));
+    }
+
+    @Test
+    public void testHistogram_percentiles() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            h.record(i * 1_000_000L); // 1..100 ms
+        }
+        assertEquals(100, h.getCount());
+        assertEquals(50.0, h.getPercentileMillis(50), 50.0 * 0.13);
+        assertEquals(99.0, h.getPercentileMillis(99), 99.0 * 0.13);
+        assertEquals(50.5, h.getMeanMillis(), 0.01);
+    }
+
+    @Test
+    public void testInstrumentedConnection_countsCallsAndRows() throws Exception {
+        Connection conn = DBConnection.getConnection();
+        try (PreparedStatement insert = conn.prepareStatement("INSERT INTO metrics_probe (id, name) VALUES (?, ?)")) {
+            for (int i = 1; i <= 3; i++) {
+                insert.setInt(1, i);
+                insert.setString(2, "n" + i);
+                insert.executeUpdate();
+            }
+        }
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM metrics_probe WHERE id > 0")) {
+            while (rs.next()) {
+                // drain
+            }
+        }
+
+        QueryStats inserts = find("INSERT INTO metrics_probe (id, name) VALUES (?, ?)");
+        assertEquals(3, inserts.getCalls());
+        assertEquals(3, inserts.getRowsAffected());
+
+        QueryStats select = find("SELECT * FROM metrics_probe WHERE id > ?");
+        assertEquals(1, select.getCalls());
+        assertEquals(3, select.getRowsReturned());
+        assertEquals(4, QueryMetrics.getTotalStatements());
+    }
+
+    private QueryStats find(String template) {
+        return QueryMetrics.getStatementStats().stream()
+                .filter(s -> s.getSql().equals(template))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No stats for " + template));
+    }
+}
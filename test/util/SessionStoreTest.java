@@ -0,0 +1,132 @@
+package util;
+
+import model.Employee;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import static org.junit.Assert.*;
+
+public class SessionStoreTest {
+
+    private static final long IDLE = TimeUnit.MINUTES.toNanos(30);
+
+    private AtomicLong now;
+    private SessionStore store;
+
+    @Before
+    public void setUp() {
+        now = new AtomicLong(1_000);
+        store = new SessionStore(IDLE, 3, now::get);
+    }
+
+    @Test
+    public void testValidate_returnsEmployee() {
+        String token = store.create(new Employee(10002, "Juan", "Cruz"));
+
+        assertNotNull(token);
+        assertEquals(10002, store.validate(token).getId());
+        assertNull(store.validate("not-a-token"));
+        assertNull(store.validate(null));
+    }
+
+    @Test
+    public void testTokensAreUnique() {
+        Employee employee = new Employee(10002, "Juan", "Cruz");
+        assertNotEquals(store.create(employee), store.create(employee));
+    }
+
+    @Test
+    public void testSlidingExpiry() {
+        String token = store.create(new Employee(10002, "Juan", "Cruz"));
+
+        now.addAndGet(IDLE - 1);
+        assertNotNull(store.validate(token));
+        // The last validation pushed expiry back
+        now.addAndGet(IDLE - 1);
+        assertNotNull(store.validate(token));
+        now.addAndGet(IDLE);
+        assertNull(store.validate(token));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        String first = store.create(new Employee(10001, "Ana", "Reyes"));
+        String second = store.create(new Employee(10002, "Juan", "Cruz"));
+        String third = store.create(new Employee(10003, "Maria", "Santos"));
+        store.validate(first);
+
+        store.create(new Employee(10004, "Jose", "Garcia"));
+
+        assertEquals(3, store.size());
+        assertNotNull(store.validate(first));
+        assertNull(store.validate(second));
+        assertNotNull(store.validate(third));
+    }
+
+    @Test
+    public void testRevokeAll() {
+        String a = store.create(new Employee(10002, "Juan", "Cruz"));
+        String b = store.create(new Employee(10002, "Juan", "Cruz"));
+        String other = store.create(new Employee(10003, "Maria", "Santos"));
+
+        assertEquals(2, store.revokeAll(10002));
+        assertNull(store.validate(a));
+        assertNull(store.validate(b));
+        assertNotNull(store.validate(other));
+        assertTrue(store.revoke(other));
+        assertFalse(store.revoke(other));
+    }
+
+    @Test
+    public void testRecheck_revokesWhenCredentialsChangedElsewhere() {
+        long recheck = TimeUnit.SECONDS.toNanos(30);
+        SessionStore checked = new SessionStore(IDLE, 3, recheck, now::get);
+        LocalDateTime issued = LocalDateTime.of(2024, 6, 1, 8, 0);
+        Map<Integer, LocalDateTime> stamps = new HashMap<>();
+        stamps.put(10002, issued);
+        AtomicInteger lookups = new AtomicInteger();
+        IntFunction<LocalDateTime> lookup = id -> {
+            lookups.incrementAndGet();
+            return stamps.get(id);
+        };
+        String token = checked.create(new Employee(10002, "Juan", "Cruz"), issued);
+
+        // Within the interval nothing is looked up
+        assertNotNull(checked.validate(token, lookup));
+        assertEquals(0, lookups.get());
+        now.addAndGet(recheck);
+        assertNotNull(checked.validate(token, lookup));
+        assertEquals(1, lookups.get());
+
+        // Another process changed the password
+        stamps.put(10002, issued.plusDays(1));
+        now.addAndGet(recheck - 1);
+        assertNotNull(checked.validate(token, lookup));
+        now.addAndGet(1);
+        assertNull(checked.validate(token, lookup));
+        assertEquals(0, checked.size());
+
+        // Deleted credentials end sessions too
+        String other = checked.create(new Employee(10002, "Juan", "Cruz"), issued.plusDays(1));
+        stamps.remove(10002);
+        now.addAndGet(recheck);
+        assertNull(checked.validate(other, lookup));
+    }
+
+    @Test
+    public void testPurgeExpired() {
+        store.create(new Employee(10002, "Juan", "Cruz"));
+        now.addAndGet(IDLE);
+        assertEquals(1, store.purgeExpired());
+        assertEquals(0, store.size());
+    }
+}
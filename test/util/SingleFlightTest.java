@@ -0,0 +1,102 @@
+package util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class SingleFlightTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final SingleFlight<String, Integer> flight =
+            new SingleFlight<>("test", TimeUnit.SECONDS.toNanos(5), now::get);
+
+    @Test
+    public void testConcurrentCallsShareOneComputation() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> calls = new ArrayList<>();
+            calls.add(pool.submit(() -> flight.get("key", () -> {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return runs.incrementAndGet();
+            })));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                calls.add(pool.submit(() -> flight.get("key", runs::incrementAndGet)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<Integer> call : calls) {
+                assertEquals(Integer.valueOf(1), call.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, runs.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testResultIsReusedUntilTtlExpires() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+
+        assertEquals(Integer.valueOf(1), flight.get("key", runs::incrementAndGet));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        assertEquals(Integer.valueOf(1), flight.get("key", runs::incrementAndGet));
+        assertEquals("A different key computes separately",
+                Integer.valueOf(2), flight.get("other", runs::incrementAndGet));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(Integer.valueOf(3), flight.get("key", runs::incrementAndGet));
+    }
+
+    @Test
+    public void testFailuresAreNotCached() throws Exception {
+        try {
+            flight.get("key", () -> {
+                throw new IOException("database down");
+            });
+            fail("Expected the work's exception");
+        } catch (IOException expected) {
+            assertEquals("database down", expected.getMessage());
+        }
+
+        assertEquals(Integer.valueOf(7), flight.get("key", () -> 7));
+    }
+
+    @Test
+    public void testInvalidateForcesRecomputation() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        flight.get("key", runs::incrementAndGet);
+
+        flight.invalidate();
+
+        assertEquals(0, flight.size());
+        assertEquals(Integer.valueOf(2), flight.get("key", runs::incrementAndGet));
+    }
+
+    @Test
+    public void testZeroTtlOnlyCoalesces() throws Exception {
+        SingleFlight<String, Integer> uncached = new SingleFlight<>("uncached", 0, now::get);
+        AtomicInteger runs = new AtomicInteger();
+
+        uncached.get("key", runs::incrementAndGet);
+        uncached.get("key", runs::incrementAndGet);
+
+        assertEquals(2, runs.get());
+    }
+}
@@ -0,0 +1,207 @@
+package util;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class UnitOfWorkTest {
+
+    private static final String URL = "jdbc:h2:mem:unitofwork;DB_CLOSE_DELAY=-1";
+
+    private static Connection connection;
+    private static Connection observer;
+    private QueryCounter counter;
+
+    @BeforeClass
+    public static void setUpDatabase() throws Exception {
+        connection = DriverManager.getConnection(URL, "sa", "");
+        observer = DriverManager.getConnection(URL, "sa", "");
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE items (id INT PRIMARY KEY, name VARCHAR(50))");
+        }
+    }
+
+    @AfterClass
+    public static void tearDownDatabase() throws Exception {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP ALL OBJECTS");
+        }
+        observer.close();
+        connection.close();
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        counter = QueryCounter.install(connection);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DELETE FROM items");
+        }
+    }
+
+    @After
+    public void tearDown() {
+        counter.close();
+    }
+
+    private static void insert(int id) throws Exception {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("INSERT INTO items (id, name) VALUES (?, ?)")) {
+            stmt.setInt(1, id);
+            stmt.setString(2, "item" + id);
+            stmt.executeUpdate();
+        }
+    }
+
+    /** Row count as seen by a separate session, so only committed rows show */
+    private static int committedRows() throws Exception {
+        try (Statement stmt = observer.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM items")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    @Test
+    public void testExecute_commitsAllWritesTogether() throws Exception {
+        int result = UnitOfWork.execute(() -> {
+            insert(1);
+            insert(2);
+            assertTrue(UnitOfWork.isActive());
+            assertEquals("Nothing is visible before the unit commits", 0, committedRows());
+            return 2;
+        });
+
+        assertEquals(2, result);
+        assertEquals(2, committedRows());
+        assertFalse(UnitOfWork.isActive());
+        assertTrue("Autocommit is restored", connection.getAutoCommit());
+    }
+
+    @Test
+    public void testExecute_rollsBackEverythingOnFailure() throws Exception {
+        try {
+            UnitOfWork.execute(() -> {
+                insert(1);
+                insert(1);
+                return null;
+            });
+            fail("Expected the duplicate key to fail the unit");
+        } catch (RuntimeException expected) {
+            // rolled back
+        }
+
+        assertEquals(0, committedRows());
+        assertFalse(UnitOfWork.isActive());
+    }
+
+    @Test
+    public void testExecute_nestedUnitJoinsOuterTransaction() throws Exception {
+        try {
+            UnitOfWork.execute(() -> {
+                insert(1);
+                try {
+                    UnitOfWork.execute(() -> {
+                        insert(2);
+                        throw new IllegalStateException("inner failure");
+                    });
+                } catch (IllegalStateException swallowed) {
+                    // the outer unit is already marked for rollback
+                }
+                return null;
+            });
+        } catch (RuntimeException unexpected) {
+            fail("A requested rollback should not throw");
+        }
+
+        assertEquals(0, committedRows());
+    }
+
+    @Test
+    public void testSetRollbackOnly_returnsResultWithoutCommitting() throws Exception {
+        boolean result = UnitOfWork.execute(() -> {
+            insert(1);
+            UnitOfWork.setRollbackOnly();
+            return false;
+        });
+
+        assertFalse(result);
+        assertEquals(0, committedRows());
+    }
+
+    @Test
+    public void testOnRollback_runsHooksOnlyWhenRolledBack() throws Exception {
+        AtomicInteger hookRuns = new AtomicInteger();
+
+        UnitOfWork.execute(() -> {
+            insert(1);
+            UnitOfWork.onRollback(hookRuns::incrementAndGet);
+            return null;
+        });
+        assertEquals(0, hookRuns.get());
+
+        try {
+            UnitOfWork.execute(() -> {
+                insert(2);
+                UnitOfWork.onRollback(hookRuns::incrementAndGet);
+                throw new IllegalStateException("fail");
+            });
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException expected) {
+            // rolled back
+        }
+        assertEquals(1, hookRuns.get());
+
+        UnitOfWork.onRollback(hookRuns::incrementAndGet);
+        assertEquals("Outside a unit the hook is ignored", 1, hookRuns.get());
+    }
+
+    @Test
+    public void testAfterCommit_runsHooksOnlyOnceCommitted() throws Exception {
+        AtomicInteger hookRuns = new AtomicInteger();
+
+        UnitOfWork.execute(() -> {
+            insert(1);
+            UnitOfWork.afterCommit(hookRuns::incrementAndGet);
+            assertEquals("Deferred until the unit commits", 0, hookRuns.get());
+            return null;
+        });
+        assertEquals(1, hookRuns.get());
+
+        try {
+            UnitOfWork.execute(() -> {
+                insert(2);
+                UnitOfWork.afterCommit(hookRuns::incrementAndGet);
+                throw new IllegalStateException("fail");
+            });
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException expected) {
+            // rolled back
+        }
+        assertEquals(1, hookRuns.get());
+
+        UnitOfWork.afterCommit(hookRuns::incrementAndGet);
+        assertEquals("Outside a unit the hook runs at once", 2, hookRuns.get());
+    }
+
+    @Test
+    public void testExecute_takesNoConnectionUntilUsed() {
+        counter.close();
+        try {
+            // No test connection and no MySQL: any connection attempt would fail
+            assertEquals("done", UnitOfWork.execute(() -> "done"));
+        } finally {
+            counter = QueryCounter.install(connection);
+        }
+    }
+}